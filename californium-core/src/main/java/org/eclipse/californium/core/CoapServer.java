@@ -39,6 +39,7 @@ import org.eclipse.californium.core.config.CoapConfig;
 import org.eclipse.californium.core.network.CoapEndpoint;
 import org.eclipse.californium.core.network.Endpoint;
 import org.eclipse.californium.core.network.EndpointObserver;
+import org.eclipse.californium.core.network.stack.PiggybackScheduler;
 import org.eclipse.californium.core.observe.ObserveHealth;
 import org.eclipse.californium.core.server.MessageDeliverer;
 import org.eclipse.californium.core.server.ServerInterface;
@@ -49,10 +50,14 @@ import org.eclipse.californium.elements.Connector;
 import org.eclipse.californium.elements.PersistentComponent;
 import org.eclipse.californium.elements.PersistentComponentProvider;
 import org.eclipse.californium.elements.config.Configuration;
+import org.eclipse.californium.elements.metrics.MetricsRegistry;
+import org.eclipse.californium.elements.metrics.MetricsSource;
 import org.eclipse.californium.elements.util.CounterStatisticManager;
 import org.eclipse.californium.elements.util.ExecutorsUtil;
+import org.eclipse.californium.elements.util.LatencyStatistic;
 import org.eclipse.californium.elements.util.NamedThreadFactory;
 import org.eclipse.californium.elements.util.ProtocolScheduledExecutorService;
+import org.eclipse.californium.elements.util.RateLimiter;
 import org.eclipse.californium.elements.util.StringUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -143,6 +148,14 @@ public class CoapServer implements ServerInterface, PersistentComponentProvider
 
 	private final List<CounterStatisticManager> statistics = new CopyOnWriteArrayList<>();
 
+	/**
+	 * Registry of metrics.
+	 * 
+	 * @see #getMetricsRegistry()
+	 * @since 4.0
+	 */
+	private final MetricsRegistry metrics = new MetricsRegistry();
+
 	/** The executor of the server for its endpoints (can be null). */
 	private ProtocolScheduledExecutorService executor;
 
@@ -427,6 +440,25 @@ public class CoapServer implements ServerInterface, PersistentComponentProvider
 		for (EndpointObserver observer : defaultObservers) {
 			endpoint.addObserver(observer);
 		}
+		if (endpoint instanceof CoapEndpoint) {
+			LatencyStatistic latencyStatistic = ((CoapEndpoint) endpoint).getLatencyStatistic();
+			if (latencyStatistic != null) {
+				metrics.register(latencyStatistic);
+			}
+			RateLimiter<Object> rateLimiter = ((CoapEndpoint) endpoint).getRateLimiter();
+			if (rateLimiter != null) {
+				metrics.register(rateLimiter);
+			}
+			PiggybackScheduler piggybackScheduler = ((CoapEndpoint) endpoint).getPiggybackScheduler();
+			if (piggybackScheduler != null) {
+				metrics.register(piggybackScheduler);
+			}
+			Connector connector = ((CoapEndpoint) endpoint).getConnector();
+			if (connector instanceof MetricsSource) {
+				// e.g. the rate limiter of the DTLS connector
+				metrics.register((MetricsSource) connector);
+			}
+		}
 		endpoints.add(endpoint);
 	}
 
@@ -553,12 +585,15 @@ public class CoapServer implements ServerInterface, PersistentComponentProvider
 	/**
 	 * Add statistics.
 	 * 
-	 * Calls {@link CounterStatisticManager#dump()} on {@link #dump()}.
+	 * Calls {@link CounterStatisticManager#dump()} on {@link #dump()}. Since
+	 * 4.0 the statistic is also registered at the
+	 * {@link #getMetricsRegistry()}.
 	 * 
 	 * @param statistic statistic to add.
 	 */
 	public void add(CounterStatisticManager statistic) {
 		statistics.add(statistic);
+		metrics.register(statistic);
 	}
 
 	/**
@@ -568,6 +603,24 @@ public class CoapServer implements ServerInterface, PersistentComponentProvider
 	 */
 	public void remove(CounterStatisticManager statistic) {
 		statistics.remove(statistic);
+		metrics.unregister(statistic);
+	}
+
+	/**
+	 * Gets registry of metrics.
+	 * <p>
+	 * Contains the {@link #add(CounterStatisticManager)}ed statistics and the
+	 * {@link LatencyStatistic}s and {@link RateLimiter}s of the added
+	 * {@link CoapEndpoint}s, and their connectors, if these are
+	 * {@link MetricsSource}s. Additional sources may be registered by the
+	 * application.
+	 * 
+	 * @return registry of metrics
+	 * @see org.eclipse.californium.core.server.resources.MetricsResource
+	 * @since 4.0
+	 */
+	public MetricsRegistry getMetricsRegistry() {
+		return metrics;
 	}
 
 	/**
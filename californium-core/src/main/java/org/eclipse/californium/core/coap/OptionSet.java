@@ -32,6 +32,7 @@ import java.util.List;
 
 import org.eclipse.californium.core.coap.option.BlockOption;
 import org.eclipse.californium.core.coap.option.EmptyOption;
+import org.eclipse.californium.core.coap.option.EncodedOptions;
 import org.eclipse.californium.core.coap.option.IntegerOption;
 import org.eclipse.californium.core.coap.option.NoResponseOption;
 import org.eclipse.californium.core.coap.option.OpaqueOption;
@@ -112,6 +113,23 @@ public final class OptionSet {
 	// Arbitrary options
 	private List<Option> others;
 
+	/**
+	 * Encoded options, not decoded yet.
+	 * <p>
+	 * Published as {@code null} only after all options are decoded.
+	 * 
+	 * @since 4.0
+	 */
+	private volatile EncodedOptions encoded;
+
+	/**
+	 * Indicates, that the encoded options are currently decoded by the thread
+	 * holding the lock of this option set.
+	 * 
+	 * @since 4.0
+	 */
+	private boolean decoding;
+
 	/**
 	 * Creates an empty set of options.
 	 * <p>
@@ -143,6 +161,7 @@ public final class OptionSet {
 		no_response = null;
 
 		others = null; // new LinkedList<>();
+		encoded = null;
 	}
 
 	/**
@@ -154,60 +173,138 @@ public final class OptionSet {
 		if (origin == null) {
 			throw new NullPointerException("option set must not be null!");
 		}
-		if_match_list = copyList(origin.if_match_list);
-		uri_host = origin.uri_host;
-		etag_list = copyList(origin.etag_list);
-		if_none_match = origin.if_none_match;
-		uri_port = origin.uri_port;
-		location_path_list = copyList(origin.location_path_list);
-		uri_path_list = copyList(origin.uri_path_list);
-		content_format = origin.content_format;
-		max_age = origin.max_age;
-		uri_query_list = copyList(origin.uri_query_list);
-		uri_query_parameter = origin.uri_query_parameter;
-		accept = origin.accept;
-		location_query_list = copyList(origin.location_query_list);
-		proxy_uri = origin.proxy_uri;
-		proxy_scheme = origin.proxy_scheme;
-
-		block1 = origin.block1;
-		block2 = origin.block2;
-
-		size1 = origin.size1;
-		size2 = origin.size2;
-		observe = origin.observe;
-		oscore = origin.oscore;
-		no_response = origin.no_response;
-		others = copyList(origin.others);
+		synchronized (origin) {
+			if_match_list = copyList(origin.if_match_list);
+			uri_host = origin.uri_host;
+			etag_list = copyList(origin.etag_list);
+			if_none_match = origin.if_none_match;
+			uri_port = origin.uri_port;
+			location_path_list = copyList(origin.location_path_list);
+			uri_path_list = copyList(origin.uri_path_list);
+			content_format = origin.content_format;
+			max_age = origin.max_age;
+			uri_query_list = copyList(origin.uri_query_list);
+			uri_query_parameter = origin.uri_query_parameter;
+			accept = origin.accept;
+			location_query_list = copyList(origin.location_query_list);
+			proxy_uri = origin.proxy_uri;
+			proxy_scheme = origin.proxy_scheme;
+
+			block1 = origin.block1;
+			block2 = origin.block2;
+
+			size1 = origin.size1;
+			size2 = origin.size2;
+			observe = origin.observe;
+			oscore = origin.oscore;
+			no_response = origin.no_response;
+			others = copyList(origin.others);
+			// immutable, decoded on demand
+			encoded = origin.encoded;
+		}
 	}
 
 	/**
 	 * Clears all options.
 	 */
 	public void clear() {
-		clear(if_match_list);
-		uri_host = null;
-		clear(etag_list);
-		if_none_match = null;
-		uri_port = null;
-		clear(location_path_list);
-		clear(uri_path_list);
-		content_format = null;
-		max_age = null;
-		clear(uri_query_list);
-		uri_query_parameter = null;
-		accept = null;
-		clear(location_query_list);
-		proxy_uri = null;
-		proxy_scheme = null;
-		block1 = null;
-		block2 = null;
-		size1 = null;
-		size2 = null;
-		observe = null;
-		oscore = null;
-		no_response = null;
-		clear(others);
+		synchronized (this) {
+			clear(if_match_list);
+			uri_host = null;
+			clear(etag_list);
+			if_none_match = null;
+			uri_port = null;
+			clear(location_path_list);
+			clear(uri_path_list);
+			content_format = null;
+			max_age = null;
+			clear(uri_query_list);
+			uri_query_parameter = null;
+			accept = null;
+			clear(location_query_list);
+			proxy_uri = null;
+			proxy_scheme = null;
+			block1 = null;
+			block2 = null;
+			size1 = null;
+			size2 = null;
+			observe = null;
+			oscore = null;
+			no_response = null;
+			clear(others);
+			encoded = null;
+		}
+	}
+
+	/**
+	 * Sets encoded options.
+	 * <p>
+	 * The encoded options are decoded on demand, when a option is accessed,
+	 * which requires the object model. Options with a cheap representation in
+	 * the {@link EncodedOptions} (e.g. {@link #getURIPathCount()},
+	 * {@link #getUriPathString()}) are served without decoding. Any
+	 * modification decodes the options first.
+	 * 
+	 * @param encoded encoded options. May be {@code null}.
+	 * @return this OptionSet for a fluent API.
+	 * @see #getEncodedOptions()
+	 * @since 4.0
+	 */
+	public OptionSet setEncodedOptions(EncodedOptions encoded) {
+		synchronized (this) {
+			decode();
+			this.encoded = encoded;
+		}
+		return this;
+	}
+
+	/**
+	 * Gets the encoded options, which are not decoded yet.
+	 * 
+	 * @return encoded options, or {@code null}, if all options are decoded.
+	 * @see #setEncodedOptions(EncodedOptions)
+	 * @since 4.0
+	 */
+	public EncodedOptions getEncodedOptions() {
+		return encoded;
+	}
+
+	/**
+	 * Decodes the pending encoded options.
+	 * <p>
+	 * Decodes the options synchronized and publishes the decoded options by
+	 * resetting {@link #encoded} afterwards. Other threads are therefore
+	 * blocked until the decoding is finished.
+	 * 
+	 * @since 4.0
+	 */
+	private void decode() {
+		if (this.encoded != null) {
+			synchronized (this) {
+				EncodedOptions encoded = this.encoded;
+				if (encoded != null && !decoding) {
+					decoding = true;
+					try {
+						encoded.decode(this);
+					} finally {
+						decoding = false;
+					}
+					this.encoded = null;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Counts the pending encoded options.
+	 * 
+	 * @param number option number
+	 * @return number of pending encoded options
+	 * @since 4.0
+	 */
+	private int countEncoded(int number) {
+		EncodedOptions encoded = this.encoded;
+		return encoded == null ? 0 : encoded.count(number);
 	}
 
 	/**
@@ -407,6 +504,7 @@ public final class OptionSet {
 	 * @since 4.0 (adapted to List of Options)
 	 */
 	public List<OpaqueOption> getIfMatch() {
+		decode();
 		synchronized (this) {
 			if_match_list = ensureList(if_match_list);
 		}
@@ -419,6 +517,11 @@ public final class OptionSet {
 	 * @return the count
 	 */
 	public int getIfMatchCount() {
+		if (encoded != null) {
+			synchronized (this) {
+				return count(if_match_list) + countEncoded(OptionNumberRegistry.IF_MATCH);
+			}
+		}
 		return count(if_match_list);
 	}
 
@@ -435,6 +538,7 @@ public final class OptionSet {
 	 *         If-Match option
 	 */
 	public boolean isIfMatch(byte[] check) {
+		decode();
 		final List<OpaqueOption> list = if_match_list;
 		if (list == null) {
 			// if no If-Match option is present, conditional update is allowed
@@ -453,6 +557,7 @@ public final class OptionSet {
 	 * @since 4.0
 	 */
 	public boolean isIfMatchAll() {
+		decode();
 		final List<OpaqueOption> list = if_match_list;
 		return list != null && list.size() == 1 && list.get(0).getLength() == 0;
 	}
@@ -469,6 +574,7 @@ public final class OptionSet {
 	 * @throws IllegalArgumentException if the etag has more than 8 bytes.
 	 */
 	public OptionSet addIfMatch(byte[] etag) {
+		decode();
 		if (!isIfMatchAll()) {
 			List<OpaqueOption> list = getIfMatch();
 			if (!contains(list, etag)) {
@@ -490,6 +596,7 @@ public final class OptionSet {
 	 * @return this OptionSet for a fluent API.
 	 */
 	public OptionSet removeIfMatch(byte[] etag) {
+		decode();
 		remove(if_match_list, etag);
 		return this;
 	}
@@ -500,6 +607,7 @@ public final class OptionSet {
 	 * @return this OptionSet for a fluent API.
 	 */
 	public OptionSet clearIfMatchs() {
+		decode();
 		clear(if_match_list);
 		return this;
 	}
@@ -510,6 +618,7 @@ public final class OptionSet {
 	 * @return the Uri-Host, or {@code null}, if the option is not present
 	 */
 	public String getUriHost() {
+		decode();
 		return getValue(uri_host);
 	}
 
@@ -519,6 +628,11 @@ public final class OptionSet {
 	 * @return {@code true}, if present
 	 */
 	public boolean hasUriHost() {
+		if (encoded != null) {
+			synchronized (this) {
+				return uri_host != null || countEncoded(OptionNumberRegistry.URI_HOST) > 0;
+			}
+		}
 		return uri_host != null;
 	}
 
@@ -532,6 +646,7 @@ public final class OptionSet {
 	 *             255 bytes.
 	 */
 	public OptionSet setUriHost(String host) {
+		decode();
 		StringOption option = StandardOptionRegistry.URI_HOST.create(host);
 		this.uri_host = option;
 		return this;
@@ -543,6 +658,7 @@ public final class OptionSet {
 	 * @return this OptionSet for a fluent API.
 	 */
 	public OptionSet removeUriHost() {
+		decode();
 		this.uri_host = null;
 		return this;
 	}
@@ -559,6 +675,7 @@ public final class OptionSet {
 	 * @since 4.0 (adapted to List of Options)
 	 */
 	public List<OpaqueOption> getETags() {
+		decode();
 		synchronized (this) {
 			etag_list = ensureList(etag_list);
 		}
@@ -571,6 +688,11 @@ public final class OptionSet {
 	 * @return the count
 	 */
 	public int getETagCount() {
+		if (encoded != null) {
+			synchronized (this) {
+				return count(etag_list) + countEncoded(OptionNumberRegistry.ETAG);
+			}
+		}
 		return count(etag_list);
 	}
 
@@ -585,6 +707,7 @@ public final class OptionSet {
 	 * @return {@code true}, if ETag is included
 	 */
 	public boolean containsETag(byte[] check) {
+		decode();
 		return contains(etag_list, check);
 	}
 
@@ -598,6 +721,7 @@ public final class OptionSet {
 	 *             8 bytes.
 	 */
 	public OptionSet addETag(byte[] etag) {
+		decode();
 		if (!containsETag(etag)) {
 			OpaqueOption option = StandardOptionRegistry.ETAG.create(etag.clone());
 			getETags().add(option);
@@ -615,6 +739,7 @@ public final class OptionSet {
 	 *             8 bytes.
 	 */
 	public OptionSet removeETag(byte[] etag) {
+		decode();
 		remove(etag_list, etag);
 		return this;
 	}
@@ -625,6 +750,7 @@ public final class OptionSet {
 	 * @return this OptionSet for a fluent API.
 	 */
 	public OptionSet clearETags() {
+		decode();
 		clear(etag_list);
 		return this;
 	}
@@ -637,6 +763,7 @@ public final class OptionSet {
 	 * @since 4.0
 	 */
 	public byte[] getResponseEtag() {
+		decode();
 		final List<OpaqueOption> list = etag_list;
 		if (list != null) {
 			int size = list.size();
@@ -718,6 +845,7 @@ public final class OptionSet {
 	 * @since 4.0 (adapted to List of Options)
 	 */
 	public List<StringOption> getLocationPath() {
+		decode();
 		synchronized (this) {
 			location_path_list = ensureList(location_path_list);
 		}
@@ -730,6 +858,7 @@ public final class OptionSet {
 	 * @return the Location-* as string
 	 */
 	public String getLocationString() {
+		decode();
 		StringBuilder builder = new StringBuilder();
 		builder.append('/');
 		appendMultiOption(builder, getLocationPath(), '/');
@@ -748,6 +877,7 @@ public final class OptionSet {
 	 * @return the Location-Path as string
 	 */
 	public String getLocationPathString() {
+		decode();
 		return getMultiOptionString(getLocationPath(), '/');
 	}
 
@@ -757,6 +887,11 @@ public final class OptionSet {
 	 * @return the count
 	 */
 	public int getLocationPathCount() {
+		if (encoded != null) {
+			synchronized (this) {
+				return count(location_path_list) + countEncoded(OptionNumberRegistry.LOCATION_PATH);
+			}
+		}
 		return count(location_path_list);
 	}
 
@@ -769,6 +904,7 @@ public final class OptionSet {
 	 * @throws IllegalArgumentException if the segment has more than 255 bytes.
 	 */
 	public OptionSet addLocationPath(String segment) {
+		decode();
 		getLocationPath().add(StandardOptionRegistry.LOCATION_PATH.create(segment));
 		return this;
 	}
@@ -779,6 +915,7 @@ public final class OptionSet {
 	 * @return this OptionSet for a fluent API.
 	 */
 	public OptionSet clearLocationPath() {
+		decode();
 		clear(location_path_list);
 		return this;
 	}
@@ -793,6 +930,7 @@ public final class OptionSet {
 	 *             than 255 bytes.
 	 */
 	public OptionSet setLocationPath(String path) {
+		decode();
 		final String slash = "/";
 
 		// remove leading slash
@@ -815,6 +953,7 @@ public final class OptionSet {
 	 * @return the URI-* as string
 	 */
 	public String getUriString() {
+		decode();
 		StringBuilder builder = new StringBuilder();
 		builder.append('/');
 		appendMultiOption(builder, getUriPath(), '/');
@@ -834,6 +973,7 @@ public final class OptionSet {
 	 * @since 4.0 (adapted to List of Options)
 	 */
 	public List<StringOption> getUriPath() {
+		decode();
 		synchronized (this) {
 			uri_path_list = ensureList(uri_path_list);
 		}
@@ -848,6 +988,17 @@ public final class OptionSet {
 	 * @return the Uri-Path as string
 	 */
 	public String getUriPathString() {
+		if (this.encoded != null) {
+			synchronized (this) {
+				EncodedOptions encoded = this.encoded;
+				if (encoded != null && count(uri_path_list) == 0) {
+					// no decoded uri-path, serve it from the encoded options
+					StringBuilder builder = new StringBuilder();
+					encoded.appendStringValues(builder, OptionNumberRegistry.URI_PATH, '/');
+					return builder.toString();
+				}
+			}
+		}
 		return getMultiOptionString(getUriPath(), '/');
 	}
 
@@ -857,6 +1008,11 @@ public final class OptionSet {
 	 * @return the count
 	 */
 	public int getURIPathCount() {
+		if (encoded != null) {
+			synchronized (this) {
+				return count(uri_path_list) + countEncoded(OptionNumberRegistry.URI_PATH);
+			}
+		}
 		return count(uri_path_list);
 	}
 
@@ -870,6 +1026,7 @@ public final class OptionSet {
 	 *             than 255 bytes.
 	 */
 	public OptionSet setUriPath(String path) {
+		decode();
 		final String slash = "/";
 
 		// remove leading slash
@@ -895,6 +1052,7 @@ public final class OptionSet {
 	 * @throws IllegalArgumentException if the segment has more than 255 bytes.
 	 */
 	public OptionSet addUriPath(String segment) {
+		decode();
 		getUriPath().add(StandardOptionRegistry.URI_PATH.create(segment));
 		return this;
 	}
@@ -905,6 +1063,7 @@ public final class OptionSet {
 	 * @return this OptionSet for a fluent API.
 	 */
 	public OptionSet clearUriPath() {
+		decode();
 		clear(uri_path_list);
 		return this;
 	}
@@ -1032,6 +1191,7 @@ public final class OptionSet {
 	 * @since 4.0 (adapted to List of Options)
 	 */
 	public List<StringOption> getUriQuery() {
+		decode();
 		synchronized (this) {
 			uri_query_list = ensureList(uri_query_list);
 		}
@@ -1047,6 +1207,7 @@ public final class OptionSet {
 	 * @since 4.0
 	 */
 	public List<String> getUriQueryStrings() {
+		decode();
 		return getValues(getUriQuery());
 	}
 
@@ -1056,6 +1217,11 @@ public final class OptionSet {
 	 * @return the count
 	 */
 	public int getURIQueryCount() {
+		if (encoded != null) {
+			synchronized (this) {
+				return count(uri_query_list) + countEncoded(OptionNumberRegistry.URI_QUERY);
+			}
+		}
 		return count(uri_query_list);
 	}
 
@@ -1065,6 +1231,17 @@ public final class OptionSet {
 	 * @return the Uri-Query as string
 	 */
 	public String getUriQueryString() {
+		if (this.encoded != null) {
+			synchronized (this) {
+				EncodedOptions encoded = this.encoded;
+				if (encoded != null && count(uri_query_list) == 0) {
+					// no decoded uri-query, serve it from the encoded options
+					StringBuilder builder = new StringBuilder();
+					encoded.appendStringValues(builder, OptionNumberRegistry.URI_QUERY, '&');
+					return builder.toString();
+				}
+			}
+		}
 		return getMultiOptionString(getUriQuery(), '&');
 	}
 
@@ -1078,6 +1255,7 @@ public final class OptionSet {
 	 *             than 255 bytes.
 	 */
 	public OptionSet setUriQuery(String query) {
+		decode();
 		while (query.startsWith("?"))
 			query = query.substring(1);
 
@@ -1100,6 +1278,7 @@ public final class OptionSet {
 	 * @throws IllegalArgumentException if the argument has more than 255 bytes.
 	 */
 	public OptionSet addUriQuery(String argument) {
+		decode();
 		getUriQuery().add(StandardOptionRegistry.URI_QUERY.create(argument));
 		uri_query_parameter = null;
 		return this;
@@ -1112,6 +1291,7 @@ public final class OptionSet {
 	 * @return this OptionSet for a fluent API.
 	 */
 	public OptionSet removeUriQuery(String argument) {
+		decode();
 		if (removeStringOption(getUriQuery(), argument)) {
 			uri_query_parameter = null;
 		}
@@ -1124,6 +1304,7 @@ public final class OptionSet {
 	 * @return this OptionSet for a fluent API.
 	 */
 	public OptionSet clearUriQuery() {
+		decode();
 		clear(uri_query_list);
 		uri_query_parameter = null;
 		return this;
@@ -1139,6 +1320,7 @@ public final class OptionSet {
 	 * @since 3.8
 	 */
 	public UriQueryParameter getUriQueryParameter() {
+		decode();
 		if (uri_query_parameter == null) {
 			return getUriQueryParameter(null, null);
 		} else {
@@ -1159,6 +1341,7 @@ public final class OptionSet {
 	 * @since 3.8
 	 */
 	public UriQueryParameter getUriQueryParameter(List<String> supportedParameterNames) {
+		decode();
 		return getUriQueryParameter(supportedParameterNames, null);
 	}
 
@@ -1182,6 +1365,7 @@ public final class OptionSet {
 	 */
 	public UriQueryParameter getUriQueryParameter(List<String> supportedParameterNames,
 			List<String> unsupportedParameter) {
+		decode();
 		if (uri_query_list != null && !uri_query_list.isEmpty()) {
 			uri_query_parameter = new UriQueryParameter(getValues(uri_query_list), supportedParameterNames,
 					unsupportedParameter);
@@ -1258,6 +1442,7 @@ public final class OptionSet {
 	 * @since 4.0 (adapted to List of Options)
 	 */
 	public List<StringOption> getLocationQuery() {
+		decode();
 		synchronized (this) {
 			location_query_list = ensureList(location_query_list);
 		}
@@ -1279,6 +1464,7 @@ public final class OptionSet {
 	 * @return the Location-Query as string
 	 */
 	public String getLocationQueryString() {
+		decode();
 		return getMultiOptionString(getLocationQuery(), '&');
 	}
 
@@ -1293,6 +1479,7 @@ public final class OptionSet {
 	 *             than 255 bytes.
 	 */
 	public OptionSet setLocationQuery(String query) {
+		decode();
 		while (query.startsWith("?"))
 			query = query.substring(1);
 
@@ -1315,6 +1502,7 @@ public final class OptionSet {
 	 * @throws IllegalArgumentException if the argument has more than 255 bytes.
 	 */
 	public OptionSet addLocationQuery(String argument) {
+		decode();
 		getLocationQuery().add(StandardOptionRegistry.LOCATION_QUERY.create(argument));
 		return this;
 	}
@@ -1326,6 +1514,7 @@ public final class OptionSet {
 	 * @return this OptionSet for a fluent API.
 	 */
 	public OptionSet removeLocationQuery(String argument) {
+		decode();
 		removeStringOption(getLocationQuery(), argument);
 		return this;
 	}
@@ -1336,6 +1525,7 @@ public final class OptionSet {
 	 * @return this OptionSet for a fluent API.
 	 */
 	public OptionSet clearLocationQuery() {
+		decode();
 		clear(location_query_list);
 		return this;
 	}
@@ -1346,6 +1536,7 @@ public final class OptionSet {
 	 * @return the Proxy-Uri or null if the option is not present
 	 */
 	public String getProxyUri() {
+		decode();
 		return getValue(proxy_uri);
 	}
 
@@ -1355,6 +1546,11 @@ public final class OptionSet {
 	 * @return {@code true}, if present
 	 */
 	public boolean hasProxyUri() {
+		if (encoded != null) {
+			synchronized (this) {
+				return proxy_uri != null || countEncoded(OptionNumberRegistry.PROXY_URI) > 0;
+			}
+		}
 		return proxy_uri != null;
 	}
 
@@ -1368,6 +1564,7 @@ public final class OptionSet {
 	 *             1034 bytes.
 	 */
 	public OptionSet setProxyUri(String uri) {
+		decode();
 		proxy_uri = StandardOptionRegistry.PROXY_URI.create(uri);
 		return this;
 	}
@@ -1378,6 +1575,7 @@ public final class OptionSet {
 	 * @return this OptionSet for a fluent API.
 	 */
 	public OptionSet removeProxyUri() {
+		decode();
 		proxy_uri = null;
 		return this;
 	}
@@ -1388,6 +1586,7 @@ public final class OptionSet {
 	 * @return the Proxy-Scheme or null if the option is not present
 	 */
 	public String getProxyScheme() {
+		decode();
 		return getValue(proxy_scheme);
 	}
 
@@ -1397,6 +1596,11 @@ public final class OptionSet {
 	 * @return {@code true}, if present
 	 */
 	public boolean hasProxyScheme() {
+		if (encoded != null) {
+			synchronized (this) {
+				return proxy_scheme != null || countEncoded(OptionNumberRegistry.PROXY_SCHEME) > 0;
+			}
+		}
 		return proxy_scheme != null;
 	}
 
@@ -1410,6 +1614,7 @@ public final class OptionSet {
 	 *             than 255 bytes.
 	 */
 	public OptionSet setProxyScheme(String scheme) {
+		decode();
 		proxy_scheme = StandardOptionRegistry.PROXY_SCHEME.create(scheme);
 		return this;
 	}
@@ -1420,6 +1625,7 @@ public final class OptionSet {
 	 * @return this OptionSet for a fluent API.
 	 */
 	public OptionSet removeProxyScheme() {
+		decode();
 		proxy_scheme = null;
 		return this;
 	}
@@ -1661,6 +1867,7 @@ public final class OptionSet {
 	 * @return the OSCore value or {@code null} if the option is not present
 	 */
 	public byte[] getOscore() {
+		decode();
 		OpaqueOption option = oscore;
 		return option == null ? null : option.getValue();
 	}
@@ -1671,6 +1878,11 @@ public final class OptionSet {
 	 * @return {@code true}, if present
 	 */
 	public boolean hasOscore() {
+		if (encoded != null) {
+			synchronized (this) {
+				return oscore != null || countEncoded(OptionNumberRegistry.OSCORE) > 0;
+			}
+		}
 		return oscore != null;
 	}
 
@@ -1683,6 +1895,7 @@ public final class OptionSet {
 	 * @throws IllegalArgumentException if the oscore has more than 255 bytes.
 	 */
 	public OptionSet setOscore(byte[] oscore) {
+		decode();
 		this.oscore = StandardOptionRegistry.OSCORE.create(oscore.clone());
 		return this;
 	}
@@ -1693,6 +1906,7 @@ public final class OptionSet {
 	 * @return this OptionSet for a fluent API.
 	 */
 	public OptionSet removeOscore() {
+		decode();
 		oscore = null;
 		return this;
 	}
@@ -1760,6 +1974,7 @@ public final class OptionSet {
 	 * @return {@code true}, if present
 	 */
 	public boolean hasOption(OptionDefinition definition) {
+		decode();
 		return getOptionsInternal(definition, false) != null;
 	}
 
@@ -1773,6 +1988,7 @@ public final class OptionSet {
 	 */
 	@SuppressWarnings("unchecked")
 	public <T extends Option> List<T> getOptions(OptionDefinition definition) {
+		decode();
 		return (List<T>) getOptionsInternal(definition, true);
 	}
 
@@ -1788,6 +2004,7 @@ public final class OptionSet {
 	 */
 	@SuppressWarnings("unchecked")
 	public <T extends Option> T getOption(OptionDefinition definition) {
+		decode();
 		return (T) getOptionsInternal(definition, false);
 	}
 
@@ -1914,6 +2131,7 @@ public final class OptionSet {
 	 * @return an unmodifiable and sorted list of other options.
 	 */
 	public List<Option> getOthers() {
+		decode();
 		List<Option> others = this.others;
 		if (others == null) {
 			return Collections.emptyList();
@@ -1931,6 +2149,7 @@ public final class OptionSet {
 	 * @since 3.8
 	 */
 	public List<Option> getOthers(OptionDefinition definition) {
+		decode();
 		List<Option> options = null;
 		List<Option> others = this.others;
 		if (others != null) {
@@ -1971,6 +2190,7 @@ public final class OptionSet {
 	 */
 	@SuppressWarnings("unchecked")
 	public <T extends Option> T getOtherOption(OptionDefinition definition) {
+		decode();
 		List<Option> others = this.others;
 		if (others != null) {
 			int pos = indexOfFirst(others, definition);
@@ -1990,6 +2210,7 @@ public final class OptionSet {
 	 * @return the sorted list (a copy)
 	 */
 	public List<Option> asSortedList() {
+		decode();
 		ArrayList<Option> options = new ArrayList<>();
 
 		// add options in order!
@@ -2102,6 +2323,7 @@ public final class OptionSet {
 	 * @since 4.0 (added IllegalArgumentException)
 	 */
 	public OptionSet addOption(Option option) {
+		decode();
 		if (option == null) {
 			throw new NullPointerException("Option must not be null!");
 		}
@@ -2246,6 +2468,7 @@ public final class OptionSet {
 	 * @since 4.0 (added IllegalArgumentException)
 	 */
 	public OptionSet addOtherOption(Option option) {
+		decode();
 		if (option == null) {
 			throw new NullPointerException("Option must not be null!");
 		}
@@ -2266,6 +2489,7 @@ public final class OptionSet {
 	 * @since 3.7
 	 */
 	public OptionSet clearOtherOption(Option option) {
+		decode();
 		if (option == null) {
 			throw new NullPointerException("Option must not be null!");
 		}
@@ -2302,6 +2526,7 @@ public final class OptionSet {
 	 * @since 3.8
 	 */
 	public OptionSet clearOtherOption(OptionDefinition definition) {
+		decode();
 		if (definition == null) {
 			throw new NullPointerException("OptionDefinition must not be null!");
 		}
@@ -2326,6 +2551,7 @@ public final class OptionSet {
 
 	@Override
 	public String toString() {
+		decode();
 		StringBuilder sb = new StringBuilder();
 		StringBuilder sbv = new StringBuilder();
 		int oldNr = -1;
@@ -0,0 +1,380 @@
+/********************************************************************************
+ * Copyright (c) 2025 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v1.0 which is available at
+ * https://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ ********************************************************************************/
+package org.eclipse.californium.core.coap.option;
+
+import java.util.Arrays;
+
+import org.eclipse.californium.core.coap.CoAP;
+import org.eclipse.californium.core.coap.Option;
+import org.eclipse.californium.core.coap.OptionSet;
+import org.eclipse.californium.elements.util.DatagramReader;
+
+/**
+ * Encoded options.
+ * <p>
+ * Keeps the encoded option values of a received message together with an
+ * index of {@code (number, offset, length)} entries. The values are only
+ * decoded into {@link Option}s, when the {@link OptionSet} is accessed in a
+ * way, which requires the object model. Intended to reduce the allocation on
+ * the receive path for messages, which are only forwarded, deduplicated or
+ * rejected.
+ * <p>
+ * Instances are immutable and may therefore be shared by copies of an
+ * {@link OptionSet}. The data array must not be modified.
+ *
+ * @since 4.0
+ */
+public final class EncodedOptions {
+
+	/**
+	 * Decoder for option values.
+	 * <p>
+	 * Usually implemented by the data parser, which has created the encoded
+	 * options.
+	 */
+	public interface Decoder {
+
+		/**
+		 * Creates option.
+		 *
+		 * @param code message code
+		 * @param optionNumber option number
+		 * @param reader datagram reader to read the option value
+		 * @param length length of the option value
+		 * @return create option, or {@code null}, to ignore this option.
+		 * @throws IllegalArgumentException if the value doesn't match the
+		 *             option's specification.
+		 */
+		Option createOption(int code, int optionNumber, DatagramReader reader, int length);
+	}
+
+	/**
+	 * Number of {@code int}s per index entry.
+	 */
+	private static final int ENTRY_SIZE = 3;
+
+	/**
+	 * Encoded data.
+	 */
+	private final byte[] data;
+	/**
+	 * Index with {@code (number, offset, length)} entries.
+	 */
+	private final int[] index;
+	/**
+	 * Number of options.
+	 */
+	private final int size;
+	/**
+	 * Message code.
+	 */
+	private final int code;
+	/**
+	 * Decoder for option values.
+	 */
+	private final Decoder decoder;
+
+	/**
+	 * Create encoded options.
+	 *
+	 * @param data encoded data
+	 * @param index index with {@code (number, offset, length)} entries
+	 * @param size number of options
+	 * @param code message code
+	 * @param decoder decoder for option values
+	 */
+	private EncodedOptions(byte[] data, int[] index, int size, int code, Decoder decoder) {
+		this.data = data;
+		this.index = index;
+		this.size = size;
+		this.code = code;
+		this.decoder = decoder;
+	}
+
+	/**
+	 * Gets number of encoded options.
+	 *
+	 * @return number of encoded options
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Gets option number of entry.
+	 *
+	 * @param entry entry of the index. {@code 0} to {@link #size()} - 1.
+	 * @return option number
+	 */
+	public int getNumber(int entry) {
+		return index[entry * ENTRY_SIZE];
+	}
+
+	/**
+	 * Gets offset of the value of an entry.
+	 *
+	 * @param entry entry of the index. {@code 0} to {@link #size()} - 1.
+	 * @return offset of the value within {@link #getData()}
+	 */
+	public int getOffset(int entry) {
+		return index[entry * ENTRY_SIZE + 1];
+	}
+
+	/**
+	 * Gets length of the value of an entry.
+	 *
+	 * @param entry entry of the index. {@code 0} to {@link #size()} - 1.
+	 * @return length of the value
+	 */
+	public int getLength(int entry) {
+		return index[entry * ENTRY_SIZE + 2];
+	}
+
+	/**
+	 * Gets the encoded data.
+	 * <p>
+	 * <b>Note:</b> the array is shared and must not be modified!
+	 *
+	 * @return encoded data
+	 * @see #getOffset(int)
+	 * @see #getLength(int)
+	 */
+	public byte[] getData() {
+		return data;
+	}
+
+	/**
+	 * Gets first entry with the provided option number.
+	 *
+	 * @param number option number
+	 * @return first entry, or {@code -1}, if not available.
+	 */
+	public int indexOf(int number) {
+		for (int entry = 0; entry < size; ++entry) {
+			int current = index[entry * ENTRY_SIZE];
+			if (current == number) {
+				return entry;
+			} else if (current > number) {
+				break;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Checks, if an option with the provided number is available.
+	 *
+	 * @param number option number
+	 * @return {@code true}, if available, {@code false}, if not.
+	 */
+	public boolean contains(int number) {
+		return indexOf(number) >= 0;
+	}
+
+	/**
+	 * Counts the options with the provided number.
+	 *
+	 * @param number option number
+	 * @return number of options
+	 */
+	public int count(int number) {
+		int count = 0;
+		int entry = indexOf(number);
+		if (entry >= 0) {
+			while (entry < size && index[entry * ENTRY_SIZE] == number) {
+				++count;
+				++entry;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Checks, if the value of the entry is equal to the provided value.
+	 *
+	 * @param entry entry of the index. {@code 0} to {@link #size()} - 1.
+	 * @param value value to compare
+	 * @return {@code true}, if the value is equal, {@code false}, if not.
+	 */
+	public boolean equalsValue(int entry, byte[] value) {
+		int length = getLength(entry);
+		if (length != value.length) {
+			return false;
+		}
+		int offset = getOffset(entry);
+		for (int pos = 0; pos < length; ++pos) {
+			if (data[offset + pos] != value[pos]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Gets value of the entry as string.
+	 *
+	 * @param entry entry of the index. {@code 0} to {@link #size()} - 1.
+	 * @return value as UTF-8 string
+	 */
+	public String getStringValue(int entry) {
+		return new String(data, getOffset(entry), getLength(entry), CoAP.UTF8_CHARSET);
+	}
+
+	/**
+	 * Appends the values of all options with the provided number.
+	 *
+	 * @param builder builder to append the values
+	 * @param number option number
+	 * @param separator separator for values
+	 * @return {@code true}, if at least one value is appended, {@code false},
+	 *         otherwise.
+	 */
+	public boolean appendStringValues(StringBuilder builder, int number, char separator) {
+		int entry = indexOf(number);
+		if (entry < 0) {
+			return false;
+		}
+		builder.append(getStringValue(entry));
+		while (++entry < size && index[entry * ENTRY_SIZE] == number) {
+			builder.append(separator).append(getStringValue(entry));
+		}
+		return true;
+	}
+
+	/**
+	 * Decodes the options and adds them to the option set.
+	 *
+	 * @param options option set to add the decoded options
+	 * @throws IllegalArgumentException if a value doesn't match the option's
+	 *             specification.
+	 */
+	public void decode(OptionSet options) {
+		for (int entry = 0; entry < size; ++entry) {
+			int length = getLength(entry);
+			DatagramReader reader = new DatagramReader(data, getOffset(entry), length);
+			Option option = decoder.createOption(code, getNumber(entry), reader, length);
+			if (option != null) {
+				options.addOption(option);
+			}
+		}
+	}
+
+	@Override
+	public String toString() {
+		return size + " encoded options";
+	}
+
+	/**
+	 * Builder for encoded options.
+	 */
+	public static final class Builder {
+
+		/**
+		 * Encoded data.
+		 */
+		private final byte[] data;
+		/**
+		 * Message code.
+		 */
+		private final int code;
+		/**
+		 * Decoder for option values.
+		 */
+		private final Decoder decoder;
+		/**
+		 * Index with {@code (number, offset, length)} entries.
+		 */
+		private int[] index;
+		/**
+		 * Number of options.
+		 */
+		private int size;
+
+		/**
+		 * Create builder.
+		 *
+		 * @param data encoded data. Not copied, must not be modified
+		 *            afterwards.
+		 * @param code message code
+		 * @param decoder decoder for option values
+		 * @throws NullPointerException if data or decoder is {@code null}
+		 */
+		public Builder(byte[] data, int code, Decoder decoder) {
+			if (data == null) {
+				throw new NullPointerException("Data must not be null!");
+			}
+			if (decoder == null) {
+				throw new NullPointerException("Decoder must not be null!");
+			}
+			this.data = data;
+			this.code = code;
+			this.decoder = decoder;
+		}
+
+		/**
+		 * Adds index entry.
+		 * <p>
+		 * Entries must be added in the order of their option numbers.
+		 *
+		 * @param number option number
+		 * @param offset offset of the value
+		 * @param length length of the value
+		 * @return this builder for command chaining
+		 * @throws IllegalArgumentException if the number is smaller than the
+		 *             one of the last entry, or the value exceeds the data.
+		 */
+		public Builder add(int number, int offset, int length) {
+			if (offset < 0 || length < 0 || offset + length > data.length) {
+				throw new IllegalArgumentException(
+						"Option value [" + offset + "+" + length + "] exceeds " + data.length + " bytes!");
+			}
+			if (index == null) {
+				index = new int[ENTRY_SIZE * 4];
+			} else if (size > 0 && index[(size - 1) * ENTRY_SIZE] > number) {
+				throw new IllegalArgumentException("Option " + number + " not in order!");
+			} else if (index.length < (size + 1) * ENTRY_SIZE) {
+				index = Arrays.copyOf(index, index.length * 2);
+			}
+			int pos = size * ENTRY_SIZE;
+			index[pos] = number;
+			index[pos + 1] = offset;
+			index[pos + 2] = length;
+			++size;
+			return this;
+		}
+
+		/**
+		 * Gets the number of the last added entry.
+		 *
+		 * @return number of the last added entry, or {@code -1}, if no entry
+		 *         is added.
+		 */
+		public int getLastNumber() {
+			return size == 0 ? -1 : index[(size - 1) * ENTRY_SIZE];
+		}
+
+		/**
+		 * Builds the encoded options.
+		 *
+		 * @return the encoded options, or {@code null}, if no entry was added.
+		 */
+		public EncodedOptions build() {
+			if (size == 0) {
+				return null;
+			}
+			return new EncodedOptions(data, index, size, code, decoder);
+		}
+	}
+}
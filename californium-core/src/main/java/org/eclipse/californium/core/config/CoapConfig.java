@@ -30,6 +30,7 @@ import org.eclipse.californium.core.network.deduplication.NoDeduplicator;
 import org.eclipse.californium.core.network.deduplication.SweepDeduplicator;
 import org.eclipse.californium.core.network.deduplication.SweepPerPeerDeduplicator;
 import org.eclipse.californium.core.network.stack.KeyUri;
+import org.eclipse.californium.core.network.stack.PiggybackScheduler;
 import org.eclipse.californium.core.observe.ObserveRelation;
 import org.eclipse.californium.elements.EndpointIdentityResolver;
 import org.eclipse.californium.elements.config.BooleanDefinition;
@@ -315,6 +316,13 @@ public final class CoapConfig {
 	 * @since 3.6
 	 */
 	public static final int DEFAULT_MAX_SERVER_OBSERVES = 50000;
+	/**
+	 * The default maximum number of requests processed concurrently by
+	 * virtual threads.
+	 * 
+	 * @since 4.0
+	 */
+	public static final int DEFAULT_MAX_VIRTUAL_THREAD_REQUESTS = 10000;
 
 	/**
 	 * The maximum number of active peers supported.
@@ -388,6 +396,30 @@ public final class CoapConfig {
 	 */
 	public static final IntegerDefinition MAX_RETRANSMIT = new IntegerDefinition(MODULE + "MAX_RETRANSMIT",
 			"Maximum number of CoAP retransmissions.", 4, 1);
+	/**
+	 * Maximum time to wait for a piggybacked response, before an empty ACK is
+	 * sent for a CON request.
+	 * <p>
+	 * Enables the {@link PiggybackScheduler}, which tracks the latency of the
+	 * resources and sends empty ACKs early for slow resources. Should be
+	 * clearly less than the {@link #ACK_TIMEOUT} of the clients, e.g. the half
+	 * of it. {@code 0} to disable the scheduler. Empty ACKs are then only sent,
+	 * if the application accepts the request.
+	 * 
+	 * @since 4.0
+	 */
+	public static final TimeDefinition PIGGYBACKING_TIMEOUT = new TimeDefinition(MODULE + "PIGGYBACKING_TIMEOUT",
+			"Maximum time to wait for a piggybacked response. 0 to disable automatic empty ACKs.", 0,
+			TimeUnit.MILLISECONDS);
+	/**
+	 * Interval to send scheduled empty ACKs in batches.
+	 * 
+	 * @see #PIGGYBACKING_TIMEOUT
+	 * @since 4.0
+	 */
+	public static final TimeDefinition EMPTY_ACK_BATCH_INTERVAL = new TimeDefinition(
+			MODULE + "EMPTY_ACK_BATCH_INTERVAL", "Interval to send scheduled empty ACKs in batches.", 10,
+			TimeUnit.MILLISECONDS);
 	/**
 	 * The EXCHANGE_LIFETIME for CON requests.
 	 * <p>
@@ -724,6 +756,139 @@ public final class CoapConfig {
 	public static final IntegerDefinition PROTOCOL_STAGE_THREAD_COUNT = new IntegerDefinition(
 			MODULE + "PROTOCOL_STAGE_THREAD_COUNT", "Protocol stage thread count.", 1, 0);
 
+	/**
+	 * Process requests for resources without own executor by virtual
+	 * threads.
+	 * <p>
+	 * Each request is then handled by its own virtual thread and the resource
+	 * handler may therefore block without blocking the protocol stage. If
+	 * virtual threads are not supported by the JVM, this option is ignored and
+	 * the requests are processed as without it.
+	 * 
+	 * @see #MAX_VIRTUAL_THREAD_REQUESTS
+	 * @since 4.0
+	 */
+	public static final BooleanDefinition VIRTUAL_THREAD_REQUESTS = new BooleanDefinition(
+			MODULE + "VIRTUAL_THREAD_REQUESTS",
+			"Process requests for resources without own executor by virtual threads.", false);
+
+	/**
+	 * Maximum number of requests processed concurrently by virtual threads.
+	 * <p>
+	 * Additional requests are rejected with
+	 * {@link org.eclipse.californium.core.coap.CoAP.ResponseCode#SERVICE_UNAVAILABLE}
+	 * and a Max-Age of {@link #OVERLOAD_MAX_AGE}.
+	 * 
+	 * @see #VIRTUAL_THREAD_REQUESTS
+	 * @since 4.0
+	 */
+	public static final IntegerDefinition MAX_VIRTUAL_THREAD_REQUESTS = new IntegerDefinition(
+			MODULE + "MAX_VIRTUAL_THREAD_REQUESTS", "Maximum number of requests processed by virtual threads.",
+			DEFAULT_MAX_VIRTUAL_THREAD_REQUESTS, 1);
+
+	/**
+	 * Max-Age for responses, which are rejecting requests because of an
+	 * overload.
+	 * <p>
+	 * Indicates the client, when to retry the request.
+	 * 
+	 * @since 4.0
+	 */
+	public static final TimeDefinition OVERLOAD_MAX_AGE = new TimeDefinition(MODULE + "OVERLOAD_MAX_AGE",
+			"Max-Age for responses rejecting requests because of an overload.", 2, TimeUnit.SECONDS);
+
+	/**
+	 * Number of single-threaded lanes to process coap-exchanges.
+	 * <p>
+	 * If larger than {@code 0}, received messages and exchanges are pinned to
+	 * one of the lanes by the peer's identity. All processing for a peer is
+	 * then executed by the same thread. Timers and background jobs are still
+	 * executed by the protocol stage executor. Therefore the layers still
+	 * synchronize their per-peer state. {@code 0} to disable lanes and process
+	 * all exchanges by the protocol stage executor.
+	 * 
+	 * @since 4.0
+	 */
+	public static final IntegerDefinition PROTOCOL_STAGE_LANES = new IntegerDefinition(
+			MODULE + "PROTOCOL_STAGE_LANES",
+			"Number of single-threaded lanes to process exchanges pinned by the peer's identity. 0 to disable lanes.",
+			0, 0);
+
+	/**
+	 * Enable per-stage latency histograms.
+	 * <p>
+	 * If enabled, the endpoint records the latencies of the processing stages
+	 * of messages, from socket receive over DTLS record decryption,
+	 * deduplication and matching, resource handler to serialization and socket
+	 * send.
+	 * 
+	 * @see org.eclipse.californium.core.network.CoapEndpoint#getLatencyStatistic()
+	 * @since 4.0
+	 */
+	public static final BooleanDefinition LATENCY_HISTOGRAMS = new BooleanDefinition(MODULE + "LATENCY_HISTOGRAMS",
+			"Enable per-stage latency histograms.", false);
+
+	/**
+	 * Target queue delay for the adaptive admission control of received
+	 * messages.
+	 * <p>
+	 * If the minimum queue delay of the messages within an
+	 * {@link #ADMISSION_INTERVAL} exceeds this target, NON requests are
+	 * dropped. If it exceeds the double target, CON requests are rejected with
+	 * 5.03 (Service Unavailable) and a Max-Age of {@link #OVERLOAD_MAX_AGE}.
+	 * Responses, acknowledges and resets are not affected. {@code 0} to
+	 * disable the admission control.
+	 * 
+	 * @since 4.0
+	 */
+	public static final TimeDefinition ADMISSION_TARGET_DELAY = new TimeDefinition(
+			MODULE + "ADMISSION_TARGET_DELAY",
+			"Target queue delay for the adaptive admission control of received messages. 0 to disable.", 0,
+			TimeUnit.MILLISECONDS);
+
+	/**
+	 * Interval for the adaptive admission control of received messages.
+	 * 
+	 * @see #ADMISSION_TARGET_DELAY
+	 * @since 4.0
+	 */
+	public static final TimeDefinition ADMISSION_INTERVAL = new TimeDefinition(MODULE + "ADMISSION_INTERVAL",
+			"Interval for the adaptive admission control of received messages.", 100, TimeUnit.MILLISECONDS);
+
+	/**
+	 * Maximum number of received requests per second and peer.
+	 * <p>
+	 * Peers are identified by their principal, if authenticated, or by their
+	 * address. Requests exceeding the limit are dropped before they are
+	 * parsed. Responses, acknowledges and resets are not affected. Only
+	 * applied for UDP based endpoints. {@code 0} to disable the rate limit.
+	 * 
+	 * @see #RATE_LIMIT_BURST
+	 * @see #RATE_LIMIT_MAX_PEERS
+	 * @since 4.0
+	 */
+	public static final IntegerDefinition RATE_LIMIT = new IntegerDefinition(MODULE + "RATE_LIMIT",
+			"Maximum number of received requests per second and peer. 0 to disable.", 0, 0);
+
+	/**
+	 * Maximum number of requests received in a burst from a peer.
+	 * 
+	 * @see #RATE_LIMIT
+	 * @since 4.0
+	 */
+	public static final IntegerDefinition RATE_LIMIT_BURST = new IntegerDefinition(MODULE + "RATE_LIMIT_BURST",
+			"Maximum number of requests received in a burst from a peer.", 20, 1);
+
+	/**
+	 * Maximum number of peers tracked by the rate limit.
+	 * 
+	 * @see #RATE_LIMIT
+	 * @since 4.0
+	 */
+	public static final IntegerDefinition RATE_LIMIT_MAX_PEERS = new IntegerDefinition(
+			MODULE + "RATE_LIMIT_MAX_PEERS", "Maximum number of peers tracked by the rate limit.",
+			DEFAULT_MAX_ACTIVE_PEERS, 1);
+
 	/**
 	 * Deduplicator algorithm.
 	 * 
@@ -786,6 +951,22 @@ public final class CoapConfig {
 			"Process empty messages strictly according RFC7252, 4.1 as format error. Disable to ignore additional data as tokens or options.",
 			true);
 
+	/**
+	 * Lazy option decoding.
+	 * <p>
+	 * Keeps string and opaque options of received messages encoded and decodes
+	 * them on demand. Reduces the allocation on the receive path for messages,
+	 * which are only forwarded, deduplicated or rejected. Malformed values of
+	 * such options, which are not detected by the length validation, are
+	 * reported on access instead of parsing.
+	 * 
+	 * @since 4.0
+	 */
+	public static final BooleanDefinition LAZY_OPTION_DECODING = new BooleanDefinition(
+			MODULE + "LAZY_OPTION_DECODING",
+			"Decode string and opaque options of received messages on demand. Reduces the allocation for messages, which are only forwarded, deduplicated or rejected.",
+			false);
+
 	/**
 	 * Module definitions provider for CoAP.
 	 */
@@ -811,6 +992,8 @@ public final class CoapConfig {
 			config.set(ACK_INIT_RANDOM, 1.5f);
 			config.set(ACK_TIMEOUT_SCALE, 2f);
 			config.set(MAX_RETRANSMIT, 4);
+			config.set(PIGGYBACKING_TIMEOUT, 0, TimeUnit.MILLISECONDS);
+			config.set(EMPTY_ACK_BATCH_INTERVAL, 10, TimeUnit.MILLISECONDS);
 			config.set(EXCHANGE_LIFETIME, DEFAULT_EXCHANGE_LIFETIME_IN_SECONDS, TimeUnit.SECONDS);
 			config.set(NON_LIFETIME, 145, TimeUnit.SECONDS);
 			config.set(NSTART, 1);
@@ -846,6 +1029,16 @@ public final class CoapConfig {
 			config.set(CONGESTION_CONTROL_ALGORITHM, CongestionControlMode.NULL);
 			config.set(CONGESTION_CONTROL_USE_INET_ADDRESS, false);
 			config.set(PROTOCOL_STAGE_THREAD_COUNT, CORES);
+			config.set(PROTOCOL_STAGE_LANES, 0);
+			config.set(LATENCY_HISTOGRAMS, false);
+			config.set(VIRTUAL_THREAD_REQUESTS, false);
+			config.set(MAX_VIRTUAL_THREAD_REQUESTS, DEFAULT_MAX_VIRTUAL_THREAD_REQUESTS);
+			config.set(OVERLOAD_MAX_AGE, 2, TimeUnit.SECONDS);
+			config.set(ADMISSION_TARGET_DELAY, 0, TimeUnit.MILLISECONDS);
+			config.set(ADMISSION_INTERVAL, 100, TimeUnit.MILLISECONDS);
+			config.set(RATE_LIMIT, 0);
+			config.set(RATE_LIMIT_BURST, 20);
+			config.set(RATE_LIMIT_MAX_PEERS, DEFAULT_MAX_ACTIVE_PEERS);
 
 			config.set(DEDUPLICATOR, DEFAULT_DEDUPLICATOR);
 			config.set(MARK_AND_SWEEP_INTERVAL, DEFAULT_MARK_AND_SWEEP_INTERVAL_IN_SECONDS, TimeUnit.SECONDS);
@@ -855,6 +1048,7 @@ public final class CoapConfig {
 
 			config.set(MULTICAST_BASE_MID, DEFAULT_MULTICAST_BASE_MID);
 			config.set(STRICT_EMPTY_MESSAGE_FORMAT, true);
+			config.set(LAZY_OPTION_DECODING, false);
 
 			config.set(MAX_SERVER_OBSERVES, DEFAULT_MAX_SERVER_OBSERVES);
 			DefinitionUtils.verify(CoapConfig.class, config);
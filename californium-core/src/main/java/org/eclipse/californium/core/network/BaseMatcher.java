@@ -79,6 +79,7 @@ import org.eclipse.californium.core.observe.ObservationStore;
 import org.eclipse.californium.elements.EndpointContext;
 import org.eclipse.californium.elements.EndpointIdentityResolver;
 import org.eclipse.californium.elements.config.Configuration;
+import org.eclipse.californium.elements.util.ExecutionLanes;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -112,7 +113,9 @@ public abstract class BaseMatcher implements Matcher {
 	 * @param exchangeStore the exchange store to use for keeping track of
 	 *            message exchanges with endpoints.
 	 * @param identityResolver identity resolver to reload notify exchanges.
-	 * @param executor executor to be used for exchanges.
+	 * @param executor executor to be used for exchanges. If
+	 *            {@link ExecutionLanes} are provided, the exchanges are
+	 *            pinned to the lane of the peer's identity.
 	 * @throws NullPointerException if any of the parameters is {@code null}.
 	 * @since 3.0 (changed parameter to Configuration, added EndpointIdentityResolver)
 	 */
@@ -218,6 +221,21 @@ public abstract class BaseMatcher implements Matcher {
 		}
 	}
 
+	/**
+	 * Gets executor for exchanges of the peer.
+	 * 
+	 * @param peer peer's identity
+	 * @return the lane of the peer, if {@link ExecutionLanes} are used, or the
+	 *         executor of this matcher, otherwise.
+	 * @since 4.0
+	 */
+	protected Executor getExchangeExecutor(Object peer) {
+		if (executor instanceof ExecutionLanes) {
+			return ((ExecutionLanes) executor).getLane(peer);
+		}
+		return executor;
+	}
+
 	/**
 	 * Special matching for notify responses. Check, is a observe is stored in
 	 * {@link #observationStore} and if found, recreate a exchange.
@@ -241,7 +259,8 @@ public abstract class BaseMatcher implements Matcher {
 				// Use the identity based on the notify in order
 				// to support notifies from peer's with changed addresses
 				Object identity = identityResolver.getEndpointIdentity(response.getSourceContext());
-				exchange = new Exchange(request, identity, Origin.LOCAL, executor, obs.getContext(), true);
+				exchange = new Exchange(request, identity, Origin.LOCAL, getExchangeExecutor(identity), obs.getContext(),
+						true);
 				LOG.debug("re-created exchange from original observe request: {}", request);
 				request.addMessageObserver(new ObservationObserverAdapter(token) {
 
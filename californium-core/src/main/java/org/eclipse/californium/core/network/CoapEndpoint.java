@@ -77,6 +77,7 @@ import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -85,10 +86,12 @@ import java.util.concurrent.Executor;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.BiConsumer;
 
 import org.eclipse.californium.core.coap.CoAP;
+import org.eclipse.californium.core.coap.CoAP.ResponseCode;
 import org.eclipse.californium.core.coap.CoAP.Type;
 import org.eclipse.californium.core.coap.CoAPMessageFormatException;
 import org.eclipse.californium.core.coap.EmptyMessage;
@@ -120,6 +123,7 @@ import org.eclipse.californium.core.network.stack.CoapTcpStack;
 import org.eclipse.californium.core.network.stack.CoapUdpStack;
 import org.eclipse.californium.core.network.stack.ExchangeCleanupLayer;
 import org.eclipse.californium.core.network.stack.ObserveLayer;
+import org.eclipse.californium.core.network.stack.PiggybackScheduler;
 import org.eclipse.californium.core.network.stack.ReliabilityLayer;
 import org.eclipse.californium.core.observe.InMemoryObservationStore;
 import org.eclipse.californium.core.observe.ObservationStore;
@@ -128,6 +132,7 @@ import org.eclipse.californium.elements.Connector;
 import org.eclipse.californium.elements.EndpointContext;
 import org.eclipse.californium.elements.EndpointContextMatcher;
 import org.eclipse.californium.elements.EndpointIdentityResolver;
+import org.eclipse.californium.elements.LatencyStatisticSupport;
 import org.eclipse.californium.elements.MessageCallback;
 import org.eclipse.californium.elements.RawData;
 import org.eclipse.californium.elements.RawDataChannel;
@@ -135,10 +140,16 @@ import org.eclipse.californium.elements.UDPConnector;
 import org.eclipse.californium.elements.UdpMulticastConnector;
 import org.eclipse.californium.elements.auth.ApplicationAuthorizer;
 import org.eclipse.californium.elements.config.Configuration;
+import org.eclipse.californium.elements.util.AdmissionController;
+import org.eclipse.californium.elements.util.AdmissionController.Priority;
 import org.eclipse.californium.elements.util.ClockUtil;
 import org.eclipse.californium.elements.util.DaemonThreadFactory;
+import org.eclipse.californium.elements.util.ExecutionLanes;
 import org.eclipse.californium.elements.util.ExecutorsUtil;
+import org.eclipse.californium.elements.util.LatencyStatistic;
+import org.eclipse.californium.elements.util.LatencyStatistic.Stage;
 import org.eclipse.californium.elements.util.ProtocolScheduledExecutorService;
+import org.eclipse.californium.elements.util.RateLimiter;
 import org.eclipse.californium.elements.util.StringUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -282,6 +293,49 @@ public class CoapEndpoint implements Endpoint, Executor {
 	/** The executor to run tasks for this endpoint and its layers */
 	private ProtocolScheduledExecutorService executor;
 
+	/**
+	 * Lanes to process exchanges pinned by the peer's identity. {@code null},
+	 * if exchanges are processed by the {@link #executor}.
+	 * 
+	 * @see CoapConfig#PROTOCOL_STAGE_LANES
+	 * @since 4.0
+	 */
+	private final ExecutionLanes lanes;
+
+	/**
+	 * Per-stage latency statistic. {@code null}, if not recorded.
+	 * 
+	 * @see CoapConfig#LATENCY_HISTOGRAMS
+	 * @since 4.0
+	 */
+	private final LatencyStatistic latencyStatistic;
+
+	/**
+	 * Adaptive admission control for received messages. {@code null}, if
+	 * disabled.
+	 * 
+	 * @see CoapConfig#ADMISSION_TARGET_DELAY
+	 * @since 4.0
+	 */
+	private final AdmissionController admissionController;
+
+	/**
+	 * Rate limit for received requests. {@code null}, if disabled.
+	 * 
+	 * @see CoapConfig#RATE_LIMIT
+	 * @since 4.0
+	 */
+	private final RateLimiter<Object> rateLimiter;
+
+	/**
+	 * Max-Age in seconds for responses rejecting requests because of an
+	 * overload.
+	 * 
+	 * @see CoapConfig#OVERLOAD_MAX_AGE
+	 * @since 4.0
+	 */
+	private final long overloadMaxAge;
+
 	/** Indicates if the endpoint has been started */
 	private volatile boolean started;
 
@@ -313,6 +367,7 @@ public class CoapEndpoint implements Endpoint, Executor {
 		@Override
 		public void receiveRequest(Exchange exchange, Request request) {
 			if (started) {
+				recordLatency(Stage.MATCH, request);
 				exchange.setEndpoint(CoapEndpoint.this);
 				coapstack.receiveRequest(exchange, request);
 				notifyReceive(postProcessInterceptors, request);
@@ -323,6 +378,7 @@ public class CoapEndpoint implements Endpoint, Executor {
 		public void receiveResponse(Exchange exchange, Response response) {
 			if (started) {
 				if (exchange != null && !response.isCanceled()) {
+					recordLatency(Stage.MATCH, response);
 					exchange.setEndpoint(CoapEndpoint.this);
 					if (!exchange.isNotification()) {
 						response.setApplicationRttNanos(exchange.calculateApplicationRtt());
@@ -338,6 +394,7 @@ public class CoapEndpoint implements Endpoint, Executor {
 		public void receiveEmptyMessage(Exchange exchange, EmptyMessage message) {
 			if (started) {
 				if (exchange != null && !message.isCanceled()) {
+					recordLatency(Stage.MATCH, message);
 					exchange.setEndpoint(CoapEndpoint.this);
 					if (!exchange.isOfLocalOrigin()) {
 						Response response = exchange.getCurrentResponse();
@@ -427,6 +484,42 @@ public class CoapEndpoint implements Endpoint, Executor {
 		this.connector.setEndpointContextMatcher(endpointContextMatcher);
 		LOGGER.info("{}{} uses {}", tag, getClass().getSimpleName(), endpointContextMatcher.getName());
 
+		int laneCount = config.get(CoapConfig.PROTOCOL_STAGE_LANES);
+		if (laneCount > 0) {
+			this.lanes = new ExecutionLanes(laneCount,
+					new DaemonThreadFactory(":CoapEndpoint-" + connector + "-lane#")); //$NON-NLS-1$
+			LOGGER.info("{}{} uses {} lanes", tag, getClass().getSimpleName(), laneCount);
+		} else {
+			this.lanes = null;
+		}
+		Executor exchangeExecutor = lanes != null ? lanes : this;
+		if (config.get(CoapConfig.LATENCY_HISTOGRAMS)) {
+			this.latencyStatistic = new LatencyStatistic(tag);
+			if (connector instanceof LatencyStatisticSupport) {
+				((LatencyStatisticSupport) connector).setLatencyStatistic(latencyStatistic);
+			}
+		} else {
+			this.latencyStatistic = null;
+		}
+		Long admissionTargetDelay = config.get(CoapConfig.ADMISSION_TARGET_DELAY, TimeUnit.MILLISECONDS);
+		if (admissionTargetDelay != null && admissionTargetDelay > 0
+				&& !CoAP.isTcpProtocol(connector.getProtocol())) {
+			this.admissionController = new AdmissionController(admissionTargetDelay,
+					config.get(CoapConfig.ADMISSION_INTERVAL, TimeUnit.MILLISECONDS), TimeUnit.MILLISECONDS);
+			LOGGER.info("{}{} uses {}", tag, getClass().getSimpleName(), admissionController);
+		} else {
+			this.admissionController = null;
+		}
+		Integer rateLimit = config.get(CoapConfig.RATE_LIMIT);
+		if (rateLimit != null && rateLimit > 0 && !CoAP.isTcpProtocol(connector.getProtocol())) {
+			this.rateLimiter = new RateLimiter<>(tag, "coap", rateLimit, config.get(CoapConfig.RATE_LIMIT_BURST),
+					config.get(CoapConfig.RATE_LIMIT_MAX_PEERS));
+			LOGGER.info("{}{} uses {}", tag, getClass().getSimpleName(), rateLimiter);
+		} else {
+			this.rateLimiter = null;
+		}
+		this.overloadMaxAge = config.get(CoapConfig.OVERLOAD_MAX_AGE, TimeUnit.SECONDS);
+
 		// use the new factory to pass in the matcher (since 3.1)
 		this.coapstack = ((CoapStackFactory) coapStackFactory).createCoapStack(connector.getProtocol(), this.tag,
 				config, endpointContextMatcher, new OutboxImpl(), customStackArgument);
@@ -434,13 +527,13 @@ public class CoapEndpoint implements Endpoint, Executor {
 		if (CoAP.isTcpProtocol(connector.getProtocol())) {
 			this.useRequestOffloading = false; // no deduplication
 			this.matcher = new TcpMatcher(config, new NotificationDispatcher(), tokenGenerator, observationStore,
-					this.exchangeStore, endpointContextMatcher, this);
+					this.exchangeStore, endpointContextMatcher, exchangeExecutor);
 			this.serializer = serializer != null ? serializer : new TcpDataSerializer();
 			this.parser = parser != null ? parser : new TcpDataParser();
 		} else {
 			this.useRequestOffloading = config.get(CoapConfig.USE_MESSAGE_OFFLOADING);
 			this.matcher = new UdpMatcher(config, new NotificationDispatcher(), tokenGenerator, observationStore,
-					this.exchangeStore, this, endpointContextMatcher);
+					this.exchangeStore, exchangeExecutor, endpointContextMatcher);
 			this.serializer = serializer != null ? serializer : new UdpDataSerializer();
 			this.parser = parser != null ? parser : new UdpDataParser();
 		}
@@ -532,6 +625,9 @@ public class CoapEndpoint implements Endpoint, Executor {
 		}
 		connector.destroy();
 		coapstack.destroy();
+		if (lanes != null) {
+			lanes.shutdownGracefully(1000);
+		}
 		for (EndpointObserver obs : observers) {
 			obs.destroyed(this);
 		}
@@ -569,6 +665,82 @@ public class CoapEndpoint implements Endpoint, Executor {
 		return executor;
 	}
 
+	/**
+	 * Gets lanes to process exchanges pinned by the peer's identity.
+	 * <p>
+	 * Provides also the metrics of the lanes' queues.
+	 * 
+	 * @return lanes, or {@code null}, if not used.
+	 * @see CoapConfig#PROTOCOL_STAGE_LANES
+	 * @since 4.0
+	 */
+	public ExecutionLanes getExecutionLanes() {
+		return lanes;
+	}
+
+	/**
+	 * Gets per-stage latency statistic.
+	 * <p>
+	 * Includes the latencies recorded by the connector, if the connector
+	 * implements {@link LatencyStatisticSupport}, and the latencies of the
+	 * resource handler, if the requests are delivered by the
+	 * {@link org.eclipse.californium.core.server.ServerMessageDeliverer}.
+	 * 
+	 * @return latency statistic, or {@code null}, if not recorded.
+	 * @see CoapConfig#LATENCY_HISTOGRAMS
+	 * @since 4.0
+	 */
+	public LatencyStatistic getLatencyStatistic() {
+		return latencyStatistic;
+	}
+
+	/**
+	 * Gets adaptive admission controller for received messages.
+	 * 
+	 * @return admission controller, or {@code null}, if disabled.
+	 * @see CoapConfig#ADMISSION_TARGET_DELAY
+	 * @since 4.0
+	 */
+	public AdmissionController getAdmissionController() {
+		return admissionController;
+	}
+
+	/**
+	 * Gets rate limit for received requests.
+	 * 
+	 * @return rate limiter, or {@code null}, if disabled.
+	 * @see CoapConfig#RATE_LIMIT
+	 * @since 4.0
+	 */
+	public RateLimiter<Object> getRateLimiter() {
+		return rateLimiter;
+	}
+
+	/**
+	 * Gets scheduler for empty ACKs.
+	 * 
+	 * @return scheduler for empty ACKs, or {@code null}, if not used.
+	 * @see CoapConfig#PIGGYBACKING_TIMEOUT
+	 * @since 4.0
+	 */
+	public PiggybackScheduler getPiggybackScheduler() {
+		ReliabilityLayer layer = coapstack.getLayer(ReliabilityLayer.class);
+		return layer != null ? layer.getPiggybackScheduler() : null;
+	}
+
+	/**
+	 * Record latency since the message was received by the socket.
+	 * 
+	 * @param stage stage to record
+	 * @param message received message
+	 * @since 4.0
+	 */
+	private void recordLatency(Stage stage, Message message) {
+		if (latencyStatistic != null) {
+			latencyStatistic.recordSince(stage, message.getNanoTimestamp());
+		}
+	}
+
 	@Override
 	public void addNotificationListener(final BiConsumer<Request, Response> listener) {
 		notificationListeners.add(listener);
@@ -695,7 +867,8 @@ public class CoapEndpoint implements Endpoint, Executor {
 				throw ex;
 			}
 		}
-		final Exchange exchange = new Exchange(request, identity, Origin.LOCAL, executor);
+		final Exchange exchange = new Exchange(request, identity, Origin.LOCAL,
+				lanes != null ? lanes.getLane(identity) : executor);
 		exchange.setEndpoint(this);
 		exchange.execute(new Runnable() {
 
@@ -973,9 +1146,21 @@ public class CoapEndpoint implements Endpoint, Executor {
 			if (response.isCanceled() || response.getSendError() != null) {
 				exchange.executeComplete();
 			} else {
+				// latency since the request was received, not for notifications
+				final long received = latencyStatistic != null && !response.isNotification()
+						? exchange.getCurrentRequest().getNanoTimestamp()
+						: 0;
 				RawData data = serializer.serializeResponse(response,
 						new ExchangeCallback<Response>(exchange, response) {
 
+							@Override
+							public void onSent() {
+								super.onSent();
+								if (received != 0) {
+									latencyStatistic.recordSince(Stage.SEND, received);
+								}
+							}
+
 							@Override
 							protected void notifyPostProcess(Response response) {
 								notifySend(postProcessInterceptors, response);
@@ -985,6 +1170,9 @@ public class CoapEndpoint implements Endpoint, Executor {
 								}
 							}
 						});
+				if (received != 0) {
+					latencyStatistic.recordSince(Stage.SERIALIZE, received);
+				}
 				if (response.isConfirmable() && exchange.getFailedTransmissionCount() == 0) {
 					exchange.startTransmissionRtt();
 				}
@@ -1060,16 +1248,109 @@ public class CoapEndpoint implements Endpoint, Executor {
 			} else if (raw.getEndpointContext().getPeerAddress().getPort() == 0) {
 				throw new IllegalArgumentException("received message that does not have a source port");
 			} else if (started) {
+				if (latencyStatistic != null) {
+					latencyStatistic.recordSince(Stage.DELIVER, raw.getReceiveNanoTimestamp());
+				}
+				if (rateLimiter != null && !acquire(raw)) {
+					return;
+				}
+				if (admissionController != null && !admit(raw)) {
+					return;
+				}
 
 				// Create a new task to process this message
-				execute(new Runnable() {
+				Runnable task = new Runnable() {
 
 					@Override
 					public void run() {
+						if (admissionController != null) {
+							admissionController.recordSince(raw.getReceiveNanoTimestamp());
+						}
+						if (latencyStatistic != null) {
+							latencyStatistic.recordSince(Stage.PROCESS, raw.getReceiveNanoTimestamp());
+						}
 						receiveMessage(raw);
 					}
-				});
+				};
+				if (lanes != null) {
+					execute(lanes.getLane(getPeersIdentity(raw.getEndpointContext())), task);
+				} else {
+					execute(task);
+				}
+			}
+		}
+
+		/**
+		 * Acquire a token of the rate limit for the received message.
+		 * <p>
+		 * Only the header of the message is inspected. Requests exceeding the
+		 * rate limit of the peer are dropped silently. All other messages are
+		 * not limited.
+		 * 
+		 * @param raw received message
+		 * @return {@code true}, if the message is within the rate limit,
+		 *         {@code false}, if the message is dropped.
+		 * @see CoapConfig#RATE_LIMIT
+		 * @since 4.0
+		 */
+		private boolean acquire(final RawData raw) {
+			byte[] bytes = raw.getBytes();
+			if (bytes.length < 4 || !CoAP.isRequest(bytes[1] & 0xff)) {
+				return true;
+			}
+			EndpointContext context = raw.getEndpointContext();
+			if (rateLimiter.tryAcquire(RateLimiter.getPeerKey(context.getPeerIdentity(), context.getPeerAddress()))) {
+				return true;
+			}
+			LOGGER.debug("{}rate limit exceeded, {}, drop request from [{}]", tag, rateLimiter, context);
+			return false;
+		}
+
+		/**
+		 * Check, if the received message is admitted by the adaptive admission
+		 * control.
+		 * <p>
+		 * Only the header of the message is inspected. NON requests are
+		 * dropped first, CON requests are rejected with 5.03 (Service
+		 * Unavailable) and a Max-Age of {@link CoapConfig#OVERLOAD_MAX_AGE}.
+		 * All other messages are admitted.
+		 * 
+		 * @param raw received message
+		 * @return {@code true}, if the message is admitted, {@code false},
+		 *         if the message is dropped or rejected.
+		 * @see CoapConfig#ADMISSION_TARGET_DELAY
+		 * @since 4.0
+		 */
+		private boolean admit(final RawData raw) {
+			byte[] bytes = raw.getBytes();
+			if (bytes.length < 4 || !CoAP.isRequest(bytes[1] & 0xff)) {
+				return true;
+			}
+			boolean confirmable = ((bytes[0] >> 4) & 0x3) == Type.CON.value;
+			if (admissionController.admit(confirmable ? Priority.MEDIUM : Priority.LOW)) {
+				return true;
+			}
+			LOGGER.debug("{}overload, {}, drop request from [{}]", tag, admissionController,
+					raw.getEndpointContext());
+			int tokenLength = bytes[0] & 0xf;
+			if (confirmable && !raw.isMulticast() && tokenLength <= 8 && bytes.length >= 4 + tokenLength) {
+				Response response = new Response(ResponseCode.SERVICE_UNAVAILABLE, true);
+				response.setDestinationContext(raw.getEndpointContext());
+				response.setToken(Arrays.copyOfRange(bytes, 4, 4 + tokenLength));
+				response.setMID(((bytes[2] & 0xff) << 8) | (bytes[3] & 0xff));
+				response.setType(Type.ACK);
+				response.getOptions().setMaxAge(overloadMaxAge);
+				notifySend(interceptors, response);
+				response.setReadyToSend();
+				connector.send(serializer.serializeResponse(response, new SendingCallback<Response>(response) {
+
+					@Override
+					protected void notifyPostProcess(Response response) {
+						notifySend(postProcessInterceptors, response);
+					}
+				}));
 			}
+			return false;
 		}
 
 		/*
@@ -1376,6 +1657,23 @@ public class CoapEndpoint implements Endpoint, Executor {
 		return authorizer;
 	}
 
+	/**
+	 * Gets the peer's identity to select the lane.
+	 * <p>
+	 * Falls back to the peer's address, if the identity is not available.
+	 * 
+	 * @param context endpoint context of the peer
+	 * @return peer's identity
+	 * @since 4.0
+	 */
+	private Object getPeersIdentity(EndpointContext context) {
+		try {
+			return identityResolver.getEndpointIdentity(context);
+		} catch (IllegalArgumentException ex) {
+			return context.getPeerAddress();
+		}
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -1383,7 +1681,18 @@ public class CoapEndpoint implements Endpoint, Executor {
 	 */
 	@Override
 	public void execute(final Runnable task) {
-		final Executor exchangeExecutor = executor;
+		execute(executor, task);
+	}
+
+	/**
+	 * Execute the specified task on the provided executor.
+	 * 
+	 * @param exchangeExecutor executor to execute the task. Either the
+	 *            endpoint's executor or a lane.
+	 * @param task task to execute
+	 * @since 4.0
+	 */
+	private void execute(final Executor exchangeExecutor, final Runnable task) {
 		if (exchangeExecutor == null) {
 			LOGGER.error("{}Executor not ready!", tag, new Throwable("execution failed!"));
 		} else {
@@ -1775,14 +2084,15 @@ public class CoapEndpoint implements Endpoint, Executor {
 				coapStackFactory = getDefaultCoapStackFactory();
 			}
 			if (parser == null) {
+				boolean lazyOptionDecoding = config.get(CoapConfig.LAZY_OPTION_DECODING);
 				if (CoAP.isTcpProtocol(connector.getProtocol())) {
-					parser = new TcpDataParser(optionRegistry);
+					parser = new TcpDataParser(optionRegistry, lazyOptionDecoding);
 					if (store != null) {
 						store.setDeduplicator(new NoDeduplicator());
 					}
 				} else {
 					boolean strictEmptyMessageFormat = config.get(CoapConfig.STRICT_EMPTY_MESSAGE_FORMAT);
-					parser = new UdpDataParser(strictEmptyMessageFormat, optionRegistry);
+					parser = new UdpDataParser(strictEmptyMessageFormat, optionRegistry, lazyOptionDecoding);
 				}
 			}
 			return new CoapEndpoint(connector, config, tokenGenerator, observationStore, exchangeStore,
@@ -63,6 +63,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
 import org.eclipse.californium.core.coap.CoAP.Type;
 import org.eclipse.californium.core.coap.option.BlockOption;
@@ -82,6 +83,8 @@ import org.eclipse.californium.elements.EndpointContext;
 import org.eclipse.californium.elements.EndpointIdentityResolver;
 import org.eclipse.californium.elements.UdpMulticastConnector;
 import org.eclipse.californium.elements.auth.ApplicationAuthorizer;
+import org.eclipse.californium.elements.metrics.EventRecorder;
+import org.eclipse.californium.elements.metrics.EventRecorders;
 import org.eclipse.californium.elements.util.CheckedExecutor;
 import org.eclipse.californium.elements.util.ClockUtil;
 import org.eclipse.californium.elements.util.SerialExecutor;
@@ -264,6 +267,24 @@ public class Exchange {
 	 */
 	private volatile long sendNanoTimestamp;
 
+	/**
+	 * The realtime in nanoseconds, when the request was delivered to the
+	 * resource. {@code 0}, if not delivered or not recorded.
+	 * 
+	 * @see EventRecorder.Type#EXCHANGE
+	 * @since 4.0
+	 */
+	private volatile long deliverNanoTimestamp;
+
+	/**
+	 * The realtime in nanoseconds, when the first response was sent by the
+	 * resource. {@code 0}, if not sent or not recorded.
+	 * 
+	 * @see EventRecorder.Type#EXCHANGE
+	 * @since 4.0
+	 */
+	private volatile long respondNanoTimestamp;
+
 	/**
 	 * Indicates, that the transmission is started.
 	 * 
@@ -1156,12 +1177,58 @@ public class Exchange {
 					}
 				}
 			}
+			EventRecorder recorder = EventRecorders.get();
+			if (recorder.isEnabled(EventRecorder.Type.EXCHANGE)) {
+				recordExchange(recorder);
+			}
 			return true;
 		} else {
 			throw new ExchangeCompleteException(this + " already complete!", caller);
 		}
 	}
 
+	/**
+	 * Record completed exchange.
+	 * 
+	 * @param recorder recorder for event
+	 * @since 4.0
+	 */
+	private void recordExchange(EventRecorder recorder) {
+		long now = ClockUtil.nanoRealtime();
+		Request request = getRequest();
+		if (request == null) {
+			request = getCurrentRequest();
+		}
+		Response response = getResponse();
+		if (response == null) {
+			response = getCurrentResponse();
+		}
+		String peer = null;
+		if (request != null) {
+			EndpointContext context = origin == Origin.LOCAL ? request.getDestinationContext()
+					: request.getSourceContext();
+			if (context != null) {
+				peer = StringUtil.toDisplayString(context.getPeerAddress());
+			}
+		}
+		final Request recordedRequest = request;
+		// the URI is only built, if the event is committed
+		Supplier<String> requestText = () -> {
+			if (recordedRequest == null) {
+				return null;
+			}
+			return recordedRequest.getCode() == null ? "ping"
+					: recordedRequest.getCode() + " " + recordedRequest.getOptions().getUriString();
+		};
+		String responseText = response == null ? null : response.getCode().toString();
+		long deliver = deliverNanoTimestamp;
+		long respond = respondNanoTimestamp;
+		long deliverNanos = deliver == 0 ? 0 : deliver - nanoTimestamp;
+		long processNanos = deliver == 0 || respond == 0 ? 0 : respond - deliver;
+		recorder.recordExchange(origin == Origin.LOCAL, peer, requestText, responseText, deliverNanos, processNanos,
+				now - nanoTimestamp);
+	}
+
 	/**
 	 * Execute complete.
 	 * 
@@ -1230,6 +1297,35 @@ public class Exchange {
 		sendNanoTimestamp = nanoTimestamp;
 	}
 
+	/**
+	 * Set the realtime in nanoseconds, when the request was delivered to the
+	 * resource.
+	 * 
+	 * Only used, if {@link EventRecorder.Type#EXCHANGE} events are recorded.
+	 * 
+	 * @param nanoTimestamp realtime in nanoseconds.
+	 * @since 4.0
+	 */
+	public void setDeliverNanoTimestamp(long nanoTimestamp) {
+		deliverNanoTimestamp = nanoTimestamp;
+	}
+
+	/**
+	 * Set the realtime in nanoseconds, when the response was sent by the
+	 * resource.
+	 * 
+	 * Only used, if {@link EventRecorder.Type#EXCHANGE} events are recorded.
+	 * Only the first response is considered.
+	 * 
+	 * @param nanoTimestamp realtime in nanoseconds.
+	 * @since 4.0
+	 */
+	public void setRespondNanoTimestamp(long nanoTimestamp) {
+		if (respondNanoTimestamp == 0) {
+			respondNanoTimestamp = nanoTimestamp;
+		}
+	}
+
 	/**
 	 * Start transmission RTT.
 	 * 
@@ -154,7 +154,7 @@ public final class TcpMatcher extends BaseMatcher {
 	public void receiveRequest(final Request request, final EndpointReceiver receiver) {
 
 		Object peer = endpointContextMatcher.getEndpointIdentity(request.getSourceContext());
-		final Exchange exchange = new Exchange(request, peer, Exchange.Origin.REMOTE, executor);
+		final Exchange exchange = new Exchange(request, peer, Exchange.Origin.REMOTE, getExchangeExecutor(peer));
 		exchange.setRemoveHandler(exchangeRemoveHandler);
 		exchange.execute(new Runnable() {
 
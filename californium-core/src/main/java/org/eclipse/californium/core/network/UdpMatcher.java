@@ -225,7 +225,7 @@ public final class UdpMatcher extends BaseMatcher {
 		// (Retransmission is supposed to be done by the retransm. layer)
 		final Object peer = endpointContextMatcher.getEndpointIdentity(request.getSourceContext());
 		final KeyMID idByMID = new KeyMID(request.getMID(), peer);
-		final Exchange exchange = new Exchange(request, peer, Origin.REMOTE, executor);
+		final Exchange exchange = new Exchange(request, peer, Origin.REMOTE, getExchangeExecutor(peer));
 		final Exchange previous = exchangeStore.findPrevious(idByMID, exchange);
 		boolean duplicate = previous != null;
 
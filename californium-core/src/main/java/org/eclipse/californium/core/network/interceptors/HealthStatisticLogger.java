@@ -114,6 +114,16 @@ public class HealthStatisticLogger extends CounterStatisticManager implements Ma
 		add("recv-", malformedMessages);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * @since 4.0
+	 */
+	@Override
+	public String getMetricsNamespace() {
+		return "coap";
+	}
+
 	@Override
 	public boolean isEnabled() {
 		return LOGGER.isInfoEnabled();
@@ -180,11 +190,11 @@ public class HealthStatisticLogger extends CounterStatisticManager implements Ma
 	public void sendRequest(Request request) {
 		used = true;
 		if (request.getSendError() != null) {
-			sendErrors.increment();
+			sendErrors.add(1);
 		} else if (request.isDuplicate()) {
-			resentRequests.increment();
+			resentRequests.add(1);
 		} else {
-			sentRequests.increment();
+			sentRequests.add(1);
 		}
 	}
 
@@ -192,14 +202,14 @@ public class HealthStatisticLogger extends CounterStatisticManager implements Ma
 	public void sendResponse(Response response) {
 		used = true;
 		if (response.getOffloadMode() != null) {
-			offloadedMessages.increment();
+			offloadedMessages.add(1);
 		}
 		if (response.getSendError() != null) {
-			sendErrors.increment();
+			sendErrors.add(1);
 		} else if (response.isDuplicate()) {
-			resentResponses.increment();
+			resentResponses.add(1);
 		} else {
-			sentResponses.increment();
+			sentResponses.add(1);
 		}
 	}
 
@@ -207,11 +217,11 @@ public class HealthStatisticLogger extends CounterStatisticManager implements Ma
 	public void sendEmptyMessage(EmptyMessage message) {
 		used = true;
 		if (message.getSendError() != null) {
-			sendErrors.increment();
+			sendErrors.add(1);
 		} else if (message.getType() == CoAP.Type.ACK) {
-			sentAcknowledges.increment();
+			sentAcknowledges.add(1);
 		} else {
-			sentRejects.increment();
+			sentRejects.add(1);
 		}
 	}
 
@@ -219,9 +229,9 @@ public class HealthStatisticLogger extends CounterStatisticManager implements Ma
 	public void receiveRequest(Request request) {
 		used = true;
 		if (request.isDuplicate()) {
-			duplicateRequests.increment();
+			duplicateRequests.add(1);
 		} else {
-			receivedRequests.increment();
+			receivedRequests.add(1);
 		}
 	}
 
@@ -229,11 +239,11 @@ public class HealthStatisticLogger extends CounterStatisticManager implements Ma
 	public void receiveResponse(Response response) {
 		used = true;
 		if (response.isCanceled()) {
-			ignoredMessages.increment();
+			ignoredMessages.add(1);
 		} else if (response.isDuplicate()) {
-			duplicateResponses.increment();
+			duplicateResponses.add(1);
 		} else {
-			receivedResponses.increment();
+			receivedResponses.add(1);
 		}
 	}
 
@@ -241,23 +251,23 @@ public class HealthStatisticLogger extends CounterStatisticManager implements Ma
 	public void receiveEmptyMessage(EmptyMessage message) {
 		used = true;
 		if (message.isCanceled()) {
-			ignoredMessages.increment();
+			ignoredMessages.add(1);
 		} else if (message.getType() == CoAP.Type.ACK) {
-			receivedAcknowledges.increment();
+			receivedAcknowledges.add(1);
 		} else {
-			receivedRejects.increment();
+			receivedRejects.add(1);
 		}
 	}
 
 	@Override
 	public void receivedMalformedMessage(RawData message) {
 		used = true;
-		malformedMessages.increment();
+		malformedMessages.add(1);
 	}
 
 	@Override
 	public void dropForNoResponse(Response response) {
 		used = true;
-		droppedNoResponses.increment();
+		droppedNoResponses.add(1);
 	}
 }
@@ -37,9 +37,11 @@ import org.eclipse.californium.core.coap.Message;
 import org.eclipse.californium.core.coap.MessageFormatException;
 import org.eclipse.californium.core.coap.Option;
 import org.eclipse.californium.core.coap.OptionNumberRegistry;
+import org.eclipse.californium.core.coap.OptionNumberRegistry.OptionFormat;
 import org.eclipse.californium.core.coap.OptionSet;
 import org.eclipse.californium.core.coap.Request;
 import org.eclipse.californium.core.coap.Response;
+import org.eclipse.californium.core.coap.option.EncodedOptions;
 import org.eclipse.californium.core.coap.option.OptionDefinition;
 import org.eclipse.californium.core.coap.option.OptionRegistry;
 import org.eclipse.californium.core.coap.option.StandardOptionRegistry;
@@ -54,6 +56,13 @@ public abstract class DataParser {
 
 	protected final OptionRegistry optionRegistry;
 
+	/**
+	 * Enable lazy decoding of string and opaque options.
+	 * 
+	 * @since 4.0
+	 */
+	private final boolean lazyOptionDecoding;
+
 	/**
 	 * Create data parser.
 	 * 
@@ -62,6 +71,7 @@ public abstract class DataParser {
 	 */
 	protected DataParser() {
 		optionRegistry = StandardOptionRegistry.getDefaultOptionRegistry();
+		lazyOptionDecoding = false;
 	}
 
 	/**
@@ -72,10 +82,46 @@ public abstract class DataParser {
 	 * @since 3.8
 	 */
 	protected DataParser(OptionRegistry optionRegistry) {
+		this(optionRegistry, false);
+	}
+
+	/**
+	 * Create data parser with provided option registry and lazy option
+	 * decoding.
+	 * <p>
+	 * If lazy option decoding is enabled, string and opaque options are only
+	 * indexed and validated for their length and repetition during parsing.
+	 * The values are decoded using {@link #createOption}, when the
+	 * {@link OptionSet} is accessed in a way requiring the object model.
+	 * Therefore malformed values of such options, which are not detected by
+	 * the length validation, are reported later with an
+	 * {@link IllegalArgumentException}.
+	 * 
+	 * @param optionRegistry option registry. {@code null} to use
+	 *            {@link StandardOptionRegistry#getDefaultOptionRegistry()}
+	 * @param lazyOptionDecoding {@code true}, to decode string and opaque
+	 *            options on demand, {@code false}, to decode them while
+	 *            parsing.
+	 * @see OptionSet#setEncodedOptions(EncodedOptions)
+	 * @since 4.0
+	 */
+	protected DataParser(OptionRegistry optionRegistry, boolean lazyOptionDecoding) {
 		if (optionRegistry == null) {
 			optionRegistry = StandardOptionRegistry.getDefaultOptionRegistry();
 		}
 		this.optionRegistry = optionRegistry;
+		this.lazyOptionDecoding = lazyOptionDecoding;
+	}
+
+	/**
+	 * Checks, if lazy option decoding is enabled.
+	 * 
+	 * @return {@code true}, if string and opaque options are decoded on
+	 *         demand, {@code false}, if they are decoded while parsing.
+	 * @since 4.0
+	 */
+	public boolean isLazyOptionDecoding() {
+		return lazyOptionDecoding;
 	}
 
 	/**
@@ -216,26 +262,44 @@ public abstract class DataParser {
 		int currentOptionNumber = 0;
 		byte nextByte = 0;
 		OptionSet optionSet = message.getOptions();
+		EncodedOptions.Builder encoded = null;
+		DatagramReader optionsReader = reader;
+		byte[] data = null;
+		if (lazyOptionDecoding) {
+			int length = scanOptionsLength(reader);
+			if (length > 0) {
+				// copy only the options, shared by the encoded options and
+				// therefore not modified
+				data = reader.readBytes(length);
+				optionsReader = new DatagramReader(data, false);
+				encoded = new EncodedOptions.Builder(data, code, this::createOption);
+			}
+		}
 
-		while (reader.bytesAvailable()) {
-			nextByte = reader.readNextByte();
+		while (optionsReader.bytesAvailable()) {
+			nextByte = optionsReader.readNextByte();
 			if (nextByte == PAYLOAD_MARKER) {
 				break;
 			}
 			try {
 				// the first 4 bits of the byte represent the option delta
 				int optionDeltaNibble = (0xF0 & nextByte) >> 4;
-				currentOptionNumber += determineValueFromNibble(reader, optionDeltaNibble);
+				currentOptionNumber += determineValueFromNibble(optionsReader, optionDeltaNibble);
 
 				// the second 4 bits represent the option length
 				int optionLengthNibble = 0x0F & nextByte;
-				int optionLength = determineValueFromNibble(reader, optionLengthNibble);
+				int optionLength = determineValueFromNibble(optionsReader, optionLengthNibble);
 
 				// read option
-				if (reader.bytesAvailable(optionLength)) {
-					Option option = createOption(code, currentOptionNumber, reader, optionLength);
-					if (option != null) {
-						optionSet.addOption(option);
+				if (optionsReader.bytesAvailable(optionLength)) {
+					if (encoded != null && addEncodedOption(encoded, code, currentOptionNumber,
+							data.length - optionsReader.bitsLeft() / Byte.SIZE, optionLength)) {
+						optionsReader.skip(optionLength * Byte.SIZE);
+					} else {
+						Option option = createOption(code, currentOptionNumber, optionsReader, optionLength);
+						if (option != null) {
+							optionSet.addOption(option);
+						}
 					}
 				} else {
 					String msg = String.format(
@@ -251,6 +315,13 @@ public abstract class DataParser {
 						message.getRawCode(), message.isConfirmable());
 			}
 		}
+		if (encoded != null) {
+			optionSet.setEncodedOptions(encoded.build());
+			if (reader.bytesAvailable()) {
+				// the scan stops at the payload marker
+				nextByte = reader.readNextByte();
+			}
+		}
 		try {
 			assertValidOptions(message);
 		} catch (IllegalArgumentException ex) {
@@ -314,6 +385,84 @@ public abstract class DataParser {
 		}
 	}
 
+	/**
+	 * Adds option to encoded options.
+	 * <p>
+	 * Only string and opaque options are added. The value length and the
+	 * repetition of non-repeatable options is validated.
+	 * 
+	 * @param encoded builder for encoded options
+	 * @param code message code
+	 * @param optionNumber option number
+	 * @param offset offset of the option value
+	 * @param length length of the option value
+	 * @return {@code true}, if the option is handled as encoded option,
+	 *         {@code false}, if the option must be decoded immediately.
+	 * @throws IllegalArgumentException if the value length doesn't match the
+	 *             option's definition, or a critical non-repeatable option is
+	 *             repeated.
+	 * @since 4.0
+	 */
+	private boolean addEncodedOption(EncodedOptions.Builder encoded, int code, int optionNumber, int offset,
+			int length) {
+		OptionDefinition definition = optionRegistry.getDefinitionByNumber(code, optionNumber);
+		if (definition == null) {
+			return false;
+		}
+		OptionFormat format = definition.getFormat();
+		if (format != OptionFormat.STRING && format != OptionFormat.OPAQUE) {
+			return false;
+		}
+		definition.assertValueLength(length);
+		if (definition.isSingleValue() && encoded.getLastNumber() == optionNumber) {
+			if (OptionNumberRegistry.isCritical(optionNumber)) {
+				throw new IllegalArgumentException(definition + " critical single option provided multiple times.");
+			}
+			// repeated non-repeatable options of class "elective" MUST be
+			// silently ignored.
+		} else {
+			encoded.add(optionNumber, offset, length);
+		}
+		return true;
+	}
+
+	/**
+	 * Scans the length of the options.
+	 * <p>
+	 * The position of the reader is not changed.
+	 * 
+	 * @param reader reader positioned at the first option
+	 * @return length of the options in bytes, excluding the payload marker.
+	 *         {@code -1}, if the options are malformed and must be parsed
+	 *         without lazy decoding in order to report the error.
+	 * @since 4.0
+	 */
+	private static int scanOptionsLength(DatagramReader reader) {
+		int start = reader.bitsLeft() / Byte.SIZE;
+		int end = start;
+		reader.mark();
+		try {
+			while (reader.bytesAvailable()) {
+				byte nextByte = reader.readNextByte();
+				if (nextByte == PAYLOAD_MARKER) {
+					break;
+				}
+				determineValueFromNibble(reader, (0xF0 & nextByte) >> 4);
+				int optionLength = determineValueFromNibble(reader, 0x0F & nextByte);
+				if (!reader.bytesAvailable(optionLength)) {
+					return -1;
+				}
+				reader.skip(optionLength * Byte.SIZE);
+				end = reader.bitsLeft() / Byte.SIZE;
+			}
+		} catch (IllegalArgumentException ex) {
+			return -1;
+		} finally {
+			reader.reset();
+		}
+		return start - end;
+	}
+
 	/**
 	 * Calculates the number based on the delta (nibble).
 	 * 
@@ -63,6 +63,22 @@ public class TcpDataParser extends DataParser {
 		super(optionRegistry);
 	}
 
+	/**
+	 * Create TCP data parser with provided option registry and lazy option
+	 * decoding.
+	 * 
+	 * @param optionRegistry option registry. {@code null} to use
+	 *            {@link StandardOptionRegistry#getDefaultOptionRegistry()}
+	 * @param lazyOptionDecoding {@code true}, to decode string and opaque
+	 *            options on demand, {@code false}, to decode them while
+	 *            parsing.
+	 * @see DataParser#DataParser(OptionRegistry, boolean)
+	 * @since 4.0
+	 */
+	public TcpDataParser(OptionRegistry optionRegistry, boolean lazyOptionDecoding) {
+		super(optionRegistry, lazyOptionDecoding);
+	}
+
 	@Override
 	protected MessageHeader parseHeader(final DatagramReader reader) {
 		if (!reader.bytesAvailable(1)) {
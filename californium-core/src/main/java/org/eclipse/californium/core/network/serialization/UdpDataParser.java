@@ -79,7 +79,27 @@ public class UdpDataParser extends DataParser {
 	 * @since 3.8
 	 */
 	public UdpDataParser(boolean strictEmptyMessageFormat, OptionRegistry optionRegistry) {
-		super(optionRegistry);
+		this(strictEmptyMessageFormat, optionRegistry, false);
+	}
+
+	/**
+	 * Create UDP data parser with support for critical custom options,
+	 * provided strictness for empty message format and lazy option decoding.
+	 * 
+	 * @param strictEmptyMessageFormat {@code true}, to process messages with
+	 *            code {@code 0} strictly according RFC7252, 4.1.,
+	 *            {@code false}, to relax the MUST in a not compliant way!
+	 * @param optionRegistry option registry. {@code null} to use
+	 *            {@link StandardOptionRegistry#getDefaultOptionRegistry()}
+	 * @param lazyOptionDecoding {@code true}, to decode string and opaque
+	 *            options on demand, {@code false}, to decode them while
+	 *            parsing.
+	 * @see DataParser#DataParser(OptionRegistry, boolean)
+	 * @since 4.0
+	 */
+	public UdpDataParser(boolean strictEmptyMessageFormat, OptionRegistry optionRegistry,
+			boolean lazyOptionDecoding) {
+		super(optionRegistry, lazyOptionDecoding);
 		this.strictEmptyMessageFormat = strictEmptyMessageFormat;
 	}
 
@@ -39,6 +39,9 @@ import org.eclipse.californium.core.network.Outbox;
 import org.eclipse.californium.core.network.stack.Layer.TopDownBuilder;
 import org.eclipse.californium.core.observe.ObservationStoreException;
 import org.eclipse.californium.core.server.MessageDeliverer;
+import org.eclipse.californium.elements.metrics.EventRecorder;
+import org.eclipse.californium.elements.metrics.EventRecorders;
+import org.eclipse.californium.elements.util.ClockUtil;
 import org.eclipse.californium.elements.util.ProtocolScheduledExecutorService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -190,6 +193,9 @@ public abstract class BaseCoapStack implements CoapStack {
 
 		@Override
 		public void sendResponse(final Exchange exchange, final Response response) {
+			if (EventRecorders.isEnabled(EventRecorder.Type.EXCHANGE)) {
+				exchange.setRespondNanoTimestamp(ClockUtil.nanoRealtime());
+			}
 			exchange.setResponse(response);
 			lower().sendResponse(exchange, response);
 		}
@@ -201,6 +207,9 @@ public abstract class BaseCoapStack implements CoapStack {
 				exchange.setRequest(request);
 			}
 			if (hasDeliverer()) {
+				if (EventRecorders.isEnabled(EventRecorder.Type.EXCHANGE)) {
+					exchange.setDeliverNanoTimestamp(ClockUtil.nanoRealtime());
+				}
 				deliverer.deliverRequest(exchange);
 			} else {
 				LOGGER.error("Top of CoAP stack has no deliverer to deliver request");
@@ -38,6 +38,9 @@ import org.eclipse.californium.core.network.Exchange;
 import org.eclipse.californium.elements.DtlsEndpointContext;
 import org.eclipse.californium.elements.EndpointContext;
 import org.eclipse.californium.elements.EndpointContextUtil;
+import org.eclipse.californium.elements.metrics.EventRecorder;
+import org.eclipse.californium.elements.metrics.EventRecorders;
+import org.eclipse.californium.elements.util.ClockUtil;
 
 /**
  * A tracker for the status of a blockwise transfer of a request or response
@@ -63,6 +66,14 @@ public abstract class BlockwiseStatus {
 	private int currentNum;
 	private int currentSzx;
 	private boolean complete;
+	/**
+	 * Realtime in nanoseconds, when this transfer was created. {@code 0}, if
+	 * not recorded.
+	 * 
+	 * @see EventRecorder.Type#BLOCKWISE_TRANSFER
+	 * @since 4.0
+	 */
+	private final long startNanos;
 
 	/**
 	 * Creates a new blockwise status.
@@ -111,6 +122,8 @@ public abstract class BlockwiseStatus {
 		if (maxTcpBertBulkBlocks > 1) {
 			currentSzx = BlockOption.BERT_SZX;
 		}
+		this.startNanos = EventRecorders.isEnabled(EventRecorder.Type.BLOCKWISE_TRANSFER) ? ClockUtil.nanoRealtime()
+				: 0;
 	}
 
 	/**
@@ -244,6 +257,9 @@ public abstract class BlockwiseStatus {
 	 * @param complete {@code true} if all blocks have been transferred.
 	 */
 	protected final void setComplete(final boolean complete) {
+		if (complete && !this.complete) {
+			recordTransfer();
+		}
 		this.complete = complete;
 	}
 
@@ -258,10 +274,26 @@ public abstract class BlockwiseStatus {
 		boolean complete = !this.complete;
 		if (complete) {
 			this.complete = true;
+			recordTransfer();
 		}
 		return complete;
 	}
 
+	/**
+	 * Record completed transfer.
+	 * 
+	 * @since 4.0
+	 */
+	private void recordTransfer() {
+		if (startNanos != 0) {
+			EventRecorder recorder = EventRecorders.get();
+			if (recorder.isEnabled(EventRecorder.Type.BLOCKWISE_TRANSFER)) {
+				recorder.recordBlockwiseTransfer(keyUri.toString(), this instanceof Block1BlockwiseStatus,
+						currentNum + 1, getCurrentSize(), ClockUtil.nanoRealtime() - startNanos);
+			}
+		}
+	}
+
 	/**
 	 * Restart this transfer.
 	 * 
@@ -170,7 +170,7 @@ public abstract class CongestionControlLayer extends ReliabilityLayer {
 	 * @since 3.0 (changed parameter to Configuration)
 	 */
 	public CongestionControlLayer(String tag, Configuration config) {
-		super(config);
+		super(tag, config);
 		this.tag = tag;
 		this.config = config;
 		this.remoteEndpoints = new LeastRecentlyUpdatedCache<>(config.get(CoapConfig.MAX_ACTIVE_PEERS),
@@ -731,7 +731,7 @@ public abstract class CongestionControlLayer extends ReliabilityLayer {
 			layer = new PeakhopperRto(tag, config);
 			break;
 		case NULL:
-			layer = new ReliabilityLayer(config);
+			layer = new ReliabilityLayer(tag, config);
 			break;
 		}
 		if (layer != null) {
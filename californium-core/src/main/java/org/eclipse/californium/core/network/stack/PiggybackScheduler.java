@@ -0,0 +1,489 @@
+/********************************************************************************
+ * Copyright (c) 2025 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v1.0 which is available at
+ * https://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ ********************************************************************************/
+package org.eclipse.californium.core.network.stack;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Queue;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.californium.core.coap.CoAP.ResponseCode;
+import org.eclipse.californium.core.coap.CoAP.Type;
+import org.eclipse.californium.core.coap.EmptyMessage;
+import org.eclipse.californium.core.coap.Request;
+import org.eclipse.californium.core.coap.Response;
+import org.eclipse.californium.core.config.CoapConfig;
+import org.eclipse.californium.core.network.Endpoint;
+import org.eclipse.californium.core.network.Exchange;
+import org.eclipse.californium.elements.config.Configuration;
+import org.eclipse.californium.elements.metrics.MetricsCollector;
+import org.eclipse.californium.elements.metrics.MetricsSource;
+import org.eclipse.californium.elements.util.ClockUtil;
+import org.eclipse.californium.elements.util.LeastRecentlyUpdatedCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Scheduler for empty ACKs of confirmable requests.
+ * <p>
+ * Tracks the latency of the resource handlers per uri-path and decides, if it
+ * waits for a piggybacked response or sends an empty ACK early. Only uri-paths
+ * of existing resources are tracked, responses with
+ * {@link ResponseCode#NOT_FOUND} are ignored. If the
+ * estimated latency of a resource exceeds the
+ * {@link CoapConfig#PIGGYBACKING_TIMEOUT} even in good cases, the empty ACK is
+ * sent early. Otherwise the scheduler waits that timeout for the response and
+ * sends the empty ACK only, if the response is not sent in time. Duplicate
+ * requests are acknowledged early as well, the client is already
+ * retransmitting.
+ * <p>
+ * The empty ACKs are sent in batches every
+ * {@link CoapConfig#EMPTY_ACK_BATCH_INTERVAL} using one timer instead of a
+ * timer per exchange. That enables the connector to coalesce the empty ACKs
+ * of a peer, e.g. into one DTLS datagram.
+ * <p>
+ * The numbers of piggybacked responses, early and delayed empty ACKs are
+ * provided as metrics.
+ *
+ * @since 4.0
+ */
+public class PiggybackScheduler implements MetricsSource {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(PiggybackScheduler.class);
+
+	/**
+	 * Maximum number of resources with tracked latency.
+	 */
+	public static final int MAX_RESOURCES = 1024;
+	/**
+	 * Threshold in seconds to consider a tracked latency as stale. Stale
+	 * latencies are evicted, if {@link #MAX_RESOURCES} is reached.
+	 */
+	private static final long LATENCY_THRESHOLD_SECONDS = TimeUnit.MINUTES.toSeconds(10);
+
+	/**
+	 * Logging tag.
+	 */
+	private final String tag;
+	/**
+	 * Timeout to wait for a piggybacked response in nanoseconds.
+	 */
+	private final long piggybackingTimeoutNanos;
+	/**
+	 * Interval to send empty ACKs in batches in nanoseconds.
+	 */
+	private final long batchIntervalNanos;
+	/**
+	 * Latency estimators by uri-path.
+	 */
+	private final LeastRecentlyUpdatedCache<String, LatencyEstimator> latencies = new LeastRecentlyUpdatedCache<>(
+			MAX_RESOURCES, LATENCY_THRESHOLD_SECONDS, TimeUnit.SECONDS);
+	/**
+	 * Empty ACKs to be sent with the next batch.
+	 */
+	private final Queue<PendingAck> earlyAcks = new ConcurrentLinkedQueue<>();
+	/**
+	 * Empty ACKs to be sent, if the response isn't sent in time. Ordered by
+	 * the deadline. Guarded by itself.
+	 */
+	private final NavigableSet<PendingAck> delayedAcks = new TreeSet<>();
+	/**
+	 * Empty ACKs to be sent, if the response isn't sent in time, by exchange.
+	 * Used to remove the empty ACK, if the response is sent. Guarded by
+	 * {@link #delayedAcks}.
+	 */
+	private final Map<Exchange, PendingAck> delayedAcksByExchange = new HashMap<>();
+	/**
+	 * Sequence number of the delayed empty ACKs. Orders delayed empty ACKs
+	 * with the same deadline. Guarded by {@link #delayedAcks}.
+	 */
+	private long delayedAcksSequence;
+	/**
+	 * Number of responses sent piggybacked.
+	 */
+	private final LongAdder piggybackedResponses = new LongAdder();
+	/**
+	 * Number of empty ACKs sent early.
+	 */
+	private final LongAdder earlyEmptyAcks = new LongAdder();
+	/**
+	 * Number of empty ACKs sent after the piggybacking timeout.
+	 */
+	private final LongAdder delayedEmptyAcks = new LongAdder();
+	/**
+	 * Indicates, that the next batch is scheduled.
+	 */
+	private final AtomicBoolean scheduled = new AtomicBoolean();
+
+	/**
+	 * Create scheduler.
+	 *
+	 * @param tag logging tag
+	 * @param config configuration
+	 * @throws IllegalArgumentException if
+	 *             {@link CoapConfig#PIGGYBACKING_TIMEOUT} is {@code 0}.
+	 */
+	public PiggybackScheduler(String tag, Configuration config) {
+		this.tag = tag;
+		this.piggybackingTimeoutNanos = config.get(CoapConfig.PIGGYBACKING_TIMEOUT, TimeUnit.NANOSECONDS);
+		this.batchIntervalNanos = Math.max(1, config.get(CoapConfig.EMPTY_ACK_BATCH_INTERVAL, TimeUnit.NANOSECONDS));
+		if (piggybackingTimeoutNanos <= 0) {
+			throw new IllegalArgumentException("Piggybacking timeout must be larger than 0!");
+		}
+		this.latencies.setHideStaleValues(true);
+	}
+
+	/**
+	 * Create scheduler, if enabled by configuration.
+	 *
+	 * @param tag logging tag
+	 * @param config configuration
+	 * @return scheduler, or {@code null}, if
+	 *         {@link CoapConfig#PIGGYBACKING_TIMEOUT} is {@code 0}.
+	 */
+	public static PiggybackScheduler create(String tag, Configuration config) {
+		if (config.get(CoapConfig.PIGGYBACKING_TIMEOUT, TimeUnit.NANOSECONDS) > 0) {
+			return new PiggybackScheduler(tag, config);
+		}
+		return null;
+	}
+
+	/**
+	 * Schedule empty ACK for received request.
+	 *
+	 * Only confirmable requests are acknowledged.
+	 *
+	 * @param exchange exchange of request
+	 * @param request received request
+	 * @param executor executor to schedule the batches
+	 */
+	public void receiveRequest(Exchange exchange, Request request, ScheduledExecutorService executor) {
+		if (request.isConfirmable()) {
+			LatencyEstimator estimator = latencies.get(getResource(request));
+			if (estimator != null && estimator.isSlow(piggybackingTimeoutNanos)) {
+				LOGGER.trace("{} slow resource, acknowledge early", exchange);
+				earlyAcks.add(new PendingAck(exchange, null, 0, 0));
+			} else {
+				long deadline = exchange.getNanoTimestamp() + piggybackingTimeoutNanos;
+				synchronized (delayedAcks) {
+					PendingAck ack = new PendingAck(exchange, null, deadline, ++delayedAcksSequence);
+					PendingAck previous = delayedAcksByExchange.put(exchange, ack);
+					if (previous != null) {
+						delayedAcks.remove(previous);
+					}
+					delayedAcks.add(ack);
+				}
+			}
+			schedule(executor);
+		}
+	}
+
+	/**
+	 * Schedule empty ACK for duplicate request.
+	 *
+	 * @param exchange exchange of request
+	 * @param ack empty ACK to resend. {@code null} to acknowledge the request,
+	 *            if not already acknowledged or rejected.
+	 * @param executor executor to schedule the batches
+	 */
+	public void receiveDuplicate(Exchange exchange, EmptyMessage ack, ScheduledExecutorService executor) {
+		earlyAcks.add(new PendingAck(exchange, ack, 0, 0));
+		schedule(executor);
+	}
+
+	/**
+	 * Record latency of first response of exchange.
+	 * <p>
+	 * Removes the pending delayed empty ACK of the exchange, the response
+	 * either acknowledges the request itself or the request is already
+	 * acknowledged.
+	 * 
+	 * @param exchange exchange of response
+	 * @param response first response of exchange
+	 */
+	public void sendResponse(Exchange exchange, Response response) {
+		synchronized (delayedAcks) {
+			PendingAck ack = delayedAcksByExchange.remove(exchange);
+			if (ack != null) {
+				delayedAcks.remove(ack);
+			}
+		}
+		if (response.getType() == Type.ACK) {
+			piggybackedResponses.increment();
+		}
+		if (response.getCode() == ResponseCode.NOT_FOUND) {
+			// no resource
+			return;
+		}
+		Request request = exchange.getCurrentRequest();
+		long latency = ClockUtil.nanoRealtime() - exchange.getNanoTimestamp();
+		String resource = getResource(request);
+		LatencyEstimator estimator = latencies.update(resource);
+		if (estimator == null) {
+			estimator = new LatencyEstimator();
+			if (!latencies.put(resource, estimator)) {
+				LOGGER.trace("{} latencies of {} resources already tracked", exchange, MAX_RESOURCES);
+				return;
+			}
+		}
+		estimator.add(latency);
+	}
+
+	/**
+	 * Get number of piggybacked responses.
+	 *
+	 * @return number of piggybacked responses
+	 */
+	public long getPiggybackedResponses() {
+		return piggybackedResponses.sum();
+	}
+
+	/**
+	 * Get number of early sent empty ACKs.
+	 *
+	 * @return number of early sent empty ACKs
+	 */
+	public long getEarlyEmptyAcks() {
+		return earlyEmptyAcks.sum();
+	}
+
+	/**
+	 * Get number of empty ACKs sent after the piggybacking timeout.
+	 *
+	 * @return number of delayed empty ACKs
+	 */
+	public long getDelayedEmptyAcks() {
+		return delayedEmptyAcks.sum();
+	}
+
+	/**
+	 * Get number of pending delayed empty ACKs.
+	 *
+	 * @return number of pending delayed empty ACKs
+	 */
+	public int getPendingDelayedEmptyAcks() {
+		synchronized (delayedAcks) {
+			return delayedAcks.size();
+		}
+	}
+
+	@Override
+	public void collectMetrics(MetricsCollector collector) {
+		String source = tag.trim();
+		collector.addValue("coap_piggybacked_responses", MetricsCollector.Type.COUNTER, source,
+				piggybackedResponses.sum());
+		collector.addValue("coap_early_empty_acks", MetricsCollector.Type.COUNTER, source, earlyEmptyAcks.sum());
+		collector.addValue("coap_delayed_empty_acks", MetricsCollector.Type.COUNTER, source,
+				delayedEmptyAcks.sum());
+	}
+
+	/**
+	 * Clear pending empty ACKs.
+	 */
+	public void clear() {
+		earlyAcks.clear();
+		synchronized (delayedAcks) {
+			delayedAcks.clear();
+			delayedAcksByExchange.clear();
+		}
+	}
+
+	private void schedule(final ScheduledExecutorService executor) {
+		if (scheduled.compareAndSet(false, true)) {
+			try {
+				executor.schedule(new Runnable() {
+
+					@Override
+					public void run() {
+						sendBatch(executor);
+					}
+				}, batchIntervalNanos, TimeUnit.NANOSECONDS);
+			} catch (RejectedExecutionException ex) {
+				LOGGER.debug("{}stopped, {} pending empty ACKs dropped", tag,
+						earlyAcks.size() + getPendingDelayedEmptyAcks());
+				scheduled.set(false);
+				clear();
+			}
+		}
+	}
+
+	/**
+	 * Send batch of empty ACKs.
+	 *
+	 * Sends all early empty ACKs and all delayed empty ACKs, which are due and
+	 * not already replaced by a piggybacked response.
+	 *
+	 * @param executor executor to schedule the next batch
+	 */
+	private void sendBatch(ScheduledExecutorService executor) {
+		PendingAck ack;
+		while ((ack = earlyAcks.poll()) != null) {
+			if (ack.send()) {
+				earlyEmptyAcks.increment();
+			}
+		}
+		List<PendingAck> due = new ArrayList<>();
+		boolean pending;
+		long now = ClockUtil.nanoRealtime();
+		synchronized (delayedAcks) {
+			while (!delayedAcks.isEmpty() && (delayedAcks.first().deadline - now) <= 0) {
+				ack = delayedAcks.pollFirst();
+				delayedAcksByExchange.remove(ack.exchange);
+				due.add(ack);
+			}
+			pending = !delayedAcks.isEmpty();
+		}
+		for (PendingAck delayed : due) {
+			if (delayed.send()) {
+				delayedEmptyAcks.increment();
+			}
+		}
+		scheduled.set(false);
+		if (pending || !earlyAcks.isEmpty()) {
+			schedule(executor);
+		}
+	}
+
+	private static String getResource(Request request) {
+		return request.getOptions().getUriPathString();
+	}
+
+	/**
+	 * Pending empty ACK.
+	 * <p>
+	 * Ordered by the deadline and the sequence number.
+	 */
+	private static class PendingAck implements Comparable<PendingAck> {
+
+		/**
+		 * Exchange to acknowledge.
+		 */
+		private final Exchange exchange;
+		/**
+		 * Empty ACK to resend. {@code null} to acknowledge the current
+		 * request.
+		 */
+		private final EmptyMessage ack;
+		/**
+		 * Deadline in nanoseconds.
+		 */
+		private final long deadline;
+		/**
+		 * Sequence number to order empty ACKs with the same deadline.
+		 */
+		private final long sequence;
+
+		private PendingAck(Exchange exchange, EmptyMessage ack, long deadline, long sequence) {
+			this.exchange = exchange;
+			this.ack = ack;
+			this.deadline = deadline;
+			this.sequence = sequence;
+		}
+
+		@Override
+		public int compareTo(PendingAck other) {
+			// nano-time may overflow, compare the difference
+			long diff = deadline - other.deadline;
+			if (diff == 0) {
+				diff = sequence - other.sequence;
+			}
+			return Long.signum(diff);
+		}
+
+		/**
+		 * Send empty ACK.
+		 *
+		 * Skipped, if the exchange is already complete or acknowledged.
+		 * 
+		 * @return {@code true}, if the empty ACK is sent, {@code false}, if
+		 *         the exchange is already complete or acknowledged.
+		 */
+		private boolean send() {
+			if (exchange.isComplete()) {
+				return false;
+			}
+			if (ack != null) {
+				exchange.execute(new Runnable() {
+
+					@Override
+					public void run() {
+						Endpoint endpoint = exchange.getEndpoint();
+						if (endpoint != null && !exchange.isComplete()) {
+							endpoint.sendEmptyMessage(exchange, ack);
+						}
+					}
+				});
+				return true;
+			}
+			if (exchange.getCurrentResponse() != null || exchange.getCurrentRequest().isAcknowledged()) {
+				return false;
+			}
+			exchange.execute(new Runnable() {
+
+				@Override
+				public void run() {
+					if (!exchange.isComplete() && exchange.getCurrentResponse() == null) {
+						exchange.sendAccept();
+					}
+				}
+			});
+			return true;
+		}
+	}
+
+	/**
+	 * Estimator for the latency of a resource handler.
+	 *
+	 * Uses the smoothed latency and the smoothed mean deviation, similar to the
+	 * RTO estimation of RFC 6298.
+	 */
+	private static class LatencyEstimator {
+
+		private long latency;
+		private long deviation;
+		private boolean initialized;
+
+		private synchronized void add(long sample) {
+			if (initialized) {
+				deviation = (3 * deviation + Math.abs(latency - sample)) / 4;
+				latency = (7 * latency + sample) / 8;
+			} else {
+				latency = sample;
+				deviation = sample / 2;
+				initialized = true;
+			}
+		}
+
+		/**
+		 * Check, if the resource is slow.
+		 *
+		 * @param timeoutNanos piggybacking timeout
+		 * @return {@code true}, if even a fast response is expected after the
+		 *         timeout.
+		 */
+		private synchronized boolean isSlow(long timeoutNanos) {
+			return latency - deviation > timeoutNanos;
+		}
+	}
+}
@@ -43,6 +43,7 @@ import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import org.eclipse.californium.core.coap.CoAP;
 import org.eclipse.californium.core.coap.CoAP.Type;
 import org.eclipse.californium.core.coap.EmptyMessage;
 import org.eclipse.californium.core.coap.Message;
@@ -54,6 +55,9 @@ import org.eclipse.californium.core.network.Exchange;
 import org.eclipse.californium.elements.EndpointContext;
 import org.eclipse.californium.elements.EndpointContextUtil;
 import org.eclipse.californium.elements.config.Configuration;
+import org.eclipse.californium.elements.metrics.EventRecorder;
+import org.eclipse.californium.elements.metrics.EventRecorders;
+import org.eclipse.californium.elements.util.StringUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -81,6 +85,14 @@ public class ReliabilityLayer extends AbstractLayer {
 	 */
 	private final int maxLeisureMillis;
 
+	/**
+	 * Scheduler for empty ACKs. {@code null}, if
+	 * {@link CoapConfig#PIGGYBACKING_TIMEOUT} is {@code 0}.
+	 * 
+	 * @since 4.0
+	 */
+	private final PiggybackScheduler piggybackScheduler;
+
 	/**
 	 * Constructs a new reliability layer.
 	 * 
@@ -88,9 +100,21 @@ public class ReliabilityLayer extends AbstractLayer {
 	 * @since 3.0 (changed parameter to Configuration)
 	 */
 	public ReliabilityLayer(Configuration config) {
+		this("", config);
+	}
+
+	/**
+	 * Constructs a new reliability layer.
+	 * 
+	 * @param tag logging tag
+	 * @param config the configuration
+	 * @since 4.0
+	 */
+	public ReliabilityLayer(String tag, Configuration config) {
 		defaultReliabilityLayerParameters = ReliabilityLayerParameters.builder().applyConfig(config).build();
 		maxLeisureMillis = config.getTimeAsInt(CoapConfig.LEISURE, TimeUnit.MILLISECONDS);
 		LOGGER.trace("Max. leisure for multicast server={}ms", maxLeisureMillis);
+		piggybackScheduler = PiggybackScheduler.create(tag, config);
 		LOGGER.trace("ReliabilityLayer uses ACK_TIMEOUT={}ms, MAX_ACK_TIMEOUT={}ms, ACK_RANDOM_FACTOR={}, and ACK_TIMEOUT_SCALE={} as default",
 				defaultReliabilityLayerParameters.getAckTimeout(),
 				defaultReliabilityLayerParameters.getMaxAckTimeout(),
@@ -98,6 +122,24 @@ public class ReliabilityLayer extends AbstractLayer {
 				defaultReliabilityLayerParameters.getAckTimeoutScale());
 	}
 
+	/**
+	 * Gets scheduler for empty ACKs.
+	 * 
+	 * @return scheduler for empty ACKs, or {@code null}, if
+	 *         {@link CoapConfig#PIGGYBACKING_TIMEOUT} is {@code 0}.
+	 * @since 4.0
+	 */
+	public PiggybackScheduler getPiggybackScheduler() {
+		return piggybackScheduler;
+	}
+
+	@Override
+	public void destroy() {
+		if (piggybackScheduler != null) {
+			piggybackScheduler.clear();
+		}
+	}
+
 	/**
 	 * Schedules a retransmission for confirmable messages.
 	 */
@@ -180,6 +222,10 @@ public class ReliabilityLayer extends AbstractLayer {
 		if (respType == Type.ACK || respType == Type.RST) {
 			response.setMID(currentRequest.getMID());
 		}
+		if (piggybackScheduler != null && exchange.getCurrentResponse() == null) {
+			// first response
+			piggybackScheduler.sendResponse(exchange, response);
+		}
 
 		if (respType == Type.CON) {
 			LOGGER.debug("{} prepare retransmission for {}", exchange, response);
@@ -223,7 +269,8 @@ public class ReliabilityLayer extends AbstractLayer {
 	 * has gone lost or not reached the client yet), we resent the ACK. If the
 	 * request has neither been responded, acknowledged or rejected yet, the
 	 * server has not yet decided what to do with the request and we cannot do
-	 * anything.
+	 * anything, except the {@link PiggybackScheduler} is enabled. Then the
+	 * duplicate is acknowledged, because the client is already retransmitting.
 	 */
 	@Override
 	public void receiveRequest(Exchange exchange, Request request) {
@@ -288,13 +335,22 @@ public class ReliabilityLayer extends AbstractLayer {
 				LOGGER.debug("{} duplicate request was acknowledged but no response computed yet. Retransmit ACK",
 						exchange);
 				EmptyMessage ack = EmptyMessage.newACK(request);
-				sendEmptyMessage(exchange, ack);
+				if (piggybackScheduler != null) {
+					piggybackScheduler.receiveDuplicate(exchange, ack, executor);
+				} else {
+					sendEmptyMessage(exchange, ack);
+				}
 
 			} else if (previousRequest.isRejected()) {
 				LOGGER.debug("{} duplicate request was rejected. Reject again", exchange);
 				EmptyMessage rst = EmptyMessage.newRST(request);
 				sendEmptyMessage(exchange, rst);
 
+			} else if (piggybackScheduler != null && request.isConfirmable()) {
+				LOGGER.debug("{} server has not yet decided what to do with the request. Client retransmits, ACK it.",
+						exchange);
+				piggybackScheduler.receiveDuplicate(exchange, null, executor);
+
 			} else {
 				LOGGER.debug("{} server has not yet decided what to do with the request. We ignore the duplicate.",
 						exchange);
@@ -306,6 +362,9 @@ public class ReliabilityLayer extends AbstractLayer {
 		} else {
 			// Request is not a duplicate
 			exchange.setCurrentRequest(request);
+			if (piggybackScheduler != null) {
+				piggybackScheduler.receiveRequest(exchange, request, executor);
+			}
 			upper().receiveRequest(exchange, request);
 		}
 	}
@@ -636,6 +695,13 @@ public class ReliabilityLayer extends AbstractLayer {
 							LOGGER.debug("Timeout: for {}, {} got completed, do not retransmit", exchange, message);
 							return;
 						}
+						EventRecorder recorder = EventRecorders.get();
+						if (recorder.isEnabled(EventRecorder.Type.RETRANSMISSION)) {
+							EndpointContext context = message.getEffectiveDestinationContext();
+							recorder.recordRetransmission(StringUtil.toDisplayString(context.getPeerAddress()),
+									message.getType() + "-" + CoAP.toCodeString(message.getRawCode()), message.getMID(), failedCount,
+									exchange.getCurrentTimeout());
+						}
 						retransmit();
 					} else {
 						LOGGER.debug(
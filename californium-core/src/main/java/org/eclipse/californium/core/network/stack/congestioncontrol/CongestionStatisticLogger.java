@@ -56,6 +56,16 @@ public class CongestionStatisticLogger extends CounterStatisticManager {
 		add(receivedResponses);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * @since 4.0
+	 */
+	@Override
+	public String getMetricsNamespace() {
+		return "coap_congestion";
+	}
+
 	@Override
 	public boolean isEnabled() {
 		return LOGGER.isInfoEnabled();
@@ -86,20 +96,20 @@ public class CongestionStatisticLogger extends CounterStatisticManager {
 	}
 
 	public void sendRequest() {
-		sentRequests.increment();
+		sentRequests.add(1);
 	}
 
 	public void queueRequest() {
-		queueRequests.increment();
+		queueRequests.add(1);
 	}
 
 	public void dequeueRequest() {
-		dequeueRequests.increment();
+		dequeueRequests.add(1);
 	}
 
 	public void receiveResponse(Response response) {
 		if (!response.isDuplicate()) {
-			receivedResponses.increment();
+			receivedResponses.add(1);
 		}
 	}
 
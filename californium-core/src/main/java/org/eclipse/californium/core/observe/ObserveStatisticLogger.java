@@ -97,16 +97,16 @@ public class ObserveStatisticLogger extends CounterStatisticManager implements O
 
 	@Override
 	public void receivingObserveRequest() {
-		observeRequests.increment();
+		observeRequests.add(1);
 	}
 
 	@Override
 	public void receivingCancelRequest() {
-		cancelRequests.increment();
+		cancelRequests.add(1);
 	}
 
 	@Override
 	public void receivingReject() {
-		rejectedNotifies.increment();
+		rejectedNotifies.add(1);
 	}
 }
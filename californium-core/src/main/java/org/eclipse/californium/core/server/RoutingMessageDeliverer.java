@@ -0,0 +1,576 @@
+/********************************************************************************
+ * Copyright (c) 2025 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v1.0 which is available at
+ * https://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ ********************************************************************************/
+package org.eclipse.californium.core.server;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.californium.core.coap.CoAP;
+import org.eclipse.californium.core.coap.OptionNumberRegistry;
+import org.eclipse.californium.core.coap.OptionSet;
+import org.eclipse.californium.core.coap.Request;
+import org.eclipse.californium.core.coap.option.EncodedOptions;
+import org.eclipse.californium.core.coap.option.StringOption;
+import org.eclipse.californium.core.network.Exchange;
+import org.eclipse.californium.core.server.resources.Resource;
+import org.eclipse.californium.elements.config.Configuration;
+import org.eclipse.californium.elements.util.LeastRecentlyUpdatedCache;
+
+/**
+ * Message deliverer using a compiled routing index.
+ * <p>
+ * Routes are defined by path templates, e.g. {@code /devices/{id}/config}.
+ * A template segment is either a literal, a parameter {@code {name}}, which
+ * matches any single segment, or, as last segment, a wildcard {@code *}, which
+ * matches all remaining segments. Literals take precedence over parameters and
+ * parameters over wildcards.
+ * <p>
+ * The routes are compiled into a segment trie, which is matched directly
+ * against the encoded Uri-Path options, without decoding them into strings
+ * (see {@link OptionSet#getEncodedOptions()}). Resolved routes are cached per
+ * path in a bounded cache to speed up hot lookups.
+ * <p>
+ * Requests without matching route are delivered by the resource tree as
+ * usual, see {@link ServerMessageDeliverer#findResource(Exchange)}. Resources
+ * of routes are not required to be part of the resource tree and are
+ * therefore also not listed by the discovery resource.
+ * <p>
+ * Usage:
+ *
+ * <pre>
+ * <code>
+ * RoutingMessageDeliverer deliverer = new RoutingMessageDeliverer(server.getRoot(), config, 10000);
+ * Route config = deliverer.addRoute("/devices/{id}/config", configResource);
+ * server.setMessageDeliverer(deliverer);
+ * ...
+ * // within the handler of configResource
+ * String id = config.getParameter(exchange.getRequest(), "id");
+ * </code>
+ * </pre>
+ *
+ * @since 4.0
+ */
+public class RoutingMessageDeliverer extends ServerMessageDeliverer {
+
+	/**
+	 * Parameter segment prefix.
+	 */
+	private static final String PARAMETER_START = "{";
+	/**
+	 * Parameter segment suffix.
+	 */
+	private static final String PARAMETER_END = "}";
+	/**
+	 * Wildcard segment.
+	 */
+	private static final String WILDCARD = "*";
+	/**
+	 * Expiration threshold of cached routes in seconds.
+	 */
+	private static final long CACHE_THRESHOLD_SECONDS = TimeUnit.MINUTES.toSeconds(10);
+
+	/**
+	 * Root node of the routing index.
+	 */
+	private final Node root = new Node();
+	/**
+	 * Cache of resolved routes. {@code null}, if disabled.
+	 */
+	private final LeastRecentlyUpdatedCache<Segment, Route> cache;
+	/**
+	 * Generation of the routing index. Incremented on every change before the
+	 * cache is cleared.
+	 */
+	private final AtomicLong generation = new AtomicLong();
+
+	/**
+	 * Creates routing message deliverer.
+	 *
+	 * @param root the root resource
+	 * @param config the configuration
+	 * @param cacheSize maximum number of cached resolved routes. {@code 0} to
+	 *            disable the cache.
+	 * @throws IllegalArgumentException if cache size is negative.
+	 */
+	public RoutingMessageDeliverer(Resource root, Configuration config, int cacheSize) {
+		super(root, config);
+		if (cacheSize < 0) {
+			throw new IllegalArgumentException("Cache size " + cacheSize + " must not be negative!");
+		}
+		if (cacheSize > 0) {
+			this.cache = new LeastRecentlyUpdatedCache<>(cacheSize, CACHE_THRESHOLD_SECONDS, TimeUnit.SECONDS);
+		} else {
+			this.cache = null;
+		}
+	}
+
+	/**
+	 * Adds route.
+	 *
+	 * @param template path template. Leading and trailing slashes are ignored.
+	 * @param resource resource to deliver matching requests to.
+	 * @return the added route
+	 * @throws NullPointerException if any parameter is {@code null}
+	 * @throws IllegalArgumentException if the template is malformed or a route
+	 *             for that template is already defined.
+	 */
+	public Route addRoute(String template, Resource resource) {
+		if (template == null) {
+			throw new NullPointerException("Template must not be null!");
+		}
+		if (resource == null) {
+			throw new NullPointerException("Resource must not be null!");
+		}
+		String[] segments = split(template);
+		List<String> parameters = new ArrayList<>();
+		Route route = new Route(template, resource, segments);
+		synchronized (root) {
+			Node current = root;
+			for (int index = 0; index < segments.length; ++index) {
+				String segment = segments[index];
+				if (segment.equals(WILDCARD)) {
+					if (index != segments.length - 1) {
+						throw new IllegalArgumentException("Wildcard must be last segment in " + template + "!");
+					}
+					if (current.wildcard != null) {
+						throw new IllegalArgumentException("Route " + template + " already defined!");
+					}
+					current.wildcard = route;
+					clearCache();
+					return route;
+				} else if (segment.startsWith(PARAMETER_START) && segment.endsWith(PARAMETER_END)) {
+					String name = segment.substring(1, segment.length() - 1);
+					if (name.isEmpty() || parameters.contains(name)) {
+						throw new IllegalArgumentException("Invalid parameter " + segment + " in " + template + "!");
+					}
+					parameters.add(name);
+					if (current.parameter == null) {
+						current.parameter = new Node();
+					}
+					current = current.parameter;
+				} else {
+					Segment key = new Segment(segment.getBytes(CoAP.UTF8_CHARSET));
+					Node next = current.literals.get(key);
+					if (next == null) {
+						next = new Node();
+						current.literals.put(key, next);
+					}
+					current = next;
+				}
+			}
+			if (current.route != null) {
+				throw new IllegalArgumentException("Route " + template + " already defined!");
+			}
+			current.route = route;
+			clearCache();
+		}
+		return route;
+	}
+
+	/**
+	 * Removes route.
+	 *
+	 * @param route route to remove
+	 * @return {@code true}, if removed, {@code false}, if not available.
+	 */
+	public boolean removeRoute(Route route) {
+		synchronized (root) {
+			Node current = root;
+			for (String segment : route.segments) {
+				if (segment.equals(WILDCARD)) {
+					if (current.wildcard == route) {
+						current.wildcard = null;
+						clearCache();
+						return true;
+					}
+					return false;
+				} else if (segment.startsWith(PARAMETER_START) && segment.endsWith(PARAMETER_END)) {
+					current = current.parameter;
+				} else {
+					current = current.literals.get(new Segment(segment.getBytes(CoAP.UTF8_CHARSET)));
+				}
+				if (current == null) {
+					return false;
+				}
+			}
+			if (current.route == route) {
+				current.route = null;
+				clearCache();
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Clears the cache of resolved routes.
+	 */
+	private void clearCache() {
+		if (cache != null) {
+			generation.incrementAndGet();
+			cache.clear();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Uses the routing index first and falls back to the resource tree, if no
+	 * route matches.
+	 */
+	@Override
+	protected Resource findResource(Exchange exchange) throws DelivererException {
+		Route route = findRoute(exchange.getRequest().getOptions());
+		if (route != null) {
+			return route.getResource();
+		}
+		return super.findResource(exchange);
+	}
+
+	/**
+	 * Finds route for the Uri-Path options.
+	 *
+	 * @param options options with Uri-Path
+	 * @return matching route, or {@code null}, if no route matches.
+	 */
+	public Route findRoute(OptionSet options) {
+		Segment[] path = getPath(options);
+		Segment key = null;
+		if (cache != null) {
+			key = new Segment(path);
+			Route route = cache.get(key);
+			if (route != null) {
+				return route;
+			}
+		}
+		long current = generation.get();
+		Route route = match(root, path, 0);
+		if (route != null && key != null) {
+			cache.put(key, route);
+			if (generation.get() != current) {
+				// routing index changed concurrently, route may be stale
+				cache.remove(key, route);
+			}
+		}
+		return route;
+	}
+
+	/**
+	 * Matches path with routing index.
+	 *
+	 * @param node current node
+	 * @param path path segments
+	 * @param index index of the current segment
+	 * @return matching route, or {@code null}, if no route matches.
+	 */
+	private static Route match(Node node, Segment[] path, int index) {
+		if (index == path.length) {
+			Route route = node.route;
+			return route != null ? route : node.wildcard;
+		}
+		Node next = node.literals.get(path[index]);
+		if (next != null) {
+			Route route = match(next, path, index + 1);
+			if (route != null) {
+				return route;
+			}
+		}
+		next = node.parameter;
+		if (next != null) {
+			Route route = match(next, path, index + 1);
+			if (route != null) {
+				return route;
+			}
+		}
+		return node.wildcard;
+	}
+
+	/**
+	 * Gets Uri-Path segments.
+	 * <p>
+	 * Uses the encoded options, if the Uri-Path is not decoded.
+	 *
+	 * @param options options with Uri-Path
+	 * @return array of segments
+	 */
+	private static Segment[] getPath(OptionSet options) {
+		EncodedOptions encoded = options.getEncodedOptions();
+		if (encoded != null) {
+			int count = encoded.count(OptionNumberRegistry.URI_PATH);
+			if (count > 0 && count == options.getURIPathCount()) {
+				Segment[] path = new Segment[count];
+				int entry = encoded.indexOf(OptionNumberRegistry.URI_PATH);
+				for (int index = 0; index < count; ++index, ++entry) {
+					path[index] = new Segment(encoded.getData(), encoded.getOffset(entry), encoded.getLength(entry));
+				}
+				return path;
+			}
+		}
+		List<StringOption> uriPath = options.getUriPath();
+		Segment[] path = new Segment[uriPath.size()];
+		for (int index = 0; index < path.length; ++index) {
+			path[index] = new Segment(uriPath.get(index).getValue());
+		}
+		return path;
+	}
+
+	/**
+	 * Splits template into segments.
+	 *
+	 * @param template path template
+	 * @return segments
+	 */
+	private static String[] split(String template) {
+		int start = 0;
+		int end = template.length();
+		while (start < end && template.charAt(start) == '/') {
+			++start;
+		}
+		while (end > start && template.charAt(end - 1) == '/') {
+			--end;
+		}
+		if (start == end) {
+			return new String[0];
+		}
+		return template.substring(start, end).split("/", -1);
+	}
+
+	/**
+	 * Route.
+	 */
+	public static final class Route {
+
+		/**
+		 * Path template.
+		 */
+		private final String template;
+		/**
+		 * Resource to deliver matching requests to.
+		 */
+		private final Resource resource;
+		/**
+		 * Segments of the template.
+		 */
+		private final String[] segments;
+
+		/**
+		 * Create route.
+		 *
+		 * @param template path template
+		 * @param resource resource to deliver matching requests to
+		 * @param segments segments of the template
+		 */
+		private Route(String template, Resource resource, String[] segments) {
+			this.template = template;
+			this.resource = resource;
+			this.segments = segments;
+		}
+
+		/**
+		 * Gets path template.
+		 *
+		 * @return path template
+		 */
+		public String getTemplate() {
+			return template;
+		}
+
+		/**
+		 * Gets resource.
+		 *
+		 * @return resource to deliver matching requests to
+		 */
+		public Resource getResource() {
+			return resource;
+		}
+
+		/**
+		 * Gets parameter value from request.
+		 * <p>
+		 * For the wildcard, use {@code "*"} as name. That returns the remaining
+		 * path segments separated by {@code '/'}.
+		 *
+		 * @param request request matching this route.
+		 * @param name name of parameter
+		 * @return value of parameter, or {@code null}, if not available.
+		 */
+		public String getParameter(Request request, String name) {
+			String segment = WILDCARD.equals(name) ? name : PARAMETER_START + name + PARAMETER_END;
+			for (int index = 0; index < segments.length; ++index) {
+				if (segments[index].equals(segment)) {
+					List<StringOption> path = request.getOptions().getUriPath();
+					if (index >= path.size()) {
+						return null;
+					}
+					if (WILDCARD.equals(name)) {
+						StringBuilder builder = new StringBuilder();
+						for (int next = index; next < path.size(); ++next) {
+							builder.append(path.get(next).getStringValue()).append('/');
+						}
+						builder.setLength(builder.length() - 1);
+						return builder.toString();
+					}
+					return path.get(index).getStringValue();
+				}
+			}
+			return null;
+		}
+
+		@Override
+		public String toString() {
+			return template + " => " + resource.getName();
+		}
+	}
+
+	/**
+	 * Node of the routing index.
+	 */
+	private static class Node {
+
+		/**
+		 * Literal children.
+		 */
+		private final ConcurrentMap<Segment, Node> literals = new ConcurrentHashMap<>();
+		/**
+		 * Parameter child.
+		 */
+		private volatile Node parameter;
+		/**
+		 * Route ending at this node.
+		 */
+		private volatile Route route;
+		/**
+		 * Wildcard route starting at this node.
+		 */
+		private volatile Route wildcard;
+	}
+
+	/**
+	 * Byte range used as key for segments and paths.
+	 * <p>
+	 * Refers to the encoded data without copying it.
+	 */
+	private static final class Segment {
+
+		/**
+		 * Data.
+		 */
+		private final byte[] data;
+		/**
+		 * Offset of the range.
+		 */
+		private final int offset;
+		/**
+		 * Length of the range.
+		 */
+		private final int length;
+		/**
+		 * Hash of the range.
+		 */
+		private final int hash;
+
+		/**
+		 * Create segment of the whole array.
+		 *
+		 * @param data data
+		 */
+		private Segment(byte[] data) {
+			this(data, 0, data.length);
+		}
+
+		/**
+		 * Create segment of a range.
+		 *
+		 * @param data data
+		 * @param offset offset of the range
+		 * @param length length of the range
+		 */
+		private Segment(byte[] data, int offset, int length) {
+			this.data = data;
+			this.offset = offset;
+			this.length = length;
+			int hash = 1;
+			for (int index = offset; index < offset + length; ++index) {
+				hash = 31 * hash + data[index];
+			}
+			this.hash = hash;
+		}
+
+		/**
+		 * Create path key.
+		 * <p>
+		 * Joins the segments, each prefixed by its length. A separator would
+		 * not be unique, because a Uri-Path option may contain any character,
+		 * including '/'.
+		 *
+		 * @param path path segments
+		 */
+		private Segment(Segment[] path) {
+			this(join(path));
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			} else if (!(obj instanceof Segment)) {
+				return false;
+			}
+			Segment other = (Segment) obj;
+			if (hash != other.hash || length != other.length) {
+				return false;
+			}
+			for (int index = 0; index < length; ++index) {
+				if (data[offset + index] != other.data[other.offset + index]) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		/**
+		 * Joins path segments.
+		 * <p>
+		 * Each segment is prefixed by its length in one byte. The length of an
+		 * Uri-Path option is limited to 255 bytes.
+		 *
+		 * @param path path segments
+		 * @return joined path
+		 */
+		private static byte[] join(Segment[] path) {
+			int size = path.length;
+			for (Segment segment : path) {
+				size += segment.length;
+			}
+			byte[] joined = new byte[size];
+			int offset = 0;
+			for (Segment segment : path) {
+				joined[offset++] = (byte) segment.length;
+				System.arraycopy(segment.data, segment.offset, joined, offset, segment.length);
+				offset += segment.length;
+			}
+			return joined;
+		}
+	}
+}
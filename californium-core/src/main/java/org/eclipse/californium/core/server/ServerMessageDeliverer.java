@@ -25,19 +25,30 @@ package org.eclipse.californium.core.server;
 import java.net.InetSocketAddress;
 import java.util.List;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.californium.core.coap.CoAP;
 import org.eclipse.californium.core.coap.CoAP.ResponseCode;
 import org.eclipse.californium.core.coap.Request;
 import org.eclipse.californium.core.coap.Response;
 import org.eclipse.californium.core.coap.option.StringOption;
+import org.eclipse.californium.core.config.CoapConfig;
+import org.eclipse.californium.core.network.CoapEndpoint;
+import org.eclipse.californium.core.network.Endpoint;
 import org.eclipse.californium.core.network.Exchange;
 import org.eclipse.californium.core.observe.ObserveHealth;
 import org.eclipse.californium.core.observe.ObserveManager;
 import org.eclipse.californium.core.server.resources.ObservableResource;
 import org.eclipse.californium.core.server.resources.Resource;
 import org.eclipse.californium.elements.config.Configuration;
+import org.eclipse.californium.elements.util.ClockUtil;
+import org.eclipse.californium.elements.util.LatencyStatistic;
+import org.eclipse.californium.elements.util.LatencyStatistic.Stage;
+import org.eclipse.californium.elements.util.NamedThreadFactory;
 import org.eclipse.californium.elements.util.StringUtil;
+import org.eclipse.californium.elements.util.VirtualThreadFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -55,6 +66,38 @@ public class ServerMessageDeliverer implements MessageDeliverer {
 	/* The manager of the observe mechanism for this server */
 	private final ObserveManager observeManager;
 
+	/**
+	 * Thread factory to process requests by virtual threads. {@code null}, if
+	 * requests are processed without virtual threads.
+	 * 
+	 * @see CoapConfig#VIRTUAL_THREAD_REQUESTS
+	 * @since 4.0
+	 */
+	private final ThreadFactory requestThreadFactory;
+
+	/**
+	 * Maximum number of requests processed by virtual threads.
+	 * 
+	 * @see CoapConfig#MAX_VIRTUAL_THREAD_REQUESTS
+	 * @since 4.0
+	 */
+	private final int maxRequestThreads;
+
+	/**
+	 * Max-Age in seconds for overload responses.
+	 * 
+	 * @see CoapConfig#OVERLOAD_MAX_AGE
+	 * @since 4.0
+	 */
+	private final long overloadMaxAge;
+
+	/**
+	 * Number of requests currently processed by virtual threads.
+	 * 
+	 * @since 4.0
+	 */
+	private final AtomicInteger requestThreads = new AtomicInteger();
+
 	/**
 	 * Constructs a default message deliverer that delivers requests to the
 	 * resources rooted at the specified root.
@@ -64,8 +107,51 @@ public class ServerMessageDeliverer implements MessageDeliverer {
 	 * @since 3.6
 	 */
 	public ServerMessageDeliverer(Resource root, Configuration config) {
+		this(root, config, createRequestThreadFactory(config));
+	}
+
+	/**
+	 * Constructs a message deliverer using the provided thread factory to
+	 * process requests.
+	 * 
+	 * @param root the root resource
+	 * @param config the configuration
+	 * @param requestThreadFactory thread factory to process requests.
+	 *            {@code null}, to process requests without own threads.
+	 * @since 4.0
+	 */
+	ServerMessageDeliverer(Resource root, Configuration config, ThreadFactory requestThreadFactory) {
 		this.root = root;
 		this.observeManager = new ObserveManager(config);
+		if (config != null && requestThreadFactory != null) {
+			this.requestThreadFactory = requestThreadFactory;
+			this.maxRequestThreads = config.get(CoapConfig.MAX_VIRTUAL_THREAD_REQUESTS);
+			this.overloadMaxAge = config.get(CoapConfig.OVERLOAD_MAX_AGE, TimeUnit.SECONDS);
+		} else {
+			this.requestThreadFactory = null;
+			this.maxRequestThreads = 0;
+			this.overloadMaxAge = 0;
+		}
+	}
+
+	/**
+	 * Create thread factory to process requests by virtual threads.
+	 * 
+	 * @param config the configuration
+	 * @return thread factory, or {@code null}, if
+	 *         {@link CoapConfig#VIRTUAL_THREAD_REQUESTS} is not enabled or
+	 *         virtual threads are not available.
+	 * @since 4.0
+	 */
+	private static ThreadFactory createRequestThreadFactory(Configuration config) {
+		if (config != null && config.get(CoapConfig.VIRTUAL_THREAD_REQUESTS)) {
+			if (VirtualThreadFactory.isAvailable()) {
+				return NamedThreadFactory.create("CoapRequest", 0L, NamedThreadFactory.COAP_THREAD_GROUP,
+						NamedThreadFactory.Type.VIRTUAL);
+			}
+			LOGGER.warn("Virtual threads are not available, processing requests without virtual threads!");
+		}
+		return null;
 	}
 
 	/**
@@ -114,11 +200,13 @@ public class ServerMessageDeliverer implements MessageDeliverer {
 						executor.execute(new Runnable() {
 
 							public void run() {
-								resource.handleRequest(exchange);
+								handleRequest(exchange, resource);
 							}
 						});
+					} else if (requestThreadFactory != null) {
+						executeRequestThread(exchange, resource);
 					} else {
-						resource.handleRequest(exchange);
+						handleRequest(exchange, resource);
 					}
 				} else {
 					if (LOGGER.isInfoEnabled()) {
@@ -137,6 +225,96 @@ public class ServerMessageDeliverer implements MessageDeliverer {
 		}
 	}
 
+	/**
+	 * Process the request by a virtual thread.
+	 * <p>
+	 * If {@link CoapConfig#MAX_VIRTUAL_THREAD_REQUESTS} requests are already
+	 * processed, the request is rejected with
+	 * {@link ResponseCode#SERVICE_UNAVAILABLE} and a Max-Age of
+	 * {@link CoapConfig#OVERLOAD_MAX_AGE}. If the resource handler fails
+	 * with an exception, the request is answered with
+	 * {@link ResponseCode#INTERNAL_SERVER_ERROR}.
+	 * 
+	 * @param exchange The exchange containing the inbound request.
+	 * @param resource the resource to handle the request
+	 * @since 4.0
+	 */
+	private void executeRequestThread(final Exchange exchange, final Resource resource) {
+		if (requestThreads.incrementAndGet() > maxRequestThreads) {
+			requestThreads.decrementAndGet();
+			LOGGER.debug("overload, {} requests are already processed!", maxRequestThreads);
+			Response response = new Response(ResponseCode.SERVICE_UNAVAILABLE, true);
+			response.getOptions().setMaxAge(overloadMaxAge);
+			exchange.sendResponse(response);
+			return;
+		}
+		try {
+			requestThreadFactory.newThread(new Runnable() {
+
+				@Override
+				public void run() {
+					try {
+						handleRequest(exchange, resource);
+					} catch (RuntimeException ex) {
+						LOGGER.warn("exception while handling request {}", exchange.getRequest(), ex);
+						if (!exchange.isComplete() && exchange.getCurrentResponse() == null) {
+							exchange.sendResponse(new Response(ResponseCode.INTERNAL_SERVER_ERROR, true));
+						}
+					} finally {
+						requestThreads.decrementAndGet();
+					}
+				}
+			}).start();
+		} catch (RuntimeException ex) {
+			requestThreads.decrementAndGet();
+			throw ex;
+		}
+	}
+
+	/**
+	 * Let the resource handle the request.
+	 * <p>
+	 * Records the {@link Stage#HANDLER_ENTRY} and {@link Stage#HANDLER}
+	 * latencies, if the endpoint records latencies.
+	 * 
+	 * @param exchange The exchange containing the inbound request.
+	 * @param resource the resource to handle the request
+	 * @see CoapEndpoint#getLatencyStatistic()
+	 * @since 4.0
+	 */
+	private void handleRequest(final Exchange exchange, final Resource resource) {
+		LatencyStatistic latencyStatistic = null;
+		Endpoint endpoint = exchange.getEndpoint();
+		if (endpoint instanceof CoapEndpoint) {
+			latencyStatistic = ((CoapEndpoint) endpoint).getLatencyStatistic();
+		}
+		if (latencyStatistic != null) {
+			long start = ClockUtil.nanoRealtime();
+			long received = exchange.getRequest().getNanoTimestamp();
+			if (received != 0) {
+				latencyStatistic.record(Stage.HANDLER_ENTRY, start - received);
+			}
+			try {
+				resource.handleRequest(exchange);
+			} finally {
+				latencyStatistic.recordSince(Stage.HANDLER, start);
+			}
+		} else {
+			resource.handleRequest(exchange);
+		}
+	}
+
+	/**
+	 * Gets the number of requests currently processed by virtual threads.
+	 * 
+	 * @return number of requests processed by virtual threads
+	 * @see CoapConfig#VIRTUAL_THREAD_REQUESTS
+	 * @since 4.0
+	 */
+	public int getRequestThreads() {
+		return requestThreads.get();
+	}
+
 	/**
 	 * Invoked by the <em>deliverRequest</em> before the request gets processed.
 	 * <p>
@@ -0,0 +1,84 @@
+/********************************************************************************
+ * Copyright (c) 2025 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v1.0 which is available at
+ * https://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ ********************************************************************************/
+package org.eclipse.californium.core.server.resources;
+
+import static org.eclipse.californium.core.coap.CoAP.ResponseCode.CONTENT;
+import static org.eclipse.californium.core.coap.CoAP.ResponseCode.NOT_ACCEPTABLE;
+import static org.eclipse.californium.core.coap.MediaTypeRegistry.TEXT_PLAIN;
+import static org.eclipse.californium.core.coap.MediaTypeRegistry.UNDEFINED;
+
+import org.eclipse.californium.core.CoapExchange;
+import org.eclipse.californium.core.CoapResource;
+import org.eclipse.californium.elements.metrics.MetricsSource;
+import org.eclipse.californium.elements.metrics.PrometheusTextExporter;
+
+/**
+ * Metrics resource.
+ * <p>
+ * Responds the metrics of a {@link MetricsSource}, usually the
+ * {@link org.eclipse.californium.core.CoapServer#getMetricsRegistry()}, in the
+ * Prometheus text exposition format. The metrics are scraped without locking.
+ *
+ * @since 4.0
+ */
+public class MetricsResource extends CoapResource {
+
+	/**
+	 * Default name of resource.
+	 */
+	public static final String RESOURCE_NAME = "metrics";
+
+	/**
+	 * Prefix for the names of the metrics.
+	 */
+	public static final String METRICS_PREFIX = "californium_";
+
+	/**
+	 * Source of metrics.
+	 */
+	private final MetricsSource source;
+
+	/**
+	 * Exporter.
+	 */
+	private final PrometheusTextExporter exporter = new PrometheusTextExporter(METRICS_PREFIX);
+
+	/**
+	 * Create metrics resource.
+	 *
+	 * @param name name of resource
+	 * @param source source of metrics
+	 * @throws NullPointerException if source is {@code null}
+	 */
+	public MetricsResource(String name, MetricsSource source) {
+		super(name);
+		if (source == null) {
+			throw new NullPointerException("Source must not be null!");
+		}
+		this.source = source;
+		getAttributes().setTitle("Metrics");
+		getAttributes().addContentType(TEXT_PLAIN);
+	}
+
+	@Override
+	public void handleGET(CoapExchange exchange) {
+		int accept = exchange.getRequestOptions().getAccept();
+		if (accept != UNDEFINED && accept != TEXT_PLAIN) {
+			exchange.respond(NOT_ACCEPTABLE);
+			return;
+		}
+		exchange.respond(CONTENT, exporter.exportAsBytes(source), TEXT_PLAIN);
+	}
+}
@@ -0,0 +1,241 @@
+/********************************************************************************
+ * Copyright (c) 2025 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v1.0 which is available at
+ * https://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ ********************************************************************************/
+package org.eclipse.californium.core.coap.option;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.californium.core.coap.CoAP.Code;
+import org.eclipse.californium.core.coap.CoAP.ResponseCode;
+import org.eclipse.californium.core.coap.CoAP.Type;
+import org.eclipse.californium.core.coap.CoAPMessageFormatException;
+import org.eclipse.californium.core.coap.OptionNumberRegistry;
+import org.eclipse.californium.core.coap.OptionSet;
+import org.eclipse.californium.core.coap.Request;
+import org.eclipse.californium.core.network.serialization.DataParser;
+import org.eclipse.californium.core.network.serialization.DataSerializer;
+import org.eclipse.californium.core.network.serialization.UdpDataParser;
+import org.eclipse.californium.core.network.serialization.UdpDataSerializer;
+import org.eclipse.californium.elements.AddressEndpointContext;
+import org.eclipse.californium.elements.category.Small;
+import org.eclipse.californium.elements.rule.TestNameLoggerRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Tests the lazy option decoding using {@link EncodedOptions}.
+ *
+ * @since 4.0
+ */
+@Category(Small.class)
+public class EncodedOptionsTest {
+
+	@Rule
+	public TestNameLoggerRule name = new TestNameLoggerRule();
+
+	private final DataSerializer serializer = new UdpDataSerializer();
+	private final DataParser parser = new UdpDataParser(true, null, true);
+
+	@Test
+	public void testLazyRequestParsing() {
+		Request request = createRequest();
+		request.getOptions().setUriHost("localhost").setUriPath("devices/4711/config").setUriQuery("a=1&b")
+				.setContentFormat(40).setAccept(40).setObserve(0);
+
+		Request result = (Request) parser.parseMessage(serializer.serializeRequest(request).getBytes());
+		OptionSet options = result.getOptions();
+
+		EncodedOptions encoded = options.getEncodedOptions();
+		assertThat(encoded, is(notNullValue()));
+		assertThat(encoded.count(OptionNumberRegistry.URI_PATH), is(3));
+		assertThat(encoded.equalsValue(encoded.indexOf(OptionNumberRegistry.URI_PATH), "devices".getBytes()),
+				is(true));
+
+		// integer options are decoded immediately
+		assertThat(options.hasObserve(), is(true));
+		assertThat(options.getContentFormat(), is(40));
+		assertThat(options.getEncodedOptions(), is(notNullValue()));
+
+		// served from the encoded options
+		assertThat(options.hasUriHost(), is(true));
+		assertThat(options.getURIPathCount(), is(3));
+		assertThat(options.getURIQueryCount(), is(2));
+		assertThat(options.getUriPathString(), is("devices/4711/config"));
+		assertThat(options.getUriQueryString(), is("a=1&b"));
+		assertThat(options.getEncodedOptions(), is(notNullValue()));
+
+		// decoded on access
+		assertThat(options.asSortedList(), is(request.getOptions().asSortedList()));
+		assertThat(options.getEncodedOptions(), is(nullValue()));
+	}
+
+	@Test
+	public void testLazyParsingWithPayload() {
+		Request request = createRequest(Code.POST);
+		request.getOptions().setUriPath("devices/4711/config");
+		request.setPayload("hello");
+
+		Request result = (Request) parser.parseMessage(serializer.serializeRequest(request).getBytes());
+		OptionSet options = result.getOptions();
+		EncodedOptions encoded = options.getEncodedOptions();
+		assertThat(encoded, is(notNullValue()));
+		// only the options are copied, not the payload
+		int last = encoded.size() - 1;
+		assertThat(encoded.getData().length, is(encoded.getOffset(last) + encoded.getLength(last)));
+		assertThat(result.getPayloadString(), is("hello"));
+		assertThat(options.getUriPathString(), is("devices/4711/config"));
+		assertThat(options.asSortedList(), is(request.getOptions().asSortedList()));
+	}
+
+	@Test
+	public void testConcurrentLazyDecoding() throws Exception {
+		Request request = createRequest();
+		request.getOptions().setUriHost("localhost").setUriPath("devices/4711/config").setUriQuery("a=1&b");
+		final byte[] data = serializer.serializeRequest(request).getBytes();
+		final int threads = 4;
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			for (int loop = 0; loop < 200; ++loop) {
+				final OptionSet options = parser.parseMessage(data).getOptions();
+				final CountDownLatch start = new CountDownLatch(1);
+				List<Future<Integer>> results = new ArrayList<>();
+				for (int index = 0; index < threads; ++index) {
+					final boolean decode = index % 2 == 0;
+					results.add(executor.submit(() -> {
+						start.await();
+						if (decode) {
+							return options.getUriPath().size();
+						} else {
+							return options.getURIPathCount();
+						}
+					}));
+				}
+				start.countDown();
+				for (Future<Integer> result : results) {
+					assertThat(result.get(1000, TimeUnit.MILLISECONDS), is(3));
+				}
+				assertThat(options.getUriQueryString(), is("a=1&b"));
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testLazyOptionsCopy() {
+		Request request = createRequest();
+		request.getOptions().setUriPath("devices/4711/config");
+
+		Request result = (Request) parser.parseMessage(serializer.serializeRequest(request).getBytes());
+		OptionSet copy = new OptionSet(result.getOptions());
+		assertThat(copy.getEncodedOptions(), is(notNullValue()));
+
+		copy.addUriPath("value");
+		assertThat(copy.getEncodedOptions(), is(nullValue()));
+		assertThat(copy.getUriPathString(), is("devices/4711/config/value"));
+		assertThat(result.getOptions().getEncodedOptions(), is(notNullValue()));
+		assertThat(result.getOptions().getUriPathString(), is("devices/4711/config"));
+	}
+
+	@Test
+	public void testLazyOptionsClear() {
+		Request request = createRequest();
+		request.getOptions().setUriPath("devices/4711/config");
+
+		Request result = (Request) parser.parseMessage(serializer.serializeRequest(request).getBytes());
+		OptionSet options = result.getOptions();
+		options.clear();
+		assertThat(options.getEncodedOptions(), is(nullValue()));
+		assertThat(options.getURIPathCount(), is(0));
+	}
+
+	@Test
+	public void testLazyResponseDetectsMultipleEtags() {
+		byte[] malformedResponse = new byte[] { 0b01010000, // ver 1, NON,
+															// token length: 0
+				0b01000101, // code: 2.05 (CONTENT response)
+				0x00, 0x10, // message ID
+				0x41, 0x01, // option number 4 (etag), length: 1
+				0x01, 0x02 // option number 4 (etag), length: 1
+		};
+		try {
+			parser.parseMessage(malformedResponse);
+			fail("Parser should have detected multiple etags");
+		} catch (CoAPMessageFormatException e) {
+			assertThat(e.getErrorCode(), is(ResponseCode.BAD_REQUEST));
+		}
+	}
+
+	@Test
+	public void testLazyParsingDetectsRepeatedCriticalOption() {
+		byte[] malformedGetRequest = new byte[] { 0b01000000, // ver 1, CON,
+																// token length:
+																// 0
+				0b00000001, // code: 0.01 (GET request)
+				0x00, 0x10, // message ID
+				0x31, 0x61, // option number 3 (uri-host), length: 1
+				0x01, 0x62 // option number 3 (uri-host), length: 1
+		};
+		try {
+			parser.parseMessage(malformedGetRequest);
+			fail("Parser should have detected repeated uri-host");
+		} catch (CoAPMessageFormatException e) {
+			assertThat(e.isConfirmable(), is(true));
+		}
+	}
+
+	@Test
+	public void testLazyParsingDetectsInvalidLength() {
+		byte[] malformedGetRequest = new byte[] { 0b01000000, // ver 1, CON,
+																// token length:
+																// 0
+				0b00000001, // code: 0.01 (GET request)
+				0x00, 0x10, // message ID
+				0x40, // option number 4 (etag), length: 0
+		};
+		try {
+			parser.parseMessage(malformedGetRequest);
+			fail("Parser should have detected empty etag");
+		} catch (CoAPMessageFormatException e) {
+			assertThat(e.isConfirmable(), is(true));
+		}
+	}
+
+	private static Request createRequest() {
+		return createRequest(Code.GET);
+	}
+
+	private static Request createRequest(Code code) {
+		Request request = new Request(code);
+		request.setDestinationContext(new AddressEndpointContext(InetAddress.getLoopbackAddress(), 5683));
+		request.setType(Type.CON);
+		request.setMID(13);
+		request.setToken(new byte[] { 11, 82, -91, 77, 3 });
+		return request;
+	}
+}
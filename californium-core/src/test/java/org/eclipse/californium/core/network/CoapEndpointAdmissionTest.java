@@ -0,0 +1,145 @@
+/********************************************************************************
+ * Copyright (c) 2025 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v1.0 which is available at
+ * https://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ ********************************************************************************/
+package org.eclipse.californium.core.network;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.californium.TestTools;
+import org.eclipse.californium.core.CoapExchange;
+import org.eclipse.californium.core.CoapResource;
+import org.eclipse.californium.core.CoapServer;
+import org.eclipse.californium.core.coap.CoAP.ResponseCode;
+import org.eclipse.californium.core.coap.Request;
+import org.eclipse.californium.core.coap.Response;
+import org.eclipse.californium.core.config.CoapConfig;
+import org.eclipse.californium.elements.AddressEndpointContext;
+import org.eclipse.californium.elements.category.Medium;
+import org.eclipse.californium.elements.config.Configuration;
+import org.eclipse.californium.elements.util.AdmissionController;
+import org.eclipse.californium.elements.util.AdmissionController.Priority;
+import org.eclipse.californium.rule.CoapNetworkRule;
+import org.eclipse.californium.rule.CoapThreadsRule;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Tests the adaptive {@link AdmissionController} of a {@link CoapEndpoint}.
+ */
+@Category(Medium.class)
+public class CoapEndpointAdmissionTest {
+
+	@ClassRule
+	public static CoapNetworkRule network = new CoapNetworkRule(CoapNetworkRule.Mode.DIRECT,
+			CoapNetworkRule.Mode.NATIVE);
+
+	@Rule
+	public CoapThreadsRule cleanup = new CoapThreadsRule();
+
+	private final CountDownLatch blocked = new CountDownLatch(1);
+	private final CountDownLatch release = new CountDownLatch(1);
+
+	private CoapEndpoint serverEndpoint;
+	private CoapEndpoint clientEndpoint;
+
+	@Before
+	public void init() throws IOException {
+		Configuration config = network.createStandardTestConfig();
+		config.set(CoapConfig.PROTOCOL_STAGE_THREAD_COUNT, 1);
+		config.set(CoapConfig.ADMISSION_TARGET_DELAY, 5, TimeUnit.MILLISECONDS);
+		config.set(CoapConfig.ADMISSION_INTERVAL, 200, TimeUnit.MILLISECONDS);
+		CoapEndpoint.Builder builder = new CoapEndpoint.Builder();
+		builder.setInetSocketAddress(TestTools.LOCALHOST_EPHEMERAL);
+		builder.setConfiguration(config);
+		serverEndpoint = builder.build();
+		CoapServer server = new CoapServer(config);
+		server.addEndpoint(serverEndpoint);
+		server.add(new CoapResource("block") {
+
+			@Override
+			public void handleGET(CoapExchange exchange) {
+				blocked.countDown();
+				try {
+					release.await(2000, TimeUnit.MILLISECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				exchange.respond("released");
+			}
+		});
+		server.add(new CoapResource("test") {
+
+			@Override
+			public void handleGET(CoapExchange exchange) {
+				exchange.respond("test");
+			}
+		});
+		cleanup.add(server);
+		server.start();
+
+		builder = new CoapEndpoint.Builder();
+		builder.setConfiguration(network.createStandardTestConfig());
+		clientEndpoint = builder.build();
+		cleanup.add(clientEndpoint);
+		clientEndpoint.start();
+	}
+
+	@Test
+	public void testOverloadRejectsConfirmableRequests() throws Exception {
+		assertThat(clientEndpoint.getAdmissionController(), is(nullValue()));
+		AdmissionController controller = serverEndpoint.getAdmissionController();
+		assertThat(controller, is(notNullValue()));
+
+		// start with a new interval
+		Thread.sleep(250);
+		Request block = newGet("block");
+		clientEndpoint.sendRequest(block);
+		assertThat(blocked.await(2000, TimeUnit.MILLISECONDS), is(true));
+		// queued behind the blocking handler
+		Request queued = newGet("test");
+		clientEndpoint.sendRequest(queued);
+		Thread.sleep(300);
+		release.countDown();
+
+		Response response = queued.waitForResponse(2000);
+		assertThat("no response", response, is(notNullValue()));
+		assertThat(response.getPayloadString(), is("test"));
+		assertThat(controller.getLevel(), is(2));
+
+		Request rejected = newGet("test");
+		clientEndpoint.sendRequest(rejected);
+		response = rejected.waitForResponse(2000);
+		assertThat("no response", response, is(notNullValue()));
+		assertThat(response.getCode(), is(ResponseCode.SERVICE_UNAVAILABLE));
+		assertThat(response.getOptions().getMaxAge(), is(2L));
+		assertThat(controller.getRejected(Priority.MEDIUM), is(1L));
+	}
+
+	private Request newGet(String path) {
+		Request request = Request.newGet();
+		request.setDestinationContext(new AddressEndpointContext(serverEndpoint.getAddress()));
+		request.getOptions().setUriPath(path);
+		return request;
+	}
+}
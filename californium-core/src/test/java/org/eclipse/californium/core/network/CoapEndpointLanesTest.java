@@ -0,0 +1,138 @@
+/********************************************************************************
+ * Copyright (c) 2025 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v1.0 which is available at
+ * https://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ ********************************************************************************/
+package org.eclipse.californium.core.network;
+
+import static org.eclipse.californium.elements.util.TestConditionTools.assertCondition;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.number.OrderingComparison.greaterThan;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.eclipse.californium.TestTools;
+import org.eclipse.californium.core.CoapServer;
+import org.eclipse.californium.core.coap.CoAP.ResponseCode;
+import org.eclipse.californium.core.coap.Request;
+import org.eclipse.californium.core.coap.Response;
+import org.eclipse.californium.core.config.CoapConfig;
+import org.eclipse.californium.core.server.MessageDeliverer;
+import org.eclipse.californium.elements.AddressEndpointContext;
+import org.eclipse.californium.elements.category.Medium;
+import org.eclipse.californium.elements.config.Configuration;
+import org.eclipse.californium.elements.util.ExecutionLanes;
+import org.eclipse.californium.rule.CoapNetworkRule;
+import org.eclipse.californium.rule.CoapThreadsRule;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Tests the exchange processing of a {@link CoapEndpoint} using
+ * {@link ExecutionLanes}.
+ */
+@Category(Medium.class)
+public class CoapEndpointLanesTest {
+
+	@ClassRule
+	public static CoapNetworkRule network = new CoapNetworkRule(CoapNetworkRule.Mode.DIRECT,
+			CoapNetworkRule.Mode.NATIVE);
+
+	@Rule
+	public CoapThreadsRule cleanup = new CoapThreadsRule();
+
+	private final AtomicReference<String> failure = new AtomicReference<>();
+	private final AtomicReference<String> thread = new AtomicReference<>();
+	private CoapEndpoint serverEndpoint;
+	private CoapEndpoint clientEndpoint;
+
+	@Before
+	public void init() throws IOException {
+		Configuration config = network.createStandardTestConfig();
+		config.set(CoapConfig.PROTOCOL_STAGE_LANES, 4);
+		CoapEndpoint.Builder builder = new CoapEndpoint.Builder();
+		builder.setInetSocketAddress(TestTools.LOCALHOST_EPHEMERAL);
+		builder.setConfiguration(config);
+		serverEndpoint = builder.build();
+		CoapServer server = new CoapServer(config);
+		server.addEndpoint(serverEndpoint);
+		server.setMessageDeliverer(new MessageDeliverer() {
+
+			@Override
+			public void deliverRequest(Exchange exchange) {
+				if (!exchange.checkOwner()) {
+					failure.set("exchange not owned by " + Thread.currentThread().getName());
+				}
+				thread.set(Thread.currentThread().getName());
+				Response response = new Response(ResponseCode.CONTENT);
+				response.setPayload(exchange.getRequest().getPayloadString());
+				exchange.sendResponse(response);
+			}
+
+			@Override
+			public void deliverResponse(Exchange exchange, Response response) {
+			}
+		});
+		cleanup.add(server);
+		server.start();
+
+		builder = new CoapEndpoint.Builder();
+		builder.setConfiguration(config);
+		clientEndpoint = builder.build();
+		cleanup.add(clientEndpoint);
+		clientEndpoint.start();
+	}
+
+	@Test
+	public void testRequestsAreProcessedByLane() throws Exception {
+		ExecutionLanes lanes = serverEndpoint.getExecutionLanes();
+		assertThat(lanes, is(notNullValue()));
+		assertThat(lanes.getLaneCount(), is(4));
+
+		InetSocketAddress serverAddress = serverEndpoint.getAddress();
+		for (int index = 0; index < 10; ++index) {
+			Request request = Request.newPost();
+			request.setDestinationContext(new AddressEndpointContext(serverAddress));
+			request.setPayload("hi " + index);
+			clientEndpoint.sendRequest(request);
+			Response response = request.waitForResponse(2000);
+			assertThat("no response", response, is(notNullValue()));
+			assertThat(response.getPayloadString(), is("hi " + index));
+		}
+		assertThat(failure.get(), is(nullValue()));
+		assertThat(thread.get(), containsString("-lane#"));
+		assertThat(lanes.getCompletedTaskCount(), is(greaterThan(0L)));
+	}
+
+	@Test
+	public void testClientExchangesAreProcessedByLane() throws Exception {
+		ExecutionLanes lanes = clientEndpoint.getExecutionLanes();
+		assertThat(lanes, is(notNullValue()));
+
+		Request request = Request.newGet();
+		request.setDestinationContext(new AddressEndpointContext(serverEndpoint.getAddress()));
+		clientEndpoint.sendRequest(request);
+		Response response = request.waitForResponse(2000);
+		assertThat("no response", response, is(notNullValue()));
+		assertCondition(1000, 10, TimeUnit.MILLISECONDS, () -> lanes.getCompletedTaskCount() > 0);
+	}
+}
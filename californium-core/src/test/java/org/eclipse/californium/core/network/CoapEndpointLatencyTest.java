@@ -0,0 +1,112 @@
+/********************************************************************************
+ * Copyright (c) 2025 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v1.0 which is available at
+ * https://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ ********************************************************************************/
+package org.eclipse.californium.core.network;
+
+import static org.eclipse.californium.elements.util.TestConditionTools.assertCondition;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.californium.TestTools;
+import org.eclipse.californium.core.CoapExchange;
+import org.eclipse.californium.core.CoapResource;
+import org.eclipse.californium.core.CoapServer;
+import org.eclipse.californium.core.coap.Request;
+import org.eclipse.californium.core.coap.Response;
+import org.eclipse.californium.core.config.CoapConfig;
+import org.eclipse.californium.elements.AddressEndpointContext;
+import org.eclipse.californium.elements.category.Medium;
+import org.eclipse.californium.elements.config.Configuration;
+import org.eclipse.californium.elements.util.LatencyStatistic;
+import org.eclipse.californium.elements.util.LatencyStatistic.Stage;
+import org.eclipse.californium.rule.CoapNetworkRule;
+import org.eclipse.californium.rule.CoapThreadsRule;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Tests the per-stage {@link LatencyStatistic} of a {@link CoapEndpoint}.
+ */
+@Category(Medium.class)
+public class CoapEndpointLatencyTest {
+
+	@ClassRule
+	public static CoapNetworkRule network = new CoapNetworkRule(CoapNetworkRule.Mode.DIRECT,
+			CoapNetworkRule.Mode.NATIVE);
+
+	@Rule
+	public CoapThreadsRule cleanup = new CoapThreadsRule();
+
+	private CoapEndpoint serverEndpoint;
+	private CoapEndpoint clientEndpoint;
+
+	@Before
+	public void init() throws IOException {
+		Configuration config = network.createStandardTestConfig();
+		config.set(CoapConfig.LATENCY_HISTOGRAMS, true);
+		CoapEndpoint.Builder builder = new CoapEndpoint.Builder();
+		builder.setInetSocketAddress(TestTools.LOCALHOST_EPHEMERAL);
+		builder.setConfiguration(config);
+		serverEndpoint = builder.build();
+		CoapServer server = new CoapServer(config);
+		server.addEndpoint(serverEndpoint);
+		server.add(new CoapResource("test") {
+
+			@Override
+			public void handleGET(CoapExchange exchange) {
+				exchange.respond("latency");
+			}
+		});
+		cleanup.add(server);
+		server.start();
+
+		builder = new CoapEndpoint.Builder();
+		builder.setConfiguration(network.createStandardTestConfig());
+		clientEndpoint = builder.build();
+		cleanup.add(clientEndpoint);
+		clientEndpoint.start();
+	}
+
+	@Test
+	public void testLatenciesAreRecorded() throws Exception {
+		assertThat(clientEndpoint.getLatencyStatistic(), is(nullValue()));
+		final LatencyStatistic statistic = serverEndpoint.getLatencyStatistic();
+		assertThat(statistic, is(notNullValue()));
+
+		for (int index = 0; index < 5; ++index) {
+			Request request = Request.newGet();
+			request.setDestinationContext(new AddressEndpointContext(serverEndpoint.getAddress()));
+			request.getOptions().setUriPath("test");
+			clientEndpoint.sendRequest(request);
+			Response response = request.waitForResponse(2000);
+			assertThat("no response", response, is(notNullValue()));
+			assertThat(response.getPayloadString(), is("latency"));
+		}
+		assertCondition(1000, 10, TimeUnit.MILLISECONDS, () -> statistic.get(Stage.SEND).getCount() == 5);
+		for (Stage stage : Stage.values()) {
+			if (stage != Stage.DECRYPT) {
+				assertThat(stage.getName(), statistic.get(stage).getCount(), is(5L));
+			}
+		}
+		assertThat(statistic.get(Stage.DECRYPT).getCount(), is(0L));
+	}
+}
@@ -0,0 +1,149 @@
+/********************************************************************************
+ * Copyright (c) 2025 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v1.0 which is available at
+ * https://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ ********************************************************************************/
+package org.eclipse.californium.core.network;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.io.IOException;
+
+import org.eclipse.californium.TestTools;
+import org.eclipse.californium.core.CoapExchange;
+import org.eclipse.californium.core.CoapResource;
+import org.eclipse.californium.core.CoapServer;
+import org.eclipse.californium.core.coap.CoAP;
+import org.eclipse.californium.core.coap.CoAP.Type;
+import org.eclipse.californium.core.coap.Request;
+import org.eclipse.californium.core.coap.Response;
+import org.eclipse.californium.core.config.CoapConfig;
+import org.eclipse.californium.elements.AddressEndpointContext;
+import org.eclipse.californium.elements.Connector;
+import org.eclipse.californium.elements.category.Medium;
+import org.eclipse.californium.elements.config.Configuration;
+import org.eclipse.californium.elements.metrics.MetricsCollector;
+import org.eclipse.californium.elements.metrics.MetricsSource;
+import org.eclipse.californium.elements.metrics.PrometheusTextExporter;
+import org.eclipse.californium.elements.util.RateLimiter;
+import org.eclipse.californium.rule.CoapNetworkRule;
+import org.eclipse.californium.rule.CoapThreadsRule;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Tests the {@link RateLimiter} of a {@link CoapEndpoint}.
+ */
+@Category(Medium.class)
+public class CoapEndpointRateLimitTest {
+
+	@ClassRule
+	public static CoapNetworkRule network = new CoapNetworkRule(CoapNetworkRule.Mode.DIRECT,
+			CoapNetworkRule.Mode.NATIVE);
+
+	@Rule
+	public CoapThreadsRule cleanup = new CoapThreadsRule();
+
+	private CoapServer server;
+	private CoapEndpoint serverEndpoint;
+	private CoapEndpoint clientEndpoint;
+
+	@Before
+	public void init() throws IOException {
+		Configuration config = network.createStandardTestConfig();
+		config.set(CoapConfig.RATE_LIMIT, 1);
+		config.set(CoapConfig.RATE_LIMIT_BURST, 2);
+		CoapEndpoint.Builder builder = new CoapEndpoint.Builder();
+		builder.setInetSocketAddress(TestTools.LOCALHOST_EPHEMERAL);
+		builder.setConfiguration(config);
+		serverEndpoint = builder.build();
+		server = new CoapServer(config);
+		server.addEndpoint(serverEndpoint);
+		server.add(new CoapResource("test") {
+
+			@Override
+			public void handleGET(CoapExchange exchange) {
+				exchange.respond("test");
+			}
+		});
+		cleanup.add(server);
+		server.start();
+
+		builder = new CoapEndpoint.Builder();
+		builder.setConfiguration(network.createStandardTestConfig());
+		clientEndpoint = builder.build();
+		cleanup.add(clientEndpoint);
+		clientEndpoint.start();
+	}
+
+	@Test
+	public void testRateLimitDropsRequests() throws Exception {
+		assertThat(clientEndpoint.getRateLimiter(), is(nullValue()));
+		RateLimiter<Object> limiter = serverEndpoint.getRateLimiter();
+		assertThat(limiter, is(notNullValue()));
+
+		Request request1 = newGet();
+		Request request2 = newGet();
+		Request request3 = newGet();
+		clientEndpoint.sendRequest(request1);
+		clientEndpoint.sendRequest(request2);
+		clientEndpoint.sendRequest(request3);
+
+		assertThat("no response", request1.waitForResponse(2000), is(notNullValue()));
+		assertThat("no response", request2.waitForResponse(2000), is(notNullValue()));
+		Response response = request3.waitForResponse(200);
+		assertThat(response, is(nullValue()));
+		assertThat(limiter.getDropped(), is(1L));
+		assertThat(limiter.size(), is(1));
+
+		String metrics = new PrometheusTextExporter().export(server.getMetricsRegistry());
+		assertThat(metrics, containsString("coap_rate_limited{"));
+	}
+
+	@Test
+	public void testConnectorMetricsAreRegistered() throws Exception {
+		Connector connector = mock(Connector.class, withSettings().extraInterfaces(MetricsSource.class));
+		when(connector.getProtocol()).thenReturn(CoAP.PROTOCOL_UDP);
+		when(connector.getAddress()).thenReturn(TestTools.LOCALHOST_EPHEMERAL);
+		CoapEndpoint.Builder builder = new CoapEndpoint.Builder();
+		builder.setConnector(connector);
+		builder.setConfiguration(network.createStandardTestConfig());
+		CoapEndpoint endpoint = builder.build();
+		int sources = server.getMetricsRegistry().size();
+
+		server.addEndpoint(endpoint);
+
+		assertThat(server.getMetricsRegistry().size(), is(sources + 1));
+		MetricsCollector collector = mock(MetricsCollector.class);
+		server.getMetricsRegistry().collectMetrics(collector);
+		verify((MetricsSource) connector).collectMetrics(collector);
+	}
+
+	private Request newGet() {
+		Request request = Request.newGet();
+		request.setType(Type.NON);
+		request.setDestinationContext(new AddressEndpointContext(serverEndpoint.getAddress()));
+		request.getOptions().setUriPath("test");
+		return request;
+	}
+}
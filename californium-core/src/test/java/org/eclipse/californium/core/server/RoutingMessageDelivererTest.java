@@ -0,0 +1,164 @@
+/********************************************************************************
+ * Copyright (c) 2025 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v1.0 which is available at
+ * https://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ ********************************************************************************/
+package org.eclipse.californium.core.server;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.net.InetAddress;
+
+import org.eclipse.californium.core.CoapResource;
+import org.eclipse.californium.core.coap.CoAP.Code;
+import org.eclipse.californium.core.coap.CoAP.Type;
+import org.eclipse.californium.core.coap.OptionSet;
+import org.eclipse.californium.core.coap.Request;
+import org.eclipse.californium.core.network.serialization.UdpDataParser;
+import org.eclipse.californium.core.network.serialization.UdpDataSerializer;
+import org.eclipse.californium.core.server.RoutingMessageDeliverer.Route;
+import org.eclipse.californium.core.server.resources.Resource;
+import org.eclipse.californium.elements.AddressEndpointContext;
+import org.eclipse.californium.elements.category.Small;
+import org.eclipse.californium.rule.CoapThreadsRule;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Verifies behavior of {@link RoutingMessageDeliverer}.
+ */
+@Category(Small.class)
+public class RoutingMessageDelivererTest {
+
+	@Rule
+	public CoapThreadsRule cleanup = new CoapThreadsRule();
+
+	private RoutingMessageDeliverer deliverer;
+	private CoapResource config;
+	private CoapResource device;
+	private CoapResource files;
+
+	@Before
+	public void setUp() {
+		deliverer = new RoutingMessageDeliverer(new CoapResource(""), null, 100);
+		config = new CoapResource("config");
+		device = new CoapResource("device");
+		files = new CoapResource("files");
+	}
+
+	@Test
+	public void testMatchTemplates() {
+		Route configRoute = deliverer.addRoute("/devices/{id}/config", config);
+		Route deviceRoute = deliverer.addRoute("/devices/{id}", device);
+		deliverer.addRoute("/files/*", files);
+
+		assertThat(deliverer.findRoute(path("devices/4711/config")), is(sameInstance(configRoute)));
+		assertThat(deliverer.findRoute(path("devices/4711")), is(sameInstance(deviceRoute)));
+		assertThat(deliverer.findRoute(path("files/a/b/c")).getResource(), is(sameInstance((Resource) files)));
+		assertThat(deliverer.findRoute(path("devices/4711/other")), is(nullValue()));
+		assertThat(deliverer.findRoute(path("other")), is(nullValue()));
+	}
+
+	@Test
+	public void testLiteralPrecedence() {
+		Route parameterRoute = deliverer.addRoute("/devices/{id}/config", config);
+		Route literalRoute = deliverer.addRoute("/devices/all/config", device);
+
+		assertThat(deliverer.findRoute(path("devices/all/config")), is(sameInstance(literalRoute)));
+		assertThat(deliverer.findRoute(path("devices/4711/config")), is(sameInstance(parameterRoute)));
+	}
+
+	@Test
+	public void testBacktracking() {
+		Route literalRoute = deliverer.addRoute("/devices/all", device);
+		Route parameterRoute = deliverer.addRoute("/devices/{id}/config", config);
+
+		assertThat(deliverer.findRoute(path("devices/all")), is(sameInstance(literalRoute)));
+		assertThat(deliverer.findRoute(path("devices/all/config")), is(sameInstance(parameterRoute)));
+	}
+
+	@Test
+	public void testParameter() {
+		Route configRoute = deliverer.addRoute("/devices/{id}/config", config);
+		Route filesRoute = deliverer.addRoute("/files/*", files);
+
+		Request request = Request.newGet();
+		request.getOptions().setUriPath("devices/4711/config");
+		assertThat(configRoute.getParameter(request, "id"), is("4711"));
+		assertThat(configRoute.getParameter(request, "other"), is(nullValue()));
+
+		request.getOptions().setUriPath("files/a/b/c");
+		assertThat(filesRoute.getParameter(request, "*"), is("a/b/c"));
+	}
+
+	@Test
+	public void testMatchEncodedOptions() {
+		Route configRoute = deliverer.addRoute("/devices/{id}/config", config);
+
+		Request request = Request.newGet();
+		request.setDestinationContext(new AddressEndpointContext(InetAddress.getLoopbackAddress(), 5683));
+		request.setType(Type.CON);
+		request.setMID(13);
+		request.setToken(new byte[] { 1, 2, 3 });
+		request.getOptions().setUriPath("devices/4711/config");
+		byte[] bytes = new UdpDataSerializer().serializeRequest(request).getBytes();
+
+		Request received = (Request) new UdpDataParser(true, null, true).parseMessage(bytes);
+		assertThat(deliverer.findRoute(received.getOptions()), is(sameInstance(configRoute)));
+		// cached
+		assertThat(deliverer.findRoute(received.getOptions()), is(sameInstance(configRoute)));
+		assertThat(configRoute.getParameter(received, "id"), is("4711"));
+	}
+
+	@Test
+	public void testRemoveRoute() {
+		Route configRoute = deliverer.addRoute("/devices/{id}/config", config);
+		assertThat(deliverer.findRoute(path("devices/4711/config")), is(sameInstance(configRoute)));
+
+		assertThat(deliverer.removeRoute(configRoute), is(true));
+		assertThat(deliverer.findRoute(path("devices/4711/config")), is(nullValue()));
+		assertThat(deliverer.removeRoute(configRoute), is(false));
+	}
+
+	@Test
+	public void testCachedSegmentWithSlash() {
+		Route literalRoute = deliverer.addRoute("/a/b", device);
+		Route parameterRoute = deliverer.addRoute("/{x}", config);
+
+		OptionSet segments = path("a/b");
+		OptionSet segmentWithSlash = new Request(Code.GET).getOptions().addUriPath("a/b");
+		// cache the route of ["a", "b"]
+		assertThat(deliverer.findRoute(segments), is(sameInstance(literalRoute)));
+		assertThat(deliverer.findRoute(segmentWithSlash), is(sameInstance(parameterRoute)));
+		assertThat(deliverer.findRoute(segments), is(sameInstance(literalRoute)));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testDuplicateRoute() {
+		deliverer.addRoute("/devices/{id}/config", config);
+		deliverer.addRoute("/devices/{name}/config", device);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testWildcardNotLast() {
+		deliverer.addRoute("/files/*/config", files);
+	}
+
+	private static OptionSet path(String path) {
+		return new Request(Code.GET).getOptions().setUriPath(path);
+	}
+}
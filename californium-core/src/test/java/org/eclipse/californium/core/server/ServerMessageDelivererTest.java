@@ -16,17 +16,26 @@
  ******************************************************************************/
 package org.eclipse.californium.core.server;
 
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeFalse;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.californium.core.coap.CoAP.Code;
 import org.eclipse.californium.core.coap.CoAP.ResponseCode;
@@ -34,11 +43,18 @@ import org.eclipse.californium.core.coap.Option;
 import org.eclipse.californium.core.coap.Request;
 import org.eclipse.californium.core.coap.Response;
 import org.eclipse.californium.core.coap.option.EmptyOption.Definition;
+import org.eclipse.californium.core.config.CoapConfig;
+import org.eclipse.californium.core.network.Endpoint;
 import org.eclipse.californium.core.network.Exchange;
 import org.eclipse.californium.core.network.Exchange.Origin;
 import org.eclipse.californium.core.server.resources.Resource;
+import org.eclipse.californium.elements.AddressEndpointContext;
 import org.eclipse.californium.elements.category.Small;
+import org.eclipse.californium.elements.config.Configuration;
+import org.eclipse.californium.elements.util.TestConditionTools;
 import org.eclipse.californium.elements.util.TestSynchroneExecutor;
+import org.eclipse.californium.elements.util.TestThreadFactory;
+import org.eclipse.californium.elements.util.VirtualThreadFactory;
 import org.eclipse.californium.rule.CoapThreadsRule;
 import org.junit.Before;
 import org.junit.Rule;
@@ -188,4 +204,95 @@ public class ServerMessageDelivererTest {
 		// and the response contains the custom option
 		assertTrue(outboundRequest.getRequest().getResponse().getOptions().hasOption(CUSTOM));
 	}
+
+	/**
+	 * Verifies that requests are processed by request threads and rejected
+	 * with 5.03, if the maximum number of request threads is reached.
+	 */
+	@Test
+	public void testDeliverRequestWithVirtualThreads() throws Exception {
+		Configuration config = Configuration.createStandardWithoutFile();
+		config.set(CoapConfig.VIRTUAL_THREAD_REQUESTS, true);
+		config.set(CoapConfig.MAX_VIRTUAL_THREAD_REQUESTS, 1);
+		config.set(CoapConfig.OVERLOAD_MAX_AGE, 5, TimeUnit.SECONDS);
+		final ServerMessageDeliverer deliverer = new ServerMessageDeliverer(rootResource, config,
+				new TestThreadFactory("CoapRequest-"));
+		final CountDownLatch handling = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		doAnswer(invocation -> {
+			handling.countDown();
+			release.await(2000, TimeUnit.MILLISECONDS);
+			return null;
+		}).when(rootResource).handleRequest(any(Exchange.class));
+
+		// GIVEN a request, which blocks the request thread
+		deliverer.deliverRequest(incomingRequest);
+		assertTrue(handling.await(2000, TimeUnit.MILLISECONDS));
+		assertThat(deliverer.getRequestThreads(), is(1));
+
+		// WHEN a second request is received
+		Endpoint endpoint = mock(Endpoint.class);
+		Request request = new Request(Code.GET);
+		request.setSourceContext(new AddressEndpointContext(InetAddress.getLoopbackAddress(), 5683));
+		Exchange exchange = new Exchange(request, request.getSourceContext().getPeerAddress(), Origin.REMOTE,
+				TestSynchroneExecutor.TEST_EXECUTOR);
+		exchange.setEndpoint(endpoint);
+		deliverer.deliverRequest(exchange);
+
+		// THEN the second request is rejected
+		ArgumentCaptor<Response> responseCaptor = ArgumentCaptor.forClass(Response.class);
+		verify(endpoint).sendResponse(eq(exchange), responseCaptor.capture());
+		assertThat(responseCaptor.getValue().getCode(), is(ResponseCode.SERVICE_UNAVAILABLE));
+		assertThat(responseCaptor.getValue().getOptions().getMaxAge(), is(5L));
+		verify(rootResource).handleRequest(incomingRequest);
+		verify(rootResource, never()).handleRequest(exchange);
+
+		// AND the request thread is released after processing
+		release.countDown();
+		TestConditionTools.assertCondition(2000, 10, TimeUnit.MILLISECONDS,
+				() -> deliverer.getRequestThreads() == 0);
+	}
+
+	/**
+	 * Verifies that requests are processed without request threads, if
+	 * virtual threads are not available.
+	 */
+	@Test
+	public void testDeliverRequestWithoutVirtualThreadsAvailable() throws Exception {
+		assumeFalse("requires JVM without virtual threads", VirtualThreadFactory.isAvailable());
+		Configuration config = Configuration.createStandardWithoutFile();
+		config.set(CoapConfig.VIRTUAL_THREAD_REQUESTS, true);
+		final ServerMessageDeliverer deliverer = new ServerMessageDeliverer(rootResource, config);
+
+		deliverer.deliverRequest(incomingRequest);
+
+		// handled synchronously by the calling thread
+		verify(rootResource).handleRequest(incomingRequest);
+		assertThat(deliverer.getRequestThreads(), is(0));
+	}
+
+	/**
+	 * Verifies that a request is answered with 5.00, if the resource handler
+	 * fails in the request thread.
+	 */
+	@Test
+	public void testDeliverRequestWithFailingHandlerInRequestThread() throws Exception {
+		Configuration config = Configuration.createStandardWithoutFile();
+		config.set(CoapConfig.VIRTUAL_THREAD_REQUESTS, true);
+		final ServerMessageDeliverer deliverer = new ServerMessageDeliverer(rootResource, config,
+				new TestThreadFactory("CoapRequest-"));
+		doAnswer(invocation -> {
+			throw new IllegalStateException("handler failure");
+		}).when(rootResource).handleRequest(any(Exchange.class));
+
+		Endpoint endpoint = mock(Endpoint.class);
+		incomingRequest.setEndpoint(endpoint);
+		deliverer.deliverRequest(incomingRequest);
+
+		ArgumentCaptor<Response> responseCaptor = ArgumentCaptor.forClass(Response.class);
+		verify(endpoint, timeout(2000)).sendResponse(eq(incomingRequest), responseCaptor.capture());
+		assertThat(responseCaptor.getValue().getCode(), is(ResponseCode.INTERNAL_SERVER_ERROR));
+		TestConditionTools.assertCondition(2000, 10, TimeUnit.MILLISECONDS,
+				() -> deliverer.getRequestThreads() == 0);
+	}
 }
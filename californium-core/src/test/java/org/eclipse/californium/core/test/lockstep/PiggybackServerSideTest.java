@@ -0,0 +1,246 @@
+/********************************************************************************
+ * Copyright (c) 2025 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v1.0 which is available at
+ * https://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ ********************************************************************************/
+package org.eclipse.californium.core.test.lockstep;
+
+import static org.eclipse.californium.core.coap.CoAP.Code.GET;
+import static org.eclipse.californium.core.coap.CoAP.ResponseCode.CONTENT;
+import static org.eclipse.californium.core.coap.CoAP.ResponseCode.NOT_FOUND;
+import static org.eclipse.californium.core.coap.CoAP.Type.ACK;
+import static org.eclipse.californium.core.coap.CoAP.Type.CON;
+import static org.eclipse.californium.core.coap.CoAP.Type.NON;
+import static org.eclipse.californium.core.test.lockstep.IntegrationTestTools.createLockstepEndpoint;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThan;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.californium.TestTools;
+import org.eclipse.californium.core.CoapExchange;
+import org.eclipse.californium.core.CoapResource;
+import org.eclipse.californium.core.CoapServer;
+import org.eclipse.californium.core.coap.Token;
+import org.eclipse.californium.core.config.CoapConfig;
+import org.eclipse.californium.core.network.CoapEndpoint;
+import org.eclipse.californium.core.network.interceptors.MessageTracer;
+import org.eclipse.californium.core.network.stack.PiggybackScheduler;
+import org.eclipse.californium.elements.category.Medium;
+import org.eclipse.californium.elements.config.Configuration;
+import org.eclipse.californium.elements.metrics.PrometheusTextExporter;
+import org.eclipse.californium.elements.util.ExecutorsUtil;
+import org.eclipse.californium.elements.util.TestThreadFactory;
+import org.eclipse.californium.rule.CoapNetworkRule;
+import org.eclipse.californium.rule.CoapThreadsRule;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Test case verifying the empty ACKs sent by the {@link PiggybackScheduler}.
+ */
+@Category(Medium.class)
+public class PiggybackServerSideTest {
+
+	@ClassRule
+	public static CoapNetworkRule network = new CoapNetworkRule(CoapNetworkRule.Mode.DIRECT,
+			CoapNetworkRule.Mode.NATIVE);
+
+	@ClassRule
+	public static CoapThreadsRule cleanup = new CoapThreadsRule();
+
+	private static final int PIGGYBACKING_TIMEOUT = 300; // ms
+	private static final int SLOW_LATENCY = 800; // ms
+	private static final String payload = "hello there";
+
+	private static ScheduledExecutorService executor;
+	private static InetSocketAddress serverAddress;
+	private static CoapServer server;
+	private static PiggybackScheduler scheduler;
+
+	private LockstepEndpoint client;
+
+	@BeforeClass
+	public static void setupServer() throws Exception {
+		executor = ExecutorsUtil.newSingleThreadScheduledExecutor(new TestThreadFactory("Slow#"));
+		Configuration config = network.getStandardTestConfig()
+				.set(CoapConfig.PIGGYBACKING_TIMEOUT, PIGGYBACKING_TIMEOUT, TimeUnit.MILLISECONDS)
+				.set(CoapConfig.EMPTY_ACK_BATCH_INTERVAL, 10, TimeUnit.MILLISECONDS);
+		CoapEndpoint.Builder builder = new CoapEndpoint.Builder();
+		builder.setInetSocketAddress(TestTools.LOCALHOST_EPHEMERAL);
+		builder.setConfiguration(config);
+		CoapEndpoint ep = builder.build();
+		ep.addInterceptor(new MessageTracer());
+		scheduler = ep.getPiggybackScheduler();
+		server = new CoapServer(config);
+		cleanup.add(server);
+		server.addEndpoint(ep);
+		server.add(new CoapResource("fast") {
+
+			@Override
+			public void handleGET(CoapExchange exchange) {
+				exchange.respond(payload);
+			}
+		});
+		server.add(new SlowResource("slow"));
+		server.add(new SlowResource("duplicate"));
+		server.add(new SlowResource("late"));
+		server.start();
+		serverAddress = ep.getAddress();
+	}
+
+	@AfterClass
+	public static void shutdownExecutor() {
+		executor.shutdownNow();
+	}
+
+	@Before
+	public void createClient() {
+		client = createLockstepEndpoint(serverAddress, network.getStandardTestConfig());
+	}
+
+	@After
+	public void destroyClient() {
+		if (client != null) {
+			client.destroy();
+		}
+	}
+
+	@Test
+	public void testFastResourceRespondsPiggybacked() throws Exception {
+		Token token = Token.fromProvider(new byte[] { 0x01, 0x00 });
+		int mid = 1234;
+		long piggybacked = scheduler.getPiggybackedResponses();
+		long delayed = scheduler.getDelayedEmptyAcks();
+
+		client.sendRequest(CON, GET, token, mid).path("fast").go();
+		client.expectResponse(ACK, CONTENT, token, mid).payload(payload).go();
+		// the piggybacked response replaces the delayed empty ACK
+		assertThat(scheduler.getPendingDelayedEmptyAcks(), is(0));
+
+		// no empty ACK after the piggybacking timeout
+		assertThat(client.receiveNextMessage(PIGGYBACKING_TIMEOUT * 2, TimeUnit.MILLISECONDS), is(nullValue()));
+		assertThat(scheduler.getPiggybackedResponses(), is(piggybacked + 1));
+		assertThat(scheduler.getDelayedEmptyAcks(), is(delayed));
+
+		String metrics = new PrometheusTextExporter().export(server.getMetricsRegistry());
+		assertThat(metrics, containsString("coap_piggybacked_responses{"));
+		assertThat(metrics, containsString("coap_early_empty_acks{"));
+		assertThat(metrics, containsString("coap_delayed_empty_acks{"));
+	}
+
+	@Test
+	public void testSlowResourceIsAcknowledgedEarly() throws Exception {
+		Token token = Token.fromProvider(new byte[] { 0x02, 0x00 });
+		int mid = 2345;
+		long early = scheduler.getEarlyEmptyAcks();
+		long delayed = scheduler.getDelayedEmptyAcks();
+
+		// unknown latency, empty ACK after piggybacking timeout
+		client.sendRequest(CON, GET, token, mid).path("slow").go();
+		client.expectEmpty(ACK, mid).go();
+		client.expectResponse().type(CON).code(CONTENT).token(token).storeMID("M").payload(payload).go();
+		client.sendEmpty(ACK).loadMID("M").go();
+
+		// slow latency, early empty ACK
+		long start = System.nanoTime();
+		client.sendRequest(CON, GET, token, ++mid).path("slow").go();
+		client.expectEmpty(ACK, mid).go();
+		long time = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+		assertThat(time, is(lessThan((long) PIGGYBACKING_TIMEOUT)));
+		client.expectResponse().type(CON).code(CONTENT).token(token).storeMID("M").payload(payload).go();
+		client.sendEmpty(ACK).loadMID("M").go();
+
+		assertThat(client.receiveNextMessage(500, TimeUnit.MILLISECONDS), is(nullValue()));
+		assertThat(scheduler.getDelayedEmptyAcks(), is(delayed + 1));
+		assertThat(scheduler.getEarlyEmptyAcks(), is(early + 1));
+	}
+
+	@Test
+	public void testDuplicateRequestIsAcknowledgedEarly() throws Exception {
+		Token token = Token.fromProvider(new byte[] { 0x03, 0x00 });
+		int mid = 3456;
+		long early = scheduler.getEarlyEmptyAcks();
+
+		long start = System.nanoTime();
+		client.sendRequest(CON, GET, token, mid).path("duplicate").go();
+		// client retransmits request
+		client.sendRequest(CON, GET, token, mid).path("duplicate").go();
+		client.expectEmpty(ACK, mid).go();
+		long time = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+		assertThat(time, is(lessThan((long) PIGGYBACKING_TIMEOUT)));
+		client.expectResponse().type(CON).code(CONTENT).token(token).storeMID("M").payload(payload).go();
+		client.sendEmpty(ACK).loadMID("M").go();
+
+		assertThat(client.receiveNextMessage(500, TimeUnit.MILLISECONDS), is(nullValue()));
+		assertThat(scheduler.getEarlyEmptyAcks(), is(early + 1));
+		// the early empty ACK for the duplicate replaced the delayed one
+		assertThat(scheduler.getPendingDelayedEmptyAcks(), is(0));
+	}
+
+	@Test
+	public void testUnknownResourcesAreNotTracked() throws Exception {
+		Token token = Token.fromProvider(new byte[] { 0x04, 0x00 });
+		int mid = 4567;
+
+		// requests for more unknown resources than tracked
+		for (int index = 0; index <= PiggybackScheduler.MAX_RESOURCES; ++index) {
+			client.sendRequest(NON, GET, token, ++mid).path("unknown" + index).go();
+			client.expectResponse().type(NON).code(NOT_FOUND).token(token).go();
+		}
+
+		// unknown latency, empty ACK after piggybacking timeout
+		client.sendRequest(CON, GET, token, ++mid).path("late").go();
+		client.expectEmpty(ACK, mid).go();
+		client.expectResponse().type(CON).code(CONTENT).token(token).storeMID("M").payload(payload).go();
+		client.sendEmpty(ACK).loadMID("M").go();
+
+		// latency is still tracked, early empty ACK
+		long start = System.nanoTime();
+		client.sendRequest(CON, GET, token, ++mid).path("late").go();
+		client.expectEmpty(ACK, mid).go();
+		long time = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+		assertThat(time, is(lessThan((long) PIGGYBACKING_TIMEOUT)));
+		client.expectResponse().type(CON).code(CONTENT).token(token).storeMID("M").payload(payload).go();
+		client.sendEmpty(ACK).loadMID("M").go();
+
+		assertThat(client.receiveNextMessage(500, TimeUnit.MILLISECONDS), is(nullValue()));
+	}
+
+	private static class SlowResource extends CoapResource {
+
+		private SlowResource(String name) {
+			super(name);
+		}
+
+		@Override
+		public void handleGET(final CoapExchange exchange) {
+			executor.schedule(new Runnable() {
+
+				@Override
+				public void run() {
+					exchange.respond(payload);
+				}
+			}, SLOW_LATENCY, TimeUnit.MILLISECONDS);
+		}
+	}
+}
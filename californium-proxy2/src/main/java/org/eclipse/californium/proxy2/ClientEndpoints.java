@@ -16,8 +16,11 @@
 package org.eclipse.californium.proxy2;
 
 import java.io.IOException;
+import java.util.function.BiConsumer;
 
 import org.eclipse.californium.core.coap.Request;
+import org.eclipse.californium.core.coap.Response;
+import org.eclipse.californium.core.network.Endpoint;
 
 /**
  * Client Endpoints.
@@ -39,6 +42,30 @@ public interface ClientEndpoints {
 	 */
 	public void sendRequest(Request outgoingRequest) throws IOException;
 
+	/**
+	 * Add notification listener to the client endpoints.
+	 * <p>
+	 * Notifications of observe requests are reported to the notification
+	 * listeners of the endpoint, not to the message observers of the request.
+	 * The default implementation doesn't support notifications.
+	 * 
+	 * @param listener notification listener
+	 * @see Endpoint#addNotificationListener(BiConsumer)
+	 * @since 4.0
+	 */
+	default void addNotificationListener(BiConsumer<Request, Response> listener) {
+	}
+
+	/**
+	 * Remove notification listener from the client endpoints.
+	 * 
+	 * @param listener notification listener
+	 * @see Endpoint#removeNotificationListener(BiConsumer)
+	 * @since 4.0
+	 */
+	default void removeNotificationListener(BiConsumer<Request, Response> listener) {
+	}
+
 	/**
 	 * Destroy client endpoints.
 	 */
@@ -0,0 +1,571 @@
+/********************************************************************************
+ * Copyright (c) 2025 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v1.0 which is available at
+ * https://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ ********************************************************************************/
+package org.eclipse.californium.proxy2;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+
+import org.eclipse.californium.core.coap.CoAP;
+import org.eclipse.californium.core.coap.MessageObserverAdapter;
+import org.eclipse.californium.core.coap.Request;
+import org.eclipse.californium.core.coap.Response;
+import org.eclipse.californium.core.network.CoapEndpoint;
+import org.eclipse.californium.core.network.Endpoint;
+import org.eclipse.californium.elements.config.Configuration;
+import org.eclipse.californium.elements.metrics.MetricsCollector;
+import org.eclipse.californium.elements.metrics.MetricsSource;
+import org.eclipse.californium.elements.util.ProtocolScheduledExecutorService;
+import org.eclipse.californium.elements.util.StringUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Fixed set of endpoints shared by all outgoing requests.
+ * <p>
+ * A {@link CoapEndpoint} processes many requests concurrently, the token and
+ * MID space is per endpoint. Instead of using an endpoint per request, as the
+ * {@link EndpointPool} does, the requests are multiplexed over a small fixed
+ * set of endpoints. All requests for the same destination use the same
+ * endpoint.
+ * <p>
+ * The number of concurrent requests per destination is limited. Requests
+ * exceeding that limit are queued and sent, when a previous request of that
+ * destination completes. If the queue is also exhausted, the request is
+ * rejected.
+ *
+ * @since 4.0
+ */
+public class ClientMultiplexedEndpoints implements ClientEndpoints, MetricsSource {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(ClientMultiplexedEndpoints.class);
+
+	/**
+	 * Maximum number of destinations with metrics of their own.
+	 * <p>
+	 * Limits the number of labels of the metrics to the destinations with the
+	 * most pending requests.
+	 */
+	public static final int MAX_DESTINATION_METRICS = 8;
+
+	/**
+	 * Configuration for new endpoints.
+	 */
+	protected final Configuration config;
+	/**
+	 * Executor for endpoints.
+	 *
+	 * @see Endpoint#setExecutor(ProtocolScheduledExecutorService)
+	 */
+	protected final ProtocolScheduledExecutorService executor;
+	/**
+	 * Shared endpoints.
+	 */
+	protected final Endpoint[] endpoints;
+	/**
+	 * Maximum number of concurrent requests per destination.
+	 */
+	protected final int maxRequestsPerDestination;
+	/**
+	 * Maximum number of queued requests per destination.
+	 */
+	protected final int maxQueuedRequestsPerDestination;
+	/**
+	 * Scheme of endpoints.
+	 */
+	private volatile String scheme;
+	/**
+	 * Destinations with pending requests.
+	 */
+	private final ConcurrentMap<InetSocketAddress, Destination> destinations = new ConcurrentHashMap<>();
+	/**
+	 * Notification listeners.
+	 */
+	private final List<BiConsumer<Request, Response>> notificationListeners = new CopyOnWriteArrayList<>();
+	/**
+	 * Number of requests.
+	 */
+	private final LongAdder requests = new LongAdder();
+	/**
+	 * Number of queued requests.
+	 */
+	private final LongAdder queuedRequests = new LongAdder();
+	/**
+	 * Number of rejected requests.
+	 */
+	private final LongAdder rejectedRequests = new LongAdder();
+	/**
+	 * Number of requests currently in flight.
+	 */
+	private final AtomicInteger inflightRequests = new AtomicInteger();
+
+	/**
+	 * Create multiplexed endpoints with specific configuration and executor.
+	 *
+	 * The endpoints are created on demand.
+	 *
+	 * @param size number of endpoints
+	 * @param maxRequestsPerDestination maximum number of concurrent requests
+	 *            per destination
+	 * @param maxQueuedRequestsPerDestination maximum number of queued requests
+	 *            per destination
+	 * @param config configuration to create endpoints.
+	 * @param executor executor for endpoints
+	 * @throws IllegalArgumentException if size or maximum number of requests
+	 *             is less than {@code 1}, or the maximum number of queued
+	 *             requests is negative.
+	 */
+	public ClientMultiplexedEndpoints(int size, int maxRequestsPerDestination,
+			int maxQueuedRequestsPerDestination, Configuration config, ProtocolScheduledExecutorService executor) {
+		if (size < 1) {
+			throw new IllegalArgumentException("Size " + size + " must be at least 1!");
+		}
+		if (maxRequestsPerDestination < 1) {
+			throw new IllegalArgumentException(
+					"Requests per destination " + maxRequestsPerDestination + " must be at least 1!");
+		}
+		if (maxQueuedRequestsPerDestination < 0) {
+			throw new IllegalArgumentException(
+					"Queued requests per destination " + maxQueuedRequestsPerDestination + " must not be negative!");
+		}
+		this.endpoints = new Endpoint[size];
+		this.maxRequestsPerDestination = maxRequestsPerDestination;
+		this.maxQueuedRequestsPerDestination = maxQueuedRequestsPerDestination;
+		this.config = config;
+		this.executor = executor;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * Creates the first endpoint, if not already available.
+	 */
+	@Override
+	public String getScheme() {
+		if (scheme == null) {
+			try {
+				scheme = getEndpoint(0).getUri().getScheme();
+			} catch (IOException ex) {
+				LOGGER.warn("endpoint could not be created!", ex);
+			}
+		}
+		return scheme;
+	}
+
+	@Override
+	public void sendRequest(Request outgoingRequest) throws IOException {
+		InetSocketAddress address = outgoingRequest.getDestinationContext().getPeerAddress();
+		requests.increment();
+		while (true) {
+			Destination destination = destinations.get(address);
+			if (destination == null) {
+				destination = new Destination(address);
+				Destination previous = destinations.putIfAbsent(address, destination);
+				if (previous != null) {
+					destination = previous;
+				}
+			}
+			switch (destination.acquire(outgoingRequest)) {
+			case SEND:
+				send(destination, outgoingRequest);
+				return;
+			case QUEUED:
+				return;
+			case REJECTED:
+				rejectedRequests.increment();
+				LOGGER.debug("too many requests pending for {}, rejected!", address);
+				outgoingRequest.setRejected(true);
+				return;
+			case REMOVED:
+				// destination removed concurrently, retry
+				break;
+			}
+		}
+	}
+
+	/**
+	 * Send request with the endpoint of the destination.
+	 *
+	 * @param destination destination of request
+	 * @param outgoingRequest request to send
+	 * @throws IOException if an i/o error occurs creating the endpoint
+	 */
+	private void send(Destination destination, Request outgoingRequest) throws IOException {
+		inflightRequests.incrementAndGet();
+		try {
+			Endpoint endpoint = getEndpoint(destination.endpointIndex);
+			outgoingRequest.addMessageObserver(new MultiplexMessageObserver(destination));
+			endpoint.sendRequest(outgoingRequest);
+		} catch (IOException ex) {
+			release(destination);
+			throw ex;
+		}
+	}
+
+	/**
+	 * Release request of destination and send next queued request.
+	 *
+	 * @param destination destination of completed request
+	 */
+	private void release(Destination destination) {
+		inflightRequests.decrementAndGet();
+		Request next;
+		while ((next = destination.release()) != null) {
+			if (next.isCanceled()) {
+				continue;
+			}
+			try {
+				send(destination, next);
+				break;
+			} catch (IOException ex) {
+				// send has already released the destination
+				next.setSendError(ex);
+				break;
+			}
+		}
+	}
+
+	/**
+	 * Get endpoint. Creates the endpoint, if not available.
+	 *
+	 * @param index index of endpoint
+	 * @return endpoint
+	 * @throws IOException if an i/o error occurs creating a new endpoint.
+	 */
+	protected Endpoint getEndpoint(int index) throws IOException {
+		synchronized (endpoints) {
+			Endpoint endpoint = endpoints[index];
+			if (endpoint == null) {
+				endpoint = createEndpoint();
+				for (BiConsumer<Request, Response> listener : notificationListeners) {
+					endpoint.addNotificationListener(listener);
+				}
+				endpoints[index] = endpoint;
+			}
+			return endpoint;
+		}
+	}
+
+	/**
+	 * Create new endpoint.
+	 *
+	 * Maybe overridden to create endpoints using other schemes and protocols.
+	 *
+	 * @return new created endpoint.
+	 * @throws IOException if the endpoint could not be started, e.g. because
+	 *             the endpoint's port is already in use.
+	 */
+	protected Endpoint createEndpoint() throws IOException {
+		Endpoint endpoint = new CoapEndpoint.Builder().setConfiguration(config).build();
+		endpoint.setExecutor(executor);
+		try {
+			endpoint.start();
+			return endpoint;
+		} catch (IOException e) {
+			endpoint.destroy();
+			throw e;
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * Adds the listener to the current and the later created endpoints.
+	 */
+	@Override
+	public void addNotificationListener(BiConsumer<Request, Response> listener) {
+		synchronized (endpoints) {
+			notificationListeners.add(listener);
+			for (Endpoint endpoint : endpoints) {
+				if (endpoint != null) {
+					endpoint.addNotificationListener(listener);
+				}
+			}
+		}
+	}
+
+	@Override
+	public void removeNotificationListener(BiConsumer<Request, Response> listener) {
+		synchronized (endpoints) {
+			notificationListeners.remove(listener);
+			for (Endpoint endpoint : endpoints) {
+				if (endpoint != null) {
+					endpoint.removeNotificationListener(listener);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Gets number of requests.
+	 *
+	 * @return number of requests
+	 */
+	public long getRequests() {
+		return requests.sum();
+	}
+
+	/**
+	 * Gets number of queued requests.
+	 *
+	 * @return number of queued requests
+	 */
+	public long getQueuedRequests() {
+		return queuedRequests.sum();
+	}
+
+	/**
+	 * Gets number of rejected requests.
+	 *
+	 * @return number of rejected requests
+	 */
+	public long getRejectedRequests() {
+		return rejectedRequests.sum();
+	}
+
+	/**
+	 * Gets number of requests currently in flight.
+	 *
+	 * @return number of requests in flight
+	 */
+	public int getInflightRequests() {
+		return inflightRequests.get();
+	}
+
+	/**
+	 * Gets number of destinations with pending requests.
+	 *
+	 * @return number of destinations
+	 */
+	public int getDestinations() {
+		return destinations.size();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * Uses the scheme as source label, {@code coap}, if no endpoint is created
+	 * yet. The pending requests are reported in addition for the
+	 * {@link #MAX_DESTINATION_METRICS} destinations with the most pending
+	 * requests, using the scheme and the destination address as source label.
+	 */
+	@Override
+	public void collectMetrics(MetricsCollector collector) {
+		String scheme = this.scheme;
+		if (scheme == null) {
+			scheme = CoAP.COAP_URI_SCHEME;
+		}
+		collector.addValue("proxy_client_requests", MetricsCollector.Type.COUNTER, scheme, requests.sum());
+		collector.addValue("proxy_client_queued_requests", MetricsCollector.Type.COUNTER, scheme,
+				queuedRequests.sum());
+		collector.addValue("proxy_client_rejected_requests", MetricsCollector.Type.COUNTER, scheme,
+				rejectedRequests.sum());
+		collector.addValue("proxy_client_inflight_requests", MetricsCollector.Type.GAUGE, scheme,
+				inflightRequests.get());
+		collector.addValue("proxy_client_destinations", MetricsCollector.Type.GAUGE, scheme, destinations.size());
+		PriorityQueue<Pending> top = new PriorityQueue<>(MAX_DESTINATION_METRICS + 1);
+		for (Destination destination : destinations.values()) {
+			top.add(new Pending(destination.address, destination.getPendingRequests()));
+			if (top.size() > MAX_DESTINATION_METRICS) {
+				top.poll();
+			}
+		}
+		for (Pending pending : top) {
+			collector.addValue("proxy_client_destination_pending_requests", MetricsCollector.Type.GAUGE,
+					scheme + "://" + StringUtil.toString(pending.address), pending.requests);
+		}
+	}
+
+	@Override
+	public void destroy() {
+		synchronized (endpoints) {
+			for (int index = 0; index < endpoints.length; ++index) {
+				if (endpoints[index] != null) {
+					endpoints[index].destroy();
+					endpoints[index] = null;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Destination with pending requests.
+	 */
+	private class Destination {
+
+		/**
+		 * Address of destination.
+		 */
+		private final InetSocketAddress address;
+		/**
+		 * Index of endpoint used for this destination.
+		 */
+		private final int endpointIndex;
+		/**
+		 * Queued requests.
+		 */
+		private final Queue<Request> queue = new ArrayDeque<>();
+		/**
+		 * Number of requests in flight.
+		 */
+		private int inflight;
+		/**
+		 * Indicates, that the destination is removed from the map.
+		 */
+		private boolean removed;
+
+		private Destination(InetSocketAddress address) {
+			this.address = address;
+			this.endpointIndex = (address.hashCode() & 0x7fffffff) % endpoints.length;
+		}
+
+		/**
+		 * Acquire request.
+		 *
+		 * @param request request to acquire
+		 * @return result of acquire
+		 */
+		private synchronized Acquire acquire(Request request) {
+			if (removed) {
+				return Acquire.REMOVED;
+			}
+			if (inflight < maxRequestsPerDestination) {
+				++inflight;
+				return Acquire.SEND;
+			}
+			if (queue.size() < maxQueuedRequestsPerDestination) {
+				queue.add(request);
+				queuedRequests.increment();
+				return Acquire.QUEUED;
+			}
+			return Acquire.REJECTED;
+		}
+
+		/**
+		 * Get number of pending requests.
+		 *
+		 * @return number of requests in flight and queued
+		 */
+		private synchronized int getPendingRequests() {
+			return inflight + queue.size();
+		}
+
+		/**
+		 * Release request.
+		 *
+		 * @return next queued request to send, or {@code null}, if no request
+		 *         is queued.
+		 */
+		private synchronized Request release() {
+			Request next = queue.poll();
+			if (next == null) {
+				if (--inflight == 0) {
+					removed = true;
+					destinations.remove(address, this);
+				}
+			}
+			return next;
+		}
+	}
+
+	/**
+	 * Pending requests of a destination. Ordered by the number of pending
+	 * requests.
+	 */
+	private static class Pending implements Comparable<Pending> {
+
+		/**
+		 * Address of destination.
+		 */
+		private final InetSocketAddress address;
+		/**
+		 * Number of pending requests.
+		 */
+		private final int requests;
+
+		private Pending(InetSocketAddress address, int requests) {
+			this.address = address;
+			this.requests = requests;
+		}
+
+		@Override
+		public int compareTo(Pending other) {
+			return Integer.compare(requests, other.requests);
+		}
+	}
+
+	/**
+	 * Result of acquiring a request for a destination.
+	 */
+	private enum Acquire {
+		/**
+		 * Send request.
+		 */
+		SEND,
+		/**
+		 * Request is queued.
+		 */
+		QUEUED,
+		/**
+		 * Request is rejected, too many pending requests.
+		 */
+		REJECTED,
+		/**
+		 * Destination is already removed, retry with new destination.
+		 */
+		REMOVED
+	}
+
+	private class MultiplexMessageObserver extends MessageObserverAdapter {
+
+		private final Destination destination;
+		private final AtomicBoolean released = new AtomicBoolean();
+
+		private MultiplexMessageObserver(Destination destination) {
+			this.destination = destination;
+		}
+
+		@Override
+		public void onResponse(Response incomingResponse) {
+			release();
+		}
+
+		@Override
+		public void onCancel() {
+			release();
+		}
+
+		@Override
+		protected void failed() {
+			release();
+		}
+
+		private void release() {
+			if (released.compareAndSet(false, true)) {
+				ClientMultiplexedEndpoints.this.release(destination);
+			}
+		}
+	}
+}
@@ -16,8 +16,10 @@
 package org.eclipse.californium.proxy2;
 
 import java.io.IOException;
+import java.util.function.BiConsumer;
 
 import org.eclipse.californium.core.coap.Request;
+import org.eclipse.californium.core.coap.Response;
 import org.eclipse.californium.core.network.CoapEndpoint;
 import org.eclipse.californium.core.network.Endpoint;
 
@@ -62,6 +64,16 @@ public class ClientSingleEndpoint implements ClientEndpoints {
 		endpoint.sendRequest(outgoingRequest);
 	}
 
+	@Override
+	public void addNotificationListener(BiConsumer<Request, Response> listener) {
+		endpoint.addNotificationListener(listener);
+	}
+
+	@Override
+	public void removeNotificationListener(BiConsumer<Request, Response> listener) {
+		endpoint.removeNotificationListener(listener);
+	}
+
 	@Override
 	public void destroy() {
 		endpoint.destroy();
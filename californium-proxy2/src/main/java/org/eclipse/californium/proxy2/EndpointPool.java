@@ -16,8 +16,11 @@
 package org.eclipse.californium.proxy2;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
 
 import org.eclipse.californium.core.coap.MessageObserverAdapter;
 import org.eclipse.californium.core.coap.Request;
@@ -31,6 +34,9 @@ import org.slf4j.LoggerFactory;
 
 /**
  * A pool of Endpoints.
+ * 
+ * Uses an endpoint exclusively for each request. For many concurrent requests
+ * consider to use {@link ClientMultiplexedEndpoints}.
  */
 public class EndpointPool implements ClientEndpoints {
 
@@ -58,6 +64,12 @@ public class EndpointPool implements ClientEndpoints {
 	 * Scheme of endpoints.
 	 */
 	protected String scheme;
+	/**
+	 * Notification listeners.
+	 * 
+	 * @since 4.0
+	 */
+	private final List<BiConsumer<Request, Response>> notificationListeners = new CopyOnWriteArrayList<>();
 
 	/**
 	 * Create endpoint pool with specific configuration and executors
@@ -103,11 +115,11 @@ public class EndpointPool implements ClientEndpoints {
 		}
 		String scheme = null;
 		try {
-			Endpoint endpoint = createEndpoint();
+			Endpoint endpoint = createPoolEndpoint();
 			scheme = endpoint.getUri().getScheme();
 			release(endpoint);
 			for (int i = 1; i < init; i++) {
-				release(createEndpoint());
+				release(createPoolEndpoint());
 			}
 		} catch (IOException ex) {
 			LOGGER.warn("endpoint pool could not be filled!", ex);
@@ -137,7 +149,25 @@ public class EndpointPool implements ClientEndpoints {
 		Endpoint endpoint = pool.poll();
 		if (endpoint == null) {
 			LOGGER.warn("Out of endpoints, creating more");
-			endpoint = createEndpoint();
+			endpoint = createPoolEndpoint();
+		}
+		return endpoint;
+	}
+
+	/**
+	 * Create new endpoint for the pool.
+	 * 
+	 * Adds the notification listeners to the new endpoint.
+	 * 
+	 * @return new created endpoint.
+	 * @throws IOException if the endpoint could not be started, e.g. because
+	 *             the endpoint's port is already in use.
+	 * @since 4.0
+	 */
+	private Endpoint createPoolEndpoint() throws IOException {
+		Endpoint endpoint = createEndpoint();
+		for (BiConsumer<Request, Response> listener : notificationListeners) {
+			endpoint.addNotificationListener(listener);
 		}
 		return endpoint;
 	}
@@ -187,6 +217,28 @@ public class EndpointPool implements ClientEndpoints {
 		return pool.size() >= size;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * Adds the listener to the pooled endpoints and to the endpoints created
+	 * later. Endpoints currently in use by requests are not affected.
+	 */
+	@Override
+	public void addNotificationListener(BiConsumer<Request, Response> listener) {
+		notificationListeners.add(listener);
+		for (Endpoint endpoint : pool) {
+			endpoint.addNotificationListener(listener);
+		}
+	}
+
+	@Override
+	public void removeNotificationListener(BiConsumer<Request, Response> listener) {
+		notificationListeners.remove(listener);
+		for (Endpoint endpoint : pool) {
+			endpoint.removeNotificationListener(listener);
+		}
+	}
+
 	@Override
 	public void destroy() {
 		Endpoint endpoint;
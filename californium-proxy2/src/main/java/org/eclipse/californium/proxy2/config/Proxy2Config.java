@@ -77,6 +77,16 @@ public final class Proxy2Config {
 			"Maximum age to cache responses.", 1L, TimeUnit.HOURS);
 	public static final IntegerDefinition CACHE_SIZE = new IntegerDefinition(MODULE + "CACHE_SIZE",
 			"Size of response cache.", 1000, 10);
+	/**
+	 * Maximum size of response cache in bytes.
+	 * <p>
+	 * Estimated size of the cached keys and responses. {@code 0} to limit the
+	 * number of entries by {@link #CACHE_SIZE} instead.
+	 * 
+	 * @since 4.0
+	 */
+	public static final IntegerDefinition CACHE_MAX_BYTES = new IntegerDefinition(MODULE + "CACHE_MAX_BYTES",
+			"Maximum size of response cache in bytes. 0 to use CACHE_SIZE instead.", 8 * 1024 * 1024, 0);
 	public static final TimeDefinition HTTP_CONNECTION_IDLE_TIMEOUT = new TimeDefinition(
 			MODULE + "HTTP_CONNECTION_IDLE_TIMEOUT", "HTTP connection idle timeout.",
 			DEFAULT_HTTP_CONNECTION_IDLE_TIMEOUT_IN_SECONDS, TimeUnit.SECONDS);
@@ -104,6 +114,7 @@ public final class Proxy2Config {
 			config.set(HTTP_SERVER_SOCKET_BUFFER_SIZE, 8192);
 			config.set(CACHE_RESPONSE_MAX_AGE, 1, TimeUnit.HOURS);
 			config.set(CACHE_SIZE, 1000);
+			config.set(CACHE_MAX_BYTES, 8 * 1024 * 1024);
 			config.set(HTTP_CONNECTION_IDLE_TIMEOUT, DEFAULT_HTTP_CONNECTION_IDLE_TIMEOUT_IN_SECONDS, TimeUnit.SECONDS);
 			config.set(HTTP_WORKER_THREADS, 1);
 			config.set(HTTP_CONNECT_TIMEOUT, DEFAULT_HTTP_CONNECT_TIMEOUT_IN_SECONDS, TimeUnit.SECONDS);
@@ -94,9 +94,31 @@ public class Coap2HttpProxy {
 	 * @param authentication http authentication. Maybe {@code null}.
 	 * @param incomingCoapRequest incoming coap request
 	 * @param onResponse callback for coap-response
+	 * @see #handleForward(URI, String, Request, int, Consumer)
 	 */
 	public void handleForward(URI destination, String authentication, final Request incomingCoapRequest,
 			final Consumer<Response> onResponse) {
+		handleForward(destination, authentication, incomingCoapRequest, 0, onResponse);
+	}
+
+	/**
+	 * Handle http-forward request with limited response body size.
+	 * 
+	 * The http response body is received into a buffer of the content length,
+	 * if provided. If the content length or the received body exceeds the
+	 * maximum body size, receiving the response is aborted and a
+	 * {@link ResponseCode#BAD_GATEWAY} is passed to the callback.
+	 * 
+	 * @param destination http destination
+	 * @param authentication http authentication. Maybe {@code null}.
+	 * @param incomingCoapRequest incoming coap request
+	 * @param maxBodySize maximum response body size. {@code 0} for unlimited.
+	 * @param onResponse callback for coap-response
+	 * @see #handleForward(URI, String, Request, Consumer)
+	 * @since 4.0
+	 */
+	public void handleForward(URI destination, String authentication, final Request incomingCoapRequest,
+			int maxBodySize, final Consumer<Response> onResponse) {
 
 		HttpAuthentication httpAuthentication = new HttpAuthentication(destination, authentication);
 
@@ -136,7 +158,7 @@ public class Coap2HttpProxy {
 		final long now = ClockUtil.nanoRealtime();
 
 		asyncClient.execute(httpRequest,
-				new BasicResponseConsumer<ContentTypedEntity>(new ContentTypedEntityConsumer()),
+				new BasicResponseConsumer<ContentTypedEntity>(new ContentTypedEntityConsumer(maxBodySize)),
 				httpAuthentication.getHttpClientContext(),
 				new FutureCallback<Message<HttpResponse, ContentTypedEntity>>() {
 
@@ -150,7 +172,7 @@ public class Coap2HttpProxy {
 								for (Header header : result.getHead().getHeaders()) {
 									LOGGER.debug("   {}", header);
 								}
-								if (status.isError()) {
+								if (status.isError() && result.getBody() != null) {
 									byte[] content = result.getBody().getContent();
 									LOGGER.debug("   {}", new String(content));
 								}
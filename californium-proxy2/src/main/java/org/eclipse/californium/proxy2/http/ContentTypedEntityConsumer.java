@@ -17,64 +17,179 @@ package org.eclipse.californium.proxy2.http;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.charset.UnsupportedCharsetException;
+import java.util.Arrays;
+import java.util.List;
 
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.ContentTooLongException;
 import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.EntityDetails;
+import org.apache.hc.core5.http.Header;
 import org.apache.hc.core5.http.HttpException;
-import org.apache.hc.core5.http.nio.entity.AbstractBinAsyncEntityConsumer;
-import org.apache.hc.core5.util.ByteArrayBuffer;
+import org.apache.hc.core5.http.nio.AsyncEntityConsumer;
+import org.apache.hc.core5.http.nio.CapacityChannel;
 
 /**
  * Payload consumer with related {@link ContentType}.
+ * <p>
+ * If the entity provides a content length, the payload is received into an
+ * array of that exact size, which is then used for the
+ * {@link ContentTypedEntity} without copy. Since 4.0 the payload size may be
+ * limited. Larger payloads are rejected with a {@link ContentTooLongException}
+ * as soon as the content length or the received data exceeds the limit, and
+ * the flow control window is limited to the remaining payload size.
  * 
  * @see ContentTypedEntity
- * @since 3.0
+ * @since 3.0 (4.0 implements {@link AsyncEntityConsumer} directly)
  */
-public class ContentTypedEntityConsumer extends AbstractBinAsyncEntityConsumer<ContentTypedEntity> {
+public class ContentTypedEntityConsumer implements AsyncEntityConsumer<ContentTypedEntity> {
 
-	private final ByteArrayBuffer buffer;
+	/**
+	 * Initial buffer size, if content length is not provided. Also limits
+	 * the initial buffer size, if no maximum payload size is provided.
+	 * 
+	 * @since 4.0
+	 */
+	private static final int INITIAL_BUFFER_SIZE = 1024;
+
+	/**
+	 * Maximum payload size. {@code 0} for unlimited.
+	 * 
+	 * @since 4.0
+	 */
+	private final int maxBodySize;
+	private volatile FutureCallback<ContentTypedEntity> resultCallback;
+	private volatile ContentTypedEntity content;
 	private ContentType contentType;
+	private byte[] buffer;
+	private int size;
 
+	/**
+	 * Create consumer without payload size limit.
+	 */
 	public ContentTypedEntityConsumer() {
-		super();
-		this.buffer = new ByteArrayBuffer(1024);
+		this(0);
+	}
+
+	/**
+	 * Create consumer with payload size limit.
+	 * 
+	 * @param maxBodySize maximum payload size. {@code 0} for unlimited.
+	 * @throws IllegalArgumentException if maximum payload size is negative
+	 * @since 4.0
+	 */
+	public ContentTypedEntityConsumer(int maxBodySize) {
+		if (maxBodySize < 0) {
+			throw new IllegalArgumentException("Maximum body size " + maxBodySize + " must not be negative!");
+		}
+		this.maxBodySize = maxBodySize;
 	}
 
 	@Override
-	protected void streamStart(final ContentType contentType) throws HttpException, IOException {
-		this.contentType = contentType;
+	public void streamStart(final EntityDetails entityDetails, final FutureCallback<ContentTypedEntity> resultCallback)
+			throws HttpException, IOException {
+		if (resultCallback == null) {
+			throw new NullPointerException("Result callback must not be null!");
+		}
+		this.resultCallback = resultCallback;
+		if (entityDetails != null) {
+			try {
+				contentType = ContentType.parse(entityDetails.getContentType());
+			} catch (UnsupportedCharsetException ex) {
+				throw new IOException(ex.getMessage(), ex);
+			}
+			long contentLength = entityDetails.getContentLength();
+			if (maxBodySize > 0 && contentLength > maxBodySize) {
+				throw new ContentTooLongException("Content length %d exceeds maximum of %d bytes!", contentLength,
+						maxBodySize);
+			}
+			if (contentLength >= 0 && contentLength <= Integer.MAX_VALUE) {
+				int initialSize = (int) contentLength;
+				if (maxBodySize == 0) {
+					// unlimited, don't allocate the announced length in
+					// advance, grow the buffer with the received data
+					initialSize = Math.min(initialSize, INITIAL_BUFFER_SIZE);
+				}
+				buffer = new byte[initialSize];
+			}
+		}
 	}
 
 	@Override
-	protected int capacityIncrement() {
-		return Integer.MAX_VALUE;
+	public void updateCapacity(final CapacityChannel capacityChannel) throws IOException {
+		if (maxBodySize > 0) {
+			capacityChannel.update(Math.max(1, maxBodySize - size));
+		} else {
+			capacityChannel.update(Integer.MAX_VALUE);
+		}
 	}
 
 	@Override
-	protected void data(final ByteBuffer src, final boolean endOfStream) throws IOException {
-		if (src == null) {
+	public void consume(final ByteBuffer src) throws IOException {
+		if (src == null || !src.hasRemaining()) {
 			return;
 		}
-		if (src.hasArray()) {
-			buffer.append(src.array(), src.arrayOffset() + src.position(), src.remaining());
-		} else {
-			while (src.hasRemaining()) {
-				buffer.append(src.get());
-			}
+		int length = src.remaining();
+		ensureCapacity(size + length);
+		src.get(buffer, size, length);
+		size += length;
+	}
+
+	@Override
+	public void streamEnd(final List<? extends Header> trailers) throws HttpException, IOException {
+		if (contentType != null && size > 0) {
+			byte[] payload = size == buffer.length ? buffer : Arrays.copyOf(buffer, size);
+			content = new ContentTypedEntity(contentType, payload);
+		}
+		if (resultCallback != null) {
+			resultCallback.completed(content);
 		}
+		releaseResources();
 	}
 
 	@Override
-	protected ContentTypedEntity generateContent() throws IOException {
-		if (contentType != null && !buffer.isEmpty()) {
-			return new ContentTypedEntity(contentType, buffer.toByteArray());
-		} else {
-			return null;
+	public void failed(final Exception cause) {
+		if (resultCallback != null) {
+			resultCallback.failed(cause);
 		}
+		releaseResources();
+	}
+
+	@Override
+	public ContentTypedEntity getContent() {
+		return content;
 	}
 
 	@Override
 	public void releaseResources() {
-		buffer.clear();
+		buffer = null;
+		size = 0;
 	}
 
+	/**
+	 * Ensure capacity of buffer.
+	 * 
+	 * @param capacity required capacity
+	 * @throws ContentTooLongException if the capacity exceeds the maximum
+	 *             payload size
+	 * @since 4.0
+	 */
+	private void ensureCapacity(int capacity) throws ContentTooLongException {
+		if (capacity < 0 || (maxBodySize > 0 && capacity > maxBodySize)) {
+			throw new ContentTooLongException("Content exceeds maximum of %d bytes!", maxBodySize);
+		}
+		if (buffer == null) {
+			buffer = new byte[Math.max(capacity, INITIAL_BUFFER_SIZE)];
+		} else if (capacity > buffer.length) {
+			int newSize = Math.max(capacity, buffer.length << 1);
+			if (newSize < 0) {
+				newSize = Integer.MAX_VALUE;
+			}
+			if (maxBodySize > 0 && newSize > maxBodySize) {
+				newSize = maxBodySize;
+			}
+			buffer = Arrays.copyOf(buffer, newSize);
+		}
+	}
 }
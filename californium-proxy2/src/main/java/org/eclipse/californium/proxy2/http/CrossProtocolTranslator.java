@@ -16,6 +16,7 @@
 package org.eclipse.californium.proxy2.http;
 
 import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static java.nio.charset.StandardCharsets.US_ASCII;
 import static java.nio.charset.StandardCharsets.UTF_8;
 
 import java.net.URI;
@@ -26,8 +27,10 @@ import java.nio.charset.CharacterCodingException;
 import java.nio.charset.Charset;
 import java.nio.charset.CharsetDecoder;
 import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
 import java.nio.charset.UnmappableCharacterException;
 import java.nio.charset.UnsupportedCharsetException;
+import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Properties;
@@ -104,6 +107,14 @@ public class CrossProtocolTranslator {
 	public static final int STATUS_WRONG_METHOD = HttpStatus.SC_NOT_IMPLEMENTED;
 	public static final int STATUS_INTERNAL_SERVER_ERROR = HttpStatus.SC_INTERNAL_SERVER_ERROR;
 
+	/**
+	 * Number of characters converted at once.
+	 * 
+	 * @see #convertCharset(byte[], Charset, Charset)
+	 * @since 4.0
+	 */
+	public static final int CHARSET_CONVERSION_CHUNK_SIZE = 4096;
+
 	private static final Logger LOGGER = LoggerFactory.getLogger(CrossProtocolTranslator.class);
 
 	/**
@@ -421,8 +432,9 @@ public class CrossProtocolTranslator {
 						Charset httpCharset = contentType.getCharset();
 
 						// check if the charset is UTF-8,
-						// the only supported by coap
-						if (httpCharset != null && !httpCharset.equals(UTF_8)) {
+						// the only supported by coap.
+						// US-ASCII is a subset of UTF-8 and not converted.
+						if (httpCharset != null && !httpCharset.equals(UTF_8) && !httpCharset.equals(US_ASCII)) {
 							// translate the payload to the UTF-8 charset
 							payload = convertCharset(payload, httpCharset, UTF_8);
 						}
@@ -736,6 +748,10 @@ public class CrossProtocolTranslator {
 
 	/**
 	 * Convert payload changing the charset.
+	 * <p>
+	 * Since 4.0 the payload is converted in chunks of
+	 * {@link #CHARSET_CONVERSION_CHUNK_SIZE} characters in order to bound the
+	 * temporary memory.
 	 * 
 	 * @param payload the payload
 	 * @param fromCharset the from charset
@@ -746,16 +762,36 @@ public class CrossProtocolTranslator {
 	 */
 	public byte[] convertCharset(byte[] payload, Charset fromCharset, Charset toCharset) throws TranslationException {
 		try {
-			// decode with the source charset
 			CharsetDecoder decoder = fromCharset.newDecoder();
-			CharBuffer charBuffer = decoder.decode(ByteBuffer.wrap(payload));
-			decoder.flush(charBuffer);
-			// encode to the destination charset
 			CharsetEncoder encoder = toCharset.newEncoder();
-			ByteBuffer byteBuffer = encoder.encode(charBuffer);
-			encoder.flush(byteBuffer);
-			payload = new byte[byteBuffer.remaining()];
-			byteBuffer.get(payload);
+			ByteBuffer in = ByteBuffer.wrap(payload);
+			CharBuffer chars = CharBuffer.allocate(Math.min(payload.length + 1, CHARSET_CONVERSION_CHUNK_SIZE));
+			long estimated = (long) Math
+					.ceil(payload.length * decoder.averageCharsPerByte() * encoder.averageBytesPerChar());
+			ByteBuffer out = ByteBuffer.allocate((int) Math.min(Math.max(estimated, 16), Integer.MAX_VALUE - 8));
+			CoderResult result;
+			// decode with the source charset
+			do {
+				result = decoder.decode(in, chars, true);
+				if (result.isError()) {
+					result.throwException();
+				}
+				out = encodeChunk(encoder, chars, out, false);
+			} while (result.isOverflow());
+			do {
+				result = decoder.flush(chars);
+				out = encodeChunk(encoder, chars, out, false);
+			} while (result.isOverflow());
+			// encode to the destination charset
+			out = encodeChunk(encoder, chars, out, true);
+			while (encoder.flush(out).isOverflow()) {
+				out = grow(out);
+			}
+			if (out.position() == out.capacity()) {
+				payload = out.array();
+			} else {
+				payload = Arrays.copyOf(out.array(), out.position());
+			}
 		} catch (UnmappableCharacterException e) {
 			// thrown when an input character (or byte) sequence is valid but
 			// cannot be mapped to an output byte (or character) sequence.
@@ -772,6 +808,51 @@ public class CrossProtocolTranslator {
 		return payload;
 	}
 
+	/**
+	 * Encode chunk of characters.
+	 * 
+	 * @param encoder encoder of destination charset
+	 * @param chars chunk of characters in write mode. Left in write mode with
+	 *            the not encoded characters.
+	 * @param out output buffer
+	 * @param endOfInput {@code true}, if no more characters are available,
+	 *            {@code false}, otherwise.
+	 * @return output buffer, grown if required
+	 * @throws CharacterCodingException if the characters could not be encoded
+	 * @since 4.0
+	 */
+	private static ByteBuffer encodeChunk(CharsetEncoder encoder, CharBuffer chars, ByteBuffer out,
+			boolean endOfInput) throws CharacterCodingException {
+		chars.flip();
+		CoderResult result;
+		while ((result = encoder.encode(chars, out, endOfInput)).isOverflow()) {
+			out = grow(out);
+		}
+		if (result.isError()) {
+			result.throwException();
+		}
+		chars.compact();
+		return out;
+	}
+
+	/**
+	 * Grow output buffer.
+	 * 
+	 * @param out output buffer in write mode
+	 * @return grown output buffer with the content of the provided one
+	 * @since 4.0
+	 */
+	private static ByteBuffer grow(ByteBuffer out) {
+		int capacity = out.capacity() < (Integer.MAX_VALUE - 8) / 2 ? out.capacity() * 2 : Integer.MAX_VALUE - 8;
+		if (capacity <= out.capacity()) {
+			throw new IllegalStateException("Converted payload exceeds maximum size!");
+		}
+		ByteBuffer grown = ByteBuffer.allocate(capacity);
+		out.flip();
+		grown.put(out);
+		return grown;
+	}
+
 	/**
 	 * Converts http textual etag and coap binary etag.
 	 * 
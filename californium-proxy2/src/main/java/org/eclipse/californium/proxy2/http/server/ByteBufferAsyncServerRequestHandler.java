@@ -32,10 +32,35 @@ import org.eclipse.californium.proxy2.http.ContentTypedEntityConsumer;
 public abstract class ByteBufferAsyncServerRequestHandler
 		implements AsyncServerRequestHandler<Message<HttpRequest, ContentTypedEntity>> {
 
+	/**
+	 * Maximum request body size. {@code 0} for unlimited.
+	 * 
+	 * @since 4.0
+	 */
+	private final int maxBodySize;
+
+	/**
+	 * Create request handler without body size limit.
+	 */
+	protected ByteBufferAsyncServerRequestHandler() {
+		this(0);
+	}
+
+	/**
+	 * Create request handler with body size limit.
+	 * 
+	 * @param maxBodySize maximum request body size. {@code 0} for unlimited.
+	 * @since 4.0
+	 */
+	protected ByteBufferAsyncServerRequestHandler(int maxBodySize) {
+		this.maxBodySize = maxBodySize;
+	}
+
 	@Override
 	public AsyncRequestConsumer<Message<HttpRequest, ContentTypedEntity>> prepare(final HttpRequest request,
 			final EntityDetails entityDetails, final HttpContext context) throws HttpException {
-		ContentTypedEntityConsumer consumer = entityDetails != null ? new ContentTypedEntityConsumer() : null;
+		ContentTypedEntityConsumer consumer = entityDetails != null ? new ContentTypedEntityConsumer(maxBodySize)
+				: null;
 		return new BasicRequestConsumer<ContentTypedEntity>(consumer);
 	}
 
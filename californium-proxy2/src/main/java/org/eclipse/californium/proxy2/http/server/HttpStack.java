@@ -34,6 +34,7 @@ import org.apache.hc.core5.http.protocol.HttpContext;
 import org.apache.hc.core5.http.protocol.HttpCoreContext;
 import org.eclipse.californium.core.coap.Request;
 import org.eclipse.californium.core.coap.Response;
+import org.eclipse.californium.core.config.CoapConfig;
 import org.eclipse.californium.core.network.Exchange;
 import org.eclipse.californium.core.network.Exchange.Origin;
 import org.eclipse.californium.core.server.MessageDeliverer;
@@ -86,14 +87,21 @@ public class HttpStack {
 	private final Executor executor;
 	private final MessageDeliverer requestDeliverer;
 	private final Http2CoapTranslator translator;
+	/**
+	 * Maximum request body size. {@code 0} for unlimited.
+	 * 
+	 * @since 4.0
+	 */
+	private final int maxBodySize;
 
 	/**
 	 * Instantiates a new http stack on the requested interface. It creates an
 	 * http listener thread on the interface and the handlers as provided.
 	 * 
 	 * @param config configuration with
-	 *            {@link Proxy2Config#HTTP_SERVER_SOCKET_TIMEOUT}, and
-	 *            {@link Proxy2Config#HTTP_SERVER_SOCKET_BUFFER_SIZE}.
+	 *            {@link Proxy2Config#HTTP_SERVER_SOCKET_TIMEOUT},
+	 *            {@link Proxy2Config#HTTP_SERVER_SOCKET_BUFFER_SIZE}, and
+	 *            {@link CoapConfig#MAX_RESOURCE_BODY_SIZE}.
 	 * @param executor the executor to process the coap-exchanges
 	 * @param httpInterface the http interface
 	 * @param translator http translator
@@ -107,6 +115,7 @@ public class HttpStack {
 		this.executor = executor;
 		this.translator = translator;
 		this.requestDeliverer = requestDeliverer;
+		this.maxBodySize = config.get(CoapConfig.MAX_RESOURCE_BODY_SIZE);
 	}
 
 	/**
@@ -208,6 +217,7 @@ public class HttpStack {
 		 *            otherwise.
 		 */
 		public ProxyAsyncRequestHandler(String resourceName, boolean proxyingEnabled) {
+			super(maxBodySize);
 			this.resourceName = resourceName;
 			this.proxyingEnabled = proxyingEnabled;
 		}
@@ -149,6 +149,16 @@ public final class CacheKey {
 		return hashCode;
 	}
 
+	/**
+	 * Gets estimated size of key in bytes.
+	 * 
+	 * @return estimated size in bytes
+	 * @since 4.0
+	 */
+	int getSize() {
+		return 48 + uri.toString().length() + (payload == null ? 0 : payload.length);
+	}
+
 	public String toString() {
 		return method + " " + uri + "#ct=" + MediaTypeRegistry.toString(mediaType);
 	}
@@ -52,6 +52,21 @@ public interface CacheResource {
 	 */
 	public Response getResponse(CacheKey key);
 
+	/**
+	 * Gets ETag to revalidate a stale cached response.
+	 * 
+	 * If the origin server responds with 2.03 (Valid) for that ETag, the
+	 * cached response is refreshed by {@link #cacheResponse(CacheKey, Response)}
+	 * and available again with {@link #getResponse(CacheKey)}.
+	 * 
+	 * @param key cache key of request
+	 * @return ETag of stale cached response, or {@code null}, if not available.
+	 * @since 4.0
+	 */
+	default byte[] getValidationETag(CacheKey key) {
+		return null;
+	}
+
 	/**
 	 * Invalidate all responses for the referred resource.
 	 * 
@@ -21,11 +21,11 @@ package org.eclipse.californium.proxy2.resources;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.ConcurrentModificationException;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArraySet;
-import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -33,24 +33,36 @@ import org.eclipse.californium.core.CoapExchange;
 import org.eclipse.californium.core.CoapResource;
 import org.eclipse.californium.core.coap.CoAP.ResponseCode;
 import org.eclipse.californium.core.coap.MediaTypeRegistry;
-import org.eclipse.californium.core.coap.OptionSet;
 import org.eclipse.californium.core.coap.Response;
+import org.eclipse.californium.core.coap.option.OpaqueOption;
+import org.eclipse.californium.core.network.serialization.DataParser;
+import org.eclipse.californium.core.network.serialization.DataSerializer;
+import org.eclipse.californium.core.network.serialization.UdpDataParser;
 import org.eclipse.californium.elements.config.Configuration;
 import org.eclipse.californium.elements.util.ClockUtil;
+import org.eclipse.californium.elements.util.DatagramReader;
+import org.eclipse.californium.elements.util.DatagramWriter;
 import org.eclipse.californium.proxy2.config.Proxy2Config;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
 import com.google.common.cache.CacheStats;
-import com.google.common.cache.LoadingCache;
+import com.google.common.cache.RemovalCause;
 import com.google.common.cache.RemovalListener;
 import com.google.common.cache.RemovalNotification;
-import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.google.common.cache.Weigher;
 
 /**
  * Resource to handle the caching in the proxy.
+ * <p>
+ * The responses are kept in a compact serialized form. The cache is bounded by
+ * the estimated size of the entries in bytes, see
+ * {@link Proxy2Config#CACHE_MAX_BYTES}, or, if that is {@code 0}, by the number
+ * of entries, see {@link Proxy2Config#CACHE_SIZE}. Each entry is fresh
+ * according its Max-Age. Stale entries with ETag are kept for revalidation,
+ * a 2.03 (Valid) response refreshes them without storing the payload again.
  */
 public class ProxyCacheResource extends CoapResource implements CacheResource {
 
@@ -63,7 +75,7 @@ public class ProxyCacheResource extends CoapResource implements CacheResource {
 	 *      "http://code.google.com/p/guava-libraries/wiki/CachesExplained"
 	 *      target="_blank"> Guava - Caches Explained</a>
 	 */
-	private final LoadingCache<CacheKey, Response> responseCache;
+	private final Cache<CacheKey, CachedResponse> responseCache;
 
 	private final ConcurrentMap<URI, Set<CacheKey>> resourceCache = new ConcurrentHashMap<>();
 
@@ -110,36 +122,35 @@ public class ProxyCacheResource extends CoapResource implements CacheResource {
 		}
 		int maxAge = configuration.getTimeAsInt(Proxy2Config.CACHE_RESPONSE_MAX_AGE, TimeUnit.SECONDS);
 		int size = configuration.get(Proxy2Config.CACHE_SIZE);
+		int maxBytes = configuration.get(Proxy2Config.CACHE_MAX_BYTES);
 
 		// builds a new cache that:
-		// - has a limited size of CACHE_SIZE entries
+		// - has a limited size of CACHE_MAX_BYTES or CACHE_SIZE entries
 		// - removes entries after CACHE_RESPONSE_MAX_AGE seconds from the last
 		// write
 		// - record statistics
-		responseCache = CacheBuilder.newBuilder().maximumSize(size).recordStats()
-				.expireAfterWrite(maxAge, TimeUnit.SECONDS).removalListener(new RemovalListener<CacheKey, Response>() {
+		CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder();
+		if (maxBytes > 0) {
+			builder.maximumWeight(maxBytes).weigher(new Weigher<CacheKey, CachedResponse>() {
 
-					@Override
-					public void onRemoval(RemovalNotification<CacheKey, Response> notification) {
-						removeFromResourceCache(notification.getKey());
-					}
-				}).build(new CacheLoader<CacheKey, Response>() {
+				@Override
+				public int weigh(CacheKey key, CachedResponse value) {
+					return key.getSize() + value.getSize();
+				}
+			});
+		} else {
+			builder.maximumSize(size);
+		}
+		responseCache = builder.recordStats().expireAfterWrite(maxAge, TimeUnit.SECONDS)
+				.removalListener(new RemovalListener<CacheKey, CachedResponse>() {
 
 					@Override
-					public Response load(CacheKey request) throws NullPointerException {
-						// retrieve the response from the incoming request, no
-						// exceptions are thrown
-						Response cachedResponse = request.getResponse();
-
-						// check for null and raise an exception
-						// that clients must handle
-						if (cachedResponse == null) {
-							throw new NullPointerException();
+					public void onRemoval(RemovalNotification<CacheKey, CachedResponse> notification) {
+						if (notification.getCause() != RemovalCause.REPLACED) {
+							removeFromResourceCache(notification.getKey());
 						}
-
-						return cachedResponse;
 					}
-				});
+				}).build();
 	}
 
 	/**
@@ -162,12 +173,22 @@ public class ProxyCacheResource extends CoapResource implements CacheResource {
 		if (response.isSuccess()) {
 			lock.lock();
 			try {
-				internalCacheResponse(cacheKey, response, true);
+				if (response.getCode() == ResponseCode.VALID) {
+					refresh(cacheKey, response);
+					return;
+				}
+				CachedResponse cachedResponse = null;
+				if (response.getCode() == ResponseCode.CONTENT) {
+					// serialize once, shared by both entries
+					cachedResponse = new CachedResponse(response);
+				}
+				internalCacheResponse(cacheKey, response, cachedResponse, true);
 				int contentFormat = response.getOptions().getContentFormat();
 				if (contentFormat != MediaTypeRegistry.UNDEFINED) {
 					int alternativeFormat = cacheKey.getMediaType() == contentFormat ? MediaTypeRegistry.UNDEFINED
 							: contentFormat;
-					internalCacheResponse(CacheKey.fromCacheKey(cacheKey, alternativeFormat), response, false);
+					internalCacheResponse(CacheKey.fromCacheKey(cacheKey, alternativeFormat), response,
+							cachedResponse, false);
 				}
 			} finally {
 				lock.unlock();
@@ -175,7 +196,8 @@ public class ProxyCacheResource extends CoapResource implements CacheResource {
 		}
 	}
 
-	private void internalCacheResponse(CacheKey cacheKey, Response response, boolean all) {
+	private void internalCacheResponse(CacheKey cacheKey, Response response, CachedResponse cachedResponse,
+			boolean all) {
 		if (!lock.isHeldByCurrentThread()) {
 			throw new ConcurrentModificationException("cache has pending access!");
 		}
@@ -194,67 +216,27 @@ public class ProxyCacheResource extends CoapResource implements CacheResource {
 				}
 				invalidate(uri);
 			}
-		} else if (code == ResponseCode.VALID) {
-			// increase the max-age value according to the new response
-			// Option maxAgeOption =
-			// response.getFirstOption(OptionNumberRegistry.MAX_AGE);
-			Long maxAgeOption = response.getOptions().getMaxAge();
-			if (maxAgeOption != null) {
-				// get the cached response
-				Response cachedResponse = responseCache.getIfPresent(cacheKey);
-				if (cachedResponse != null) {
-					// calculate the new parameters
-					long newCurrentTime = response.getNanoTimestamp();
-					long newMaxAge = maxAgeOption.longValue();
-
-					// set the new parameters
-					cachedResponse.getOptions().setMaxAge(newMaxAge);
-					cachedResponse.setNanoTimestamp(newCurrentTime);
-
-					LOGGER.debug("Updated cached response");
-				}
-			} else {
-				LOGGER.warn("No max-age option set in response: {}", response);
-			}
 		} else if (code == ResponseCode.CONTENT) {
-			// set max-age if not set
-			// Option maxAgeOption =
-			// response.getFirstOption(OptionNumberRegistry.MAX_AGE);
 			long maxAgeOption = response.getOptions().getMaxAge();
 
 			if (maxAgeOption > 0) {
 				// cache the request
 				try {
 					URI resource = getResourceUri(cacheKey.getUri());
-					Set<CacheKey> keys = resourceCache.get(resource);
-					if (keys == null) {
-						keys = new CopyOnWriteArraySet<>();
-						Set<CacheKey> previousKeys = resourceCache.putIfAbsent(resource, keys);
-						if (previousKeys != null) {
-							keys = previousKeys;
+					resourceCache.compute(resource, (uri, keys) -> {
+						if (keys == null) {
+							keys = new CopyOnWriteArraySet<>();
 						}
-					}
-					if (keys.add(cacheKey)) {
-						LOGGER.debug("Add new response to resource {}, {} responses", resource, keys.size());
-					} else {
-						LOGGER.debug("Refresh response for resource {}, {} responses", resource, keys.size());
-					}
-					// Caches loaded by a CacheLoader will call
-					// CacheLoader.load(K) to load new values into the cache
-					// when used the get method.
-					cacheKey.setResponse(response);
-					Response responseInserted = responseCache.get(cacheKey);
-					if (responseInserted != null) {
-						// if (Bench_Help.DO_LOG)
-						LOGGER.debug("Cached response {}#hc={}", cacheKey, cacheKey.hashCode());
-					} else {
-						LOGGER.warn("Failed to insert the response in the cache");
-					}
-					cacheKey.setResponse(null);
-				} catch (UncheckedExecutionException e) {
-					// swallow
-					LOGGER.warn("Exception while inserting the response in the cache", e);
-				} catch (ExecutionException e) {
+						if (keys.add(cacheKey)) {
+							LOGGER.debug("Add new response to resource {}, {} responses", uri, keys.size());
+						} else {
+							LOGGER.debug("Refresh response for resource {}, {} responses", uri, keys.size());
+						}
+						return keys;
+					});
+					responseCache.put(cacheKey, cachedResponse);
+					LOGGER.debug("Cached response {}#hc={}", cacheKey, cacheKey.hashCode());
+				} catch (RuntimeException e) {
 					// swallow
 					LOGGER.warn("Exception while inserting the response in the cache", e);
 				}
@@ -269,6 +251,56 @@ public class ProxyCacheResource extends CoapResource implements CacheResource {
 		}
 	}
 
+	/**
+	 * Refresh cached response according the 2.03 (Valid) response.
+	 * <p>
+	 * Refreshes also the entry with the alternative content-format key, if
+	 * that is validated as well. The 2.03 (Valid) response usually doesn't
+	 * contain a content-format, therefore the content-format of the cached
+	 * response is used.
+	 * 
+	 * @param cacheKey cache key of the request
+	 * @param valid 2.03 (Valid) response
+	 */
+	private void refresh(CacheKey cacheKey, Response valid) {
+		CachedResponse validResponse = responseCache.asMap().get(cacheKey);
+		if (validResponse == null || !validResponse.isValidatedBy(valid)) {
+			return;
+		}
+		long maxAge = valid.getOptions().getMaxAge();
+		if (maxAge <= 0) {
+			invalidate(validResponse, cacheKey);
+			return;
+		}
+		long nanoTimestamp = getNanoTimestamp(valid);
+		// the payload is shared, only freshness is updated
+		CachedResponse refreshed = validResponse.refresh(nanoTimestamp, maxAge);
+		responseCache.put(cacheKey, refreshed);
+		LOGGER.debug("Updated cached response");
+		int contentFormat = validResponse.contentFormat;
+		if (contentFormat != MediaTypeRegistry.UNDEFINED) {
+			int alternativeFormat = cacheKey.getMediaType() == contentFormat ? MediaTypeRegistry.UNDEFINED
+					: contentFormat;
+			CacheKey alternativeKey = CacheKey.fromCacheKey(cacheKey, alternativeFormat);
+			CachedResponse alternative = responseCache.asMap().get(alternativeKey);
+			if (alternative == validResponse) {
+				responseCache.put(alternativeKey, refreshed);
+			} else if (alternative != null && alternative.contentFormat == contentFormat
+					&& alternative.isValidatedBy(valid)) {
+				responseCache.put(alternativeKey, alternative.refresh(nanoTimestamp, maxAge));
+			}
+		}
+	}
+
+	/**
+	 * Get number of resources with cached responses.
+	 * 
+	 * @return number of resources
+	 */
+	int getCachedResources() {
+		return resourceCache.size();
+	}
+
 	@Override
 	public CacheStats getCacheStats() {
 		return responseCache.stats();
@@ -290,7 +322,7 @@ public class ProxyCacheResource extends CoapResource implements CacheResource {
 		}
 
 		// search the desired representation
-		Response response = responseCache.getIfPresent(cacheKey);
+		CachedResponse response = responseCache.getIfPresent(cacheKey);
 		LOGGER.debug("Cache read {}#hc={}", cacheKey, cacheKey.hashCode());
 
 		// if the response is not null, manage the cached response
@@ -300,39 +332,44 @@ public class ProxyCacheResource extends CoapResource implements CacheResource {
 			// check if the response is expired
 			long currentTime = ClockUtil.nanoRealtime();
 			long secondsLeft = getRemainingLifetime(response, currentTime);
-			if (secondsLeft <= 0) {
-				LOGGER.debug("Expired response");
-
+			if (secondsLeft > 0) {
+				// create response to be sent as proxy response
+				// mid & token are set, when sending the response
+				return response.toResponse(secondsLeft);
+			}
+			LOGGER.debug("Expired response");
+			if (response.etag == null) {
+				// no revalidation possible
 				lock.lock();
 				try {
-					// try to validate the response
-					Response validatedResponse = validate(cacheKey);
-					if (validatedResponse != null) {
-						LOGGER.debug("Validation successful");
-						response = validatedResponse;
-						currentTime = ClockUtil.nanoRealtime();
-						secondsLeft = getRemainingLifetime(response, currentTime);
-					} else {
-						invalidate(response, cacheKey);
-					}
+					invalidate(response, cacheKey);
 				} finally {
 					lock.unlock();
 				}
 			}
-			if (secondsLeft > 0) {
-				// copy response to be sent as proxy response
-				// mid & token are set, when sending the response
-				Response proxyResponse = new Response(response.getCode());
-				proxyResponse.setOptions(new OptionSet(response.getOptions()));
-				proxyResponse.setPayload(response.getPayload());
-				proxyResponse.getOptions().setMaxAge(secondsLeft);
-				return proxyResponse;
-			}
 		}
 
 		return null;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 *
+	 * Returns the ETag of a stale response.
+	 */
+	@Override
+	public byte[] getValidationETag(CacheKey cacheKey) {
+		if (!enabled) {
+			return null;
+		}
+		CachedResponse response = responseCache.asMap().get(cacheKey);
+		if (response != null && response.etag != null
+				&& getRemainingLifetime(response, ClockUtil.nanoRealtime()) <= 0) {
+			return response.etag.clone();
+		}
+		return null;
+	}
+
 	@Override
 	public void invalidateRequest(CacheKey cacheKey) {
 		URI resource = getResourceUri(cacheKey.getUri());
@@ -366,7 +403,10 @@ public class ProxyCacheResource extends CoapResource implements CacheResource {
 		long currentTime = ClockUtil.nanoRealtime();
 		builder.append("\nCached values:\n");
 		for (CacheKey cachedRequest : responseCache.asMap().keySet()) {
-			Response response = responseCache.asMap().get(cachedRequest);
+			CachedResponse response = responseCache.asMap().get(cachedRequest);
+			if (response == null) {
+				continue;
+			}
 
 			builder.append(cachedRequest.getUri()).append(" (")
 					.append(MediaTypeRegistry.toString(cachedRequest.getMediaType())).append(") > ")
@@ -394,20 +434,20 @@ public class ProxyCacheResource extends CoapResource implements CacheResource {
 	 * @param currentTime the current nano realtime.
 	 * @return remaining life time in seconds
 	 */
-	private long getRemainingLifetime(Response response, long currentTime) {
+	private long getRemainingLifetime(CachedResponse response, long currentTime) {
 
-		long nanoSecondsInCache = currentTime - response.getNanoTimestamp();
-		long maxAgeInNanoSeconds = TimeUnit.SECONDS.toNanos(response.getOptions().getMaxAge());
+		long nanoSecondsInCache = currentTime - response.nanoTimestamp;
+		long maxAgeInNanoSeconds = TimeUnit.SECONDS.toNanos(response.maxAge);
 		return TimeUnit.NANOSECONDS.toSeconds(maxAgeInNanoSeconds - nanoSecondsInCache + 500000000);
 
 	}
 
-	private void invalidate(Response response, CacheKey cacheKey) {
+	private void invalidate(CachedResponse response, CacheKey cacheKey) {
 		if (!lock.isHeldByCurrentThread()) {
 			throw new ConcurrentModificationException("cache has pending access!");
 		}
 		invalidate(cacheKey);
-		int contentType = response.getOptions().getContentFormat();
+		int contentType = response.contentFormat;
 		if (contentType != MediaTypeRegistry.UNDEFINED) {
 			// the cache contains also a entry for UNDEFINED from freshest
 			// response
@@ -427,10 +467,10 @@ public class ProxyCacheResource extends CoapResource implements CacheResource {
 
 	private void removeFromResourceCache(CacheKey cacheKey) {
 		URI resource = getResourceUri(cacheKey.getUri());
-		Set<CacheKey> set = resourceCache.remove(resource);
-		if (set != null) {
-			set.remove(cacheKey);
-		}
+		resourceCache.computeIfPresent(resource, (uri, keys) -> {
+			keys.remove(cacheKey);
+			return keys.isEmpty() ? null : keys;
+		});
 	}
 
 	private void invalidate(URI uri) {
@@ -467,9 +507,16 @@ public class ProxyCacheResource extends CoapResource implements CacheResource {
 		responseCache.invalidate(cacheKey);
 	}
 
-	private Response validate(CacheKey cachedRequest) {
-		// TODO
-		return null;
+	/**
+	 * Gets nano realtime of response.
+	 * 
+	 * @param response response
+	 * @return nano realtime of response, or current nano realtime, if not
+	 *         available.
+	 */
+	private static long getNanoTimestamp(Response response) {
+		long timestamp = response.getNanoTimestamp();
+		return timestamp != 0 ? timestamp : ClockUtil.nanoRealtime();
 	}
 
 	public boolean isEnabled() {
@@ -479,4 +526,106 @@ public class ProxyCacheResource extends CoapResource implements CacheResource {
 	public void setEnabled(boolean enabled) {
 		this.enabled = enabled;
 	}
+
+	/**
+	 * Compact, immutable cached response.
+	 * <p>
+	 * Keeps the options and payload serialized instead of the whole
+	 * {@link Response} with its endpoint contexts.
+	 * 
+	 * @since 4.0
+	 */
+	private static final class CachedResponse {
+
+		/**
+		 * Parser for options and payload.
+		 */
+		private static final DataParser PARSER = new UdpDataParser();
+		/**
+		 * Estimated overhead of an entry in bytes.
+		 */
+		private static final int OVERHEAD = 64;
+
+		private final ResponseCode code;
+		/**
+		 * Serialized options and payload.
+		 */
+		private final byte[] data;
+		/**
+		 * ETag of response. {@code null}, if not available.
+		 */
+		private final byte[] etag;
+		private final int contentFormat;
+		private final long nanoTimestamp;
+		/**
+		 * Max-Age in seconds.
+		 */
+		private final long maxAge;
+
+		private CachedResponse(Response response) {
+			DatagramWriter writer = new DatagramWriter(response.getPayloadSize() + 32);
+			DataSerializer.serializeOptionsAndPayload(writer, response.getOptions(), response.getPayload());
+			this.code = response.getCode();
+			this.data = writer.toByteArray();
+			List<OpaqueOption> etags = response.getOptions().getETags();
+			this.etag = etags.isEmpty() ? null : etags.get(0).getValue();
+			this.contentFormat = response.getOptions().getContentFormat();
+			this.nanoTimestamp = getNanoTimestamp(response);
+			this.maxAge = response.getOptions().getMaxAge();
+		}
+
+		private CachedResponse(CachedResponse response, long nanoTimestamp, long maxAge) {
+			this.code = response.code;
+			this.data = response.data;
+			this.etag = response.etag;
+			this.contentFormat = response.contentFormat;
+			this.nanoTimestamp = nanoTimestamp;
+			this.maxAge = maxAge;
+		}
+
+		/**
+		 * Gets estimated size in bytes.
+		 * 
+		 * @return estimated size in bytes
+		 */
+		private int getSize() {
+			return OVERHEAD + data.length;
+		}
+
+		/**
+		 * Checks, if this response is validated by the 2.03 response.
+		 * 
+		 * @param valid 2.03 response
+		 * @return {@code true}, if the ETag matches or the valid response has
+		 *         no ETag, {@code false}, otherwise.
+		 */
+		private boolean isValidatedBy(Response valid) {
+			List<OpaqueOption> etags = valid.getOptions().getETags();
+			return etags.isEmpty() || (etag != null && valid.getOptions().containsETag(etag));
+		}
+
+		/**
+		 * Create refreshed response sharing the serialized data.
+		 * 
+		 * @param nanoTimestamp nano realtime of the refresh
+		 * @param maxAge new Max-Age in seconds
+		 * @return refreshed response
+		 */
+		private CachedResponse refresh(long nanoTimestamp, long maxAge) {
+			return new CachedResponse(this, nanoTimestamp, maxAge);
+		}
+
+		/**
+		 * Create response from serialized data.
+		 * 
+		 * @param secondsLeft remaining lifetime in seconds
+		 * @return response
+		 */
+		private Response toResponse(long secondsLeft) {
+			Response response = new Response(code);
+			PARSER.parseOptionsAndPayload(new DatagramReader(data, false), response);
+			response.getOptions().setMaxAge(secondsLeft);
+			return response;
+		}
+	}
 }
@@ -16,19 +16,29 @@
 
 package org.eclipse.californium.proxy2.resources;
 
+import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 import org.eclipse.californium.core.coap.CoAP.ResponseCode;
 import org.eclipse.californium.core.coap.MediaTypeRegistry;
 import org.eclipse.californium.core.coap.MessageObserverAdapter;
 import org.eclipse.californium.core.coap.Request;
 import org.eclipse.californium.core.coap.Response;
+import org.eclipse.californium.core.coap.Token;
+import org.eclipse.californium.core.coap.option.OpaqueOption;
 import org.eclipse.californium.core.network.Exchange;
+import org.eclipse.californium.core.observe.ObserveRelation;
 import org.eclipse.californium.proxy2.ClientEndpoints;
 import org.eclipse.californium.proxy2.Coap2CoapTranslator;
 import org.eclipse.californium.proxy2.CoapUriTranslator;
@@ -52,6 +62,41 @@ public class ProxyCoapClientResource extends ProxyCoapResource {
 	 * Coap2Coap translator.
 	 */
 	private Coap2CoapTranslator translator;
+	/**
+	 * Aggregated upstream observations.
+	 * 
+	 * @since 4.0
+	 */
+	private final ConcurrentMap<CacheKey, AggregatedObservation> observations = new ConcurrentHashMap<>();
+	/**
+	 * Aggregated upstream observations by downstream exchanges.
+	 * 
+	 * @since 4.0
+	 */
+	private final ConcurrentMap<Exchange, AggregatedObservation> observers = new ConcurrentHashMap<>();
+	/**
+	 * Aggregated upstream observations by token of upstream notifications.
+	 * 
+	 * @since 4.0
+	 */
+	private final ConcurrentMap<Token, AggregatedObservation> notifications = new ConcurrentHashMap<>();
+	/**
+	 * Listener for upstream notifications.
+	 * 
+	 * @since 4.0
+	 */
+	private final BiConsumer<Request, Response> notificationListener = (request, response) -> {
+		AggregatedObservation observation = notifications.get(response.getToken());
+		if (observation != null) {
+			observation.process(response);
+		}
+	};
+	/**
+	 * Enable observe aggregation.
+	 * 
+	 * @since 4.0
+	 */
+	private volatile boolean observeAggregation;
 
 	/**
 	 * Create proxy resource for outgoing coap-requests.
@@ -79,6 +124,8 @@ public class ProxyCoapClientResource extends ProxyCoapResource {
 		Request incomingRequest = exchange.getRequest();
 		LOGGER.debug("ProxyCoapClientResource forwards {}", incomingRequest);
 
+		RequestCoalescer coalescer = null;
+		CacheKey cacheKey = null;
 		try {
 			// create the new request from the original
 			InetSocketAddress exposedInterface = translator.getExposedInterface(incomingRequest);
@@ -89,10 +136,21 @@ public class ProxyCoapClientResource extends ProxyCoapResource {
 				exchange.sendResponse(new Response(ResponseCode.INTERNAL_SERVER_ERROR));
 				throw new NullPointerException("Destination is null");
 			}
-			CacheKey cacheKey = null;
+			if (observeAggregation && incomingRequest.isObserve() && exchange.getRelation() != null) {
+				CacheKey observeKey = new CacheKey(outgoingRequest.getCode(), destination,
+						outgoingRequest.getOptions().getAccept(), outgoingRequest.getPayload());
+				observe(exchange, observeKey, outgoingRequest);
+				return;
+			}
+			byte[] validationETag = null;
+			Request fallbackRequest = null;
 			CacheResource cache = getCache();
-			if (cache != null) {
+			RequestCoalescer requestCoalescer = RequestCoalescer.isCoalescable(incomingRequest) ? getRequestCoalescer()
+					: null;
+			if (cache != null || requestCoalescer != null) {
 				cacheKey = new CacheKey(outgoingRequest.getCode(), destination, outgoingRequest.getOptions().getAccept(), outgoingRequest.getPayload());
+			}
+			if (cache != null) {
 				Response response = cache.getResponse(cacheKey);
 				StatsResource statsResource = getStatsResource();
 				if (statsResource != null) {
@@ -104,13 +162,40 @@ public class ProxyCoapClientResource extends ProxyCoapResource {
 					return;
 				}
 			}
-			LOGGER.debug("Sending proxied CoAP request to {}", outgoingRequest.getDestinationContext());
-			if (accept) {
+			Consumer<Response> responder = (response) -> exchange.sendResponse(response);
+			if (requestCoalescer != null) {
+				boolean forward = requestCoalescer.join(cacheKey, responder);
+				if (accept) {
+					exchange.sendAccept();
+				}
+				if (!forward) {
+					LOGGER.debug("Coalesced proxied CoAP request for {}", cacheKey);
+					return;
+				}
+				coalescer = requestCoalescer;
+				final CacheKey key = cacheKey;
+				responder = (response) -> requestCoalescer.complete(key, response);
+			} else if (accept) {
 				exchange.sendAccept();
 			}
-			outgoingRequest.addMessageObserver(
-					new ProxySendResponseMessageObserver(translator, exchange, cacheKey, cache, this));
+			if (cache != null) {
+				validationETag = cache.getValidationETag(cacheKey);
+				if (validationETag != null) {
+					if (outgoingRequest.getOptions().containsETag(validationETag)) {
+						// the client validates that ETag itself
+						validationETag = null;
+					} else {
+						// without the proxy's ETag, if the 2.03 (Valid)
+						// doesn't refresh the cached response
+						fallbackRequest = translator.getRequest(destination, incomingRequest);
+						outgoingRequest.getOptions().addETag(validationETag);
+					}
+				}
+			}
+			LOGGER.debug("Sending proxied CoAP request to {}", outgoingRequest.getDestinationContext());
 			ClientEndpoints endpoints = mapSchemeToEndpoints.get(outgoingRequest.getScheme());
+			outgoingRequest.addMessageObserver(new ProxySendResponseMessageObserver(translator, responder, cacheKey,
+					cache, validationETag, fallbackRequest, endpoints, this));
 			endpoints.sendRequest(outgoingRequest);
 		} catch (TranslationException e) {
 			LOGGER.debug("Proxy-uri option malformed: {}", e.getMessage());
@@ -119,7 +204,135 @@ public class ProxyCoapClientResource extends ProxyCoapResource {
 			exchange.sendResponse(response);
 		} catch (Exception e) {
 			LOGGER.warn("Failed to execute request: {}", e.getMessage(), e);
-			exchange.sendResponse(new Response(ResponseCode.INTERNAL_SERVER_ERROR));
+			if (coalescer != null) {
+				// respond to the coalesced requests as well
+				coalescer.complete(cacheKey, new Response(ResponseCode.INTERNAL_SERVER_ERROR));
+			} else {
+				exchange.sendResponse(new Response(ResponseCode.INTERNAL_SERVER_ERROR));
+			}
+		}
+	}
+
+	/**
+	 * Enable observe aggregation.
+	 * <p>
+	 * If enabled, the downstream observe relations for the same target URI,
+	 * accept option and payload share one upstream observation. The
+	 * notifications of the upstream observation are fanned out to all
+	 * downstream observe relations. The upstream observation is canceled, when
+	 * the last downstream observe relation is removed.
+	 * 
+	 * @param enable {@code true}, to aggregate observations, {@code false},
+	 *            to forward each observe request on its own.
+	 * @since 4.0
+	 */
+	public void setObserveAggregation(boolean enable) {
+		if (observeAggregation != enable) {
+			for (ClientEndpoints endpoints : mapSchemeToEndpoints.values()) {
+				if (enable) {
+					endpoints.addNotificationListener(notificationListener);
+				} else {
+					endpoints.removeNotificationListener(notificationListener);
+				}
+			}
+			this.observeAggregation = enable;
+			setObservable(enable);
+		}
+	}
+
+	/**
+	 * Check, if observe aggregation is enabled.
+	 * 
+	 * @return {@code true}, if observations are aggregated, {@code false},
+	 *         otherwise.
+	 * @since 4.0
+	 */
+	public boolean isObserveAggregation() {
+		return observeAggregation;
+	}
+
+	/**
+	 * Get number of aggregated upstream observations.
+	 * 
+	 * @return number of aggregated upstream observations
+	 * @since 4.0
+	 */
+	public int getAggregatedObservations() {
+		return observations.size();
+	}
+
+	@Override
+	public void removeObserveRelation(ObserveRelation relation) {
+		super.removeObserveRelation(relation);
+		release(relation.getExchange());
+	}
+
+	/**
+	 * Add downstream exchange to aggregated upstream observation.
+	 * <p>
+	 * Starts the upstream observation, if not already available.
+	 * 
+	 * @param exchange downstream exchange with observe relation
+	 * @param key key of upstream observation
+	 * @param outgoingRequest outgoing observe request
+	 * @throws IOException if an i/o error occurred sending the request
+	 * @since 4.0
+	 */
+	private void observe(Exchange exchange, CacheKey key, Request outgoingRequest) throws IOException {
+		if (accept) {
+			exchange.sendAccept();
+		}
+		while (true) {
+			AggregatedObservation observation = observations.get(key);
+			if (observation == null) {
+				AggregatedObservation created = new AggregatedObservation(key, outgoingRequest);
+				observation = observations.putIfAbsent(key, created);
+				if (observation == null) {
+					created.add(exchange);
+					observers.put(exchange, created);
+					LOGGER.debug("Sending proxied CoAP observe request to {}", outgoingRequest.getDestinationContext());
+					outgoingRequest.addMessageObserver(created);
+					ClientEndpoints endpoints = mapSchemeToEndpoints.get(outgoingRequest.getScheme());
+					try {
+						endpoints.sendRequest(outgoingRequest);
+					} catch (IOException | RuntimeException ex) {
+						// the caller responds to this exchange
+						created.remove(exchange);
+						observers.remove(exchange, created);
+						created.close();
+						// respond to the concurrently aggregated exchanges
+						created.fail(ResponseCode.INTERNAL_SERVER_ERROR);
+						throw ex;
+					}
+					return;
+				}
+			}
+			observers.put(exchange, observation);
+			if (observation.add(exchange)) {
+				LOGGER.debug("Aggregated CoAP observe request for {}", key);
+				return;
+			}
+			// closed concurrently
+			observers.remove(exchange, observation);
+			observations.remove(key, observation);
+		}
+	}
+
+	/**
+	 * Release downstream exchange from aggregated upstream observation.
+	 * <p>
+	 * Cancels the upstream observation, if the last downstream exchange is
+	 * released.
+	 * 
+	 * @param exchange downstream exchange
+	 * @since 4.0
+	 */
+	private void release(Exchange exchange) {
+		AggregatedObservation observation = observers.remove(exchange);
+		if (observation != null && observation.remove(exchange)) {
+			LOGGER.debug("Cancel aggregated CoAP observation for {}", observation.key);
+			observation.close();
+			observation.outgoingRequest.cancel();
 		}
 	}
 
@@ -133,37 +346,91 @@ public class ProxyCoapClientResource extends ProxyCoapResource {
 		return Collections.unmodifiableSet(mapSchemeToEndpoints.keySet());
 	}
 
+	/**
+	 * Check the size of the response payload.
+	 * 
+	 * @param baseResource resource with maximum resource body size
+	 * @param incomingResponse incoming response
+	 * @return the incoming response, or a {@link ResponseCode#BAD_GATEWAY}
+	 *         response, if the payload exceeds the maximum resource body size.
+	 * @since 4.0
+	 */
+	private static Response checkMaxResourceBodySize(ProxyCoapResource baseResource, Response incomingResponse) {
+		int size = incomingResponse.getPayloadSize();
+		if (!baseResource.checkMaxResourceBodySize(size)) {
+			incomingResponse = new Response(ResponseCode.BAD_GATEWAY);
+			incomingResponse.setPayload("CoAP response of " + size + " bytes exceeds maximum support size of "
+					+ baseResource.getMaxResourceBodySize() + " bytes!");
+			incomingResponse.getOptions().setContentFormat(MediaTypeRegistry.TEXT_PLAIN);
+		}
+		return incomingResponse;
+	}
+
 	private static class ProxySendResponseMessageObserver extends MessageObserverAdapter {
 
 		private final Coap2CoapTranslator translator;
-		private final Exchange incomingExchange;
+		/**
+		 * Responder for the incoming request(s).
+		 */
+		private final Consumer<Response> responder;
 		private final CacheKey cacheKey;
 		private final CacheResource cache;
+		/**
+		 * ETag added by the proxy to revalidate a stale cached response.
+		 * {@code null}, if not added.
+		 */
+		private final byte[] validationETag;
+		/**
+		 * Request without the {@link #validationETag}. Sent, if the 2.03
+		 * (Valid) response for the {@link #validationETag} doesn't refresh the
+		 * cached response. {@code null}, if no {@link #validationETag} is
+		 * added.
+		 */
+		private final Request fallbackRequest;
+		/**
+		 * Endpoints to send the {@link #fallbackRequest}.
+		 */
+		private final ClientEndpoints endpoints;
 		private final ProxyCoapResource baseResource;
 
-		private ProxySendResponseMessageObserver(Coap2CoapTranslator translator, Exchange incomingExchange,
-				CacheKey cacheKey, CacheResource cache, ProxyCoapResource baseResource) {
+		private ProxySendResponseMessageObserver(Coap2CoapTranslator translator, Consumer<Response> responder,
+				CacheKey cacheKey, CacheResource cache, byte[] validationETag, Request fallbackRequest,
+				ClientEndpoints endpoints, ProxyCoapResource baseResource) {
 			this.translator = translator;
-			this.incomingExchange = incomingExchange;
+			this.responder = responder;
 			this.cacheKey = cacheKey;
 			this.cache = cache;
+			this.validationETag = validationETag;
+			this.fallbackRequest = fallbackRequest;
+			this.endpoints = endpoints;
 			this.baseResource = baseResource;
 		}
 
 		@Override
 		public void onResponse(Response incomingResponse) {
-			int size = incomingResponse.getPayloadSize();
-			if (!baseResource.checkMaxResourceBodySize(size)) {
-				incomingResponse = new Response(ResponseCode.BAD_GATEWAY);
-				incomingResponse.setPayload("CoAP response of " + size + " bytes exceeds maximum support size of "
-						+ baseResource.getMaxResourceBodySize() + " bytes!");
-				incomingResponse.getOptions().setContentFormat(MediaTypeRegistry.TEXT_PLAIN);
-			}
+			incomingResponse = checkMaxResourceBodySize(baseResource, incomingResponse);
 			if (cache != null) {
 				cache.cacheResponse(cacheKey, incomingResponse);
+				if (validationETag != null && incomingResponse.getCode() == ResponseCode.VALID) {
+					// revalidated by the proxy, respond with the refreshed
+					// cached response
+					Response cachedResponse = cache.getResponse(cacheKey);
+					if (cachedResponse != null) {
+						ProxyCoapClientResource.LOGGER.debug("ProxyCoapClientResource revalidated {}", cacheKey);
+						responder.accept(cachedResponse);
+						return;
+					}
+					if (!isValidatedByClient(incomingResponse)) {
+						// the client doesn't know that ETag
+						ProxyCoapClientResource.LOGGER.debug("ProxyCoapClientResource failed to revalidate {}",
+								cacheKey);
+						sendFallbackRequest();
+						return;
+					}
+				}
 			}
 			ProxyCoapClientResource.LOGGER.debug("ProxyCoapClientResource received {}", incomingResponse);
-			incomingExchange.sendResponse(translator.getResponse(incomingResponse));
+			responder.accept(translator.getResponse(incomingResponse));
 		}
 
 		@Override
@@ -191,7 +458,221 @@ public class ProxyCoapClientResource extends ProxyCoapResource {
 		}
 
 		private void fail(ResponseCode response) {
-			incomingExchange.sendResponse(new Response(response));
+			responder.accept(new Response(response));
+		}
+
+		/**
+		 * Check, if the 2.03 (Valid) response validates an ETag of the client.
+		 * 
+		 * @param valid 2.03 (Valid) response
+		 * @return {@code true}, if the ETag of the response was sent by the
+		 *         client, {@code false}, otherwise.
+		 */
+		private boolean isValidatedByClient(Response valid) {
+			List<OpaqueOption> etags = valid.getOptions().getETags();
+			return !etags.isEmpty() && fallbackRequest.getOptions().containsETag(etags.get(0).getValue());
+		}
+
+		/**
+		 * Send the {@link #fallbackRequest} to get the representation for the
+		 * client.
+		 */
+		private void sendFallbackRequest() {
+			fallbackRequest.addMessageObserver(new ProxySendResponseMessageObserver(translator, responder, cacheKey,
+					cache, null, null, null, baseResource));
+			try {
+				endpoints.sendRequest(fallbackRequest);
+			} catch (IOException e) {
+				ProxyCoapClientResource.LOGGER.warn("Send error", e);
+				fail(ResponseCode.SERVICE_UNAVAILABLE);
+			}
+		}
+	}
+
+	/**
+	 * Upstream observation shared by downstream observe relations.
+	 * 
+	 * @since 4.0
+	 */
+	private class AggregatedObservation extends MessageObserverAdapter {
+
+		/**
+		 * Key of upstream observation.
+		 */
+		private final CacheKey key;
+		/**
+		 * Outgoing upstream observe request.
+		 */
+		private final Request outgoingRequest;
+		/**
+		 * Downstream exchanges.
+		 */
+		private final List<Exchange> exchanges = new ArrayList<>();
+		/**
+		 * Last upstream notification. {@code null}, if not available.
+		 */
+		private Response lastNotification;
+		/**
+		 * Indicates, that the upstream observation is closed.
+		 */
+		private boolean closed;
+		/**
+		 * Indicates, that the first upstream response is received.
+		 */
+		private boolean responded;
+
+		private AggregatedObservation(CacheKey key, Request outgoingRequest) {
+			this.key = key;
+			this.outgoingRequest = outgoingRequest;
+		}
+
+		/**
+		 * Add downstream exchange.
+		 * <p>
+		 * Sends the last notification, if available.
+		 * 
+		 * @param exchange downstream exchange
+		 * @return {@code true}, if added, {@code false}, if the observation is
+		 *         already closed.
+		 */
+		private boolean add(Exchange exchange) {
+			Response notification;
+			synchronized (this) {
+				if (closed) {
+					return false;
+				}
+				exchanges.add(exchange);
+				notification = lastNotification;
+			}
+			if (notification != null) {
+				exchange.sendResponse(translator.getResponse(notification));
+			}
+			return true;
+		}
+
+		/**
+		 * Remove downstream exchange.
+		 * 
+		 * @param exchange downstream exchange
+		 * @return {@code true}, if the last downstream exchange was removed and
+		 *         the observation is closed, {@code false}, otherwise.
+		 */
+		private synchronized boolean remove(Exchange exchange) {
+			if (exchanges.remove(exchange) && exchanges.isEmpty()) {
+				closed = true;
+				return true;
+			}
+			return false;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 * 
+		 * Processes only the first response. The following notifications are
+		 * processed by the notification listener of the endpoints.
+		 */
+		@Override
+		public void onResponse(Response incomingResponse) {
+			synchronized (this) {
+				if (responded) {
+					return;
+				}
+				responded = true;
+			}
+			if (incomingResponse.isNotification()) {
+				notifications.put(incomingResponse.getToken(), this);
+			}
+			process(incomingResponse);
+		}
+
+		/**
+		 * Process upstream response or notification.
+		 * <p>
+		 * Fans out the response to all downstream exchanges. Closes the
+		 * observation, if the response is not a notification.
+		 * 
+		 * @param incomingResponse upstream response or notification
+		 */
+		private void process(Response incomingResponse) {
+			incomingResponse = checkMaxResourceBodySize(ProxyCoapClientResource.this, incomingResponse);
+			boolean notification = incomingResponse.isSuccess() && incomingResponse.isNotification();
+			List<Exchange> downstream;
+			synchronized (this) {
+				if (closed) {
+					return;
+				}
+				closed = !notification;
+				lastNotification = notification ? incomingResponse : null;
+				downstream = new ArrayList<>(exchanges);
+			}
+			ProxyCoapClientResource.LOGGER.debug("ProxyCoapClientResource received {} for {} observers",
+					incomingResponse, downstream.size());
+			if (!notification) {
+				// observation ended by the upstream server
+				close();
+			}
+			for (Exchange exchange : downstream) {
+				ObserveRelation relation = exchange.getRelation();
+				if (relation == null || relation.isCanceled()) {
+					release(exchange);
+				} else {
+					if (!notification) {
+						observers.remove(exchange, this);
+					}
+					exchange.sendResponse(translator.getResponse(incomingResponse));
+				}
+			}
+		}
+
+		@Override
+		public void onReject() {
+			fail(ResponseCode.SERVICE_UNAVAILABLE);
+			ProxyCoapClientResource.LOGGER.debug("Observe request rejected");
+		}
+
+		@Override
+		public void onTimeout() {
+			fail(ResponseCode.GATEWAY_TIMEOUT);
+			ProxyCoapClientResource.LOGGER.debug("Observe request timed out.");
+		}
+
+		@Override
+		public void onCancel() {
+			fail(ResponseCode.SERVICE_UNAVAILABLE);
+			ProxyCoapClientResource.LOGGER.debug("Observe request canceled");
+		}
+
+		@Override
+		public void onSendError(Throwable e) {
+			fail(ResponseCode.SERVICE_UNAVAILABLE);
+			ProxyCoapClientResource.LOGGER.warn("Observe send error", e);
+		}
+
+		/**
+		 * Remove closed observation from the maps.
+		 */
+		private void close() {
+			observations.remove(key, this);
+			Token token = outgoingRequest.getToken();
+			if (token != null) {
+				notifications.remove(token, this);
+			}
+		}
+
+		private void fail(ResponseCode code) {
+			List<Exchange> downstream;
+			synchronized (this) {
+				if (closed) {
+					return;
+				}
+				closed = true;
+				downstream = new ArrayList<>(exchanges);
+			}
+			close();
+			for (Exchange exchange : downstream) {
+				observers.remove(exchange, this);
+				exchange.sendResponse(new Response(code));
+			}
 		}
 	}
 }
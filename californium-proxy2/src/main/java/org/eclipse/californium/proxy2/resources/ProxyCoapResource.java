@@ -106,6 +106,13 @@ public abstract class ProxyCoapResource extends CoapResource {
 	 */
 	private volatile StatsResource statsResource;
 
+	/**
+	 * Request coalescer.
+	 * 
+	 * @since 4.0
+	 */
+	private volatile RequestCoalescer requestCoalescer;
+
 	/**
 	 * Max resource body size.
 	 * 
@@ -166,6 +173,31 @@ public abstract class ProxyCoapResource extends CoapResource {
 		this.statsResource = statsResource;
 	}
 
+	/**
+	 * Get request coalescer.
+	 * 
+	 * @return request coalescer. {@code null}, if requests are not coalesced.
+	 * @since 4.0
+	 */
+	public RequestCoalescer getRequestCoalescer() {
+		return requestCoalescer;
+	}
+
+	/**
+	 * Set request coalescer.
+	 * <p>
+	 * Concurrent identical requests are coalesced into one forwarded request.
+	 * The coalescer may be shared by resources forwarding to the same
+	 * destinations.
+	 * 
+	 * @param requestCoalescer request coalescer. {@code null}, to not coalesce
+	 *            requests.
+	 * @since 4.0
+	 */
+	public void setRequestCoalescer(RequestCoalescer requestCoalescer) {
+		this.requestCoalescer = requestCoalescer;
+	}
+
 	/**
 	 * Get maximum resource body size.
 	 * 
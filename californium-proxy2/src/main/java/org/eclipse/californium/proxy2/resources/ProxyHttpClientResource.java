@@ -21,6 +21,7 @@ import java.net.URI;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import org.eclipse.californium.core.coap.Request;
 import org.eclipse.californium.core.coap.Response;
@@ -89,11 +90,18 @@ public class ProxyHttpClientResource extends ProxyCoapResource {
 			return;
 		}
 
-		final CacheKey cacheKey;
+		final RequestCoalescer coalescer = RequestCoalescer.isCoalescable(incomingCoapRequest)
+				? getRequestCoalescer()
+				: null;
 		final CacheResource cache = getCache();
-		if (cache != null) {
+		final CacheKey cacheKey;
+		if (cache != null || coalescer != null) {
 			cacheKey = new CacheKey(incomingCoapRequest.getCode(), destination,
 					incomingCoapRequest.getOptions().getAccept(), incomingCoapRequest.getPayload());
+		} else {
+			cacheKey = null;
+		}
+		if (cache != null) {
 			Response response = cache.getResponse(cacheKey);
 			StatsResource statsResource = getStatsResource();
 			if (statsResource != null) {
@@ -104,15 +112,32 @@ public class ProxyHttpClientResource extends ProxyCoapResource {
 				exchange.sendResponse(response);
 				return;
 			}
-		} else {
-			cacheKey = null;
 		}
 
-		if (accept) {
+		Consumer<Response> responder = (response) -> exchange.sendResponse(response);
+		if (coalescer != null) {
+			boolean forward = coalescer.join(cacheKey, responder);
+			if (accept) {
+				exchange.sendAccept();
+			}
+			if (!forward) {
+				LOGGER.debug("Coalesced proxied HTTP request for {}", cacheKey);
+				return;
+			}
+			responder = (response) -> coalescer.complete(cacheKey, response);
+		} else if (accept) {
 			exchange.sendAccept();
 		}
-
-		proxy.handleForward(destination, null, incomingCoapRequest, (response) -> exchange.sendResponse(response));
+		final Consumer<Response> forwardResponder = responder;
+
+		Integer maxBodySize = getMaxResourceBodySize();
+		proxy.handleForward(destination, null, incomingCoapRequest, maxBodySize == null ? 0 : maxBodySize,
+				(response) -> {
+					if (cache != null) {
+						cache.cacheResponse(cacheKey, response);
+					}
+					forwardResponder.accept(response);
+				});
 
 	}
 
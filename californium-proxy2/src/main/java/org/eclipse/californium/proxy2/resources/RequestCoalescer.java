@@ -0,0 +1,190 @@
+/********************************************************************************
+ * Copyright (c) 2025 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v1.0 which is available at
+ * https://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ ********************************************************************************/
+package org.eclipse.californium.proxy2.resources;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.eclipse.californium.core.coap.CoAP.Code;
+import org.eclipse.californium.core.coap.OptionSet;
+import org.eclipse.californium.core.coap.Request;
+import org.eclipse.californium.core.coap.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Coalesces concurrent identical requests into one forwarded request.
+ * <p>
+ * The first request for a {@link CacheKey} is forwarded, all other requests
+ * for the same key, received before the response of the forwarded request
+ * arrives, are waiting for that response. The response is then fanned out to
+ * all waiting requests. That protects the destination servers, if many clients
+ * request the same resource at the same time, e.g. after the cached response
+ * expired.
+ * <p>
+ * Only {@link #isCoalescable(Request)} requests are coalesced.
+ *
+ * @since 4.0
+ */
+public class RequestCoalescer {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(RequestCoalescer.class);
+
+	/**
+	 * Pending forwarded requests.
+	 */
+	private final ConcurrentMap<CacheKey, Flight> flights = new ConcurrentHashMap<>();
+	/**
+	 * Number of forwarded requests.
+	 */
+	private final AtomicLong forwardedRequests = new AtomicLong();
+	/**
+	 * Number of coalesced requests.
+	 */
+	private final AtomicLong coalescedRequests = new AtomicLong();
+
+	/**
+	 * Check, if request is coalescable.
+	 * <p>
+	 * Only {@link Code#GET} and {@link Code#FETCH} requests without
+	 * observe-, block- and etag-options are coalescable. The responses of other
+	 * requests are not the same for all clients.
+	 *
+	 * @param request incoming request
+	 * @return {@code true}, if request is coalescable, {@code false},
+	 *         otherwise.
+	 */
+	public static boolean isCoalescable(Request request) {
+		Code code = request.getCode();
+		if (code != Code.GET && code != Code.FETCH) {
+			return false;
+		}
+		OptionSet options = request.getOptions();
+		return !options.hasObserve() && !options.hasBlock1() && !options.hasBlock2() && options.getETagCount() == 0;
+	}
+
+	/**
+	 * Join pending request.
+	 * <p>
+	 * If no request for the key is pending, the caller must forward the request
+	 * and {@link #complete(CacheKey, Response)} the key with the response.
+	 *
+	 * @param key key of request
+	 * @param responder consumer for the response
+	 * @return {@code true}, if the caller must forward the request,
+	 *         {@code false}, if the request joined a pending request.
+	 */
+	public boolean join(CacheKey key, Consumer<Response> responder) {
+		Flight flight = new Flight(responder);
+		while (true) {
+			Flight pending = flights.putIfAbsent(key, flight);
+			if (pending == null) {
+				forwardedRequests.incrementAndGet();
+				return true;
+			} else if (pending.add(responder)) {
+				coalescedRequests.incrementAndGet();
+				LOGGER.debug("coalesced request for {}", key);
+				return false;
+			}
+			// completed concurrently
+			flights.remove(key, pending);
+		}
+	}
+
+	/**
+	 * Complete pending request.
+	 * <p>
+	 * Passes the response to all requests, which joined the pending request.
+	 * Each responder gets its own copy of the response.
+	 *
+	 * @param key key of request
+	 * @param response response of forwarded request
+	 */
+	public void complete(CacheKey key, Response response) {
+		Flight flight = flights.remove(key);
+		if (flight != null) {
+			List<Consumer<Response>> responders = flight.close();
+			int last = responders.size() - 1;
+			for (int index = 0; index < last; ++index) {
+				responders.get(index).accept(copy(response));
+			}
+			responders.get(last).accept(response);
+		}
+	}
+
+	/**
+	 * Get number of forwarded requests.
+	 *
+	 * @return number of forwarded requests
+	 */
+	public long getForwardedRequests() {
+		return forwardedRequests.get();
+	}
+
+	/**
+	 * Get number of coalesced requests.
+	 *
+	 * @return number of coalesced requests
+	 */
+	public long getCoalescedRequests() {
+		return coalescedRequests.get();
+	}
+
+	/**
+	 * Get number of pending forwarded requests.
+	 *
+	 * @return number of pending forwarded requests
+	 */
+	public int getPendingRequests() {
+		return flights.size();
+	}
+
+	private static Response copy(Response response) {
+		Response copy = new Response(response.getCode());
+		copy.setOptions(response.getOptions());
+		copy.setPayload(response.getPayload());
+		return copy;
+	}
+
+	/**
+	 * Pending forwarded request with waiting responders.
+	 */
+	private static class Flight {
+
+		private final List<Consumer<Response>> responders = new ArrayList<>();
+		private boolean closed;
+
+		private Flight(Consumer<Response> responder) {
+			responders.add(responder);
+		}
+
+		private synchronized boolean add(Consumer<Response> responder) {
+			if (closed) {
+				return false;
+			}
+			responders.add(responder);
+			return true;
+		}
+
+		private synchronized List<Consumer<Response>> close() {
+			closed = true;
+			return responders;
+		}
+	}
+}
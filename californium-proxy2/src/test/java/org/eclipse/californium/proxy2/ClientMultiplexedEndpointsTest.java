@@ -0,0 +1,145 @@
+/********************************************************************************
+ * Copyright (c) 2025 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v1.0 which is available at
+ * https://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ ********************************************************************************/
+package org.eclipse.californium.proxy2;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.IOException;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.californium.core.coap.Request;
+import org.eclipse.californium.elements.category.Small;
+import org.eclipse.californium.elements.config.Configuration;
+import org.eclipse.californium.elements.util.DaemonThreadFactory;
+import org.eclipse.californium.elements.util.ExecutorsUtil;
+import org.eclipse.californium.elements.util.ProtocolScheduledExecutorService;
+import org.eclipse.californium.rule.CoapNetworkRule;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Verifies the per destination limits of {@link ClientMultiplexedEndpoints}.
+ */
+@Category(Small.class)
+public class ClientMultiplexedEndpointsTest {
+
+	@ClassRule
+	public static CoapNetworkRule network = new CoapNetworkRule(CoapNetworkRule.Mode.DIRECT,
+			CoapNetworkRule.Mode.NATIVE);
+
+	private static final String DESTINATION1 = "coap://127.0.0.1:5799/test";
+	private static final String DESTINATION2 = "coap://127.0.0.1:5798/test";
+
+	private ProtocolScheduledExecutorService executor;
+	private ClientMultiplexedEndpoints endpoints;
+	private DatagramSocket destination1;
+	private DatagramSocket destination2;
+
+	@Before
+	public void init() throws IOException {
+		InetAddress loopback = InetAddress.getByName("127.0.0.1");
+		// silent destinations, the requests stay pending
+		destination1 = new DatagramSocket(new InetSocketAddress(loopback, 5799));
+		destination2 = new DatagramSocket(new InetSocketAddress(loopback, 5798));
+		Configuration config = network.createTestConfig();
+		executor = ExecutorsUtil.newProtocolScheduledThreadPool(1, new DaemonThreadFactory("Proxy#"));
+		endpoints = new ClientMultiplexedEndpoints(2, 1, 1, config, executor);
+	}
+
+	@After
+	public void shutdown() {
+		endpoints.destroy();
+		executor.shutdownNow();
+		destination1.close();
+		destination2.close();
+	}
+
+	@Test
+	public void testLimitRequestsPerDestination() throws Exception {
+		assertThat(endpoints.getScheme(), is("coap"));
+		Request request1 = newRequest(DESTINATION1);
+		Request request2 = newRequest(DESTINATION1);
+		Request request3 = newRequest(DESTINATION1);
+		Request request4 = newRequest(DESTINATION2);
+
+		endpoints.sendRequest(request1);
+		endpoints.sendRequest(request2);
+		endpoints.sendRequest(request3);
+		endpoints.sendRequest(request4);
+
+		assertThat(endpoints.getRequests(), is(4L));
+		assertThat(endpoints.getInflightRequests(), is(2));
+		assertThat(endpoints.getQueuedRequests(), is(1L));
+		assertThat(endpoints.getRejectedRequests(), is(1L));
+		assertThat(endpoints.getDestinations(), is(2));
+		assertThat(request3.isRejected(), is(true));
+
+		// completing request 1 sends the queued request 2
+		request1.cancel();
+		assertThat(endpoints.getInflightRequests(), is(2));
+		assertThat(endpoints.getDestinations(), is(2));
+
+		request2.cancel();
+		request4.cancel();
+		assertThat(endpoints.getInflightRequests(), is(0));
+		assertThat(endpoints.getDestinations(), is(0));
+	}
+
+	@Test
+	public void testCollectMetrics() throws Exception {
+		Map<String, Long> metrics = collectMetrics();
+		assertThat(metrics.get("proxy_client_requests@coap"), is(0L));
+
+		Request request1 = newRequest(DESTINATION1);
+		Request request2 = newRequest(DESTINATION1);
+		endpoints.sendRequest(request1);
+		endpoints.sendRequest(request2);
+		for (int index = 0; index < ClientMultiplexedEndpoints.MAX_DESTINATION_METRICS + 2; ++index) {
+			endpoints.sendRequest(newRequest("coap://127.0.0.1:" + (5700 + index) + "/test"));
+		}
+
+		metrics = collectMetrics();
+		assertThat(metrics.get("proxy_client_requests@coap"),
+				is(ClientMultiplexedEndpoints.MAX_DESTINATION_METRICS + 4L));
+		assertThat(metrics.get("proxy_client_destination_pending_requests@coap://127.0.0.1:5799"), is(2L));
+		int destinations = 0;
+		for (String key : metrics.keySet()) {
+			if (key.startsWith("proxy_client_destination_pending_requests@")) {
+				++destinations;
+			}
+		}
+		assertThat(destinations, is(ClientMultiplexedEndpoints.MAX_DESTINATION_METRICS));
+	}
+
+	private Map<String, Long> collectMetrics() {
+		final Map<String, Long> metrics = new HashMap<>();
+		endpoints.collectMetrics((name, type, source, value) -> metrics.put(name + "@" + source, value));
+		return metrics;
+	}
+
+	private static Request newRequest(String uri) {
+		Request request = Request.newGet();
+		request.setURI(uri);
+		return request;
+	}
+}
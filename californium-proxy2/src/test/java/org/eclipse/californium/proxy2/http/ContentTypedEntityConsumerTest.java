@@ -0,0 +1,130 @@
+/********************************************************************************
+ * Copyright (c) 2025 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v1.0 which is available at
+ * https://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ ********************************************************************************/
+package org.eclipse.californium.proxy2.http;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.ContentTooLongException;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.EntityDetails;
+import org.apache.hc.core5.http.impl.BasicEntityDetails;
+import org.eclipse.californium.elements.category.Small;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Verifies the payload buffering of the {@link ContentTypedEntityConsumer}.
+ */
+@Category(Small.class)
+public class ContentTypedEntityConsumerTest {
+
+	private final AtomicReference<ContentTypedEntity> result = new AtomicReference<>();
+	private final AtomicReference<Exception> failure = new AtomicReference<>();
+	private final FutureCallback<ContentTypedEntity> callback = new FutureCallback<ContentTypedEntity>() {
+
+		@Override
+		public void completed(ContentTypedEntity entity) {
+			result.set(entity);
+		}
+
+		@Override
+		public void failed(Exception ex) {
+			failure.set(ex);
+		}
+
+		@Override
+		public void cancelled() {
+		}
+	};
+
+	@Test
+	public void testContentLength() throws Exception {
+		byte[] payload = payload(3000);
+		ContentTypedEntityConsumer consumer = new ContentTypedEntityConsumer(4096);
+		consumer.streamStart(details(payload.length), callback);
+		consume(consumer, payload, 1000);
+		consumer.streamEnd(null);
+		assertThat(result.get().getContent(), is(payload));
+		assertThat(result.get().getContentType().getMimeType(), is(ContentType.TEXT_PLAIN.getMimeType()));
+	}
+
+	@Test
+	public void testUnknownContentLength() throws Exception {
+		byte[] payload = payload(3000);
+		ContentTypedEntityConsumer consumer = new ContentTypedEntityConsumer();
+		consumer.streamStart(details(-1), callback);
+		consume(consumer, payload, 700);
+		consumer.streamEnd(null);
+		assertThat(result.get().getContent(), is(payload));
+	}
+
+	@Test
+	public void testLargeContentLengthWithoutLimit() throws Exception {
+		byte[] payload = payload(3000);
+		ContentTypedEntityConsumer consumer = new ContentTypedEntityConsumer();
+		// announced content length is not allocated in advance
+		consumer.streamStart(details(Integer.MAX_VALUE), callback);
+		consume(consumer, payload, 700);
+		consumer.streamEnd(null);
+		assertThat(result.get().getContent(), is(payload));
+	}
+
+	@Test(expected = ContentTooLongException.class)
+	public void testContentLengthExceedsLimit() throws Exception {
+		ContentTypedEntityConsumer consumer = new ContentTypedEntityConsumer(1024);
+		consumer.streamStart(details(2048), callback);
+	}
+
+	@Test
+	public void testContentExceedsLimit() throws Exception {
+		byte[] payload = payload(2048);
+		ContentTypedEntityConsumer consumer = new ContentTypedEntityConsumer(1024);
+		consumer.streamStart(details(-1), callback);
+		try {
+			consume(consumer, payload, 512);
+		} catch (ContentTooLongException ex) {
+			consumer.failed(ex);
+		}
+		assertThat(failure.get(), is(instanceOf(ContentTooLongException.class)));
+		assertThat(result.get(), is(nullValue()));
+	}
+
+	private static EntityDetails details(long length) {
+		return new BasicEntityDetails(length, ContentType.TEXT_PLAIN);
+	}
+
+	private static void consume(ContentTypedEntityConsumer consumer, byte[] payload, int chunk) throws Exception {
+		for (int offset = 0; offset < payload.length; offset += chunk) {
+			int end = Math.min(offset + chunk, payload.length);
+			consumer.consume(ByteBuffer.wrap(Arrays.copyOfRange(payload, offset, end)));
+		}
+	}
+
+	private static byte[] payload(int length) {
+		byte[] payload = new byte[length];
+		for (int index = 0; index < length; ++index) {
+			payload[index] = (byte) ('a' + index % 26);
+		}
+		return payload;
+	}
+}
@@ -17,9 +17,11 @@ package org.eclipse.californium.proxy2.http;
 
 import static org.hamcrest.CoreMatchers.hasItem;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.StringContains.containsString;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.List;
 
@@ -56,6 +58,32 @@ public class CrossProtocolTranslatorTest {
 	private CrossProtocolTranslator.EtagTranslator httpEtagTranslator = new CrossProtocolTranslator.HttpServerEtagTranslator();
 	private CrossProtocolTranslator.EtagTranslator coapEtagTranslator = new CrossProtocolTranslator.CoapServerEtagTranslator();
 
+	@Test
+	public void testConvertLargeCharset() throws Exception {
+		StringBuilder text = new StringBuilder();
+		while (text.length() < CrossProtocolTranslator.CHARSET_CONVERSION_CHUNK_SIZE * 3) {
+			text.append("Gr\u00FC\u00DFe \u00E4\u00F6\u00FC ");
+		}
+		byte[] iso = text.toString().getBytes(StandardCharsets.ISO_8859_1);
+		byte[] utf8 = translator.convertCharset(iso, StandardCharsets.ISO_8859_1, StandardCharsets.UTF_8);
+		assertThat(utf8, is(text.toString().getBytes(StandardCharsets.UTF_8)));
+		byte[] back = translator.convertCharset(utf8, StandardCharsets.UTF_8, StandardCharsets.ISO_8859_1);
+		assertThat(back, is(iso));
+	}
+
+	@Test
+	public void testConvertUnmappableCharset() throws Exception {
+		byte[] utf8 = "\u20AC".getBytes(StandardCharsets.UTF_8);
+		assertThat(translator.convertCharset(utf8, StandardCharsets.UTF_8, StandardCharsets.ISO_8859_1),
+				is(nullValue()));
+	}
+
+	@Test
+	public void testConvertMalformedCharset() throws Exception {
+		exception.expect(TranslationException.class);
+		translator.convertCharset(new byte[] { (byte) 0xC3 }, StandardCharsets.UTF_8, StandardCharsets.ISO_8859_1);
+	}
+
 	@Test
 	public void testCoapResponseCode() throws Exception {
 		assertThat(translator.getCoapResponseCode(Code.GET, 200), is(ResponseCode.CONTENT));
@@ -0,0 +1,174 @@
+/********************************************************************************
+ * Copyright (c) 2025 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v1.0 which is available at
+ * https://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ ********************************************************************************/
+package org.eclipse.californium.proxy2.resources;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.californium.core.coap.CoAP.Code;
+import org.eclipse.californium.core.coap.CoAP.ResponseCode;
+import org.eclipse.californium.core.coap.MediaTypeRegistry;
+import org.eclipse.californium.core.coap.Response;
+import org.eclipse.californium.elements.category.Small;
+import org.eclipse.californium.elements.config.Configuration;
+import org.eclipse.californium.elements.util.ClockUtil;
+import org.eclipse.californium.proxy2.config.Proxy2Config;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Verifies the byte budget and the revalidation of the
+ * {@link ProxyCacheResource}.
+ */
+@Category(Small.class)
+public class ProxyCacheResourceTest {
+
+	private static final byte[] ETAG = { 1, 2, 3, 4 };
+
+	private Configuration config;
+
+	@Before
+	public void init() {
+		Proxy2Config.register();
+		config = Configuration.createStandardWithoutFile();
+	}
+
+	@Test
+	public void testCachedResponse() throws Exception {
+		ProxyCacheResource cache = new ProxyCacheResource(config, true);
+		CacheKey key = newKey("coap://localhost/test");
+		cache.cacheResponse(key, newContent("hello", 60, null));
+
+		Response response = cache.getResponse(key);
+		assertThat(response, is(notNullValue()));
+		assertThat(response.getCode(), is(ResponseCode.CONTENT));
+		assertThat(response.getPayloadString(), is("hello"));
+		assertThat(response.getOptions().getContentFormat(), is(MediaTypeRegistry.TEXT_PLAIN));
+		assertThat(response.getOptions().getMaxAge(), is(60L));
+	}
+
+	@Test
+	public void testByteBudget() throws Exception {
+		config.set(Proxy2Config.CACHE_MAX_BYTES, 20000);
+		ProxyCacheResource cache = new ProxyCacheResource(config, true);
+		String payload = new String(new char[500]).replace('\0', 'x');
+		for (int index = 0; index < 100; ++index) {
+			cache.cacheResponse(newKey("coap://localhost/test" + index), newContent(payload, 60, null));
+		}
+		assertTrue(cache.getCacheStats().evictionCount() > 50);
+		// no empty sets of evicted resources are left
+		assertTrue(cache.getCachedResources() < 50);
+	}
+
+	@Test
+	public void testInvalidatedResponseIsRemovedFromResource() throws Exception {
+		ProxyCacheResource cache = new ProxyCacheResource(config, true);
+		CacheKey key = newKey("coap://localhost/test");
+		cache.cacheResponse(key, newContent("hello", 60, null));
+		assertThat(cache.getCachedResources(), is(1));
+
+		cache.cacheResponse(key, newContent("hello", 0, null));
+		cache.cacheResponse(CacheKey.fromCacheKey(key, MediaTypeRegistry.TEXT_PLAIN), newContent("hello", 0, null));
+		assertThat(cache.getCachedResources(), is(0));
+	}
+
+	@Test
+	public void testRevalidateRefreshesAlternativeContentFormat() throws Exception {
+		ProxyCacheResource cache = new ProxyCacheResource(config, true);
+		CacheKey key = newKey("coap://localhost/test");
+		CacheKey typedKey = CacheKey.fromCacheKey(key, MediaTypeRegistry.TEXT_PLAIN);
+		Response content = newContent("hello", 1, ETAG);
+		content.setNanoTimestamp(ClockUtil.nanoRealtime() - TimeUnit.SECONDS.toNanos(5));
+		cache.cacheResponse(key, content);
+
+		assertThat(cache.getValidationETag(key), is(ETAG));
+		assertThat(cache.getValidationETag(typedKey), is(ETAG));
+
+		// 2.03 without content-format
+		Response valid = new Response(ResponseCode.VALID);
+		valid.getOptions().addETag(ETAG);
+		valid.getOptions().setMaxAge(30);
+		valid.setNanoTimestamp(ClockUtil.nanoRealtime());
+		cache.cacheResponse(key, valid);
+
+		Response response = cache.getResponse(key);
+		assertThat(response, is(notNullValue()));
+		assertThat(response.getOptions().getMaxAge(), is(30L));
+		response = cache.getResponse(typedKey);
+		assertThat(response, is(notNullValue()));
+		assertThat(response.getPayloadString(), is("hello"));
+		assertThat(response.getOptions().getMaxAge(), is(30L));
+	}
+
+	@Test
+	public void testRevalidateStaleResponse() throws Exception {
+		ProxyCacheResource cache = new ProxyCacheResource(config, true);
+		CacheKey key = newKey("coap://localhost/test");
+		Response content = newContent("hello", 1, ETAG);
+		content.setNanoTimestamp(ClockUtil.nanoRealtime() - TimeUnit.SECONDS.toNanos(5));
+		cache.cacheResponse(key, content);
+
+		assertThat(cache.getResponse(key), is(nullValue()));
+		assertThat(cache.getValidationETag(key), is(ETAG));
+
+		Response valid = new Response(ResponseCode.VALID);
+		valid.getOptions().addETag(ETAG);
+		valid.getOptions().setMaxAge(30);
+		valid.setNanoTimestamp(ClockUtil.nanoRealtime());
+		cache.cacheResponse(key, valid);
+
+		assertThat(cache.getValidationETag(key), is(nullValue()));
+		Response response = cache.getResponse(key);
+		assertThat(response, is(notNullValue()));
+		assertThat(response.getCode(), is(ResponseCode.CONTENT));
+		assertThat(response.getPayloadString(), is("hello"));
+		assertThat(response.getOptions().getMaxAge(), is(30L));
+	}
+
+	@Test
+	public void testStaleResponseWithoutETag() throws Exception {
+		ProxyCacheResource cache = new ProxyCacheResource(config, true);
+		CacheKey key = newKey("coap://localhost/test");
+		Response content = newContent("hello", 1, null);
+		content.setNanoTimestamp(ClockUtil.nanoRealtime() - TimeUnit.SECONDS.toNanos(5));
+		cache.cacheResponse(key, content);
+
+		assertThat(cache.getValidationETag(key), is(nullValue()));
+		assertThat(cache.getResponse(key), is(nullValue()));
+	}
+
+	private static CacheKey newKey(String uri) throws Exception {
+		return new CacheKey(Code.GET, new URI(uri), MediaTypeRegistry.UNDEFINED, null);
+	}
+
+	private static Response newContent(String payload, long maxAge, byte[] etag) {
+		Response response = new Response(ResponseCode.CONTENT);
+		response.setPayload(payload);
+		response.getOptions().setContentFormat(MediaTypeRegistry.TEXT_PLAIN);
+		response.getOptions().setMaxAge(maxAge);
+		if (etag != null) {
+			response.getOptions().addETag(etag);
+		}
+		response.setNanoTimestamp(ClockUtil.nanoRealtime());
+		return response;
+	}
+}
@@ -0,0 +1,315 @@
+/********************************************************************************
+ * Copyright (c) 2025 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v1.0 which is available at
+ * https://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ ********************************************************************************/
+package org.eclipse.californium.proxy2.resources;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.californium.TestTools;
+import org.eclipse.californium.core.CoapClient;
+import org.eclipse.californium.core.CoapExchange;
+import org.eclipse.californium.core.CoapObserveRelation;
+import org.eclipse.californium.core.CoapResponse;
+import org.eclipse.californium.core.CoapResource;
+import org.eclipse.californium.core.CoapServer;
+import org.eclipse.californium.core.coap.CoAP.ResponseCode;
+import org.eclipse.californium.core.coap.Request;
+import org.eclipse.californium.core.coap.Response;
+import org.eclipse.californium.core.network.CoapEndpoint;
+import org.eclipse.californium.core.network.interceptors.MessageInterceptor;
+import org.eclipse.californium.core.test.CountingCoapHandler;
+import org.eclipse.californium.elements.category.Medium;
+import org.eclipse.californium.elements.config.Configuration;
+import org.eclipse.californium.proxy2.ClientSingleEndpoint;
+import org.eclipse.californium.proxy2.Coap2CoapTranslator;
+import org.eclipse.californium.rule.CoapNetworkRule;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Verifies the observe aggregation and the revalidation of cached responses
+ * of the {@link ProxyCoapClientResource}.
+ */
+@Category(Medium.class)
+public class ProxyCoapClientResourceTest {
+
+	@ClassRule
+	public static CoapNetworkRule network = new CoapNetworkRule(CoapNetworkRule.Mode.DIRECT,
+			CoapNetworkRule.Mode.NATIVE);
+
+	private static final long TIMEOUT_MILLIS = 2000;
+	/**
+	 * Time to wait for unexpected duplicate notifications.
+	 */
+	private static final long DUPLICATE_MILLIS = 200;
+	private static final byte[] ETAG = { 1, 2, 3, 4 };
+
+	/**
+	 * Number of responses and notifications sent by the proxy downstream.
+	 */
+	private final AtomicInteger downstreamResponses = new AtomicInteger();
+	/**
+	 * Fail to send upstream requests.
+	 */
+	private volatile boolean sendFailure;
+
+	private CoapServer upstream;
+	private CoapServer proxy;
+	private CoapEndpoint proxyClientEndpoint;
+	private ObservableResource target;
+	private ValidatedResource validated;
+	private ProxyCoapClientResource coap2coap;
+	private CoapClient client1;
+	private CoapClient client2;
+	private String targetUri;
+	private String proxyUri;
+
+	@Before
+	public void init() throws Exception {
+		Configuration config = network.createTestConfig();
+
+		target = new ObservableResource("target");
+		upstream = new CoapServer(config);
+		upstream.addEndpoint(CoapEndpoint.builder().setConfiguration(config)
+				.setInetSocketAddress(TestTools.LOCALHOST_EPHEMERAL).build());
+		validated = new ValidatedResource("validated");
+		upstream.add(target);
+		upstream.add(validated);
+		upstream.start();
+		targetUri = TestTools.getUri(upstream.getEndpoints().get(0), "target");
+
+		proxyClientEndpoint = CoapEndpoint.builder().setConfiguration(config)
+				.setInetSocketAddress(TestTools.LOCALHOST_EPHEMERAL).build();
+		Coap2CoapTranslator translator = new Coap2CoapTranslator();
+		coap2coap = new ProxyCoapClientResource("coap2coap", false, false, translator,
+				new ClientSingleEndpoint(proxyClientEndpoint) {
+
+					@Override
+					public void sendRequest(Request outgoingRequest) throws IOException {
+						if (sendFailure) {
+							throw new IOException("send failure");
+						}
+						super.sendRequest(outgoingRequest);
+					}
+				});
+		coap2coap.setObserveAggregation(true);
+		proxy = new CoapServer(config);
+		CoapEndpoint proxyEndpoint = CoapEndpoint.builder().setConfiguration(config)
+				.setInetSocketAddress(TestTools.LOCALHOST_EPHEMERAL).build();
+		proxyEndpoint.addInterceptor(new MessageInterceptor() {
+
+			@Override
+			public void sendResponse(Response response) {
+				downstreamResponses.incrementAndGet();
+			}
+		});
+		proxy.addEndpoint(proxyEndpoint);
+		ForwardProxyMessageDeliverer deliverer = new ForwardProxyMessageDeliverer(proxy.getRoot(), translator,
+				config);
+		deliverer.addProxyCoapResources(coap2coap);
+		proxy.setMessageDeliverer(deliverer);
+		proxy.start();
+		proxyClientEndpoint.start();
+		proxyUri = TestTools.getUri(proxy.getEndpoints().get(0), "coap2coap");
+
+		client1 = new CoapClient(proxyUri);
+		client2 = new CoapClient(proxyUri);
+	}
+
+	@After
+	public void shutdown() {
+		client1.shutdown();
+		client2.shutdown();
+		proxy.destroy();
+		proxyClientEndpoint.destroy();
+		upstream.destroy();
+	}
+
+	@Test
+	public void testObserveAggregation() throws Exception {
+		CountingCoapHandler handler1 = new CountingCoapHandler();
+		CountingCoapHandler handler2 = new CountingCoapHandler();
+
+		CoapObserveRelation relation1 = client1.observe(newObserveRequest(), handler1);
+		assertTrue(handler1.waitOnLoadCalls(1, TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+		CoapObserveRelation relation2 = client2.observe(newObserveRequest(), handler2);
+		assertTrue(handler2.waitOnLoadCalls(1, TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+		assertThat(handler2.responses.get(0).getResponseText(), is("value 0"));
+
+		// one upstream observation for both downstream observers
+		assertThat(target.getObserverCount(), is(1));
+		assertThat(target.requests, is(1));
+		assertThat(coap2coap.getAggregatedObservations(), is(1));
+
+		target.change();
+		assertTrue(handler1.waitOnLoadCalls(2, TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+		assertTrue(handler2.waitOnLoadCalls(2, TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+		assertThat(handler1.responses.get(1).getResponseText(), is("value 1"));
+		assertThat(handler2.responses.get(1).getResponseText(), is("value 1"));
+		// each notification is sent once
+		Thread.sleep(DUPLICATE_MILLIS);
+		assertThat(handler1.getOnLoadCalls(), is(2));
+		assertThat(handler2.getOnLoadCalls(), is(2));
+		assertThat(downstreamResponses.get(), is(4));
+
+		relation1.proactiveCancel();
+		// response of the cancel request
+		assertTrue(handler1.waitOnLoadCalls(3, TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+		assertThat(coap2coap.getAggregatedObservations(), is(1));
+		target.change();
+		assertTrue(handler2.waitOnLoadCalls(3, TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+		Thread.sleep(DUPLICATE_MILLIS);
+		assertThat(handler1.getOnLoadCalls(), is(3));
+		assertThat(handler2.getOnLoadCalls(), is(3));
+		assertThat(downstreamResponses.get(), is(6));
+
+		// last downstream observer leaves
+		relation2.proactiveCancel();
+		assertTrue(waitForAggregatedObservations(0));
+		// the next notification cancels the upstream observation
+		target.change();
+		assertTrue(waitForUpstreamObservers(0));
+	}
+
+	@Test
+	public void testObserveSendFailure() throws Exception {
+		sendFailure = true;
+		CoapResponse response = client1.advanced(newObserveRequest());
+		assertThat(response.getCode(), is(ResponseCode.INTERNAL_SERVER_ERROR));
+		assertThat(coap2coap.getAggregatedObservations(), is(0));
+
+		// the next observe request starts a new upstream observation
+		sendFailure = false;
+		CountingCoapHandler handler = new CountingCoapHandler();
+		client2.observe(newObserveRequest(), handler);
+		assertTrue(handler.waitOnLoadCalls(1, TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+		assertThat(handler.responses.get(0).getResponseText(), is("value 0"));
+		assertThat(target.requests, is(1));
+		assertThat(coap2coap.getAggregatedObservations(), is(1));
+	}
+
+	@Test
+	public void testFailedRevalidationIsNotForwarded() throws Exception {
+		coap2coap.setCache(new ProxyCacheResource(true));
+
+		CoapResponse response = client1.advanced(newValidatedRequest());
+		assertThat(response.getCode(), is(ResponseCode.CONTENT));
+		assertThat(validated.requests, is(1));
+
+		// wait until the cached response is stale
+		Thread.sleep(TimeUnit.SECONDS.toMillis(ValidatedResource.MAX_AGE) + 500);
+
+		// the 2.03 (Valid) with max-age 0 doesn't refresh the cached response
+		// and the client didn't send that ETag
+		response = client1.advanced(newValidatedRequest());
+		assertThat(response.getCode(), is(ResponseCode.CONTENT));
+		assertThat(response.getResponseText(), is("validated"));
+		assertThat(validated.requests, is(3));
+	}
+
+	private Request newValidatedRequest() {
+		Request request = Request.newGet();
+		request.setURI(proxyUri);
+		request.getOptions().setProxyUri(TestTools.getUri(upstream.getEndpoints().get(0), "validated"));
+		return request;
+	}
+
+	private Request newObserveRequest() {
+		Request request = Request.newGet().setObserve();
+		request.setURI(proxyUri);
+		request.getOptions().setProxyUri(targetUri);
+		return request;
+	}
+
+	private boolean waitForAggregatedObservations(int observations) throws InterruptedException {
+		for (int loop = 0; loop < TIMEOUT_MILLIS / 50; ++loop) {
+			if (coap2coap.getAggregatedObservations() == observations) {
+				return true;
+			}
+			Thread.sleep(50);
+		}
+		return false;
+	}
+
+	private boolean waitForUpstreamObservers(int observers) throws InterruptedException {
+		for (int loop = 0; loop < TIMEOUT_MILLIS / 50; ++loop) {
+			if (target.getObserverCount() == observers) {
+				return true;
+			}
+			Thread.sleep(50);
+		}
+		return false;
+	}
+
+	/**
+	 * Resource, which responds to a validation with a 2.03 (Valid), which
+	 * must not be cached.
+	 */
+	private static class ValidatedResource extends CoapResource {
+
+		private static final long MAX_AGE = 1;
+
+		private volatile int requests;
+
+		private ValidatedResource(String name) {
+			super(name);
+		}
+
+		@Override
+		public void handleGET(CoapExchange exchange) {
+			++requests;
+			exchange.setETag(ETAG);
+			if (exchange.getRequestOptions().containsETag(ETAG)) {
+				exchange.setMaxAge(0);
+				exchange.respond(ResponseCode.VALID);
+			} else {
+				exchange.setMaxAge(MAX_AGE);
+				exchange.respond("validated");
+			}
+		}
+	}
+
+	private static class ObservableResource extends CoapResource {
+
+		private volatile int value;
+		private volatile int requests;
+
+		private ObservableResource(String name) {
+			super(name);
+			setObservable(true);
+		}
+
+		private void change() {
+			++value;
+			changed();
+		}
+
+		@Override
+		public void handleGET(CoapExchange exchange) {
+			if (exchange.getRequestOptions().hasObserve()) {
+				++requests;
+			}
+			exchange.respond("value " + value);
+		}
+	}
+}
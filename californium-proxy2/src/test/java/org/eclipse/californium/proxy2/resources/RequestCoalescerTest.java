@@ -0,0 +1,90 @@
+/********************************************************************************
+ * Copyright (c) 2025 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v1.0 which is available at
+ * https://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ ********************************************************************************/
+package org.eclipse.californium.proxy2.resources;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.californium.core.coap.CoAP.Code;
+import org.eclipse.californium.core.coap.CoAP.ResponseCode;
+import org.eclipse.californium.core.coap.MediaTypeRegistry;
+import org.eclipse.californium.core.coap.Request;
+import org.eclipse.californium.core.coap.Response;
+import org.eclipse.californium.elements.category.Small;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Verifies the coalescing of the {@link RequestCoalescer}.
+ */
+@Category(Small.class)
+public class RequestCoalescerTest {
+
+	@Test
+	public void testCoalescedRequests() throws Exception {
+		RequestCoalescer coalescer = new RequestCoalescer();
+		CacheKey key = newKey("coap://localhost/test");
+		List<Response> responses = new ArrayList<>();
+
+		assertThat(coalescer.join(key, responses::add), is(true));
+		assertThat(coalescer.join(key, responses::add), is(false));
+		assertThat(coalescer.join(key, responses::add), is(false));
+		assertThat(coalescer.join(newKey("coap://localhost/other"), responses::add), is(true));
+		assertThat(coalescer.getForwardedRequests(), is(2L));
+		assertThat(coalescer.getCoalescedRequests(), is(2L));
+		assertThat(coalescer.getPendingRequests(), is(2));
+
+		Response response = new Response(ResponseCode.CONTENT);
+		response.setPayload("hello");
+		response.getOptions().setContentFormat(MediaTypeRegistry.TEXT_PLAIN);
+		coalescer.complete(key, response);
+		assertThat(responses.size(), is(3));
+		assertThat(coalescer.getPendingRequests(), is(1));
+		for (Response received : responses) {
+			assertThat(received.getCode(), is(ResponseCode.CONTENT));
+			assertThat(received.getPayloadString(), is("hello"));
+			assertThat(received.getOptions().getContentFormat(), is(MediaTypeRegistry.TEXT_PLAIN));
+		}
+		assertThat(responses.get(0), is(not(sameInstance(responses.get(1)))));
+
+		// completed, the next request is forwarded again
+		assertThat(coalescer.join(key, responses::add), is(true));
+		assertThat(coalescer.getForwardedRequests(), is(3L));
+	}
+
+	@Test
+	public void testCoalescableRequests() throws Exception {
+		assertThat(RequestCoalescer.isCoalescable(Request.newGet()), is(true));
+		assertThat(RequestCoalescer.isCoalescable(Request.newFetch()), is(true));
+		assertThat(RequestCoalescer.isCoalescable(Request.newPost()), is(false));
+		assertThat(RequestCoalescer.isCoalescable(Request.newGet().setObserve()), is(false));
+		Request request = Request.newGet();
+		request.getOptions().addETag(new byte[] { 1, 2 });
+		assertThat(RequestCoalescer.isCoalescable(request), is(false));
+		request = Request.newGet();
+		request.getOptions().setBlock2(2, false, 1);
+		assertThat(RequestCoalescer.isCoalescable(request), is(false));
+	}
+
+	private static CacheKey newKey(String uri) throws Exception {
+		return new CacheKey(Code.GET, new URI(uri), MediaTypeRegistry.UNDEFINED, null);
+	}
+}
@@ -0,0 +1,572 @@
+/********************************************************************************
+ * Copyright (c) 2025 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v1.0 which is available at
+ * https://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ ********************************************************************************/
+package org.eclipse.californium.cluster;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.californium.elements.EndpointContext;
+import org.eclipse.californium.elements.MessageCallback;
+import org.eclipse.californium.elements.RawData;
+import org.eclipse.californium.elements.util.ClockUtil;
+import org.eclipse.californium.elements.util.DaemonThreadFactory;
+import org.eclipse.californium.elements.util.DatagramReader;
+import org.eclipse.californium.elements.util.DatagramWriter;
+import org.eclipse.californium.elements.util.ExecutorsUtil;
+import org.eclipse.californium.scandium.DtlsClusterConnector.ConnectionExporter;
+import org.eclipse.californium.scandium.DtlsManagedClusterConnector;
+import org.eclipse.californium.scandium.dtls.ConnectionId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Replicates established connections to a buddy node.
+ * <p>
+ * The connections are serialized, aggregated into messages and sent to the
+ * buddy node using the encrypted cluster management connector. The buddy node
+ * keeps the replicas per origin node and imports them, if the origin node
+ * expires. Imported replicas are in most cases usable without new handshake,
+ * in rare cases a resumption handshake is required.
+ * <p>
+ * The replication runs on an executor of its own, in order not to block the
+ * timer of the cluster manager. Removed connections are reported to the
+ * buddy node as well, that prevents to take over outdated replicas.
+ * <p>
+ * Message format: {@link #MAGIC_REPLICA}, node-id of the origin (4 bytes),
+ * followed by the replicas, each with the connection id (1 byte length) and
+ * the serialized connection (2 bytes length).
+ * <p>
+ * Message format: {@link #MAGIC_REPLICA_REMOVED}, node-id of the origin (4
+ * bytes), followed by the connection ids (1 byte length) of the removed
+ * connections.
+ *
+ * @since 4.0
+ */
+class ConnectionReplicator {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(ConnectionReplicator.class);
+
+	/**
+	 * Type of cluster management message with replicated connections.
+	 */
+	static final byte MAGIC_REPLICA = (byte) 57;
+	/**
+	 * Type of cluster management message with removed connections.
+	 */
+	static final byte MAGIC_REPLICA_REMOVED = (byte) 55;
+	/**
+	 * Size of message header.
+	 */
+	private static final int HEADER_SIZE = 5;
+	/**
+	 * Maximum size of replica message. Larger replicas are sent in a message
+	 * on their own.
+	 */
+	private static final int MAX_MESSAGE_SIZE = 1200;
+	/**
+	 * Gap of write sequence numbers for imported replicas.
+	 * <p>
+	 * The origin node may have sent records after the last replication. Using
+	 * the same sequence numbers again would cause the peer to drop these
+	 * records as replayed.
+	 */
+	private static final long WRITE_SEQUENCE_NUMBER_GAP = 1L << 20;
+
+	/**
+	 * Cluster connector.
+	 */
+	private final DtlsManagedClusterConnector clusterConnector;
+	/**
+	 * Node-id of this node.
+	 */
+	private final int nodeId;
+	/**
+	 * Logging tag.
+	 */
+	private final String tag;
+	/**
+	 * Replicas per origin node-id.
+	 */
+	private final ConcurrentMap<Integer, ConcurrentMap<ConnectionId, Replica>> replicas = new ConcurrentHashMap<>();
+	/**
+	 * Indicates, that a replication is pending.
+	 */
+	private final AtomicBoolean pending = new AtomicBoolean();
+	/**
+	 * Connection ids replicated to the current buddy.
+	 * <p>
+	 * Only accessed by the executor of the replication.
+	 */
+	private final Set<ConnectionId> replicated = new HashSet<>();
+	/**
+	 * Executor for the replication. {@code null}, if not started.
+	 */
+	private ExecutorService executor;
+	/**
+	 * Node-id of current buddy. {@code null}, if not available.
+	 */
+	private volatile Integer buddy;
+	/**
+	 * Endpoint context of current buddy. {@code null}, if not available.
+	 * <p>
+	 * Only accessed by the executor of the replication.
+	 */
+	private EndpointContext buddyContext;
+	/**
+	 * Realtime in nanoseconds of the last successful replication.
+	 * <p>
+	 * Only accessed by the executor of the replication.
+	 */
+	private long lastReplicationNanos;
+
+	/**
+	 * Create replicator.
+	 *
+	 * @param clusterConnector cluster connector
+	 * @param tag logging tag
+	 */
+	ConnectionReplicator(DtlsManagedClusterConnector clusterConnector, String tag) {
+		this.clusterConnector = clusterConnector;
+		this.nodeId = clusterConnector.getNodeID();
+		this.tag = tag;
+	}
+
+	/**
+	 * Start executor for the replication.
+	 */
+	synchronized void start() {
+		if (executor == null) {
+			executor = ExecutorsUtil.newFixedThreadPool(1, new DaemonThreadFactory("Replicator#"));
+		}
+	}
+
+	/**
+	 * Stop executor for the replication.
+	 */
+	synchronized void stop() {
+		if (executor != null) {
+			executor.shutdownNow();
+			executor = null;
+			pending.set(false);
+		}
+	}
+
+	/**
+	 * Select buddy node.
+	 * <p>
+	 * The buddy node is the node with the next higher node-id, or the node
+	 * with the lowest node-id, if no higher one exists.
+	 *
+	 * @param nodeId node-id of this node
+	 * @param nodes node-ids of the other nodes
+	 * @return node-id of buddy node, or {@code null}, if no other node is
+	 *         available.
+	 */
+	static Integer selectBuddy(int nodeId, Collection<Integer> nodes) {
+		Integer buddy = null;
+		Integer lowest = null;
+		for (Integer node : nodes) {
+			if (node == nodeId) {
+				continue;
+			}
+			if (node > nodeId && (buddy == null || node < buddy)) {
+				buddy = node;
+			}
+			if (lowest == null || node < lowest) {
+				lowest = node;
+			}
+		}
+		return buddy == null ? lowest : buddy;
+	}
+
+	/**
+	 * Start to replicate connections of this node to the buddy node.
+	 * <p>
+	 * If the buddy has changed, all connections with traffic within the
+	 * replica expiration are sent and the previous buddy is informed to
+	 * remove the replicas. Otherwise only the connections with traffic since
+	 * the last replication are sent together with the connection ids of the
+	 * removed connections. The replication is executed asynchronously, if the
+	 * previous replication is still pending, the replication is skipped.
+	 *
+	 * @param buddyNodeId node-id of buddy node
+	 * @param buddyContext endpoint context of buddy node
+	 * @param expirationNanos replica expiration in nanoseconds
+	 * @param timeoutNanos timeout in nanoseconds to export the connections
+	 * @param callback message callback
+	 * @return {@code true}, if the replication is started, {@code false}, if
+	 *         the previous replication is still pending or the replicator is
+	 *         not started.
+	 */
+	synchronized boolean replicate(final int buddyNodeId, final EndpointContext buddyContext,
+			final long expirationNanos, final long timeoutNanos, final MessageCallback callback) {
+		if (executor == null) {
+			return false;
+		}
+		if (!pending.compareAndSet(false, true)) {
+			LOGGER.debug("cluster-node {}: replication to {} still pending!", tag, buddyNodeId);
+			return false;
+		}
+		try {
+			executor.execute(() -> {
+				try {
+					replicateConnections(buddyNodeId, buddyContext, expirationNanos, timeoutNanos, callback);
+				} catch (RuntimeException ex) {
+					LOGGER.warn("cluster-node {}: replication to {} failed!", tag, buddyNodeId, ex);
+				} finally {
+					pending.set(false);
+				}
+			});
+			return true;
+		} catch (RejectedExecutionException ex) {
+			pending.set(false);
+			return false;
+		}
+	}
+
+	/**
+	 * Replicate connections of this node to the buddy node.
+	 * <p>
+	 * Executed by the executor of the replication. Blocks until the
+	 * connections are exported or the timeout expires.
+	 *
+	 * @param buddyNodeId node-id of buddy node
+	 * @param buddyContext endpoint context of buddy node
+	 * @param expirationNanos replica expiration in nanoseconds
+	 * @param timeoutNanos timeout in nanoseconds to export the connections
+	 * @param callback message callback
+	 */
+	private void replicateConnections(int buddyNodeId, EndpointContext buddyContext, long expirationNanos,
+			long timeoutNanos, MessageCallback callback) {
+		long now = ClockUtil.nanoRealtime();
+		long sinceNanos = lastReplicationNanos;
+		Integer previousBuddy = buddy;
+		if (previousBuddy == null || previousBuddy != buddyNodeId) {
+			LOGGER.info("cluster-node {}: replicate connections to new buddy {}", tag, buddyNodeId);
+			if (previousBuddy != null && !replicated.isEmpty()) {
+				send(removedMessages(replicated), this.buddyContext, callback);
+			}
+			replicated.clear();
+			sinceNanos = now - expirationNanos;
+		}
+		final Batch batch = new Batch(MAGIC_REPLICA);
+		final Set<ConnectionId> alive = ConcurrentHashMap.newKeySet();
+		Future<Void> export = clusterConnector.startExportConnections(sinceNanos, new ConnectionExporter() {
+
+			@Override
+			public void export(int node, ConnectionId cid, byte[] connection) {
+				if (node == nodeId) {
+					batch.add(cid, connection);
+					alive.add(cid);
+				}
+			}
+
+			@Override
+			public void unchanged(int node, ConnectionId cid) {
+				if (node == nodeId) {
+					alive.add(cid);
+				}
+			}
+		});
+		boolean complete = false;
+		try {
+			export.get(timeoutNanos, TimeUnit.NANOSECONDS);
+			complete = true;
+		} catch (InterruptedException e) {
+			export.cancel(false);
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException | TimeoutException e) {
+			export.cancel(false);
+			LOGGER.warn("cluster-node {}: replication to {} incomplete!", tag, buddyNodeId, e);
+		}
+		List<byte[]> messages = batch.close();
+		send(messages, buddyContext, callback);
+		if (complete) {
+			Set<ConnectionId> removed = new HashSet<>(replicated);
+			removed.removeAll(alive);
+			if (!removed.isEmpty()) {
+				send(removedMessages(removed), buddyContext, callback);
+				LOGGER.debug("cluster-node {}: {} removed connections reported to {}", tag, removed.size(),
+						buddyNodeId);
+			}
+			replicated.clear();
+			replicated.addAll(alive);
+			buddy = buddyNodeId;
+			this.buddyContext = buddyContext;
+			lastReplicationNanos = now;
+		} else {
+			replicated.addAll(alive);
+		}
+		if (batch.entries > 0) {
+			LOGGER.debug("cluster-node {}: {} connections replicated to {} in {} messages", tag, batch.entries,
+					buddyNodeId, messages.size());
+		}
+	}
+
+	/**
+	 * Create messages for removed connections.
+	 *
+	 * @param cids connection ids of removed connections
+	 * @return list of messages
+	 */
+	private List<byte[]> removedMessages(Collection<ConnectionId> cids) {
+		Batch batch = new Batch(MAGIC_REPLICA_REMOVED);
+		for (ConnectionId cid : cids) {
+			batch.add(cid, null);
+		}
+		return batch.close();
+	}
+
+	/**
+	 * Send messages.
+	 *
+	 * @param messages messages to send
+	 * @param context endpoint context of destination
+	 * @param callback message callback
+	 */
+	private void send(List<byte[]> messages, EndpointContext context, MessageCallback callback) {
+		for (byte[] message : messages) {
+			RawData outbound = RawData.outbound(message, context, callback, false);
+			clusterConnector.getClusterManagementConnector().send(outbound);
+		}
+	}
+
+	/**
+	 * Check, if no replication is pending.
+	 *
+	 * @return {@code true}, if no replication is pending, {@code false},
+	 *         otherwise.
+	 */
+	boolean isIdle() {
+		return !pending.get();
+	}
+
+	/**
+	 * Reset buddy. The next replication sends all connections.
+	 */
+	void resetBuddy() {
+		buddy = null;
+	}
+
+	/**
+	 * Get number of replicas of origin node.
+	 *
+	 * @param originNodeId node-id of origin node
+	 * @return number of replicas
+	 */
+	int getReplicas(int originNodeId) {
+		ConcurrentMap<ConnectionId, Replica> originReplicas = replicas.get(originNodeId);
+		return originReplicas == null ? 0 : originReplicas.size();
+	}
+
+	/**
+	 * Receive replica message.
+	 *
+	 * @param data replica message including the message type
+	 *            {@link #MAGIC_REPLICA} or {@link #MAGIC_REPLICA_REMOVED}
+	 */
+	void receive(byte[] data) {
+		long now = ClockUtil.nanoRealtime();
+		DatagramReader reader = new DatagramReader(data);
+		try {
+			byte type = (byte) reader.read(Byte.SIZE);
+			int origin = reader.read(Integer.SIZE);
+			if (origin == nodeId) {
+				return;
+			}
+			if (type == MAGIC_REPLICA_REMOVED) {
+				ConcurrentMap<ConnectionId, Replica> originReplicas = replicas.get(origin);
+				while (reader.bytesAvailable()) {
+					ConnectionId cid = new ConnectionId(reader.readVarBytes(Byte.SIZE));
+					if (originReplicas != null) {
+						originReplicas.remove(cid);
+					}
+				}
+				return;
+			}
+			ConcurrentMap<ConnectionId, Replica> originReplicas = replicas.get(origin);
+			if (originReplicas == null) {
+				originReplicas = new ConcurrentHashMap<>();
+				ConcurrentMap<ConnectionId, Replica> previous = replicas.putIfAbsent(origin, originReplicas);
+				if (previous != null) {
+					originReplicas = previous;
+				}
+			}
+			while (reader.bytesAvailable()) {
+				ConnectionId cid = new ConnectionId(reader.readVarBytes(Byte.SIZE));
+				byte[] connection = reader.readVarBytes(Short.SIZE);
+				originReplicas.put(cid, new Replica(connection, now));
+			}
+		} catch (IllegalArgumentException ex) {
+			LOGGER.info("cluster-node {}: malformed replica message!", tag, ex);
+		}
+	}
+
+	/**
+	 * Take over the replicated connections of a lost node.
+	 *
+	 * @param lostNodeId node-id of lost node
+	 * @return number of imported connections
+	 */
+	int takeOver(int lostNodeId) {
+		ConcurrentMap<ConnectionId, Replica> originReplicas = replicas.remove(lostNodeId);
+		if (originReplicas == null) {
+			return 0;
+		}
+		int count = 0;
+		for (Replica replica : originReplicas.values()) {
+			if (clusterConnector.importConnection(replica.connection, WRITE_SEQUENCE_NUMBER_GAP)) {
+				++count;
+			}
+		}
+		LOGGER.info("cluster-node {}: took over {} of {} connections from lost node {}", tag, count,
+				originReplicas.size(), lostNodeId);
+		return count;
+	}
+
+	/**
+	 * Remove expired replicas.
+	 *
+	 * @param expirationNanos replica expiration in nanoseconds
+	 */
+	void expire(long expirationNanos) {
+		long expireTimeNanos = ClockUtil.nanoRealtime() - expirationNanos;
+		for (ConcurrentMap<ConnectionId, Replica> originReplicas : replicas.values()) {
+			Iterator<Replica> iterator = originReplicas.values().iterator();
+			while (iterator.hasNext()) {
+				if (expireTimeNanos - iterator.next().receiveNanos > 0) {
+					iterator.remove();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Replicated connection.
+	 */
+	private static class Replica {
+
+		/**
+		 * Serialized connection.
+		 */
+		private final byte[] connection;
+		/**
+		 * Realtime in nanoseconds of receiving the replica.
+		 */
+		private final long receiveNanos;
+
+		private Replica(byte[] connection, long receiveNanos) {
+			this.connection = connection;
+			this.receiveNanos = receiveNanos;
+		}
+	}
+
+	/**
+	 * Aggregates replicas or connection ids of removed connections into
+	 * messages.
+	 * <p>
+	 * The connections are exported concurrently, therefore the access is
+	 * synchronized.
+	 */
+	private class Batch {
+
+		/**
+		 * Message type. {@link #MAGIC_REPLICA} or
+		 * {@link #MAGIC_REPLICA_REMOVED}.
+		 */
+		private final byte type;
+		/**
+		 * Completed messages.
+		 */
+		private final List<byte[]> messages = new ArrayList<>();
+		/**
+		 * Writer for current message.
+		 */
+		private final DatagramWriter writer = new DatagramWriter(MAX_MESSAGE_SIZE, true);
+		/**
+		 * Number of entries.
+		 */
+		private int entries;
+		/**
+		 * Indicates, that the batch is closed. Entries added later are
+		 * dropped.
+		 */
+		private boolean closed;
+
+		/**
+		 * Create batch.
+		 *
+		 * @param type message type
+		 */
+		private Batch(byte type) {
+			this.type = type;
+		}
+
+		/**
+		 * Add entry.
+		 *
+		 * @param cid connection id
+		 * @param connection serialized connection. {@code null} for
+		 *            {@link #MAGIC_REPLICA_REMOVED}.
+		 */
+		private synchronized void add(ConnectionId cid, byte[] connection) {
+			if (closed) {
+				return;
+			}
+			int size = 1 + cid.length();
+			if (connection != null) {
+				size += 2 + connection.length;
+			}
+			if (writer.size() > 0 && writer.size() + size > MAX_MESSAGE_SIZE) {
+				messages.add(writer.toByteArray());
+			}
+			if (writer.size() == 0) {
+				writer.writeByte(type);
+				writer.write(nodeId, Integer.SIZE);
+			}
+			writer.writeVarBytes(cid, Byte.SIZE);
+			if (connection != null) {
+				writer.writeVarBytes(connection, Short.SIZE);
+			}
+			++entries;
+		}
+
+		/**
+		 * Close batch.
+		 *
+		 * @return list of messages
+		 */
+		private synchronized List<byte[]> close() {
+			closed = true;
+			if (writer.size() > HEADER_SIZE) {
+				messages.add(writer.toByteArray());
+			}
+			return messages;
+		}
+	}
+}
@@ -17,7 +17,9 @@ package org.eclipse.californium.cluster;
 
 import java.net.InetSocketAddress;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.Random;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -39,8 +41,13 @@ import org.eclipse.californium.elements.RawDataChannel;
 import org.eclipse.californium.elements.UdpEndpointContextMatcher;
 import org.eclipse.californium.elements.config.Configuration;
 import org.eclipse.californium.elements.util.ClockUtil;
+import org.eclipse.californium.elements.util.DatagramReader;
+import org.eclipse.californium.elements.util.DatagramWriter;
 import org.eclipse.californium.scandium.DtlsClusterConnector.ClusterNodesProvider;
 import org.eclipse.californium.scandium.DtlsManagedClusterConnector;
+import org.eclipse.californium.scandium.dtls.ConnectionId;
+import org.eclipse.californium.scandium.dtls.ConsistentHashShardMap;
+import org.eclipse.californium.scandium.dtls.ShardConnectionIdGenerator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -58,6 +65,15 @@ import org.slf4j.LoggerFactory;
  * refreshed and the receiving node will not send a ping message to refresh that
  * node until the refresh interval expires.
  * 
+ * If the {@link ShardConnectionIdGenerator} is used, the manager updates the
+ * shard map on changes of the cluster nodes and migrates the connections of
+ * moved shards to their new nodes using the encrypted cluster management
+ * connector.
+ * 
+ * If {@link DtlsClusterManagerConfig#REPLICATION_INTERVAL} is enabled in
+ * addition, the established connections are replicated to a buddy node, which
+ * takes them over, if this node expires.
+ * 
  * @since 2.5
  */
 public class DtlsClusterManager implements Readiness {
@@ -72,6 +88,19 @@ public class DtlsClusterManager implements Readiness {
 	 * Type of cluster management node-id response.
 	 */
 	private static final byte MAGIC_ID_PONG = (byte) 60;
+	/**
+	 * Type of cluster management message with a migrated connection.
+	 * 
+	 * @since 4.0
+	 */
+	private static final byte MAGIC_CONNECTION = (byte) 58;
+	/**
+	 * Type of cluster management message to acknowledge the import of a
+	 * migrated connection.
+	 * 
+	 * @since 4.0
+	 */
+	private static final byte MAGIC_CONNECTION_ACK = (byte) 56;
 	/**
 	 * Size of ping/pong message.
 	 */
@@ -109,6 +138,27 @@ public class DtlsClusterManager implements Readiness {
 	 * Configuration for cluster manager.
 	 */
 	private final Configuration configuration;
+	/**
+	 * Shard map of {@link ShardConnectionIdGenerator}. {@code null}, if not
+	 * used.
+	 * 
+	 * @since 4.0
+	 */
+	private final ConsistentHashShardMap shardMap;
+	/**
+	 * Replicator for connections. {@code null}, if replication is not
+	 * enabled.
+	 * 
+	 * @since 4.0
+	 */
+	private final ConnectionReplicator replicator;
+	/**
+	 * Connection ids of migrated connections, which import is not
+	 * acknowledged.
+	 * 
+	 * @since 4.0
+	 */
+	private final Set<ConnectionId> pendingExports = ConcurrentHashMap.newKeySet();
 
 	/**
 	 * Random for order of messages.
@@ -172,6 +222,7 @@ public class DtlsClusterManager implements Readiness {
 		this.nodesDiscoverer = new NodesDiscoverer();
 		this.clusterConnector.setClusterNodesProvider(this.nodesDiscoverer);
 		this.configuration = configuration;
+		this.shardMap = clusterConnector.getShardMap();
 		String protocol = clusterConnector.getManagementProtocol();
 		this.tag = clusterConnector.getNodeID() + " (" + protocol + ")";
 		this.secure = DtlsManagedClusterConnector.PROTOCOL_MANAGEMENT_DTLS.equals(protocol)
@@ -183,6 +234,16 @@ public class DtlsClusterManager implements Readiness {
 				processMessageFromClusterManagement(clusterData);
 			}
 		});
+		if (configuration.get(DtlsClusterManagerConfig.REPLICATION_INTERVAL, TimeUnit.MILLISECONDS) > 0) {
+			if (this.secure && this.shardMap != null) {
+				this.replicator = new ConnectionReplicator(clusterConnector, tag);
+			} else {
+				LOGGER.warn("cluster-node {}: replication requires encryption and shards!", tag);
+				this.replicator = null;
+			}
+		} else {
+			this.replicator = null;
+		}
 		if (this.secure) {
 			this.matcher = new PrincipalEndpointContextMatcher();
 		} else {
@@ -217,6 +278,9 @@ public class DtlsClusterManager implements Readiness {
 		if (schedule != null) {
 			return;
 		}
+		if (replicator != null) {
+			replicator.start();
+		}
 		long intervalMillis = configuration.get(DtlsClusterManagerConfig.TIMER_INTERVAL, TimeUnit.MILLISECONDS);
 		long initialDelay = Math.min(intervalMillis / 2, 100);
 		schedule = timer.scheduleWithFixedDelay(new Runnable() {
@@ -242,6 +306,9 @@ public class DtlsClusterManager implements Readiness {
 			schedule.cancel(false);
 			schedule = null;
 		}
+		if (replicator != null) {
+			replicator.stop();
+		}
 	}
 
 	private ClusterState checkState(int size, ClusterState foreignState) {
@@ -271,6 +338,28 @@ public class DtlsClusterManager implements Readiness {
 		final byte[] data = clusterData.getBytes();
 
 		final byte type = data[0];
+		if (type == MAGIC_CONNECTION) {
+			if (secure && shardMap != null && clusterData.getSize() > 1) {
+				importConnection(clusterData);
+			}
+			return;
+		}
+		if (type == MAGIC_CONNECTION_ACK) {
+			if (secure && shardMap != null && clusterData.getSize() > 1) {
+				DatagramReader reader = new DatagramReader(data);
+				reader.skip(Byte.SIZE);
+				ConnectionId cid = new ConnectionId(reader.readVarBytes(Byte.SIZE));
+				pendingExports.remove(cid);
+				clusterConnector.removeExportedConnection(cid);
+			}
+			return;
+		}
+		if (type == ConnectionReplicator.MAGIC_REPLICA || type == ConnectionReplicator.MAGIC_REPLICA_REMOVED) {
+			if (replicator != null) {
+				replicator.receive(data);
+			}
+			return;
+		}
 		if (clusterData.getSize() < 6) {
 			// nothing to do
 			return;
@@ -285,6 +374,7 @@ public class DtlsClusterManager implements Readiness {
 				count = nodesDiscoverer.update(foreignNodeId, router, clusterData.getEndpointContext(), matcher,
 						foreignState);
 				LOGGER.info("cluster-node {}: >update node {}/{} to {}", tag, foreignNodeId, foreignState, router);
+				nodesDiscoverer.rebalance();
 				// reset packet size
 				state = checkState(count + 1, foreignState);
 				encodePingPong(data, MAGIC_ID_PONG, nodeId, state);
@@ -300,6 +390,7 @@ public class DtlsClusterManager implements Readiness {
 					foreignState);
 			state = checkState(count + 1, foreignState);
 			LOGGER.info("cluster-node {}: <update node {}/{} to {}", tag, foreignNodeId, foreignState, router);
+			nodesDiscoverer.rebalance();
 		}
 		if (!ready && state.isUp()) {
 			count = nodesDiscoverer.up() + 1;
@@ -314,6 +405,40 @@ public class DtlsClusterManager implements Readiness {
 		}
 	}
 
+	/**
+	 * Import migrated connection and acknowledge the import.
+	 * <p>
+	 * Message format: {@link #MAGIC_CONNECTION}, connection id (var. bytes,
+	 * 1 byte length), serialized connection. Acknowledge format:
+	 * {@link #MAGIC_CONNECTION_ACK}, connection id (var. bytes, 1 byte
+	 * length).
+	 * <p>
+	 * Repeated imports of an already imported connection are acknowledged
+	 * again, the previous acknowledge may got lost.
+	 * 
+	 * @param clusterData cluster management data with migrated connection
+	 * @since 4.0
+	 */
+	private void importConnection(RawData clusterData) {
+		try {
+			DatagramReader reader = new DatagramReader(clusterData.getBytes());
+			reader.skip(Byte.SIZE);
+			byte[] cid = reader.readVarBytes(Byte.SIZE);
+			byte[] connection = reader.readBytesLeft();
+			if (clusterConnector.importConnection(connection)
+					|| clusterConnector.hasConnection(new ConnectionId(cid))) {
+				DatagramWriter writer = new DatagramWriter(cid.length + 2);
+				writer.writeByte(MAGIC_CONNECTION_ACK);
+				writer.writeVarBytes(cid, Byte.SIZE);
+				RawData outbound = RawData.outbound(writer.toByteArray(), clusterData.getEndpointContext(),
+						messageLoggingCallback, false);
+				clusterConnector.getClusterManagementConnector().send(outbound);
+			}
+		} catch (IllegalArgumentException ex) {
+			LOGGER.info("cluster-node {}: malformed connection, {}", tag, ex.getMessage());
+		}
+	}
+
 	/**
 	 * Decode node-id from {@link #MAGIC_ID_PING} or {@link #MAGIC_ID_PING}
 	 * messages.
@@ -408,6 +533,18 @@ public class DtlsClusterManager implements Readiness {
 		 * Nanos of next discover operation.
 		 */
 		private volatile long nextDiscover;
+		/**
+		 * Nanos of next replication.
+		 * 
+		 * @since 4.0
+		 */
+		private long nextReplication;
+		/**
+		 * Nanos of next export of not acknowledged migrated connections.
+		 * 
+		 * @since 4.0
+		 */
+		private volatile long nextExport;
 
 		/**
 		 * Create discover manager.
@@ -478,6 +615,60 @@ public class DtlsClusterManager implements Readiness {
 			nodesByAddress.remove(node.address, node);
 		}
 
+		/**
+		 * Update shard map with current nodes and migrate connections, which
+		 * shards are moved to other nodes.
+		 * <p>
+		 * Migrating connections requires an encrypted cluster management
+		 * connector, otherwise the connections of moved shards are lost.
+		 * 
+		 * @since 4.0
+		 */
+		public void rebalance() {
+			if (shardMap == null) {
+				return;
+			}
+			Set<Integer> nodes = new HashSet<>(nodesById.keySet());
+			nodes.add(nodeId);
+			if (shardMap.setNodes(nodes)) {
+				LOGGER.info("cluster-node {}: {} nodes, {} shards", tag, nodes.size(),
+						shardMap.getShards(nodeId).length);
+				if (secure) {
+					export();
+				} else {
+					LOGGER.warn("cluster-node {}: connections are not migrated without encryption!", tag);
+				}
+			}
+		}
+
+		/**
+		 * Export connections, which are assigned to other nodes.
+		 * <p>
+		 * The connections are removed, when the other node acknowledges the
+		 * import. Until then, the export is repeated every
+		 * {@link DtlsClusterManagerConfig#REFRESH_INTERVAL}.
+		 * 
+		 * @since 4.0
+		 */
+		private void export() {
+			pendingExports.clear();
+			nextExport = ClockUtil.nanoRealtime()
+					+ configuration.get(DtlsClusterManagerConfig.REFRESH_INTERVAL, TimeUnit.NANOSECONDS);
+			clusterConnector.startExportForeignConnections((node, cid, connection) -> {
+				Node destination = nodesById.get(node);
+				pendingExports.add(cid);
+				if (destination != null) {
+					DatagramWriter writer = new DatagramWriter(connection.length + cid.length() + 2);
+					writer.writeByte(MAGIC_CONNECTION);
+					writer.writeVarBytes(cid, Byte.SIZE);
+					writer.writeBytes(connection);
+					RawData outbound = RawData.outbound(writer.toByteArray(), destination.context,
+							messageLoggingCallback, false);
+					clusterConnector.getClusterManagementConnector().send(outbound);
+				}
+			});
+		}
+
 		/**
 		 * Process node refreshing and discovering.
 		 * 
@@ -489,17 +680,49 @@ public class DtlsClusterManager implements Readiness {
 					long now = ClockUtil.nanoRealtime();
 					ClusterState state = checkState(nodesById.size() + 1, null);
 					encodePingPong(discoverBuffer, MAGIC_ID_PING, nodeId, state);
-					boolean discover = refresh(now, clusterManagementConnector) || nodesById.isEmpty()
-							|| nextDiscover - now <= 0;
+					boolean expired = refresh(now, clusterManagementConnector);
+					if (expired) {
+						rebalance();
+					} else if (secure && !pendingExports.isEmpty() && nextExport - now <= 0) {
+						export();
+					}
+					boolean discover = expired || nodesById.isEmpty() || nextDiscover - now <= 0;
 					if (discover && clusterManagementConnector.isRunning()) {
 						discover(clusterManagementConnector);
 						nextDiscover = ClockUtil.nanoRealtime()
 								+ configuration.get(DtlsClusterManagerConfig.DISCOVER_INTERVAL, TimeUnit.NANOSECONDS);
 					}
+					if (replicator != null && nextReplication - now <= 0 && clusterManagementConnector.isRunning()) {
+						replicate();
+						nextReplication = ClockUtil.nanoRealtime() + configuration
+								.get(DtlsClusterManagerConfig.REPLICATION_INTERVAL, TimeUnit.NANOSECONDS);
+					}
 				}
 			}
 		}
 
+		/**
+		 * Start to replicate connections to buddy node and expire replicas of
+		 * other nodes.
+		 * <p>
+		 * The replication is executed asynchronously.
+		 * 
+		 * @see ConnectionReplicator#selectBuddy(int, java.util.Collection)
+		 * @since 4.0
+		 */
+		private void replicate() {
+			long expiration = configuration.get(DtlsClusterManagerConfig.REPLICA_EXPIRATION, TimeUnit.NANOSECONDS);
+			replicator.expire(expiration);
+			Integer buddyNodeId = ConnectionReplicator.selectBuddy(nodeId, nodesById.keySet());
+			Node buddy = buddyNodeId == null ? null : nodesById.get(buddyNodeId);
+			if (buddy == null || buddy.context == null) {
+				replicator.resetBuddy();
+			} else {
+				long timeout = configuration.get(DtlsClusterManagerConfig.REPLICATION_INTERVAL, TimeUnit.NANOSECONDS);
+				replicator.replicate(buddy.nodeId, buddy.context, expiration, timeout, messageLoggingCallback);
+			}
+		}
+
 		/**
 		 * Flush nodes.
 		 * 
@@ -552,6 +775,9 @@ public class DtlsClusterManager implements Readiness {
 					// self, not intended to be included
 				} else if (node.isBefore(expireTimeNanos)) {
 					remove(node);
+					if (replicator != null) {
+						replicator.takeOver(node.nodeId);
+					}
 					expired = true;
 				} else if (node.isBefore(freshTimeNanos)) {
 					nodes.add(node);
@@ -27,6 +27,10 @@ import java.util.concurrent.TimeUnit;
 import javax.net.ssl.SSLContext;
 
 import org.eclipse.californium.core.CoapServer;
+import org.eclipse.californium.core.server.resources.MetricsResource;
+import org.eclipse.californium.elements.metrics.MetricsCollector;
+import org.eclipse.californium.elements.metrics.MetricsSource;
+import org.eclipse.californium.elements.metrics.PrometheusTextExporter;
 import org.eclipse.californium.elements.util.ClockUtil;
 import org.eclipse.californium.elements.util.PersistentComponentUtil;
 import org.slf4j.Logger;
@@ -45,6 +49,9 @@ import com.sun.net.httpserver.HttpsServer;
  * <dl>
  * <dt>{@code http://<pod>:8080/ready}</dt>
  * <dd>service indicating the readiness of the assigned dtls connector.</dd>
+ * <dt>{@code http://<pod>:8080/metrics}</dt>
+ * <dd>metrics of the assigned CoAP servers in Prometheus text format (since
+ * 4.0).</dd>
  * <dt>{@code https://<pod>:5884/restore}</dt>
  * <dd>service to download the connections from the assigned dtls
  * connector.</dd>
@@ -370,6 +377,7 @@ public class JdkMonitorService {
 				server = HttpServer.create(localAddress, 10);
 				server.createContext("/alive", new AliveHandler());
 				server.createContext("/ready", new ReadyHandler());
+				server.createContext("/metrics", new MetricsHandler());
 				// Thread control is given to executor service.
 				server.setExecutor(executor);
 				server.start();
@@ -475,6 +483,40 @@ public class JdkMonitorService {
 		}
 	}
 
+	/**
+	 * Handler for metrics.
+	 * 
+	 * Exports the {@link CoapServer#getMetricsRegistry()} of all added
+	 * {@link CoapServer}s.
+	 * 
+	 * @since 4.0
+	 */
+	class MetricsHandler implements HttpHandler {
+
+		private final PrometheusTextExporter exporter = new PrometheusTextExporter(MetricsResource.METRICS_PREFIX);
+
+		@Override
+		public void handle(HttpExchange exchange) throws IOException {
+			LOGGER.debug("request: {} {}", exchange.getRequestMethod(), exchange.getRequestURI());
+			byte[] response = exporter.exportAsBytes(new MetricsSource() {
+
+				@Override
+				public void collectMetrics(MetricsCollector collector) {
+					for (CoapServer server : coapServers) {
+						server.getMetricsRegistry().collectMetrics(collector);
+					}
+				}
+			});
+			exchange.getResponseHeaders().set("Content-Type", PrometheusTextExporter.CONTENT_TYPE);
+			exchange.sendResponseHeaders(200, response.length);
+			try (OutputStream os = exchange.getResponseBody()) {
+				os.write(response);
+			} catch (IOException e) {
+				LOGGER.warn("write response to {} failed!", exchange.getRemoteAddress(), e);
+			}
+		}
+	}
+
 	class AliveHandler implements HttpHandler {
 
 		@Override
@@ -83,6 +83,31 @@ public final class DtlsClusterManagerConfig {
 			"Cluster-Manager time to expire not responding nodes.",
 			DEFAULT_TIMER_INTERVAL_MILLIS + DEFAULT_REFRESH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
 
+	/**
+	 * Interval to replicate the established connections to the buddy node.
+	 * 
+	 * The buddy node is the node with the next higher node-id, or the node
+	 * with the lowest node-id, if no higher one exists. If a node expires, the
+	 * buddy node takes over the replicated connections. Only connections with
+	 * traffic since the last replication are replicated. Requires an encrypted
+	 * cluster management connector and the shard connection id generator.
+	 * {@code 0} to disable the replication.
+	 * 
+	 * @see DtlsConfig#DTLS_CONNECTION_ID_SHARDS
+	 * @since 4.0
+	 */
+	public static final TimeDefinition REPLICATION_INTERVAL = new TimeDefinition(MODULE + "REPLICATION_INTERVAL",
+			"Cluster-Manager interval to replicate connections to the buddy node. 0 to disable replication.", 0L,
+			TimeUnit.MILLISECONDS);
+	/**
+	 * Time to expire replicated connections, if they are not refreshed by the
+	 * origin node.
+	 * 
+	 * @since 4.0
+	 */
+	public static final TimeDefinition REPLICA_EXPIRATION = new TimeDefinition(MODULE + "REPLICA_EXPIRATION",
+			"Cluster-Manager time to expire replicated connections.", 24L, TimeUnit.HOURS);
+
 	public static final ModuleDefinitionsProvider DEFINITIONS = new ModuleDefinitionsProvider() {
 
 		@Override
@@ -98,6 +123,8 @@ public final class DtlsClusterManagerConfig {
 			config.set(DISCOVER_INTERVAL, DEFAULT_DISCOVER_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
 			config.set(EXPIRATION_TIME, DEFAULT_TIMER_INTERVAL_MILLIS + DEFAULT_REFRESH_INTERVAL_MILLIS,
 					TimeUnit.MILLISECONDS);
+			config.set(REPLICATION_INTERVAL, 0, TimeUnit.MILLISECONDS);
+			config.set(REPLICA_EXPIRATION, 24, TimeUnit.HOURS);
 
 		}
 	};
@@ -0,0 +1,253 @@
+/********************************************************************************
+ * Copyright (c) 2025 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v1.0 which is available at
+ * https://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ ********************************************************************************/
+package org.eclipse.californium.cluster;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.californium.elements.AddressEndpointContext;
+import org.eclipse.californium.elements.Connector;
+import org.eclipse.californium.elements.EndpointContext;
+import org.eclipse.californium.elements.RawData;
+import org.eclipse.californium.elements.category.Small;
+import org.eclipse.californium.elements.rule.TestNameLoggerRule;
+import org.eclipse.californium.elements.util.ClockUtil;
+import org.eclipse.californium.scandium.DtlsClusterConnector.ConnectionExporter;
+import org.eclipse.californium.scandium.DtlsManagedClusterConnector;
+import org.eclipse.californium.scandium.dtls.ConnectionId;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Test for replicating connections to a buddy node.
+ */
+@Category(Small.class)
+public class ConnectionReplicatorTest {
+
+	@Rule
+	public TestNameLoggerRule names = new TestNameLoggerRule();
+
+	private static final long TIMEOUT_MILLIS = 2000;
+	private static final long EXPIRATION_NANOS = TimeUnit.MINUTES.toNanos(10);
+	private static final long TIMEOUT_NANOS = TimeUnit.MILLISECONDS.toNanos(200);
+	private static final int NODE_ID_1 = 1;
+	private static final int NODE_ID_2 = 2;
+	private static final int NODE_ID_3 = 3;
+
+	private static final ConnectionId CID_1 = new ConnectionId(new byte[] { 1, 1, 0, 0, 0, 1 });
+	private static final ConnectionId CID_2 = new ConnectionId(new byte[] { 1, 1, 0, 0, 0, 2 });
+
+	private static final EndpointContext BUDDY_2 = new AddressEndpointContext(new InetSocketAddress(5002));
+	private static final EndpointContext BUDDY_3 = new AddressEndpointContext(new InetSocketAddress(5003));
+
+	/**
+	 * Connections of origin node with last message realtime in nanoseconds.
+	 */
+	private final Map<ConnectionId, Long> connections = new ConcurrentHashMap<>();
+	/**
+	 * Messages sent by origin node.
+	 */
+	private final BlockingQueue<RawData> sent = new LinkedBlockingQueue<>();
+
+	private DtlsManagedClusterConnector originConnector;
+	private DtlsManagedClusterConnector buddyConnector;
+	private ConnectionReplicator origin;
+	private ConnectionReplicator buddy;
+	private volatile Future<Void> exportResult;
+
+	@Before
+	public void setup() {
+		exportResult = CompletableFuture.completedFuture(null);
+		Connector managementConnector = mock(Connector.class);
+		doAnswer((invocation) -> {
+			sent.add(invocation.getArgument(0));
+			return null;
+		}).when(managementConnector).send(any(RawData.class));
+		originConnector = mock(DtlsManagedClusterConnector.class);
+		when(originConnector.getNodeID()).thenReturn(NODE_ID_1);
+		when(originConnector.getClusterManagementConnector()).thenReturn(managementConnector);
+		doAnswer((invocation) -> {
+			long sinceNanos = invocation.getArgument(0);
+			ConnectionExporter exporter = invocation.getArgument(1);
+			for (Map.Entry<ConnectionId, Long> connection : connections.entrySet()) {
+				if (connection.getValue() - sinceNanos >= 0) {
+					exporter.export(NODE_ID_1, connection.getKey(), connection.getKey().getBytes());
+				} else {
+					exporter.unchanged(NODE_ID_1, connection.getKey());
+				}
+			}
+			return exportResult;
+		}).when(originConnector).startExportConnections(anyLong(), any(ConnectionExporter.class));
+
+		buddyConnector = mock(DtlsManagedClusterConnector.class);
+		when(buddyConnector.getNodeID()).thenReturn(NODE_ID_2);
+		when(buddyConnector.importConnection(any(byte[].class), anyLong())).thenReturn(true);
+
+		origin = new ConnectionReplicator(originConnector, "origin");
+		buddy = new ConnectionReplicator(buddyConnector, "buddy");
+		origin.start();
+	}
+
+	@After
+	public void tearDown() {
+		origin.stop();
+	}
+
+	@Test
+	public void testSelectBuddy() {
+		assertThat(ConnectionReplicator.selectBuddy(NODE_ID_2, Arrays.asList(NODE_ID_1, NODE_ID_3, 5)),
+				is(NODE_ID_3));
+		assertThat(ConnectionReplicator.selectBuddy(NODE_ID_2, Arrays.asList(5, NODE_ID_3, NODE_ID_2)),
+				is(NODE_ID_3));
+		assertThat(ConnectionReplicator.selectBuddy(5, Arrays.asList(NODE_ID_3, NODE_ID_1)), is(NODE_ID_1));
+		assertThat(ConnectionReplicator.selectBuddy(NODE_ID_1, Collections.singleton(NODE_ID_1)), is(nullValue()));
+		assertThat(ConnectionReplicator.selectBuddy(NODE_ID_1, Collections.<Integer> emptyList()), is(nullValue()));
+	}
+
+	@Test
+	public void testReplicateAndTakeOver() throws Exception {
+		addConnection(CID_1);
+		addConnection(CID_2);
+
+		assertThat(origin.replicate(NODE_ID_2, BUDDY_2, EXPIRATION_NANOS, TIMEOUT_NANOS, null), is(true));
+		RawData message = receive(BUDDY_2);
+		assertThat(message.getBytes()[0], is(ConnectionReplicator.MAGIC_REPLICA));
+		assertThat(buddy.getReplicas(NODE_ID_1), is(2));
+
+		assertThat(buddy.takeOver(NODE_ID_1), is(2));
+		verify(buddyConnector).importConnection(eq(CID_1.getBytes()), anyLong());
+		verify(buddyConnector).importConnection(eq(CID_2.getBytes()), anyLong());
+		assertThat(buddy.getReplicas(NODE_ID_1), is(0));
+		assertThat(buddy.takeOver(NODE_ID_1), is(0));
+	}
+
+	@Test
+	public void testRemovedConnectionIsNotTakenOver() throws Exception {
+		addConnection(CID_1);
+		addConnection(CID_2);
+
+		assertThat(origin.replicate(NODE_ID_2, BUDDY_2, EXPIRATION_NANOS, TIMEOUT_NANOS, null), is(true));
+		receive(BUDDY_2);
+		assertThat(buddy.getReplicas(NODE_ID_1), is(2));
+		awaitNotPending();
+
+		connections.remove(CID_1);
+		assertThat(origin.replicate(NODE_ID_2, BUDDY_2, EXPIRATION_NANOS, TIMEOUT_NANOS, null), is(true));
+		RawData message = receive(BUDDY_2);
+		assertThat(message.getBytes()[0], is(ConnectionReplicator.MAGIC_REPLICA_REMOVED));
+		assertThat(buddy.getReplicas(NODE_ID_1), is(1));
+
+		assertThat(buddy.takeOver(NODE_ID_1), is(1));
+		verify(buddyConnector, never()).importConnection(eq(CID_1.getBytes()), anyLong());
+		verify(buddyConnector).importConnection(eq(CID_2.getBytes()), anyLong());
+	}
+
+	@Test
+	public void testNewBuddyRemovesReplicasOfPreviousBuddy() throws Exception {
+		addConnection(CID_1);
+
+		assertThat(origin.replicate(NODE_ID_2, BUDDY_2, EXPIRATION_NANOS, TIMEOUT_NANOS, null), is(true));
+		receive(BUDDY_2);
+		assertThat(buddy.getReplicas(NODE_ID_1), is(1));
+		awaitNotPending();
+
+		assertThat(origin.replicate(NODE_ID_3, BUDDY_3, EXPIRATION_NANOS, TIMEOUT_NANOS, null), is(true));
+		RawData message = receive(BUDDY_2);
+		assertThat(message.getBytes()[0], is(ConnectionReplicator.MAGIC_REPLICA_REMOVED));
+		assertThat(buddy.getReplicas(NODE_ID_1), is(0));
+		message = sent.poll(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+		assertThat(message, is(notNullValue()));
+		assertThat(message.getEndpointContext(), is(BUDDY_3));
+		assertThat(message.getBytes()[0], is(ConnectionReplicator.MAGIC_REPLICA));
+	}
+
+	@Test
+	public void testReplicateDoesNotBlock() throws Exception {
+		addConnection(CID_1);
+		CompletableFuture<Void> export = new CompletableFuture<>();
+		exportResult = export;
+
+		long start = ClockUtil.nanoRealtime();
+		assertThat(origin.replicate(NODE_ID_2, BUDDY_2, EXPIRATION_NANOS, TimeUnit.SECONDS.toNanos(10), null),
+				is(true));
+		// pending replication is skipped
+		assertThat(origin.replicate(NODE_ID_2, BUDDY_2, EXPIRATION_NANOS, TimeUnit.SECONDS.toNanos(10), null),
+				is(false));
+		assertThat(ClockUtil.nanoRealtime() - start < TimeUnit.SECONDS.toNanos(5), is(true));
+		verify(originConnector, timeout(TIMEOUT_MILLIS).times(1)).startExportConnections(anyLong(), any(ConnectionExporter.class));
+
+		export.complete(null);
+		receive(BUDDY_2);
+		assertThat(buddy.getReplicas(NODE_ID_1), is(1));
+		awaitNotPending();
+	}
+
+	private void addConnection(ConnectionId cid) {
+		connections.put(cid, ClockUtil.nanoRealtime() - 1000);
+	}
+
+	/**
+	 * Receive message sent by origin node and pass it to the buddy.
+	 *
+	 * @param destination expected destination
+	 * @return received message
+	 * @throws InterruptedException if interrupted
+	 */
+	private RawData receive(EndpointContext destination) throws InterruptedException {
+		RawData message = sent.poll(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+		assertThat(message, is(notNullValue()));
+		assertThat(message.getEndpointContext(), is(destination));
+		buddy.receive(message.getBytes());
+		return message;
+	}
+
+	/**
+	 * Wait until the pending replication is finished.
+	 *
+	 * @throws InterruptedException if interrupted
+	 */
+	private void awaitNotPending() throws InterruptedException {
+		long end = ClockUtil.nanoRealtime() + TimeUnit.MILLISECONDS.toNanos(TIMEOUT_MILLIS);
+		while (!origin.isIdle()) {
+			assertThat("replication still pending", ClockUtil.nanoRealtime() - end < 0, is(true));
+			Thread.sleep(10);
+		}
+	}
+}
@@ -0,0 +1,284 @@
+/********************************************************************************
+ * Copyright (c) 2025 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v1.0 which is available at
+ * https://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ ********************************************************************************/
+package org.eclipse.californium.jfr;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.eclipse.californium.elements.metrics.EventRecorder;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Event recorder for the JDK Flight Recorder.
+ * <p>
+ * Registered as service for {@link EventRecorder}, therefore it's used, if
+ * this module is available on the classpath. The events are only committed, if
+ * a recording with the events is running, e.g. started by
+ * {@code -XX:StartFlightRecording} or {@code jcmd <pid> JFR.start}. All events
+ * are placed in the category {@code Californium}.
+ *
+ * <pre>
+ * jfr print --categories Californium recording.jfr
+ * </pre>
+ *
+ * @since 4.0
+ */
+public class JfrEventRecorder implements EventRecorder {
+
+	/**
+	 * Event types.
+	 */
+	private final Map<Type, EventType> types = new EnumMap<>(Type.class);
+
+	/**
+	 * Create event recorder for the JDK Flight Recorder.
+	 */
+	public JfrEventRecorder() {
+		types.put(Type.EXCHANGE, EventType.getEventType(ExchangeEvent.class));
+		types.put(Type.RETRANSMISSION, EventType.getEventType(RetransmissionEvent.class));
+		types.put(Type.BLOCKWISE_TRANSFER, EventType.getEventType(BlockwiseTransferEvent.class));
+		types.put(Type.HANDSHAKE_START, EventType.getEventType(HandshakeStartEvent.class));
+		types.put(Type.HANDSHAKE, EventType.getEventType(HandshakeEvent.class));
+		types.put(Type.CONNECTION_EVICTION, EventType.getEventType(ConnectionEvictionEvent.class));
+	}
+
+	@Override
+	public boolean isEnabled(Type type) {
+		return types.get(type).isEnabled();
+	}
+
+	@Override
+	public void recordExchange(boolean local, String peer, Supplier<String> request, String response,
+			long deliverNanos, long processNanos, long durationNanos) {
+		ExchangeEvent event = new ExchangeEvent();
+		if (event.shouldCommit()) {
+			event.local = local;
+			event.peer = peer;
+			event.request = request.get();
+			event.response = response;
+			event.deliverTime = deliverNanos;
+			event.processTime = processNanos;
+			event.exchangeTime = durationNanos;
+			event.commit();
+		}
+	}
+
+	@Override
+	public void recordRetransmission(String peer, String message, int mid, int retransmission, long timeoutMillis) {
+		RetransmissionEvent event = new RetransmissionEvent();
+		if (event.shouldCommit()) {
+			event.peer = peer;
+			event.message = message;
+			event.mid = mid;
+			event.retransmission = retransmission;
+			event.timeout = timeoutMillis;
+			event.commit();
+		}
+	}
+
+	@Override
+	public void recordBlockwiseTransfer(String transfer, boolean block1, int blocks, int blockSize,
+			long durationNanos) {
+		BlockwiseTransferEvent event = new BlockwiseTransferEvent();
+		if (event.shouldCommit()) {
+			event.transfer = transfer;
+			event.block1 = block1;
+			event.blocks = blocks;
+			event.blockSize = blockSize;
+			event.transferTime = durationNanos;
+			event.commit();
+		}
+	}
+
+	@Override
+	public void recordHandshakeStart(String peer, String handshake) {
+		HandshakeStartEvent event = new HandshakeStartEvent();
+		if (event.shouldCommit()) {
+			event.peer = peer;
+			event.handshake = handshake;
+			event.commit();
+		}
+	}
+
+	@Override
+	public void recordHandshake(String peer, String handshake, String cipherSuite, String failure,
+			long durationNanos) {
+		HandshakeEvent event = new HandshakeEvent();
+		if (event.shouldCommit()) {
+			event.peer = peer;
+			event.handshake = handshake;
+			event.cipherSuite = cipherSuite;
+			event.failure = failure;
+			event.handshakeTime = durationNanos;
+			event.commit();
+		}
+	}
+
+	@Override
+	public void recordConnectionEviction(String peer, String connectionId, boolean established, long idleNanos) {
+		ConnectionEvictionEvent event = new ConnectionEvictionEvent();
+		if (event.shouldCommit()) {
+			event.peer = peer;
+			event.connectionId = connectionId;
+			event.established = established;
+			event.idleTime = idleNanos;
+			event.commit();
+		}
+	}
+
+	@Name("org.eclipse.californium.CoapExchange")
+	@Label("CoAP Exchange")
+	@Description("CoAP exchange completed")
+	@Category({ "Californium", "CoAP" })
+	static final class ExchangeEvent extends Event {
+
+		@Label("Local")
+		@Description("Exchange of local origin (client)")
+		boolean local;
+
+		@Label("Peer")
+		String peer;
+
+		@Label("Request")
+		String request;
+
+		@Label("Response")
+		String response;
+
+		@Label("Deliver Time")
+		@Description("Time from receiving the request until delivering it to the resource")
+		@Timespan(Timespan.NANOSECONDS)
+		long deliverTime;
+
+		@Label("Process Time")
+		@Description("Time from delivering the request until the resource responds")
+		@Timespan(Timespan.NANOSECONDS)
+		long processTime;
+
+		@Label("Exchange Time")
+		@Description("Time from creating the exchange until it completes")
+		@Timespan(Timespan.NANOSECONDS)
+		long exchangeTime;
+	}
+
+	@Name("org.eclipse.californium.CoapRetransmission")
+	@Label("CoAP Retransmission")
+	@Category({ "Californium", "CoAP" })
+	static final class RetransmissionEvent extends Event {
+
+		@Label("Peer")
+		String peer;
+
+		@Label("Message")
+		String message;
+
+		@Label("MID")
+		int mid;
+
+		@Label("Retransmission")
+		int retransmission;
+
+		@Label("Timeout")
+		@Timespan(Timespan.MILLISECONDS)
+		long timeout;
+	}
+
+	@Name("org.eclipse.californium.CoapBlockwiseTransfer")
+	@Label("CoAP Blockwise Transfer")
+	@Description("CoAP blockwise transfer completed")
+	@Category({ "Californium", "CoAP" })
+	static final class BlockwiseTransferEvent extends Event {
+
+		@Label("Transfer")
+		String transfer;
+
+		@Label("Block1")
+		boolean block1;
+
+		@Label("Blocks")
+		int blocks;
+
+		@Label("Block Size")
+		@DataAmount
+		int blockSize;
+
+		@Label("Transfer Time")
+		@Timespan(Timespan.NANOSECONDS)
+		long transferTime;
+	}
+
+	@Name("org.eclipse.californium.DtlsHandshakeStart")
+	@Label("DTLS Handshake Start")
+	@Category({ "Californium", "DTLS" })
+	static final class HandshakeStartEvent extends Event {
+
+		@Label("Peer")
+		String peer;
+
+		@Label("Handshake")
+		String handshake;
+	}
+
+	@Name("org.eclipse.californium.DtlsHandshake")
+	@Label("DTLS Handshake")
+	@Description("DTLS handshake finished")
+	@Category({ "Californium", "DTLS" })
+	static final class HandshakeEvent extends Event {
+
+		@Label("Peer")
+		String peer;
+
+		@Label("Handshake")
+		String handshake;
+
+		@Label("Cipher Suite")
+		String cipherSuite;
+
+		@Label("Failure")
+		String failure;
+
+		@Label("Handshake Time")
+		@Timespan(Timespan.NANOSECONDS)
+		long handshakeTime;
+	}
+
+	@Name("org.eclipse.californium.DtlsConnectionEviction")
+	@Label("DTLS Connection Eviction")
+	@Category({ "Californium", "DTLS" })
+	static final class ConnectionEvictionEvent extends Event {
+
+		@Label("Peer")
+		String peer;
+
+		@Label("Connection ID")
+		String connectionId;
+
+		@Label("Established")
+		boolean established;
+
+		@Label("Idle Time")
+		@Timespan(Timespan.NANOSECONDS)
+		long idleTime;
+	}
+}
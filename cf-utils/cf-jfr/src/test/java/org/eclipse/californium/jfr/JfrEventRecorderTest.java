@@ -0,0 +1,107 @@
+/********************************************************************************
+ * Copyright (c) 2025 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v1.0 which is available at
+ * https://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ ********************************************************************************/
+package org.eclipse.californium.jfr;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.eclipse.californium.elements.category.Small;
+import org.eclipse.californium.elements.metrics.EventRecorder;
+import org.eclipse.californium.elements.metrics.EventRecorder.Type;
+import org.eclipse.californium.elements.metrics.EventRecorders;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Verifies behavior of {@link JfrEventRecorder}.
+ */
+@Category(Small.class)
+public class JfrEventRecorderTest {
+
+	@Test
+	public void testServiceLoader() {
+		assertThat(EventRecorders.get(), is(instanceOf(JfrEventRecorder.class)));
+	}
+
+	@Test
+	public void testRecording() throws IOException {
+		EventRecorder recorder = new JfrEventRecorder();
+		assertThat(recorder.isEnabled(Type.EXCHANGE), is(false));
+		Path file = Files.createTempFile("californium", ".jfr");
+		try {
+			try (Recording recording = new Recording()) {
+				recording.enable("org.eclipse.californium.CoapExchange").withThreshold(Duration.ZERO);
+				recording.enable("org.eclipse.californium.DtlsHandshake").withThreshold(Duration.ZERO);
+				recording.disable("org.eclipse.californium.CoapRetransmission");
+				recording.start();
+				assertThat(recorder.isEnabled(Type.EXCHANGE), is(true));
+				assertThat(recorder.isEnabled(Type.HANDSHAKE), is(true));
+				assertThat(recorder.isEnabled(Type.RETRANSMISSION), is(false));
+				recorder.recordExchange(false, "127.0.0.1:5684", () -> "GET /test", "2.05", 1000, 2000, 5000);
+				recorder.recordHandshake("127.0.0.1:5684", "ServerHandshaker",
+						"TLS_ECDHE_ECDSA_WITH_AES_128_CCM_8", null, 3000000);
+				recorder.recordRetransmission("127.0.0.1:5684", "CON-0.01/GET", 1, 1, 2000);
+				recording.stop();
+				recording.dump(file);
+			}
+			List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+			assertThat(events.size(), is(2));
+			RecordedEvent exchange = events.get(0);
+			assertThat(exchange.getEventType().getName(), is("org.eclipse.californium.CoapExchange"));
+			assertThat(exchange.getString("request"), is("GET /test"));
+			assertThat(exchange.getString("response"), is("2.05"));
+			assertThat(exchange.getDuration("processTime"), is(Duration.ofNanos(2000)));
+			RecordedEvent handshake = events.get(1);
+			assertThat(handshake.getEventType().getName(), is("org.eclipse.californium.DtlsHandshake"));
+			assertThat(handshake.getString("cipherSuite"), is("TLS_ECDHE_ECDSA_WITH_AES_128_CCM_8"));
+			assertThat(handshake.getDuration("handshakeTime"), is(Duration.ofMillis(3)));
+		} finally {
+			Files.deleteIfExists(file);
+		}
+		assertThat(recorder.isEnabled(Type.EXCHANGE), is(false));
+	}
+
+	@Test
+	public void testRequestTextOnlyBuiltForCommittedEvents() {
+		EventRecorder recorder = new JfrEventRecorder();
+		final AtomicInteger calls = new AtomicInteger();
+		Supplier<String> request = () -> {
+			calls.incrementAndGet();
+			return "GET /test";
+		};
+		recorder.recordExchange(false, "127.0.0.1:5684", request, "2.05", 1000, 2000, 5000);
+		assertThat(calls.get(), is(0));
+		try (Recording recording = new Recording()) {
+			recording.enable("org.eclipse.californium.CoapExchange").withThreshold(Duration.ZERO);
+			recording.start();
+			recorder.recordExchange(false, "127.0.0.1:5684", request, "2.05", 1000, 2000, 5000);
+			recording.stop();
+		}
+		assertThat(calls.get(), is(1));
+	}
+}
@@ -135,6 +135,16 @@ public class NetSocketHealthLogger extends CounterStatisticManager {
 		externalStatistics.remove(key);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * @since 4.0
+	 */
+	@Override
+	public String getMetricsNamespace() {
+		return "udp_socket";
+	}
+
 	@Override
 	public boolean isEnabled() {
 		return LOGGER.isInfoEnabled() && (ipv4File.canRead() || ipv6File.canRead());
@@ -51,6 +51,7 @@ import org.eclipse.californium.core.network.EndpointContextMatcherFactory;
 import org.eclipse.californium.core.network.interceptors.HealthStatisticLogger;
 import org.eclipse.californium.core.observe.ObserveStatisticLogger;
 import org.eclipse.californium.core.server.resources.DiscoveryResource;
+import org.eclipse.californium.core.server.resources.MetricsResource;
 import org.eclipse.californium.core.server.resources.Resource;
 import org.eclipse.californium.elements.EndpointContextMatcher;
 import org.eclipse.californium.elements.config.CertificateAuthenticationMode;
@@ -750,6 +751,7 @@ public class BaseServer extends CoapServer {
 		// add resources to the server
 		if (cliArguments.diagnose) {
 			add(new Diagnose(this));
+			add(new MetricsResource(MetricsResource.RESOURCE_NAME, getMetricsRegistry()));
 		}
 		add(new Devices(getConfig()));
 		if (cliArguments.provisioning != null && cliArguments.provisioning.provisioning
@@ -855,13 +857,16 @@ public class BaseServer extends CoapServer {
 	 * 
 	 * @param health {@link CounterStatisticManager} to add.
 	 * @param dump {@code true} to add health also to the frequently dumped
-	 *            statistics with {@link #add}.
+	 *            statistics with {@link #add}. Otherwise the health is only
+	 *            registered at the {@link #getMetricsRegistry()}.
 	 * @since 4.0 (added parameter dump)
 	 */
 	protected void addServerStatistic(CounterStatisticManager health, boolean dump) {
 		if (health.isEnabled()) {
 			if (dump) {
 				add(health);
+			} else {
+				getMetricsRegistry().register(health);
 			}
 			diagnoseStatistics.add(health);
 			Resource child = getRoot().getChild(Diagnose.RESOURCE_NAME);
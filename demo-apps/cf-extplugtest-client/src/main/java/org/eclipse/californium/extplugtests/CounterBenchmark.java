@@ -0,0 +1,133 @@
+/********************************************************************************
+ * Copyright (c) 2025 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v1.0 which is available at
+ * https://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ ********************************************************************************/
+package org.eclipse.californium.extplugtests;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.californium.elements.util.SimpleCounterStatistic;
+
+/**
+ * Benchmark for the statistic counters.
+ * <p>
+ * Increments a shared {@link SimpleCounterStatistic} with an increasing
+ * number of threads and compares the throughput with a shared
+ * {@link AtomicLong}, which was used by the counters before 4.0.
+ *
+ * <pre>
+ * java -cp cf-extplugtest-client-4.0.0-SNAPSHOT.jar \
+ *   org.eclipse.californium.extplugtests.CounterBenchmark [seconds] [max-threads]
+ * </pre>
+ *
+ * @since 4.0
+ */
+public class CounterBenchmark {
+
+	/**
+	 * Counter under test.
+	 */
+	private interface Counter {
+
+		void increment();
+
+		long get();
+	}
+
+	public static void main(String[] args) throws InterruptedException {
+		int seconds = args.length > 0 ? Integer.parseInt(args[0]) : 2;
+		int maxThreads = args.length > 1 ? Integer.parseInt(args[1])
+				: Runtime.getRuntime().availableProcessors() * 2;
+
+		System.out.format("%8s %18s %18s%n", "threads", "AtomicLong [ops/s]", "statistic [ops/s]");
+		for (int threads = 1; threads <= maxThreads; threads *= 2) {
+			final AtomicLong atomic = new AtomicLong();
+			long atomicOps = run(threads, seconds, new Counter() {
+
+				@Override
+				public void increment() {
+					atomic.incrementAndGet();
+				}
+
+				@Override
+				public long get() {
+					return atomic.get();
+				}
+			});
+			final SimpleCounterStatistic statistic = new SimpleCounterStatistic("benchmark");
+			long statisticOps = run(threads, seconds, new Counter() {
+
+				@Override
+				public void increment() {
+					statistic.add(1);
+				}
+
+				@Override
+				public long get() {
+					return statistic.getCounter();
+				}
+			});
+			System.out.format("%8d %18d %18d%n", threads, atomicOps, statisticOps);
+		}
+	}
+
+	/**
+	 * Run benchmark.
+	 *
+	 * @param threads number of threads
+	 * @param seconds duration in seconds
+	 * @param counter counter under test
+	 * @return operations per second
+	 * @throws InterruptedException if the benchmark is interrupted
+	 */
+	private static long run(int threads, int seconds, final Counter counter) throws InterruptedException {
+		final CountDownLatch start = new CountDownLatch(1);
+		final CountDownLatch ready = new CountDownLatch(threads);
+		final long duration = TimeUnit.SECONDS.toNanos(seconds);
+		final AtomicLong time = new AtomicLong();
+		Thread[] workers = new Thread[threads];
+		for (int index = 0; index < threads; ++index) {
+			workers[index] = new Thread(new Runnable() {
+
+				@Override
+				public void run() {
+					ready.countDown();
+					try {
+						start.await();
+					} catch (InterruptedException e) {
+						return;
+					}
+					long begin = System.nanoTime();
+					long end = begin + duration;
+					long now;
+					do {
+						for (int loop = 0; loop < 1000; ++loop) {
+							counter.increment();
+						}
+						now = System.nanoTime();
+					} while (now - end < 0);
+					time.accumulateAndGet(now - begin, Math::max);
+				}
+			}, "counter-" + index);
+			workers[index].start();
+		}
+		ready.await();
+		start.countDown();
+		for (Thread worker : workers) {
+			worker.join();
+		}
+		return counter.get() * TimeUnit.SECONDS.toNanos(1) / time.get();
+	}
+}
@@ -54,6 +54,7 @@ import org.eclipse.californium.core.network.Endpoint;
 import org.eclipse.californium.core.network.EndpointObserver;
 import org.eclipse.californium.core.network.interceptors.HealthStatisticLogger;
 import org.eclipse.californium.core.observe.ObserveStatisticLogger;
+import org.eclipse.californium.core.server.resources.MetricsResource;
 import org.eclipse.californium.core.server.resources.MyIpResource;
 import org.eclipse.californium.core.server.resources.Resource;
 import org.eclipse.californium.elements.Connector;
@@ -389,6 +390,7 @@ public class ExtendedTestServer extends AbstractTestServer {
 			server.add(new Echo(configuration, config.echoDelay ? executor : null));
 			if (config.diagnose) {
 				server.add(new Diagnose(server));
+				server.add(new MetricsResource(MetricsResource.RESOURCE_NAME, server.getMetricsRegistry()));
 			}
 			server.add(new ReverseRequest(configuration, executor));
 			ReverseObserve reverseObserver = new ReverseObserve(configuration, executor);
@@ -43,13 +43,14 @@ import org.eclipse.californium.elements.config.IntegerDefinition;
 import org.eclipse.californium.elements.config.SystemConfig;
 import org.eclipse.californium.elements.config.TcpConfig;
 import org.eclipse.californium.elements.config.UdpConfig;
+import org.eclipse.californium.elements.metrics.MetricsSource;
 import org.eclipse.californium.elements.util.DaemonThreadFactory;
 import org.eclipse.californium.elements.util.ExecutorsUtil;
 import org.eclipse.californium.elements.util.ProtocolScheduledExecutorService;
 import org.eclipse.californium.proxy2.ClientEndpoints;
+import org.eclipse.californium.proxy2.ClientMultiplexedEndpoints;
 import org.eclipse.californium.proxy2.ClientSingleEndpoint;
 import org.eclipse.californium.proxy2.Coap2CoapTranslator;
-import org.eclipse.californium.proxy2.EndpointPool;
 import org.eclipse.californium.proxy2.config.Proxy2Config;
 import org.eclipse.californium.proxy2.http.Coap2HttpTranslator;
 import org.eclipse.californium.proxy2.http.Http2CoapTranslator;
@@ -61,6 +62,7 @@ import org.eclipse.californium.proxy2.resources.ProxyCacheResource;
 import org.eclipse.californium.proxy2.resources.ProxyCoapClientResource;
 import org.eclipse.californium.proxy2.resources.ProxyCoapResource;
 import org.eclipse.californium.proxy2.resources.ProxyHttpClientResource;
+import org.eclipse.californium.proxy2.resources.RequestCoalescer;
 import org.eclipse.californium.proxy2.resources.StatsResource;
 import org.eclipse.californium.unixhealth.NetStatLogger;
 import org.slf4j.Logger;
@@ -165,7 +167,7 @@ public class ExampleCrossProxy2 {
 		if (useEndpointsPool) {
 			outgoingConfig.set(UdpConfig.UDP_RECEIVER_THREAD_COUNT, 1);
 			outgoingConfig.set(UdpConfig.UDP_SENDER_THREAD_COUNT, 1);
-			endpoints = new EndpointPool(1000, 250, outgoingConfig, executor);
+			endpoints = new ClientMultiplexedEndpoints(4, 64, 256, outgoingConfig, executor);
 		} else {
 			outgoingConfig.set(CoapConfig.MID_TRACKER, TrackerMode.NULL);
 			CoapEndpoint.Builder builder = CoapEndpoint.builder()
@@ -178,10 +180,15 @@ public class ExampleCrossProxy2 {
 			cacheResource = new ProxyCacheResource(config, true);
 			statsResource = new StatsResource(cacheResource);
 		}
-		ProxyCoapResource coap2coap = new ProxyCoapClientResource(COAP2COAP, false, accept, translater, endpoints);
+		ProxyCoapClientResource coap2coap = new ProxyCoapClientResource(COAP2COAP, false, accept, translater,
+				endpoints);
 		coap2coap.setMaxResourceBodySize(config.get(CoapConfig.MAX_RESOURCE_BODY_SIZE));
+		coap2coap.setObserveAggregation(true);
 		ProxyCoapResource coap2http = new ProxyHttpClientResource(COAP2HTTP, false, accept, new Coap2HttpTranslator());
 		coap2http.setMaxResourceBodySize(config.get(CoapConfig.MAX_RESOURCE_BODY_SIZE));
+		RequestCoalescer coalescer = new RequestCoalescer();
+		coap2coap.setRequestCoalescer(coalescer);
+		coap2http.setRequestCoalescer(coalescer);
 		if (cache) {
 			coap2coap.setCache(cacheResource);
 			coap2coap.setStatsResource(statsResource);
@@ -190,6 +197,9 @@ public class ExampleCrossProxy2 {
 		}
 		// Forwards requests Coap to Coap or Coap to Http server
 		coapProxyServer = new CoapServer(config, coapPort);
+		if (endpoints instanceof MetricsSource) {
+			coapProxyServer.getMetricsRegistry().register((MetricsSource) endpoints);
+		}
 		MessageDeliverer local = coapProxyServer.getMessageDeliverer();
 		ForwardProxyMessageDeliverer proxyMessageDeliverer = new ForwardProxyMessageDeliverer(coapProxyServer.getRoot(),
 				translater, config);
@@ -46,6 +46,16 @@ public class S3ProcessorHealthLogger extends DomainStatisticManager implements S
 		}
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * @since 4.0
+	 */
+	@Override
+	public String getMetricsNamespace() {
+		return "s3_processor";
+	}
+
 	@Override
 	public void processedDay(String domain, int days) {
 		String name = days >= 0 ? SUCCESS : FAILURE;
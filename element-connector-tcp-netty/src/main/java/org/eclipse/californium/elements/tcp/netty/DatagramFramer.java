@@ -26,7 +26,6 @@ import org.eclipse.californium.elements.EndpointContext;
 import org.eclipse.californium.elements.RawData;
 import org.eclipse.californium.elements.util.ClockUtil;
 
-import java.math.BigInteger;
 import java.net.InetSocketAddress;
 import java.util.List;
 
@@ -44,6 +43,7 @@ class DatagramFramer extends ByteToMessageDecoder {
 
 	@Override
 	protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) throws Exception {
+		EndpointContext endpointContext = null;
 		while (in.readableBytes() > 0) {
 			byte firstByte = in.getByte(in.readerIndex());
 			int lengthNibble = (firstByte & 0xF0) >>> 4;
@@ -66,7 +66,10 @@ class DatagramFramer extends ByteToMessageDecoder {
 			in.readBytes(data);
 
 			Channel channel = ctx.channel();
-			EndpointContext endpointContext = contextUtil.buildEndpointContext(channel);
+			if (endpointContext == null) {
+				// all frames of one read share the same context
+				endpointContext = contextUtil.buildEndpointContext(channel);
+			}
 			RawData rawData = RawData.inbound(data, endpointContext, false, ClockUtil.nanoRealtime(),
 					(InetSocketAddress) channel.localAddress());
 			out.add(rawData);
@@ -90,20 +93,19 @@ class DatagramFramer extends ByteToMessageDecoder {
 	}
 
 	private int getBodyLength(ByteBuf in, int lengthNibble, int fieldSize) {
-		byte data[] = new byte[fieldSize];
-		in.getBytes(in.readerIndex() + 1, data);
+		int index = in.readerIndex() + 1;
 
 		switch (fieldSize) {
 		case 0:
 			return lengthNibble;
 		case 1:
-			return new BigInteger(1, data).intValue() + 13;
+			return in.getUnsignedByte(index) + 13;
 		case 2:
-			return new BigInteger(1, data).intValue() + 269;
+			return in.getUnsignedShort(index) + 269;
 		case 4:
 			// Possible overflow here, but is anybody really sending 2GB
 			// messages around?
-			return new BigInteger(1, data).intValue() + 65805;
+			return in.getInt(index) + 65805;
 		default:
 			throw new IllegalArgumentException("Invalid field size: " + fieldSize);
 		}
@@ -0,0 +1,189 @@
+/********************************************************************************
+ * Copyright (c) 2025 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v1.0 which is available at
+ * https://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ ********************************************************************************/
+package org.eclipse.californium.elements.tcp.netty;
+
+import java.util.concurrent.ThreadFactory;
+
+import org.eclipse.californium.elements.config.Configuration;
+import org.eclipse.californium.elements.config.TcpConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollChannelOption;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+
+/**
+ * Netty transport of the TCP connectors.
+ * <p>
+ * Uses the native epoll transport, if {@link TcpConfig#TCP_NATIVE_TRANSPORT}
+ * is enabled and the native transport is available. The native transport
+ * requires {@code io.netty:netty-transport-native-epoll} with the classifier
+ * of the platform on the classpath. Falls back to NIO otherwise.
+ * 
+ * @since 4.0
+ */
+class NettyTransport {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(NettyTransport.class);
+
+	/**
+	 * Indicates, that the native epoll transport is available.
+	 */
+	private static final boolean EPOLL_AVAILABLE;
+
+	static {
+		boolean available = false;
+		try {
+			// check classes first, netty-transport-classes-epoll is optional
+			Class.forName("io.netty.channel.epoll.Epoll", false, NettyTransport.class.getClassLoader());
+			available = Epoll.isAvailable();
+			if (!available) {
+				LOGGER.debug("epoll not available: {}", Epoll.unavailabilityCause().getMessage());
+			}
+		} catch (ClassNotFoundException | LinkageError e) {
+			LOGGER.debug("epoll not available: {}", e.getMessage());
+		}
+		EPOLL_AVAILABLE = available;
+	}
+
+	/**
+	 * Use native epoll transport.
+	 */
+	private final boolean epoll;
+	/**
+	 * Enable {@link ChannelOption#TCP_NODELAY}.
+	 */
+	private final boolean noDelay;
+	/**
+	 * Enable {@link EpollChannelOption#TCP_QUICKACK}. Only used with epoll.
+	 */
+	private final boolean quickAck;
+
+	/**
+	 * Create transport.
+	 * 
+	 * @param configuration configuration with {@link TcpConfig} definitions.
+	 */
+	NettyTransport(Configuration configuration) {
+		boolean useNative = configuration.get(TcpConfig.TCP_NATIVE_TRANSPORT);
+		this.epoll = useNative && EPOLL_AVAILABLE;
+		this.noDelay = configuration.get(TcpConfig.TCP_NO_DELAY);
+		this.quickAck = configuration.get(TcpConfig.TCP_QUICK_ACK);
+		if (useNative && !epoll) {
+			LOGGER.debug("native transport not available, use NIO.");
+		}
+	}
+
+	/**
+	 * Check, if the native epoll transport is used.
+	 * 
+	 * @return {@code true}, if epoll is used, {@code false}, if NIO is used.
+	 */
+	boolean isNative() {
+		return epoll;
+	}
+
+	/**
+	 * Get name of transport.
+	 * 
+	 * @return name of transport
+	 */
+	String getName() {
+		return epoll ? "epoll" : "nio";
+	}
+
+	/**
+	 * Create event loop group.
+	 * 
+	 * @param threads number of threads. {@code 0} for the netty default.
+	 * @param threadFactory thread factory
+	 * @return event loop group
+	 */
+	EventLoopGroup newEventLoopGroup(int threads, ThreadFactory threadFactory) {
+		if (epoll) {
+			return EpollSupport.newEventLoopGroup(threads, threadFactory);
+		} else {
+			return new NioEventLoopGroup(threads, threadFactory);
+		}
+	}
+
+	/**
+	 * Setup client bootstrap with channel class and socket options.
+	 * 
+	 * @param bootstrap client bootstrap
+	 * @return the provided bootstrap for chaining
+	 */
+	Bootstrap setup(Bootstrap bootstrap) {
+		bootstrap.option(ChannelOption.TCP_NODELAY, noDelay);
+		if (epoll) {
+			EpollSupport.setup(bootstrap, quickAck);
+		} else {
+			bootstrap.channel(NioSocketChannel.class);
+		}
+		return bootstrap;
+	}
+
+	/**
+	 * Setup server bootstrap with channel class and socket options.
+	 * 
+	 * @param bootstrap server bootstrap
+	 * @param reusePort {@code true}, to bind multiple server sockets to the
+	 *            same port. Only supported with epoll.
+	 * @return the provided bootstrap for chaining
+	 */
+	ServerBootstrap setup(ServerBootstrap bootstrap, boolean reusePort) {
+		bootstrap.childOption(ChannelOption.TCP_NODELAY, noDelay);
+		if (epoll) {
+			EpollSupport.setup(bootstrap, quickAck, reusePort);
+		} else {
+			bootstrap.channel(NioServerSocketChannel.class);
+		}
+		return bootstrap;
+	}
+
+	/**
+	 * Access to the epoll classes.
+	 * <p>
+	 * Separated in order to load the epoll classes only, if epoll is
+	 * available.
+	 */
+	private static class EpollSupport {
+
+		private static EventLoopGroup newEventLoopGroup(int threads, ThreadFactory threadFactory) {
+			return new EpollEventLoopGroup(threads, threadFactory);
+		}
+
+		private static void setup(Bootstrap bootstrap, boolean quickAck) {
+			bootstrap.channel(EpollSocketChannel.class);
+			bootstrap.option(EpollChannelOption.TCP_QUICKACK, quickAck);
+		}
+
+		private static void setup(ServerBootstrap bootstrap, boolean quickAck, boolean reusePort) {
+			bootstrap.channel(EpollServerSocketChannel.class);
+			bootstrap.option(EpollChannelOption.SO_REUSEPORT, reusePort);
+			bootstrap.childOption(EpollChannelOption.TCP_QUICKACK, quickAck);
+		}
+	}
+}
@@ -41,12 +41,11 @@ package org.eclipse.californium.elements.tcp.netty;
 import io.netty.bootstrap.Bootstrap;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.*;
-import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.pool.AbstractChannelPoolHandler;
 import io.netty.channel.pool.AbstractChannelPoolMap;
 import io.netty.channel.pool.ChannelPool;
 import io.netty.channel.pool.FixedChannelPool;
-import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.handler.flush.FlushConsolidationHandler;
 import io.netty.handler.timeout.IdleStateHandler;
 import io.netty.util.concurrent.Future;
 import io.netty.util.concurrent.GenericFutureListener;
@@ -98,6 +97,8 @@ public class TcpClientConnector implements Connector {
 	private final int numberOfThreads;
 	private final int connectionIdleTimeoutSeconds;
 	private final int connectTimeoutMillis;
+	private final int flushConsolidation;
+	private final NettyTransport transport;
 	private final InetSocketAddress localSocketAddress = new InetSocketAddress(0);
 
 	/**
@@ -138,6 +139,8 @@ public class TcpClientConnector implements Connector {
 		this.connectionIdleTimeoutSeconds = configuration.getTimeAsInt(TcpConfig.TCP_CONNECTION_IDLE_TIMEOUT,
 				TimeUnit.SECONDS);
 		this.connectTimeoutMillis = configuration.getTimeAsInt(TcpConfig.TCP_CONNECT_TIMEOUT, TimeUnit.MILLISECONDS);
+		this.flushConsolidation = configuration.get(TcpConfig.TCP_FLUSH_CONSOLIDATION);
+		this.transport = new NettyTransport(configuration);
 		this.contextUtil = contextUtil;
 	}
 
@@ -155,13 +158,13 @@ public class TcpClientConnector implements Connector {
 			throw new IllegalStateException("Connector already started");
 		}
 		running = true;
-		workerGroup = new NioEventLoopGroup(numberOfThreads,
+		workerGroup = transport.newEventLoopGroup(numberOfThreads,
 				new DaemonThreadFactory("TCP-Client-" + THREAD_COUNTER.incrementAndGet() + "#", TCP_THREAD_GROUP));
 		poolMap = new AbstractChannelPoolMap<SocketAddress, ChannelPool>() {
 
 			@Override
 			protected ChannelPool newPool(SocketAddress key) {
-				Bootstrap bootstrap = new Bootstrap().group(workerGroup).channel(NioSocketChannel.class)
+				Bootstrap bootstrap = transport.setup(new Bootstrap().group(workerGroup))
 						.option(ChannelOption.SO_KEEPALIVE, true).option(ChannelOption.AUTO_READ, true)
 						.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMillis).remoteAddress(key);
 
@@ -392,12 +395,16 @@ public class TcpClientConnector implements Connector {
 			// 1. Generate Idle events
 			// 2. Close idle channels
 			// 3. Remove pools when they are empty.
-			// 4. Stream-to-message decoder
-			// 5. Hand-off decoded messages to CoAP stack
-			// 6. Close connections on errors
+			// 4. Consolidate flushes (optional)
+			// 5. Stream-to-message decoder
+			// 6. Hand-off decoded messages to CoAP stack
+			// 7. Close connections on errors
 			ch.pipeline().addLast(new IdleStateHandler(0, 0, connectionIdleTimeoutSeconds));
 			ch.pipeline().addLast(new CloseOnIdleHandler());
 			ch.pipeline().addLast(new RemoveEmptyPoolHandler(poolMap, key));
+			if (flushConsolidation > 0) {
+				ch.pipeline().addLast(new FlushConsolidationHandler(flushConsolidation, true));
+			}
 			ch.pipeline().addLast(new DatagramFramer(contextUtil));
 			ch.pipeline().addLast(new DispatchHandler(rawDataChannel));
 			ch.pipeline().addLast(new CloseOnErrorHandler());
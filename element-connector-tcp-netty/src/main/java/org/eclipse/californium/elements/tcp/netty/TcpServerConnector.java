@@ -31,9 +31,8 @@ package org.eclipse.californium.elements.tcp.netty;
 import io.netty.bootstrap.ServerBootstrap;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.*;
-import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
-import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.handler.flush.FlushConsolidationHandler;
 import io.netty.handler.timeout.IdleStateHandler;
 import io.netty.util.concurrent.GenericFutureListener;
 
@@ -84,6 +83,9 @@ public class TcpServerConnector implements Connector {
 
 	private final int numberOfThreads;
 	private final int connectionIdleTimeoutSeconds;
+	private final int flushConsolidation;
+	private final int acceptors;
+	private final NettyTransport transport;
 	private final InetSocketAddress localAddress;
 	private final TcpContextUtil contextUtil;
 	private final ConcurrentMap<SocketAddress, Channel> activeChannels = new ConcurrentHashMap<>();
@@ -112,6 +114,9 @@ public class TcpServerConnector implements Connector {
 		this.numberOfThreads = configuration.get(TcpConfig.TCP_WORKER_THREADS);
 		this.connectionIdleTimeoutSeconds = configuration.getTimeAsInt(TcpConfig.TCP_CONNECTION_IDLE_TIMEOUT,
 				TimeUnit.SECONDS);
+		this.flushConsolidation = configuration.get(TcpConfig.TCP_FLUSH_CONSOLIDATION);
+		this.transport = new NettyTransport(configuration);
+		this.acceptors = transport.isNative() ? configuration.get(TcpConfig.TCP_ACCEPTORS) : 1;
 		this.localAddress = localAddress;
 		this.contextUtil = contextUtil;
 		this.effectiveLocalAddress = localAddress;
@@ -132,13 +137,14 @@ public class TcpServerConnector implements Connector {
 		}
 		running = true;
 		int id = THREAD_COUNTER.incrementAndGet();
-		bossGroup = new NioEventLoopGroup(1, new DaemonThreadFactory("TCP-Server-" + id, TCP_THREAD_GROUP));
-		workerGroup = new NioEventLoopGroup(numberOfThreads,
+		bossGroup = transport.newEventLoopGroup(acceptors,
+				new DaemonThreadFactory("TCP-Server-" + id, TCP_THREAD_GROUP));
+		workerGroup = transport.newEventLoopGroup(numberOfThreads,
 				new DaemonThreadFactory("TCP-Server-" + id + "#", TCP_THREAD_GROUP));
 
 		ServerBootstrap bootstrap = new ServerBootstrap();
 		// server socket
-		bootstrap.group(bossGroup, workerGroup).channel(NioServerSocketChannel.class)
+		transport.setup(bootstrap.group(bossGroup, workerGroup), acceptors > 1)
 				.childHandler(new ChannelRegistry()).option(ChannelOption.SO_BACKLOG, 100)
 				.option(ChannelOption.AUTO_READ, true).childOption(ChannelOption.SO_KEEPALIVE, true);
 
@@ -150,6 +156,12 @@ public class TcpServerConnector implements Connector {
 			InetSocketAddress listenAddress = (InetSocketAddress) channelFuture.channel().localAddress();
 			effectiveLocalAddress = new InetSocketAddress(localAddress.getAddress(), listenAddress.getPort());
 		}
+		// SO_REUSEPORT, additional server sockets, each on its own boss thread
+		for (int index = 1; index < acceptors; ++index) {
+			bootstrap.bind(effectiveLocalAddress).syncUninterruptibly();
+		}
+		LOGGER.debug("Started {} server connector on [{}] using {} with {} acceptors", getProtocol(),
+				effectiveLocalAddress, transport.getName(), acceptors);
 	}
 
 	@Override
@@ -286,12 +298,16 @@ public class TcpServerConnector implements Connector {
 			// over open connections.
 			// 1. Generate Idle events
 			// 2. Close idle channels.
-			// 3. Stream-to-message decoder
-			// 4. Hand-off decoded messages to CoAP stack
-			// 5. Close connections on errors.
+			// 3. Consolidate flushes (optional)
+			// 4. Stream-to-message decoder
+			// 5. Hand-off decoded messages to CoAP stack
+			// 6. Close connections on errors.
 			ch.pipeline().addLast(new ChannelTracker());
 			ch.pipeline().addLast(new IdleStateHandler(0, 0, connectionIdleTimeoutSeconds));
 			ch.pipeline().addLast(new CloseOnIdleHandler());
+			if (flushConsolidation > 0) {
+				ch.pipeline().addLast(new FlushConsolidationHandler(flushConsolidation, true));
+			}
 			ch.pipeline().addLast(new DatagramFramer(contextUtil));
 			ch.pipeline().addLast(new DispatchHandler(rawDataChannel));
 			ch.pipeline().addLast(new CloseOnErrorHandler());
@@ -0,0 +1,136 @@
+/********************************************************************************
+ * Copyright (c) 2025 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v1.0 which is available at
+ * https://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ ********************************************************************************/
+package org.eclipse.californium.elements.tcp.netty;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.Arrays;
+
+import org.eclipse.californium.elements.RawData;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+
+/**
+ * Verifies the framing of CoAP over TCP messages by the
+ * {@link DatagramFramer}.
+ */
+public class DatagramFramerTest {
+
+	private EmbeddedChannel channel;
+
+	@Before
+	public void init() {
+		channel = new InetEmbeddedChannel();
+		channel.pipeline().addLast(new DatagramFramer(new TcpContextUtil()));
+	}
+
+	@After
+	public void shutdown() {
+		channel.finishAndReleaseAll();
+	}
+
+	@Test
+	public void testLengthFieldSizes() {
+		byte[] frame0 = newFrame(12);
+		byte[] frame1 = newFrame(200);
+		byte[] frame2 = newFrame(1000);
+		byte[] frame4 = newFrame(70000);
+		ByteBuf buffer = Unpooled.wrappedBuffer(frame0, frame1, frame2, frame4);
+		channel.writeInbound(buffer);
+
+		RawData data0 = channel.readInbound();
+		RawData data1 = channel.readInbound();
+		RawData data2 = channel.readInbound();
+		RawData data4 = channel.readInbound();
+		assertThat(data0.getBytes(), is(frame0));
+		assertThat(data1.getBytes(), is(frame1));
+		assertThat(data2.getBytes(), is(frame2));
+		assertThat(data4.getBytes(), is(frame4));
+		// frames of the same read share the context
+		assertThat(data4.getEndpointContext(), is(sameInstance(data0.getEndpointContext())));
+		assertThat(channel.readInbound(), is(nullValue()));
+	}
+
+	@Test
+	public void testFragmentedFrame() {
+		byte[] frame = newFrame(1000);
+		channel.writeInbound(Unpooled.wrappedBuffer(Arrays.copyOfRange(frame, 0, 2)));
+		assertThat(channel.readInbound(), is(nullValue()));
+		channel.writeInbound(Unpooled.wrappedBuffer(Arrays.copyOfRange(frame, 2, 500)));
+		assertThat(channel.readInbound(), is(nullValue()));
+		channel.writeInbound(Unpooled.wrappedBuffer(Arrays.copyOfRange(frame, 500, frame.length)));
+		RawData data = channel.readInbound();
+		assertThat(data.getBytes(), is(frame));
+	}
+
+	/**
+	 * Create CoAP over TCP frame with 1 byte token.
+	 * 
+	 * @param bodyLength length of options and payload
+	 * @return frame
+	 */
+	private static byte[] newFrame(int bodyLength) {
+		ByteBuf frame = Unpooled.buffer();
+		int tokenLength = 1;
+		if (bodyLength < 13) {
+			frame.writeByte((bodyLength << 4) | tokenLength);
+		} else if (bodyLength < 269) {
+			frame.writeByte((13 << 4) | tokenLength);
+			frame.writeByte(bodyLength - 13);
+		} else if (bodyLength < 65805) {
+			frame.writeByte((14 << 4) | tokenLength);
+			frame.writeShort(bodyLength - 269);
+		} else {
+			frame.writeByte((15 << 4) | tokenLength);
+			frame.writeInt(bodyLength - 65805);
+		}
+		// code GET
+		frame.writeByte(1);
+		// token
+		frame.writeByte(0x55);
+		for (int index = 0; index < bodyLength; ++index) {
+			frame.writeByte(index);
+		}
+		byte[] data = new byte[frame.readableBytes()];
+		frame.readBytes(data);
+		return data;
+	}
+
+	/**
+	 * Embedded channel with inet socket addresses.
+	 */
+	private static class InetEmbeddedChannel extends EmbeddedChannel {
+
+		@Override
+		protected SocketAddress localAddress0() {
+			return new InetSocketAddress("127.0.0.1", 5684);
+		}
+
+		@Override
+		protected SocketAddress remoteAddress0() {
+			return new InetSocketAddress("127.0.0.1", 45684);
+		}
+	}
+}
@@ -0,0 +1,66 @@
+/********************************************************************************
+ * Copyright (c) 2025 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v1.0 which is available at
+ * https://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ ********************************************************************************/
+package org.eclipse.californium.elements.tcp.netty;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.californium.elements.config.Configuration;
+import org.eclipse.californium.elements.config.TcpConfig;
+import org.eclipse.californium.elements.util.DaemonThreadFactory;
+import org.junit.Test;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+
+/**
+ * Verifies the transport selection of {@link NettyTransport}.
+ */
+public class NettyTransportTest {
+
+	@Test
+	public void testNioTransport() {
+		Configuration configuration = new Configuration();
+		configuration.set(TcpConfig.TCP_NATIVE_TRANSPORT, false);
+		NettyTransport transport = new NettyTransport(configuration);
+		assertThat(transport.isNative(), is(false));
+		assertThat(transport.getName(), is("nio"));
+		assertGroup(transport, NioEventLoopGroup.class);
+	}
+
+	@Test
+	public void testNativeTransport() {
+		Configuration configuration = new Configuration();
+		configuration.set(TcpConfig.TCP_NATIVE_TRANSPORT, true);
+		NettyTransport transport = new NettyTransport(configuration);
+		// falls back to NIO, if the native library is not available
+		assertThat(transport.isNative(), is(Epoll.isAvailable()));
+		assertGroup(transport, Epoll.isAvailable() ? EpollEventLoopGroup.class : NioEventLoopGroup.class);
+	}
+
+	private static void assertGroup(NettyTransport transport, Class<? extends EventLoopGroup> type) {
+		EventLoopGroup group = transport.newEventLoopGroup(1, new DaemonThreadFactory("Test#"));
+		try {
+			assertThat(group, is(instanceOf(type)));
+		} finally {
+			group.shutdownGracefully(0, 100, TimeUnit.MILLISECONDS).syncUninterruptibly();
+		}
+	}
+}
@@ -0,0 +1,36 @@
+/********************************************************************************
+ * Copyright (c) 2025 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v1.0 which is available at
+ * https://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ ********************************************************************************/
+package org.eclipse.californium.elements;
+
+import org.eclipse.californium.elements.util.LatencyStatistic;
+
+/**
+ * Connector, which records latencies of its stages.
+ * <p>
+ * Implemented by connectors, e.g. the DTLS connector, which records the
+ * {@link LatencyStatistic.Stage#DECRYPT} latency.
+ *
+ * @since 4.0
+ */
+public interface LatencyStatisticSupport {
+
+	/**
+	 * Set latency statistic to record the latencies of the connector's
+	 * stages.
+	 *
+	 * @param statistic latency statistic. {@code null} to disable recording.
+	 */
+	void setLatencyStatistic(LatencyStatistic statistic);
+}
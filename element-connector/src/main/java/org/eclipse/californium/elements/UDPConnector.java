@@ -60,6 +60,7 @@ import org.eclipse.californium.elements.util.Bytes;
 import org.eclipse.californium.elements.util.ClockUtil;
 import org.eclipse.californium.elements.util.NamedThreadFactory;
 import org.eclipse.californium.elements.util.NetworkStageRunnable;
+import org.eclipse.californium.elements.util.ReusePortUtil;
 import org.eclipse.californium.elements.util.SocketThreadFactory;
 import org.eclipse.californium.elements.util.StringUtil;
 import org.eclipse.californium.elements.util.VirtualThreadFactory;
@@ -123,6 +124,13 @@ public class UDPConnector implements Connector {
 
 	private final int senderCount;
 	private final int receiverCount;
+	/**
+	 * Number of sockets bound to the same port.
+	 * 
+	 * @see UdpConfig#UDP_RECEIVER_SOCKETS
+	 * @since 4.0
+	 */
+	private final int receiverSockets;
 	private final int receiverPacketSize;
 	private final Integer configReceiveBufferSize;
 	private final Integer configSendBufferSize;
@@ -130,6 +138,13 @@ public class UDPConnector implements Connector {
 	private final AtomicBoolean running = new AtomicBoolean();
 
 	private volatile DatagramSocket socket;
+	/**
+	 * Sockets for receiving. The first is the {@link #socket}, the others are
+	 * bound to the same port using {@code SO_REUSEPORT}.
+	 * 
+	 * @since 4.0
+	 */
+	private volatile DatagramSocket[] receiveSockets;
 
 	protected volatile InetSocketAddress effectiveAddr;
 
@@ -189,6 +204,7 @@ public class UDPConnector implements Connector {
 		this.effectiveAddr = localAddr;
 		this.outgoing = new LinkedBlockingQueue<RawData>(configuration.get(UdpConfig.UDP_CONNECTOR_OUT_CAPACITY));
 		this.receiverCount = configuration.get(UdpConfig.UDP_RECEIVER_THREAD_COUNT);
+		this.receiverSockets = configuration.get(UdpConfig.UDP_RECEIVER_SOCKETS);
 		this.senderCount = configuration.get(UdpConfig.UDP_SENDER_THREAD_COUNT);
 		this.receiverPacketSize = configuration.get(UdpConfig.UDP_DATAGRAM_SIZE);
 		this.configReceiveBufferSize = configuration.get(UdpConfig.UDP_RECEIVE_BUFFER_SIZE);
@@ -213,7 +229,15 @@ public class UDPConnector implements Connector {
 			multicastReceiver.start();
 		}
 
-		DatagramSocket socket = new DatagramSocket(null);
+		DatagramSocket socket;
+		if (receiverSockets > 1 && !multicast && ReusePortUtil.isAvailable()) {
+			socket = ReusePortUtil.createSocket();
+		} else {
+			if (receiverSockets > 1) {
+				LOGGER.warn("UDPConnector requires SO_REUSEPORT for {} sockets, use 1 socket.", receiverSockets);
+			}
+			socket = new DatagramSocket(null);
+		}
 		socket.setReuseAddress(reuseAddress);
 		socket.bind(localAddr);
 		init(socket);
@@ -245,17 +269,26 @@ public class UDPConnector implements Connector {
 			socket.setSoTimeout(Integer.MAX_VALUE);
 		}
 
+		DatagramSocket[] sockets = bindReceiveSockets(socket);
+		receiveSockets = sockets;
+
 		// running only, if the socket could be opened
 		running.set(true);
 
 		// start receiver and sender threads
-		LOGGER.info("UDPConnector starts up {} sender threads and {} receiver threads", senderCount, receiverCount);
+		LOGGER.info("UDPConnector starts up {} sender threads and {} receiver threads on {} sockets", senderCount,
+				receiverCount, sockets.length);
 		int max = receiverCount < 0 ? 1 : receiverCount;
+		if (max > 0) {
+			// at least one receiver per socket
+			max = Math.max(max, sockets.length);
+		}
 		String addr = SocketThreadFactory.toName(localAddr);
 		ThreadFactory factory = SocketThreadFactory.create("UDP-Receiver-" + addr, receiverCount,
 				NamedThreadFactory.TRANSPORT_THREAD_GROUP);
 		for (int i = 0; i < max; i++) {
-			Thread thread = new Receiver(() -> isRunning(), UDPConnector.class).attach(factory, false);
+			Thread thread = new Receiver(() -> isRunning(), UDPConnector.class, i % sockets.length).attach(factory,
+					false);
 			receiverThreads.add(thread);
 		}
 
@@ -287,6 +320,59 @@ public class UDPConnector implements Connector {
 				receiveBufferSize, sendBufferSize, receiverPacketSize);
 	}
 
+	/**
+	 * Bind additional sockets to the port of the provided socket.
+	 * <p>
+	 * Only, if {@link UdpConfig#UDP_RECEIVER_SOCKETS} is larger than {@code 1}
+	 * and {@code SO_REUSEPORT} is enabled for the provided socket.
+	 * 
+	 * @param socket bound socket
+	 * @return array of sockets for receiving, starting with the provided
+	 *         socket.
+	 * @throws IOException if an additional socket could not be bound
+	 * @since 4.0
+	 */
+	private DatagramSocket[] bindReceiveSockets(DatagramSocket socket) throws IOException {
+		if (receiverSockets < 2 || !ReusePortUtil.isReusePort(socket)) {
+			return new DatagramSocket[] { socket };
+		}
+		DatagramSocket[] sockets = new DatagramSocket[receiverSockets];
+		sockets[0] = socket;
+		try {
+			for (int index = 1; index < sockets.length; ++index) {
+				DatagramSocket additional = ReusePortUtil.createSocket();
+				sockets[index] = additional;
+				additional.setReuseAddress(reuseAddress);
+				if (configReceiveBufferSize != null) {
+					additional.setReceiveBufferSize(configReceiveBufferSize);
+				}
+				if (receiverCount < 0 && VirtualThreadFactory.isAvailable()) {
+					additional.setSoTimeout(Integer.MAX_VALUE);
+				}
+				additional.bind(effectiveAddr);
+			}
+		} catch (IOException ex) {
+			for (int index = 1; index < sockets.length; ++index) {
+				if (sockets[index] != null) {
+					sockets[index].close();
+				}
+			}
+			throw ex;
+		}
+		return sockets;
+	}
+
+	/**
+	 * Gets number of bound receive sockets.
+	 * 
+	 * @return number of bound receive sockets, {@code 0}, if not running.
+	 * @since 4.0
+	 */
+	int getReceiveSocketCount() {
+		DatagramSocket[] sockets = receiveSockets;
+		return sockets == null ? 0 : sockets.length;
+	}
+
 	@Override
 	public void stop() {
 		// move onError callback out of synchronized block
@@ -313,6 +399,13 @@ public class UDPConnector implements Connector {
 				socket.close();
 				socket = null;
 			}
+			DatagramSocket[] sockets = receiveSockets;
+			if (sockets != null) {
+				receiveSockets = null;
+				for (DatagramSocket receiveSocket : sockets) {
+					receiveSocket.close();
+				}
+			}
 			// stop all threads
 			for (Thread t : senderThreads) {
 				t.interrupt();
@@ -445,9 +538,11 @@ public class UDPConnector implements Connector {
 
 		private final DatagramPacket datagram;
 		private final int size;
+		private final int socketIndex;
 
-		private Receiver(BooleanSupplier running, Class<?> logger) {
+		private Receiver(BooleanSupplier running, Class<?> logger, int socketIndex) {
 			super(running, logger);
+			this.socketIndex = socketIndex;
 			// we add one byte to be able to detect potential truncation.
 			this.size = receiverPacketSize + 1;
 			this.datagram = new DatagramPacket(new byte[size], size);
@@ -456,9 +551,9 @@ public class UDPConnector implements Connector {
 		@Override
 		protected void work() throws IOException {
 			datagram.setLength(size);
-			DatagramSocket currentSocket = socket;
-			if (currentSocket != null) {
-				currentSocket.receive(datagram);
+			DatagramSocket[] currentSockets = receiveSockets;
+			if (currentSockets != null) {
+				currentSockets[socketIndex].receive(datagram);
 				processDatagram(datagram);
 			}
 		}
@@ -49,6 +49,15 @@ public final class TcpConfig {
 	 */
 	public static final int DEFAULT_TLS_HANDSHAKE_TIMEOUT_IN_SECONDS = 10;
 
+	/**
+	 * The default number of consolidated flushes.
+	 * <p>
+	 * The default value is 256.
+	 * 
+	 * @since 4.0
+	 */
+	public static final int DEFAULT_TCP_FLUSH_CONSOLIDATION = 256;
+
 	/**
 	 * TCP connection idle timeout. Drop connection, if a quiet period reaches
 	 * that timeout.
@@ -69,6 +78,59 @@ public final class TcpConfig {
 	 */
 	public static final IntegerDefinition TCP_WORKER_THREADS = new IntegerDefinition(MODULE + "WORKER_THREADS",
 			"Number of TCP worker threads. 0 to use default of TCP implementation.", 0, 0);
+	/**
+	 * Maximum number of consolidated flushes per TCP connection.
+	 * <p>
+	 * Messages written while the connection is reading, or before a pending
+	 * flush is executed, are flushed together. That reduces the number of
+	 * system calls and, for TLS, the number of records. {@code 0} to flush
+	 * each message on its own.
+	 * 
+	 * @since 4.0
+	 */
+	public static final IntegerDefinition TCP_FLUSH_CONSOLIDATION = new IntegerDefinition(
+			MODULE + "FLUSH_CONSOLIDATION",
+			"Maximum number of consolidated flushes per TCP connection. 0 to flush each message on its own.",
+			DEFAULT_TCP_FLUSH_CONSOLIDATION, 0);
+	/**
+	 * Use native transport, if available.
+	 * <p>
+	 * Currently the native transport is only supported for netty's epoll on
+	 * Linux and requires {@code io.netty:netty-transport-native-epoll} with the
+	 * classifier of the platform on the classpath. If not available, NIO is
+	 * used.
+	 * 
+	 * @since 4.0
+	 */
+	public static final BooleanDefinition TCP_NATIVE_TRANSPORT = new BooleanDefinition(
+			MODULE + "NATIVE_TRANSPORT", "Use native TCP transport, if available. Falls back to NIO.", true);
+	/**
+	 * Number of TCP server sockets bound to the same port using
+	 * {@code SO_REUSEPORT}.
+	 * <p>
+	 * Spreads the accepting of new connections across multiple threads. Only
+	 * supported by the native transport, {@code 1} otherwise.
+	 * 
+	 * @since 4.0
+	 */
+	public static final IntegerDefinition TCP_ACCEPTORS = new IntegerDefinition(MODULE + "ACCEPTORS",
+			"Number of TCP server sockets bound to the same port. Requires native transport.", 1, 1);
+	/**
+	 * Disable Nagle's algorithm ({@code TCP_NODELAY}).
+	 * 
+	 * @since 4.0
+	 */
+	public static final BooleanDefinition TCP_NO_DELAY = new BooleanDefinition(MODULE + "NO_DELAY",
+			"Disable Nagle's algorithm (TCP_NODELAY).", true);
+	/**
+	 * Enable quick acknowledges ({@code TCP_QUICKACK}).
+	 * <p>
+	 * Only supported by the native transport.
+	 * 
+	 * @since 4.0
+	 */
+	public static final BooleanDefinition TCP_QUICK_ACK = new BooleanDefinition(MODULE + "QUICK_ACK",
+			"Enable quick acknowledges (TCP_QUICKACK). Requires native transport.", false);
 	/**
 	 * TLS handshake timeout.
 	 */
@@ -101,6 +163,11 @@ public final class TcpConfig {
 		@Override
 		public void applyDefinitions(Configuration config) {
 			config.set(TCP_WORKER_THREADS, 0);
+			config.set(TCP_FLUSH_CONSOLIDATION, DEFAULT_TCP_FLUSH_CONSOLIDATION);
+			config.set(TCP_NATIVE_TRANSPORT, true);
+			config.set(TCP_ACCEPTORS, 1);
+			config.set(TCP_NO_DELAY, true);
+			config.set(TCP_QUICK_ACK, false);
 			config.set(TCP_CONNECTION_IDLE_TIMEOUT, DEFAULT_TCP_CONNECTION_IDLE_TIMEOUT_IN_SECONDS, TimeUnit.SECONDS);
 			config.set(TCP_CONNECT_TIMEOUT, DEFAULT_TCP_CONNECT_TIMEOUT_IN_SECONDS, TimeUnit.SECONDS);
 			config.set(TLS_HANDSHAKE_TIMEOUT, DEFAULT_TLS_HANDSHAKE_TIMEOUT_IN_SECONDS, TimeUnit.SECONDS);
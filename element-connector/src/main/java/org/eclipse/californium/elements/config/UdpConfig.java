@@ -20,6 +20,7 @@ import java.net.DatagramSocket;
 
 import org.eclipse.californium.elements.UDPConnector;
 import org.eclipse.californium.elements.config.Configuration.ModuleDefinitionsProvider;
+import org.eclipse.californium.elements.util.ReusePortUtil;
 
 /**
  * Configuration definitions for UDP.
@@ -44,6 +45,18 @@ public final class UdpConfig {
 	public static final IntegerDefinition UDP_SENDER_THREAD_COUNT = new IntegerDefinition(
 			MODULE + "SENDER_THREAD_COUNT",
 			"Number of UDP sender threads. -1 for 1 virtual thread, if supported by the JVM.", 1);
+	/**
+	 * Number of sockets bound to the same port for {@link UDPConnector}.
+	 * <p>
+	 * Values {@code > 1} bind additional sockets using {@code SO_REUSEPORT},
+	 * each with its own receiver threads. Requires java 9 and OS support,
+	 * otherwise only one socket is used.
+	 * 
+	 * @see ReusePortUtil
+	 * @since 4.0
+	 */
+	public static final IntegerDefinition UDP_RECEIVER_SOCKETS = new IntegerDefinition(MODULE + "RECEIVER_SOCKETS",
+			"Number of UDP sockets bound to the same port using SO_REUSEPORT.", 1, 1);
 	/**
 	 * Size of {@link DatagramPacket} for {@link UDPConnector}.
 	 */
@@ -84,6 +97,7 @@ public final class UdpConfig {
 
 			config.set(UDP_RECEIVER_THREAD_COUNT, THREADS);
 			config.set(UDP_SENDER_THREAD_COUNT, THREADS);
+			config.set(UDP_RECEIVER_SOCKETS, 1);
 			config.set(UDP_DATAGRAM_SIZE, 2048);
 			config.set(UDP_RECEIVE_BUFFER_SIZE, null);
 			config.set(UDP_SEND_BUFFER_SIZE, null);
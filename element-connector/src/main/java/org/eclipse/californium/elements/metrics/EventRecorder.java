@@ -0,0 +1,163 @@
+/********************************************************************************
+ * Copyright (c) 2025 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v1.0 which is available at
+ * https://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ ********************************************************************************/
+package org.eclipse.californium.elements.metrics;
+
+import java.util.function.Supplier;
+
+/**
+ * Recorder for profiling events.
+ * <p>
+ * Used to correlate slow exchanges or handshakes with other events of the
+ * JVM, e.g. garbage collections or lock contention. Implementations are
+ * intended to forward the events to a profiler, e.g. the JDK Flight Recorder
+ * provided by the module {@code cf-jfr}. The callers check
+ * {@link #isEnabled(Type)} before collecting the values of an event, so a
+ * disabled recorder causes nearly no overhead.
+ * <p>
+ * All methods have empty default implementations. The peers are passed in as
+ * text, in order to keep the recorder independent of the components.
+ *
+ * @see EventRecorders
+ * @since 4.0
+ */
+public interface EventRecorder {
+
+	/**
+	 * Type of event.
+	 */
+	enum Type {
+		/**
+		 * CoAP exchange completed.
+		 */
+		EXCHANGE,
+		/**
+		 * CoAP message retransmitted.
+		 */
+		RETRANSMISSION,
+		/**
+		 * CoAP blockwise transfer completed.
+		 */
+		BLOCKWISE_TRANSFER,
+		/**
+		 * DTLS handshake started.
+		 */
+		HANDSHAKE_START,
+		/**
+		 * DTLS handshake finished, either succeeded or failed.
+		 */
+		HANDSHAKE,
+		/**
+		 * DTLS connection evicted from the connection store.
+		 */
+		CONNECTION_EVICTION
+	}
+
+	/**
+	 * Checks, if events of the provided type are recorded.
+	 *
+	 * @param type type of event
+	 * @return {@code true}, if events are recorded, {@code false}, otherwise.
+	 */
+	boolean isEnabled(Type type);
+
+	/**
+	 * Record completed exchange.
+	 *
+	 * @param local {@code true}, for exchanges of local origin (client),
+	 *            {@code false}, for exchanges of remote origin (server).
+	 * @param peer peer of the exchange
+	 * @param request supplier of the request text, usually code and URI. Only
+	 *            called, if the event is committed, because building the URI
+	 *            may require to decode the options.
+	 * @param response response code. {@code null}, if no response is
+	 *            available.
+	 * @param deliverNanos nanoseconds from receiving the request until
+	 *            delivering it to the resource. {@code 0}, if not available.
+	 * @param processNanos nanoseconds from delivering the request until the
+	 *            response is sent by the resource. {@code 0}, if not
+	 *            available.
+	 * @param durationNanos nanoseconds from creating the exchange until it
+	 *            completes.
+	 */
+	default void recordExchange(boolean local, String peer, Supplier<String> request, String response,
+			long deliverNanos, long processNanos, long durationNanos) {
+	}
+
+	/**
+	 * Record retransmission.
+	 *
+	 * @param peer peer of the retransmitted message
+	 * @param message message type and code
+	 * @param mid message ID
+	 * @param retransmission number of retransmission, starting with {@code 1}.
+	 * @param timeoutMillis current timeout in milliseconds
+	 */
+	default void recordRetransmission(String peer, String message, int mid, int retransmission,
+			long timeoutMillis) {
+	}
+
+	/**
+	 * Record completed blockwise transfer.
+	 *
+	 * @param transfer key of the transfer, usually code, URI and peer.
+	 * @param block1 {@code true}, for block1 transfers, {@code false}, for
+	 *            block2 transfers.
+	 * @param blocks number of transferred blocks
+	 * @param blockSize size of the last block
+	 * @param durationNanos nanoseconds from creating the transfer until it
+	 *            completes.
+	 */
+	default void recordBlockwiseTransfer(String transfer, boolean block1, int blocks, int blockSize,
+			long durationNanos) {
+	}
+
+	/**
+	 * Record started handshake.
+	 *
+	 * @param peer peer of the handshake
+	 * @param handshake type of handshake, e.g. {@code "ClientHandshaker"}.
+	 */
+	default void recordHandshakeStart(String peer, String handshake) {
+	}
+
+	/**
+	 * Record finished handshake.
+	 *
+	 * @param peer peer of the handshake
+	 * @param handshake type of handshake, e.g. {@code "ClientHandshaker"}.
+	 * @param cipherSuite negotiated cipher suite. {@code null}, if not
+	 *            available.
+	 * @param failure failure message. {@code null}, if the handshake
+	 *            succeeded.
+	 * @param durationNanos nanoseconds from starting the handshake until it
+	 *            finishes.
+	 */
+	default void recordHandshake(String peer, String handshake, String cipherSuite, String failure,
+			long durationNanos) {
+	}
+
+	/**
+	 * Record evicted connection.
+	 *
+	 * @param peer peer of the connection
+	 * @param connectionId connection ID as hexadecimal text. {@code null}, if
+	 *            not available.
+	 * @param established {@code true}, if a DTLS context was established,
+	 *            {@code false}, otherwise.
+	 * @param idleNanos nanoseconds since the last message of the connection.
+	 */
+	default void recordConnectionEviction(String peer, String connectionId, boolean established, long idleNanos) {
+	}
+}
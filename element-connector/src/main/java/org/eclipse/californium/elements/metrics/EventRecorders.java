@@ -0,0 +1,108 @@
+/********************************************************************************
+ * Copyright (c) 2025 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v1.0 which is available at
+ * https://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ ********************************************************************************/
+package org.eclipse.californium.elements.metrics;
+
+import java.util.Iterator;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Holder of the {@link EventRecorder}.
+ * <p>
+ * On the first usage, the recorder is loaded using the {@link ServiceLoader}.
+ * If no recorder is available, {@link #NONE} is used, which doesn't record
+ * any event.
+ *
+ * @since 4.0
+ */
+public final class EventRecorders {
+
+	/** The logger. */
+	private static final Logger LOGGER = LoggerFactory.getLogger(EventRecorders.class);
+
+	/**
+	 * Recorder, which doesn't record any event.
+	 */
+	public static final EventRecorder NONE = new EventRecorder() {
+
+		@Override
+		public boolean isEnabled(Type type) {
+			return false;
+		}
+	};
+
+	/**
+	 * Current recorder.
+	 */
+	private static volatile EventRecorder recorder = load();
+
+	private EventRecorders() {
+		// prevent instantiation
+	}
+
+	/**
+	 * Gets current recorder.
+	 *
+	 * @return current recorder. {@link #NONE}, if no recorder is available.
+	 */
+	public static EventRecorder get() {
+		return recorder;
+	}
+
+	/**
+	 * Checks, if events of the provided type are recorded by the current
+	 * recorder.
+	 *
+	 * @param type type of event
+	 * @return {@code true}, if events are recorded, {@code false}, otherwise.
+	 */
+	public static boolean isEnabled(EventRecorder.Type type) {
+		return recorder.isEnabled(type);
+	}
+
+	/**
+	 * Sets current recorder.
+	 *
+	 * @param recorder recorder. {@code null} to use {@link #NONE}.
+	 */
+	public static void set(EventRecorder recorder) {
+		EventRecorders.recorder = recorder == null ? NONE : recorder;
+	}
+
+	/**
+	 * Load recorder using the {@link ServiceLoader}.
+	 *
+	 * @return first loaded recorder, or {@link #NONE}, if not available.
+	 */
+	private static EventRecorder load() {
+		try {
+			Iterator<EventRecorder> iterator = ServiceLoader.load(EventRecorder.class).iterator();
+			if (iterator.hasNext()) {
+				EventRecorder recorder = iterator.next();
+				LOGGER.info("Event recorder {} loaded.", recorder.getClass().getName());
+				return recorder;
+			}
+		} catch (ServiceConfigurationError e) {
+			LOGGER.warn("Loading event recorder failed: {}", e.getMessage());
+		} catch (LinkageError e) {
+			// recorder requires a newer JVM
+			LOGGER.warn("Loading event recorder failed: {}", e.getMessage());
+		}
+		return NONE;
+	}
+}
@@ -0,0 +1,58 @@
+/********************************************************************************
+ * Copyright (c) 2025 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v1.0 which is available at
+ * https://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ ********************************************************************************/
+package org.eclipse.californium.elements.metrics;
+
+/**
+ * Collector for values of metrics.
+ * <p>
+ * Implemented by exporters, e.g. the {@link PrometheusTextExporter}.
+ *
+ * @since 4.0
+ */
+public interface MetricsCollector {
+
+	/**
+	 * Type of metric.
+	 */
+	enum Type {
+		/**
+		 * Monotonic counter.
+		 */
+		COUNTER,
+		/**
+		 * Value, which may go up and down.
+		 */
+		GAUGE,
+		/**
+		 * Value of unknown type. Used for values of
+		 * {@link org.eclipse.californium.elements.util.SimpleCounterStatistic},
+		 * which may be reset.
+		 */
+		UNTYPED
+	}
+
+	/**
+	 * Add value of metric.
+	 *
+	 * @param name name of metric. Will be sanitized by the exporter, if
+	 *            required.
+	 * @param type type of metric
+	 * @param source source label of the value, usually the logging tag of
+	 *            the component. May be {@code null} or empty, if not
+	 *            available.
+	 * @param value value of metric
+	 */
+	void addValue(String name, Type type, String source, long value);
+}
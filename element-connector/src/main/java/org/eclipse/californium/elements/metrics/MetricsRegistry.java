@@ -0,0 +1,90 @@
+/********************************************************************************
+ * Copyright (c) 2025 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v1.0 which is available at
+ * https://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ ********************************************************************************/
+package org.eclipse.californium.elements.metrics;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Registry of {@link MetricsSource}s.
+ * <p>
+ * The statistic managers, e.g. the
+ * {@link org.eclipse.californium.elements.util.CounterStatisticManager}s,
+ * publish their values into the registry by registering as source. Exporters
+ * scrape the registry by {@link #collectMetrics(MetricsCollector)}. The
+ * sources are kept in a {@link CopyOnWriteArrayList}, scraping the registry
+ * doesn't take a lock and doesn't block the registration.
+ *
+ * @since 4.0
+ */
+public class MetricsRegistry implements MetricsSource {
+
+	/**
+	 * Registered sources.
+	 */
+	private final List<MetricsSource> sources = new CopyOnWriteArrayList<>();
+
+	/**
+	 * Register source.
+	 *
+	 * @param source source to register
+	 * @throws NullPointerException if source is {@code null}
+	 */
+	public void register(MetricsSource source) {
+		if (source == null) {
+			throw new NullPointerException("Source must not be null!");
+		}
+		sources.add(source);
+	}
+
+	/**
+	 * Unregister source.
+	 *
+	 * @param source source to unregister
+	 * @return {@code true}, if the source was registered, {@code false},
+	 *         otherwise.
+	 */
+	public boolean unregister(MetricsSource source) {
+		return sources.remove(source);
+	}
+
+	/**
+	 * Remove all sources.
+	 */
+	public void clear() {
+		sources.clear();
+	}
+
+	/**
+	 * Gets number of registered sources.
+	 *
+	 * @return number of registered sources
+	 */
+	public int size() {
+		return sources.size();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * Collects the values of all registered sources.
+	 */
+	@Override
+	public void collectMetrics(MetricsCollector collector) {
+		for (MetricsSource source : sources) {
+			source.collectMetrics(collector);
+		}
+	}
+}
@@ -0,0 +1,34 @@
+/********************************************************************************
+ * Copyright (c) 2025 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v1.0 which is available at
+ * https://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ ********************************************************************************/
+package org.eclipse.californium.elements.metrics;
+
+/**
+ * Source of metrics.
+ * <p>
+ * Sources are registered at a {@link MetricsRegistry} and are asked to
+ * provide their current values, when the registry is scraped. Implementations
+ * must not block and should read their values without locking.
+ *
+ * @since 4.0
+ */
+public interface MetricsSource {
+
+	/**
+	 * Collect current values of metrics.
+	 *
+	 * @param collector collector for the values
+	 */
+	void collectMetrics(MetricsCollector collector);
+}
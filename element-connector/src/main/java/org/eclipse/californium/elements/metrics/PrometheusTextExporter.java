@@ -0,0 +1,159 @@
+/********************************************************************************
+ * Copyright (c) 2025 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v1.0 which is available at
+ * https://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ ********************************************************************************/
+package org.eclipse.californium.elements.metrics;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.californium.elements.metrics.MetricsCollector.Type;
+
+/**
+ * Exporter for the Prometheus text exposition format.
+ * <p>
+ * Writes the values of a {@link MetricsSource} in the text format version
+ * {@code 0.0.4}, which is also accepted by OpenMetrics scrapers. Values of the
+ * same metric are grouped into one family, the source is written as label
+ * {@code source}.
+ *
+ * <pre>
+ * # TYPE californium_coap_recv_requests untyped
+ * californium_coap_recv_requests{source="coap"} 42
+ * </pre>
+ *
+ * @since 4.0
+ */
+public class PrometheusTextExporter {
+
+	/**
+	 * Content type of the Prometheus text exposition format.
+	 */
+	public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+	/**
+	 * Prefix for the names of the metrics.
+	 */
+	private final String prefix;
+
+	/**
+	 * Create exporter without prefix.
+	 */
+	public PrometheusTextExporter() {
+		this(null);
+	}
+
+	/**
+	 * Create exporter.
+	 *
+	 * @param prefix prefix for the names of the metrics. May be {@code null}.
+	 */
+	public PrometheusTextExporter(String prefix) {
+		this.prefix = prefix == null ? "" : sanitize(prefix);
+	}
+
+	/**
+	 * Export values of source.
+	 *
+	 * @param source source to export, usually a {@link MetricsRegistry}.
+	 * @return values in the Prometheus text format
+	 */
+	public String export(MetricsSource source) {
+		final Map<String, StringBuilder> families = new LinkedHashMap<>();
+		source.collectMetrics(new MetricsCollector() {
+
+			@Override
+			public void addValue(String name, Type type, String label, long value) {
+				String metric = prefix + sanitize(name);
+				StringBuilder family = families.get(metric);
+				if (family == null) {
+					family = new StringBuilder();
+					family.append("# TYPE ").append(metric).append(' ');
+					family.append(type.name().toLowerCase()).append('\n');
+					families.put(metric, family);
+				}
+				family.append(metric);
+				if (label != null && !label.isEmpty()) {
+					family.append("{source=\"");
+					escape(family, label);
+					family.append("\"}");
+				}
+				family.append(' ').append(value).append('\n');
+			}
+		});
+		StringBuilder builder = new StringBuilder();
+		for (StringBuilder family : families.values()) {
+			builder.append(family);
+		}
+		return builder.toString();
+	}
+
+	/**
+	 * Export values of source.
+	 *
+	 * @param source source to export, usually a {@link MetricsRegistry}.
+	 * @return values in the Prometheus text format, UTF-8 encoded.
+	 */
+	public byte[] exportAsBytes(MetricsSource source) {
+		return export(source).getBytes(StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Sanitize name of metric.
+	 * <p>
+	 * Converts the name to lower case and replaces all characters, which are
+	 * not allowed, by {@code '_'}. Consecutive {@code '_'} are merged.
+	 *
+	 * @param name name of metric
+	 * @return sanitized name
+	 */
+	public static String sanitize(String name) {
+		StringBuilder builder = new StringBuilder(name.length());
+		for (int index = 0; index < name.length(); ++index) {
+			char c = Character.toLowerCase(name.charAt(index));
+			boolean valid = (c >= 'a' && c <= 'z') || c == ':' || (c >= '0' && c <= '9' && builder.length() > 0);
+			if (valid) {
+				builder.append(c);
+			} else if (builder.length() == 0 || builder.charAt(builder.length() - 1) != '_') {
+				builder.append('_');
+			}
+		}
+		return builder.toString();
+	}
+
+	/**
+	 * Escape label value.
+	 *
+	 * @param builder builder to append the escaped value
+	 * @param value label value
+	 */
+	private static void escape(StringBuilder builder, String value) {
+		for (int index = 0; index < value.length(); ++index) {
+			char c = value.charAt(index);
+			switch (c) {
+			case '\\':
+				builder.append("\\\\");
+				break;
+			case '"':
+				builder.append("\\\"");
+				break;
+			case '\n':
+				builder.append("\\n");
+				break;
+			default:
+				builder.append(c);
+			}
+		}
+	}
+}
@@ -0,0 +1,214 @@
+/********************************************************************************
+ * Copyright (c) 2025 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v1.0 which is available at
+ * https://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ ********************************************************************************/
+package org.eclipse.californium.elements.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Adaptive admission controller.
+ * <p>
+ * Sheds load based on the queue delay of the executed jobs, not on the
+ * number of queued jobs. The jobs report their queue delay on execution with
+ * {@link #recordDelay(long)}. Similar to CoDel, the minimum delay of an
+ * interval is used to detect a standing queue. If the minimum delay exceeds
+ * the target delay, new jobs with {@link Priority#LOW} are rejected, if it
+ * exceeds the double target delay, also jobs with {@link Priority#MEDIUM} are
+ * rejected. Jobs with {@link Priority#HIGH} are never rejected.
+ * <p>
+ * The shedding level is raised immediately and lowered one level per
+ * interval. If no delays are reported for two intervals, e.g. because all
+ * jobs are rejected, the level is lowered as well.
+ * <p>
+ * {@link #admit(Priority)} is cheap and doesn't lock, without overload it
+ * only reads a volatile field.
+ *
+ * @since 4.0
+ */
+public class AdmissionController {
+
+	/**
+	 * Priority of job.
+	 */
+	public enum Priority {
+		/**
+		 * Low priority, e.g. new handshakes or NON requests. Rejected first.
+		 */
+		LOW,
+		/**
+		 * Medium priority, e.g. CON requests.
+		 */
+		MEDIUM,
+		/**
+		 * High priority, e.g. responses or acknowledges, which complete
+		 * already processed work. Never rejected.
+		 */
+		HIGH
+	}
+
+	/**
+	 * Target queue delay in nanoseconds.
+	 */
+	private final long targetNanos;
+	/**
+	 * Interval in nanoseconds.
+	 */
+	private final long intervalNanos;
+	/**
+	 * Minimum delay of the current interval.
+	 */
+	private final AtomicLong minDelay = new AtomicLong(Long.MAX_VALUE);
+	/**
+	 * Start of the current interval in nanoseconds.
+	 */
+	private final AtomicLong intervalStart = new AtomicLong(ClockUtil.nanoRealtime());
+	/**
+	 * Rejected jobs per priority.
+	 */
+	private final LongAdder[] rejected = new LongAdder[Priority.values().length];
+	/**
+	 * Current shedding level. Number of priorities, which are rejected.
+	 */
+	private volatile int level;
+
+	/**
+	 * Create admission controller.
+	 *
+	 * @param targetDelay target queue delay
+	 * @param interval interval to determine the minimum delay
+	 * @param unit time unit of target delay and interval
+	 * @throws IllegalArgumentException if target delay or interval is not
+	 *             positive
+	 */
+	public AdmissionController(long targetDelay, long interval, TimeUnit unit) {
+		if (targetDelay <= 0) {
+			throw new IllegalArgumentException("Target delay " + targetDelay + " must be positive!");
+		}
+		if (interval <= 0) {
+			throw new IllegalArgumentException("Interval " + interval + " must be positive!");
+		}
+		this.targetNanos = unit.toNanos(targetDelay);
+		this.intervalNanos = unit.toNanos(interval);
+		for (int index = 0; index < rejected.length; ++index) {
+			rejected[index] = new LongAdder();
+		}
+	}
+
+	/**
+	 * Check, if a job with the provided priority is admitted.
+	 *
+	 * @param priority priority of job
+	 * @return {@code true}, if the job is admitted, {@code false}, if the job
+	 *         is rejected.
+	 */
+	public boolean admit(Priority priority) {
+		int level = this.level;
+		if (level == 0 || priority == Priority.HIGH) {
+			return true;
+		}
+		long start = intervalStart.get();
+		long now = ClockUtil.nanoRealtime();
+		if (now - start > intervalNanos * 2 && intervalStart.compareAndSet(start, now)) {
+			// no delays reported, lower level
+			minDelay.set(Long.MAX_VALUE);
+			level = Math.max(0, level - 1);
+			this.level = level;
+		}
+		if (priority.ordinal() < level) {
+			rejected[priority.ordinal()].increment();
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Record queue delay of executed job.
+	 *
+	 * @param delayNanos queue delay in nanoseconds
+	 */
+	public void recordDelay(long delayNanos) {
+		long min = minDelay.get();
+		while (delayNanos < min) {
+			if (minDelay.compareAndSet(min, delayNanos)) {
+				break;
+			}
+			min = minDelay.get();
+		}
+		long start = intervalStart.get();
+		long now = ClockUtil.nanoRealtime();
+		if (now - start >= intervalNanos && intervalStart.compareAndSet(start, now)) {
+			min = minDelay.getAndSet(Long.MAX_VALUE);
+			int next;
+			if (min > targetNanos * 2) {
+				next = 2;
+			} else if (min > targetNanos) {
+				next = 1;
+			} else {
+				next = 0;
+			}
+			int current = level;
+			if (next < current) {
+				// lower one level per interval
+				next = current - 1;
+			}
+			level = next;
+		}
+	}
+
+	/**
+	 * Record queue delay of executed job.
+	 *
+	 * @param queueNanos realtime in nanoseconds, when the job was queued.
+	 * @see ClockUtil#nanoRealtime()
+	 */
+	public void recordSince(long queueNanos) {
+		recordDelay(ClockUtil.nanoRealtime() - queueNanos);
+	}
+
+	/**
+	 * Gets current shedding level.
+	 *
+	 * @return number of rejected priorities. {@code 0}, if no jobs are
+	 *         rejected.
+	 */
+	public int getLevel() {
+		return level;
+	}
+
+	/**
+	 * Checks, if the controller currently sheds load.
+	 *
+	 * @return {@code true}, if jobs are rejected, {@code false}, otherwise.
+	 */
+	public boolean isOverloaded() {
+		return level > 0;
+	}
+
+	/**
+	 * Gets number of rejected jobs.
+	 *
+	 * @param priority priority of jobs
+	 * @return number of rejected jobs with the provided priority
+	 */
+	public long getRejected(Priority priority) {
+		return rejected[priority.ordinal()].sum();
+	}
+
+	@Override
+	public String toString() {
+		return "admission(target " + TimeUnit.NANOSECONDS.toMillis(targetNanos) + "ms, level " + level + ")";
+	}
+}
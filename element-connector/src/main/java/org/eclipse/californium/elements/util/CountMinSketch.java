@@ -0,0 +1,158 @@
+/********************************************************************************
+ * Copyright (c) 2025 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v1.0 which is available at
+ * https://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ ********************************************************************************/
+package org.eclipse.californium.elements.util;
+
+import java.security.SecureRandom;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Count-min sketch.
+ * <p>
+ * Estimates the frequency of keys with a fixed amount of memory, independent
+ * of the number of keys. The estimation may be too large because of hash
+ * collisions, but never too small. Each row uses an own random hash seed,
+ * therefore the collisions can't be predicted by others.
+ * <p>
+ * Thread-safe and lock-free.
+ *
+ * @since 4.0
+ */
+public class CountMinSketch {
+
+	/**
+	 * Counters of all rows.
+	 * <p>
+	 * Replaced by {@link #clear()}, so concurrent additions are either counted
+	 * in the old or the new table, but not partially lost by clearing.
+	 */
+	private volatile AtomicIntegerArray counters;
+	/**
+	 * Hash seeds per row.
+	 */
+	private final long[] seeds;
+	/**
+	 * Mask for the index within a row.
+	 */
+	private final int mask;
+	/**
+	 * Number of counters per row.
+	 */
+	private final int width;
+
+	/**
+	 * Create count-min sketch.
+	 *
+	 * @param depth number of rows. Each row reduces the probability of a
+	 *            collision.
+	 * @param width number of counters per row. Rounded up to the next power
+	 *            of two.
+	 * @throws IllegalArgumentException if depth or width is not positive, or
+	 *             width is larger than {@code 1 << 24}.
+	 */
+	public CountMinSketch(int depth, int width) {
+		if (depth <= 0) {
+			throw new IllegalArgumentException("Depth " + depth + " must be positive!");
+		}
+		if (width <= 0 || width > (1 << 24)) {
+			throw new IllegalArgumentException("Width " + width + " must be in range [1..2^24]!");
+		}
+		int size = 1;
+		while (size < width) {
+			size <<= 1;
+		}
+		this.width = size;
+		this.mask = size - 1;
+		this.counters = new AtomicIntegerArray(depth * size);
+		this.seeds = new long[depth];
+		SecureRandom random = new SecureRandom();
+		for (int row = 0; row < depth; ++row) {
+			seeds[row] = random.nextLong();
+		}
+	}
+
+	/**
+	 * Add key.
+	 *
+	 * @param key bytes of key
+	 * @param offset offset of key
+	 * @param length length of key
+	 * @return estimated frequency of the key including this addition
+	 */
+	public int add(byte[] key, int offset, int length) {
+		AtomicIntegerArray counters = this.counters;
+		int min = Integer.MAX_VALUE;
+		for (int row = 0; row < seeds.length; ++row) {
+			int count = counters.incrementAndGet(index(row, key, offset, length));
+			if (count < min) {
+				min = count;
+			}
+		}
+		return min;
+	}
+
+	/**
+	 * Estimate frequency of key.
+	 *
+	 * @param key bytes of key
+	 * @param offset offset of key
+	 * @param length length of key
+	 * @return estimated frequency of the key
+	 */
+	public int estimate(byte[] key, int offset, int length) {
+		AtomicIntegerArray counters = this.counters;
+		int min = Integer.MAX_VALUE;
+		for (int row = 0; row < seeds.length; ++row) {
+			int count = counters.get(index(row, key, offset, length));
+			if (count < min) {
+				min = count;
+			}
+		}
+		return min;
+	}
+
+	/**
+	 * Clear all counters.
+	 * <p>
+	 * Swaps in a fresh table instead of resetting the counters one by one,
+	 * which would race with concurrent additions.
+	 */
+	public void clear() {
+		counters = new AtomicIntegerArray(counters.length());
+	}
+
+	/**
+	 * Gets index of counter.
+	 *
+	 * @param row row
+	 * @param key bytes of key
+	 * @param offset offset of key
+	 * @param length length of key
+	 * @return index of counter
+	 */
+	private int index(int row, byte[] key, int offset, int length) {
+		// FNV-1a with seed, finalized with the murmur3 mixer
+		long hash = seeds[row] ^ 0xcbf29ce484222325L;
+		for (int index = offset; index < offset + length; ++index) {
+			hash ^= key[index] & 0xff;
+			hash *= 0x100000001b3L;
+		}
+		hash ^= hash >>> 33;
+		hash *= 0xff51afd7ed558ccdL;
+		hash ^= hash >>> 33;
+		hash *= 0xc4ceb9fe1a85ec53L;
+		hash ^= hash >>> 33;
+		return row * width + ((int) hash & mask);
+	}
+}
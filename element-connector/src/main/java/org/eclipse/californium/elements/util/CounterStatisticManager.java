@@ -23,6 +23,9 @@ import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicLong;
 
+import org.eclipse.californium.elements.metrics.MetricsCollector;
+import org.eclipse.californium.elements.metrics.MetricsSource;
+
 /**
  * Counter statistic manager.
  * <p>
@@ -31,10 +34,15 @@ import java.util.concurrent.atomic.AtomicLong;
  * Since 3.1: {@link #isEnabled()} is now coupled to the logger info level, if a
  * logger is assigned. In order to write the statistic, the logger must have at
  * least level debug. That enables to collect statistics without writing them.
+ * <p>
+ * Since 4.0: implements {@link MetricsSource} in order to publish the counters
+ * into a {@link org.eclipse.californium.elements.metrics.MetricsRegistry}.
+ * Publishing is controlled by {@link #setMetricsEnabled(boolean)}, independent
+ * of the logger level.
  * 
  * @since 2.1
  */
-abstract public class CounterStatisticManager {
+abstract public class CounterStatisticManager implements MetricsSource {
 
 	/**
 	 * Align group for {@link SimpleCounterStatistic}.
@@ -67,6 +75,14 @@ abstract public class CounterStatisticManager {
 	 */
 	private AtomicLong lastTransfer = new AtomicLong(ClockUtil.nanoRealtime());
 
+	/**
+	 * Enables to publish the counters as metrics.
+	 * 
+	 * @see #collectMetrics(MetricsCollector)
+	 * @since 4.0
+	 */
+	private volatile boolean metricsEnabled = true;
+
 	/**
 	 * Creates statistic manager.
 	 * 
@@ -262,6 +278,70 @@ abstract public class CounterStatisticManager {
 		return getByKey(key).getCounter();
 	}
 
+	/**
+	 * Gets namespace of the metrics.
+	 * <p>
+	 * Used as prefix of the keys for the names of the metrics.
+	 * 
+	 * @return namespace of the metrics
+	 * @see #collectMetrics(MetricsCollector)
+	 * @since 4.0
+	 */
+	public String getMetricsNamespace() {
+		return "statistic";
+	}
+
+	/**
+	 * Checks, if the counters are published as metrics.
+	 * 
+	 * @return {@code true}, if the counters are published, {@code false},
+	 *         otherwise.
+	 * @since 4.0
+	 */
+	public boolean isMetricsEnabled() {
+		return metricsEnabled;
+	}
+
+	/**
+	 * Enables or disables to publish the counters as metrics.
+	 * <p>
+	 * Enabled by default. In difference to {@link #isEnabled()} not coupled
+	 * to the logger level.
+	 * 
+	 * @param enabled {@code true}, to publish the counters, {@code false},
+	 *            otherwise.
+	 * @since 4.0
+	 */
+	public void setMetricsEnabled(boolean enabled) {
+		this.metricsEnabled = enabled;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * Adds the counters of all {@link SimpleCounterStatistic}s, if
+	 * {@link #isMetricsEnabled()}. The name of the metric is the
+	 * {@link #getMetricsNamespace()} followed by the key, the source is the
+	 * logging tag. The counters are read without locking, see
+	 * {@link SimpleCounterStatistic#peekCounter()}.
+	 * 
+	 * @since 4.0
+	 */
+	@Override
+	public void collectMetrics(MetricsCollector collector) {
+		if (metricsEnabled) {
+			String namespace = getMetricsNamespace() + "_";
+			String source = tag.trim();
+			for (String key : orderedKeys) {
+				SimpleCounterStatistic statistic = statistics.get(key);
+				if (statistic != null) {
+					collector.addValue(namespace + key, MetricsCollector.Type.UNTYPED, source,
+							statistic.peekCounter());
+				}
+			}
+		}
+	}
+
 	/**
 	 * Gets logging tag.
 	 * 
@@ -0,0 +1,355 @@
+/********************************************************************************
+ * Copyright (c) 2025 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v1.0 which is available at
+ * https://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ ********************************************************************************/
+package org.eclipse.californium.elements.util;
+
+import java.util.ConcurrentModificationException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Execution lanes.
+ * <p>
+ * Set of single-threaded lanes. Jobs are pinned to a lane by a key, usually
+ * the identity of a peer. All jobs with the same key are therefore executed
+ * by the same thread in the order of their submission, which avoids the
+ * hand-over between threads for the jobs of a peer.
+ * <p>
+ * <b>Note:</b> the lanes don't replace the synchronization of state accessed
+ * by these jobs. State is still shared with jobs of other executors, e.g.
+ * timers, and with jobs of other keys, if that state is not selected by the
+ * same key.
+ * <p>
+ * <b>Note:</b> a blocking job blocks all other jobs of its lane. Jobs must
+ * therefore not block, or offload blocking work to other executors.
+ * <p>
+ * The threads of the lanes are created on demand by the provided
+ * {@link ThreadFactory}.
+ *
+ * @since 4.0
+ */
+public class ExecutionLanes implements Executor {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(ExecutionLanes.class);
+
+	/**
+	 * Lanes.
+	 */
+	private final Lane[] lanes;
+
+	/**
+	 * Index for jobs without key.
+	 *
+	 * @see #execute(Runnable)
+	 */
+	private final AtomicInteger next = new AtomicInteger();
+
+	/**
+	 * Create execution lanes.
+	 *
+	 * @param lanes number of lanes
+	 * @param threadFactory thread factory to create the threads of the lanes
+	 * @throws IllegalArgumentException if number of lanes is less than
+	 *             {@code 1}
+	 * @throws NullPointerException if thread factory is {@code null}
+	 */
+	public ExecutionLanes(int lanes, ThreadFactory threadFactory) {
+		if (lanes < 1) {
+			throw new IllegalArgumentException("Lanes " + lanes + " must be at least 1!");
+		}
+		if (threadFactory == null) {
+			throw new NullPointerException("Thread factory must not be null!");
+		}
+		this.lanes = new Lane[lanes];
+		for (int index = 0; index < lanes; ++index) {
+			this.lanes[index] = new Lane(index, threadFactory);
+		}
+	}
+
+	/**
+	 * Gets number of lanes.
+	 *
+	 * @return number of lanes
+	 */
+	public int getLaneCount() {
+		return lanes.length;
+	}
+
+	/**
+	 * Gets lane by index.
+	 *
+	 * @param index index of lane. {@code 0} to {@link #getLaneCount()} - 1.
+	 * @return lane
+	 */
+	public Lane getLane(int index) {
+		return lanes[index];
+	}
+
+	/**
+	 * Gets lane for key.
+	 *
+	 * @param key key, usually the peer's identity. {@code null} is mapped to
+	 *            the first lane.
+	 * @return lane for the provided key
+	 */
+	public Lane getLane(Object key) {
+		if (key == null) {
+			return lanes[0];
+		}
+		int hash = key.hashCode();
+		// spread the higher bits, same as HashMap
+		hash ^= (hash >>> 16);
+		return lanes[Math.floorMod(hash, lanes.length)];
+	}
+
+	/**
+	 * Gets lane of the current thread.
+	 *
+	 * @return lane of the current thread, or {@code null}, if the current
+	 *         thread doesn't belong to a lane.
+	 */
+	public Lane getCurrentLane() {
+		for (Lane lane : lanes) {
+			if (lane.checkOwner()) {
+				return lane;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * Jobs without key are executed on the lane of the current thread, or, if
+	 * the current thread doesn't belong to a lane, on the lanes in a round
+	 * robin manner.
+	 */
+	@Override
+	public void execute(Runnable command) {
+		Lane lane = getCurrentLane();
+		if (lane == null) {
+			lane = lanes[Math.floorMod(next.getAndIncrement(), lanes.length)];
+		}
+		lane.execute(command);
+	}
+
+	/**
+	 * Gets the number of currently queued jobs of all lanes.
+	 *
+	 * @return number of queued jobs
+	 */
+	public int getQueueSize() {
+		int size = 0;
+		for (Lane lane : lanes) {
+			size += lane.getQueueSize();
+		}
+		return size;
+	}
+
+	/**
+	 * Gets the maximum number of queued jobs of all lanes.
+	 *
+	 * @return maximum number of queued jobs since start or the last
+	 *         {@link #resetMaxQueueSize()}.
+	 */
+	public int getMaxQueueSize() {
+		int size = 0;
+		for (Lane lane : lanes) {
+			size = Math.max(size, lane.getMaxQueueSize());
+		}
+		return size;
+	}
+
+	/**
+	 * Reset the maximum number of queued jobs of all lanes.
+	 */
+	public void resetMaxQueueSize() {
+		for (Lane lane : lanes) {
+			lane.resetMaxQueueSize();
+		}
+	}
+
+	/**
+	 * Gets the number of executed jobs of all lanes.
+	 *
+	 * @return number of executed jobs
+	 */
+	public long getCompletedTaskCount() {
+		long count = 0;
+		for (Lane lane : lanes) {
+			count += lane.getCompletedTaskCount();
+		}
+		return count;
+	}
+
+	/**
+	 * Shutdown lanes gracefully.
+	 *
+	 * @param timeMaxToWaitInMs max time to wait in milliseconds for job
+	 *            completions.
+	 * @see ExecutorsUtil#shutdownExecutorGracefully(long,
+	 *      java.util.concurrent.ExecutorService...)
+	 */
+	public void shutdownGracefully(long timeMaxToWaitInMs) {
+		ExecutorsUtil.shutdownExecutorGracefully(timeMaxToWaitInMs, lanes);
+	}
+
+	/**
+	 * Checks, if lanes are shutdown.
+	 *
+	 * @return {@code true}, if shutdown, {@code false}, otherwise.
+	 */
+	public boolean isShutdown() {
+		return lanes[0].isShutdown();
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder("lanes[");
+		for (Lane lane : lanes) {
+			builder.append(lane.getQueueSize()).append(',');
+		}
+		builder.setLength(builder.length() - 1);
+		builder.append(']');
+		return builder.toString();
+	}
+
+	/**
+	 * Single-threaded lane.
+	 * <p>
+	 * The current thread owns the lane, if it's the thread of the lane.
+	 * Exceptions of jobs are logged and don't terminate the thread.
+	 */
+	public static class Lane extends ThreadPoolExecutor implements CheckedExecutor {
+
+		/**
+		 * Index of lane.
+		 */
+		private final int index;
+		/**
+		 * Maximum number of queued jobs.
+		 */
+		private final AtomicInteger maxQueueSize = new AtomicInteger();
+		/**
+		 * Thread of lane.
+		 */
+		private volatile Thread owner;
+
+		/**
+		 * Create lane.
+		 *
+		 * @param index index of lane
+		 * @param threadFactory thread factory to create the thread of the
+		 *            lane
+		 */
+		private Lane(int index, ThreadFactory threadFactory) {
+			super(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<Runnable>(), threadFactory);
+			this.index = index;
+		}
+
+		/**
+		 * Gets index of lane.
+		 *
+		 * @return index of lane
+		 */
+		public int getIndex() {
+			return index;
+		}
+
+		@Override
+		public void execute(final Runnable command) {
+			if (command == null) {
+				throw new NullPointerException("Command must not be null!");
+			}
+			super.execute(new Runnable() {
+
+				@Override
+				public void run() {
+					try {
+						command.run();
+					} catch (Throwable t) {
+						LOGGER.error("lane {}: exception in job: {}", index, t.getMessage(), t);
+					}
+				}
+			});
+			int size = getQueue().size();
+			int max = maxQueueSize.get();
+			while (size > max && !maxQueueSize.compareAndSet(max, size)) {
+				max = maxQueueSize.get();
+			}
+		}
+
+		@Override
+		protected void beforeExecute(Thread thread, Runnable job) {
+			owner = thread;
+			super.beforeExecute(thread, job);
+		}
+
+		@Override
+		public void assertOwner() {
+			final Thread thread = owner;
+			if (thread != Thread.currentThread()) {
+				if (thread == null) {
+					throw new ConcurrentModificationException("lane " + index + " is not owned!");
+				} else {
+					throw new ConcurrentModificationException(
+							"lane " + index + " owned by " + thread.getName() + "!");
+				}
+			}
+		}
+
+		@Override
+		public boolean checkOwner() {
+			return owner == Thread.currentThread();
+		}
+
+		/**
+		 * Gets the number of currently queued jobs.
+		 *
+		 * @return number of queued jobs
+		 */
+		public int getQueueSize() {
+			return getQueue().size();
+		}
+
+		/**
+		 * Gets the maximum number of queued jobs.
+		 *
+		 * @return maximum number of queued jobs since start or the last
+		 *         {@link #resetMaxQueueSize()}.
+		 */
+		public int getMaxQueueSize() {
+			return maxQueueSize.get();
+		}
+
+		/**
+		 * Reset the maximum number of queued jobs.
+		 */
+		public void resetMaxQueueSize() {
+			maxQueueSize.set(0);
+		}
+
+		@Override
+		public String toString() {
+			return "lane-" + index;
+		}
+	}
+}
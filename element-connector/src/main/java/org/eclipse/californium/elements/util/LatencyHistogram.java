@@ -0,0 +1,298 @@
+/********************************************************************************
+ * Copyright (c) 2025 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v1.0 which is available at
+ * https://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ ********************************************************************************/
+package org.eclipse.californium.elements.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free latency histogram with fixed memory.
+ * <p>
+ * Latencies are recorded in microseconds using log-linear buckets, similar to
+ * a HDR histogram. Values below {@code 64µs} are recorded exact, larger values
+ * with a relative precision of about {@code 3%} (32 sub-buckets per power of
+ * two). The last bucket starts at {@code 63 * 2^30µs} (about 18.8h, the
+ * highest power of two starts at {@code 2^35µs}, about 9.5h) and records all
+ * larger values.
+ * <p>
+ * Recording a value costs a few atomic increments and doesn't allocate any
+ * memory. Queries read the buckets without locking, therefore results of
+ * queries, which run concurrently to the recording, are only approximations.
+ *
+ * @since 4.0
+ */
+public class LatencyHistogram {
+
+	/**
+	 * Number of bits for the linear sub-buckets.
+	 */
+	private static final int SUB_BUCKET_BITS = 5;
+	/**
+	 * Number of linear sub-buckets per power of two.
+	 */
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	/**
+	 * Number of buckets.
+	 */
+	private static final int BUCKETS = 1024;
+	/**
+	 * Percentiles for the summary.
+	 */
+	private static final double[] SUMMARY_PERCENTILES = { 50.0, 90.0, 99.0, 99.9 };
+
+	/**
+	 * Name of the histogram.
+	 */
+	private final String name;
+	/**
+	 * Counts of buckets.
+	 */
+	private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+	/**
+	 * Number of recorded values.
+	 */
+	private final AtomicLong count = new AtomicLong();
+	/**
+	 * Sum of recorded values in microseconds.
+	 */
+	private final AtomicLong sum = new AtomicLong();
+	/**
+	 * Maximum recorded value in microseconds.
+	 */
+	private final AtomicLong max = new AtomicLong();
+
+	/**
+	 * Create latency histogram.
+	 *
+	 * @param name name of histogram
+	 */
+	public LatencyHistogram(String name) {
+		this.name = name;
+	}
+
+	/**
+	 * Gets name of histogram.
+	 *
+	 * @return name of histogram
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Record latency.
+	 *
+	 * @param nanos latency in nanoseconds. Negative values are ignored.
+	 */
+	public void record(long nanos) {
+		if (nanos < 0) {
+			return;
+		}
+		long micros = TimeUnit.NANOSECONDS.toMicros(nanos);
+		buckets.incrementAndGet(index(micros));
+		count.incrementAndGet();
+		sum.addAndGet(micros);
+		long current = max.get();
+		while (micros > current && !max.compareAndSet(current, micros)) {
+			current = max.get();
+		}
+	}
+
+	/**
+	 * Record latency since the provided start time.
+	 *
+	 * @param startNanos start time in nanoseconds realtime, see
+	 *            {@link ClockUtil#nanoRealtime()}. {@code 0} is ignored.
+	 */
+	public void recordSince(long startNanos) {
+		if (startNanos != 0) {
+			record(ClockUtil.nanoRealtime() - startNanos);
+		}
+	}
+
+	/**
+	 * Gets the number of recorded values.
+	 *
+	 * @return number of recorded values
+	 */
+	public long getCount() {
+		return count.get();
+	}
+
+	/**
+	 * Gets the maximum recorded value.
+	 *
+	 * @param unit time unit of the result
+	 * @return maximum recorded value
+	 */
+	public long getMax(TimeUnit unit) {
+		return unit.convert(max.get(), TimeUnit.MICROSECONDS);
+	}
+
+	/**
+	 * Gets the average of the recorded values.
+	 *
+	 * @param unit time unit of the result
+	 * @return average of the recorded values, {@code 0}, if no values are
+	 *         recorded.
+	 */
+	public long getAverage(TimeUnit unit) {
+		long count = this.count.get();
+		if (count == 0) {
+			return 0;
+		}
+		return unit.convert(sum.get() / count, TimeUnit.MICROSECONDS);
+	}
+
+	/**
+	 * Gets the value at the provided percentile.
+	 *
+	 * @param percentile percentile. {@code 0.0} to {@code 100.0}.
+	 * @param unit time unit of the result
+	 * @return highest equivalent value of the bucket containing the
+	 *         percentile, limited by the maximum recorded value. {@code 0}, if
+	 *         no values are recorded.
+	 * @throws IllegalArgumentException if percentile is not in range
+	 */
+	public long getValueAtPercentile(double percentile, TimeUnit unit) {
+		if (percentile < 0.0 || percentile > 100.0) {
+			throw new IllegalArgumentException("Percentile " + percentile + " is not in range [0.0...100.0]!");
+		}
+		long count = 0;
+		long[] counts = new long[BUCKETS];
+		for (int index = 0; index < BUCKETS; ++index) {
+			counts[index] = buckets.get(index);
+			count += counts[index];
+		}
+		if (count == 0) {
+			return 0;
+		}
+		long limit = Math.max(1, (long) Math.ceil(count * percentile / 100.0));
+		long sum = 0;
+		for (int index = 0; index < BUCKETS; ++index) {
+			sum += counts[index];
+			if (sum >= limit) {
+				long value = Math.min(upperBound(index), max.get());
+				return unit.convert(value, TimeUnit.MICROSECONDS);
+			}
+		}
+		return getMax(unit);
+	}
+
+	/**
+	 * Reset histogram.
+	 * <p>
+	 * Values, which are recorded concurrently, may get lost.
+	 */
+	public void reset() {
+		for (int index = 0; index < BUCKETS; ++index) {
+			buckets.set(index, 0);
+		}
+		count.set(0);
+		sum.set(0);
+		max.set(0);
+	}
+
+	/**
+	 * Gets summary as text.
+	 *
+	 * @param unit time unit of the values
+	 * @return summary as text
+	 */
+	public String getSummaryAsText(TimeUnit unit) {
+		long count = getCount();
+		String unitText = getUnitAsText(unit);
+		StringBuilder builder = new StringBuilder(name);
+		builder.append(": ").append(count);
+		if (count > 0) {
+			builder.append(", avg. ").append(getAverage(unit)).append(unitText);
+			for (double percentile : SUMMARY_PERCENTILES) {
+				builder.append(", ").append(percentile).append("%: ");
+				builder.append(getValueAtPercentile(percentile, unit)).append(unitText);
+			}
+			builder.append(", max. ").append(getMax(unit)).append(unitText);
+		}
+		return builder.toString();
+	}
+
+	@Override
+	public String toString() {
+		return getSummaryAsText(TimeUnit.MICROSECONDS);
+	}
+
+	/**
+	 * Gets time unit as text.
+	 *
+	 * @param unit time unit
+	 * @return time unit as text
+	 */
+	private static String getUnitAsText(TimeUnit unit) {
+		switch (unit) {
+		case NANOSECONDS:
+			return "ns";
+		case MICROSECONDS:
+			return "us";
+		case MILLISECONDS:
+			return "ms";
+		case SECONDS:
+			return "s";
+		default:
+			return " " + unit.name().toLowerCase();
+		}
+	}
+
+	/**
+	 * Gets index of bucket for value.
+	 *
+	 * @param micros value in microseconds
+	 * @return index of bucket
+	 */
+	static int index(long micros) {
+		if (micros < (SUB_BUCKETS << 1)) {
+			return (int) micros;
+		}
+		int shift = (63 - Long.numberOfLeadingZeros(micros)) - SUB_BUCKET_BITS;
+		long index = ((long) shift << SUB_BUCKET_BITS) + (micros >>> shift);
+		return (int) Math.min(index, BUCKETS - 1);
+	}
+
+	/**
+	 * Gets lower bound of bucket.
+	 *
+	 * @param index index of bucket
+	 * @return lowest value of bucket in microseconds
+	 */
+	static long lowerBound(int index) {
+		if (index < (SUB_BUCKETS << 1)) {
+			return index;
+		}
+		int shift = (index >> SUB_BUCKET_BITS) - 1;
+		return (long) (index - (shift << SUB_BUCKET_BITS)) << shift;
+	}
+
+	/**
+	 * Gets upper bound of bucket.
+	 *
+	 * @param index index of bucket
+	 * @return highest value of bucket in microseconds
+	 */
+	static long upperBound(int index) {
+		if (index == BUCKETS - 1) {
+			return Long.MAX_VALUE;
+		}
+		return lowerBound(index + 1) - 1;
+	}
+}
@@ -0,0 +1,222 @@
+/********************************************************************************
+ * Copyright (c) 2025 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v1.0 which is available at
+ * https://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ ********************************************************************************/
+package org.eclipse.californium.elements.util;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.californium.elements.metrics.MetricsCollector;
+import org.eclipse.californium.elements.metrics.MetricsSource;
+
+/**
+ * Per stage latency statistic.
+ * <p>
+ * Contains a {@link LatencyHistogram} for each {@link Stage} of the processing
+ * of a message. Most stages record the latency since the message was received
+ * by the socket, see {@link Stage#isCumulative()}. Comparing the percentiles of
+ * successive stages shows, where the latency is spent.
+ * <p>
+ * The statistic is also a {@link MetricsSource}, which publishes the number of
+ * recorded values and the {@code 50%}, {@code 99%} percentiles and the maximum
+ * in microseconds per stage.
+ *
+ * @since 4.0
+ */
+public class LatencyStatistic implements MetricsSource {
+
+	/**
+	 * Stages of message processing.
+	 */
+	public enum Stage {
+
+		/**
+		 * Duration of the decryption of a DTLS record.
+		 */
+		DECRYPT("decrypt", false),
+		/**
+		 * Latency from socket receive until the message is delivered to the
+		 * endpoint.
+		 */
+		DELIVER("deliver", true),
+		/**
+		 * Latency from socket receive until the protocol stage starts to
+		 * process the message.
+		 */
+		PROCESS("process", true),
+		/**
+		 * Latency from socket receive until the message is parsed,
+		 * deduplicated and matched, and enters the protocol stack.
+		 */
+		MATCH("match", true),
+		/**
+		 * Latency from socket receive until the resource handler is entered.
+		 */
+		HANDLER_ENTRY("handler-entry", true),
+		/**
+		 * Duration of the resource handler.
+		 */
+		HANDLER("handler", false),
+		/**
+		 * Latency from socket receive of the request until the response is
+		 * serialized.
+		 */
+		SERIALIZE("serialize", true),
+		/**
+		 * Latency from socket receive of the request until the response is
+		 * sent by the socket.
+		 */
+		SEND("send", true);
+
+		/**
+		 * Name of stage.
+		 */
+		private final String name;
+		/**
+		 * {@code true}, if the latency is recorded since socket receive,
+		 * {@code false}, if the duration of the stage is recorded.
+		 */
+		private final boolean cumulative;
+
+		private Stage(String name, boolean cumulative) {
+			this.name = name;
+			this.cumulative = cumulative;
+		}
+
+		/**
+		 * Gets name of stage.
+		 *
+		 * @return name of stage
+		 */
+		public String getName() {
+			return name;
+		}
+
+		/**
+		 * Checks, if the latency is recorded since the message was received
+		 * by the socket.
+		 *
+		 * @return {@code true}, if the latency is recorded since socket
+		 *         receive, {@code false}, if the duration of the stage is
+		 *         recorded.
+		 */
+		public boolean isCumulative() {
+			return cumulative;
+		}
+	}
+
+	/**
+	 * Histograms by {@link Stage#ordinal()}.
+	 */
+	private final LatencyHistogram[] histograms;
+
+	/**
+	 * Tag for summary.
+	 */
+	private final String tag;
+
+	/**
+	 * Create latency statistic.
+	 *
+	 * @param tag tag for summary.
+	 */
+	public LatencyStatistic(String tag) {
+		Stage[] stages = Stage.values();
+		this.tag = tag;
+		this.histograms = new LatencyHistogram[stages.length];
+		for (Stage stage : stages) {
+			histograms[stage.ordinal()] = new LatencyHistogram(stage.getName());
+		}
+	}
+
+	/**
+	 * Gets histogram of stage.
+	 *
+	 * @param stage stage
+	 * @return histogram of stage
+	 */
+	public LatencyHistogram get(Stage stage) {
+		return histograms[stage.ordinal()];
+	}
+
+	/**
+	 * Record latency of stage.
+	 *
+	 * @param stage stage
+	 * @param nanos latency in nanoseconds
+	 */
+	public void record(Stage stage, long nanos) {
+		histograms[stage.ordinal()].record(nanos);
+	}
+
+	/**
+	 * Record latency of stage since the provided start time.
+	 *
+	 * @param stage stage
+	 * @param startNanos start time in nanoseconds realtime, see
+	 *            {@link ClockUtil#nanoRealtime()}. {@code 0} is ignored.
+	 */
+	public void recordSince(Stage stage, long startNanos) {
+		histograms[stage.ordinal()].recordSince(startNanos);
+	}
+
+	/**
+	 * Reset all histograms.
+	 */
+	public void reset() {
+		for (LatencyHistogram histogram : histograms) {
+			histogram.reset();
+		}
+	}
+
+	/**
+	 * Gets summary of all stages with recorded values as text.
+	 *
+	 * @param unit time unit of the values
+	 * @return summary as text
+	 */
+	public String getSummaryAsText(TimeUnit unit) {
+		StringBuilder builder = new StringBuilder();
+		builder.append(tag).append("latencies");
+		for (LatencyHistogram histogram : histograms) {
+			if (histogram.getCount() > 0) {
+				builder.append(StringUtil.lineSeparator).append(tag);
+				builder.append("  ").append(histogram.getSummaryAsText(unit));
+			}
+		}
+		return builder.toString();
+	}
+
+	@Override
+	public void collectMetrics(MetricsCollector collector) {
+		String source = tag.trim();
+		for (LatencyHistogram histogram : histograms) {
+			long count = histogram.getCount();
+			if (count > 0) {
+				String name = "latency_" + histogram.getName();
+				collector.addValue(name + "_count", MetricsCollector.Type.UNTYPED, source, count);
+				collector.addValue(name + "_p50_us", MetricsCollector.Type.GAUGE, source,
+						histogram.getValueAtPercentile(50.0, TimeUnit.MICROSECONDS));
+				collector.addValue(name + "_p99_us", MetricsCollector.Type.GAUGE, source,
+						histogram.getValueAtPercentile(99.0, TimeUnit.MICROSECONDS));
+				collector.addValue(name + "_max_us", MetricsCollector.Type.GAUGE, source,
+						histogram.getMax(TimeUnit.MICROSECONDS));
+			}
+		}
+	}
+
+	@Override
+	public String toString() {
+		return getSummaryAsText(TimeUnit.MICROSECONDS);
+	}
+}
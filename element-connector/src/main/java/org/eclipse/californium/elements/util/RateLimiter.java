@@ -0,0 +1,270 @@
+/********************************************************************************
+ * Copyright (c) 2025 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v1.0 which is available at
+ * https://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ ********************************************************************************/
+package org.eclipse.californium.elements.util;
+
+import java.net.InetSocketAddress;
+import java.security.Principal;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.californium.elements.auth.ExtensiblePrincipal;
+import org.eclipse.californium.elements.metrics.MetricsCollector;
+import org.eclipse.californium.elements.metrics.MetricsSource;
+
+/**
+ * Token bucket rate limiter per peer.
+ * <p>
+ * Each peer gets a bucket with {@code burst} tokens, which is refilled with
+ * {@code rate} tokens per second. Each received message consumes one token. If
+ * the bucket is empty, the message is dropped.
+ * <p>
+ * The buckets are kept in a {@link LeastRecentlyUpdatedCache} with a limited
+ * capacity. A bucket, which isn't used for the time to refill it completely,
+ * is stale and gets evicted, if a bucket for a new peer is required. Evicting
+ * such a bucket doesn't change the limits, because a new bucket starts full
+ * as well. If the cache is full without stale buckets, new peers are dropped
+ * until buckets get stale.
+ * <p>
+ * The peers are identified by their address, if not authenticated, or by
+ * their principal, if authenticated, see
+ * {@link #getPeerKey(Principal, InetSocketAddress)}.
+ *
+ * @param <K> type of key
+ * @since 4.0
+ */
+public class RateLimiter<K> implements MetricsSource {
+
+	/**
+	 * Logging tag.
+	 */
+	private final String tag;
+	/**
+	 * Namespace of the metrics.
+	 */
+	private final String namespace;
+	/**
+	 * Nanoseconds to refill one token.
+	 */
+	private final long nanosPerToken;
+	/**
+	 * Maximum number of tokens per bucket.
+	 */
+	private final int burst;
+	/**
+	 * Nanoseconds after which the last-update of a bucket is renewed in the
+	 * cache.
+	 */
+	private final long updateNanos;
+	/**
+	 * Buckets per peer.
+	 */
+	private final LeastRecentlyUpdatedCache<K, Bucket> buckets;
+	/**
+	 * Number of messages dropped, because the bucket was empty.
+	 */
+	private final LongAdder limited = new LongAdder();
+	/**
+	 * Number of messages dropped, because no bucket was available.
+	 */
+	private final LongAdder overflow = new LongAdder();
+
+	/**
+	 * Create rate limiter.
+	 *
+	 * @param tag logging tag
+	 * @param namespace namespace of the metrics, e.g. {@code "coap"} or
+	 *            {@code "dtls"}.
+	 * @param rate number of tokens per second. Rates above
+	 *            {@code 1000000000} (one token per nanosecond) are clamped to
+	 *            that.
+	 * @param burst maximum number of tokens per bucket
+	 * @param maxPeers maximum number of buckets
+	 * @throws IllegalArgumentException if any of rate, burst, or maxPeers is
+	 *             not positive
+	 */
+	public RateLimiter(String tag, String namespace, int rate, int burst, int maxPeers) {
+		if (rate <= 0) {
+			throw new IllegalArgumentException("Rate " + rate + " must be positive!");
+		}
+		if (burst <= 0) {
+			throw new IllegalArgumentException("Burst " + burst + " must be positive!");
+		}
+		if (maxPeers <= 0) {
+			throw new IllegalArgumentException("Max. peers " + maxPeers + " must be positive!");
+		}
+		this.tag = StringUtil.normalizeLoggingTag(tag);
+		this.namespace = namespace + "_";
+		// rates above one token per nanosecond would result in 0
+		this.nanosPerToken = Math.max(1, TimeUnit.SECONDS.toNanos(1) / rate);
+		this.burst = burst;
+		long refillNanos = nanosPerToken * burst;
+		this.updateNanos = refillNanos / 4;
+		this.buckets = new LeastRecentlyUpdatedCache<>(Math.min(maxPeers, 256), maxPeers,
+				refillNanos + updateNanos, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Try to acquire a token for the peer.
+	 *
+	 * @param key key of peer
+	 * @return {@code true}, if a token is acquired and the message should be
+	 *         processed, {@code false}, if the message should be dropped.
+	 */
+	public boolean tryAcquire(K key) {
+		long now = ClockUtil.nanoRealtime();
+		Bucket bucket = buckets.get(key);
+		if (bucket == null) {
+			bucket = new Bucket(now);
+			if (!buckets.put(key, bucket)) {
+				overflow.increment();
+				return false;
+			}
+		} else if (bucket.isUpdateRequired(now)) {
+			buckets.update(key);
+		}
+		if (bucket.tryAcquire(now)) {
+			return true;
+		}
+		limited.increment();
+		return false;
+	}
+
+	/**
+	 * Gets number of dropped messages.
+	 *
+	 * @return number of dropped messages, either because of an empty bucket
+	 *         or because no bucket was available.
+	 */
+	public long getDropped() {
+		return limited.sum() + overflow.sum();
+	}
+
+	/**
+	 * Gets number of tracked peers.
+	 *
+	 * @return number of buckets
+	 */
+	public int size() {
+		return buckets.size();
+	}
+
+	@Override
+	public void collectMetrics(MetricsCollector collector) {
+		String source = tag.trim();
+		collector.addValue(namespace + "rate_limited", MetricsCollector.Type.COUNTER, source, limited.sum());
+		collector.addValue(namespace + "rate_limit_overflow", MetricsCollector.Type.COUNTER, source, overflow.sum());
+		collector.addValue(namespace + "rate_limit_peers", MetricsCollector.Type.GAUGE, source, buckets.size());
+	}
+
+	@Override
+	public String toString() {
+		return "rate-limit(" + (TimeUnit.SECONDS.toNanos(1) / nanosPerToken) + "/s, burst " + burst + ", "
+				+ buckets.size() + " peers)";
+	}
+
+	/**
+	 * Gets key for peer.
+	 * <p>
+	 * Authenticated peers are identified by their principal, which also
+	 * covers address changes and multiple connections of the same peer.
+	 * Anonymous principals are not used, these peers are identified by their
+	 * address.
+	 *
+	 * @param principal principal of peer. May be {@code null}, if not
+	 *            authenticated.
+	 * @param address address of peer
+	 * @return key for peer
+	 */
+	public static Object getPeerKey(Principal principal, InetSocketAddress address) {
+		if (principal != null) {
+			if (!(principal instanceof ExtensiblePrincipal)
+					|| !((ExtensiblePrincipal<?>) principal).isAnonymous()) {
+				return principal;
+			}
+		}
+		return address;
+	}
+
+	/**
+	 * Token bucket.
+	 */
+	private final class Bucket {
+
+		/**
+		 * Number of available tokens.
+		 */
+		private int tokens;
+		/**
+		 * Realtime in nanoseconds of the last refill.
+		 */
+		private long refillNanos;
+		/**
+		 * Realtime in nanoseconds of the last renew in the cache.
+		 */
+		private volatile long updateNanos;
+
+		private Bucket(long now) {
+			this.tokens = burst;
+			this.refillNanos = now;
+			this.updateNanos = now;
+		}
+
+		/**
+		 * Check, if the last-update in the cache must be renewed.
+		 * <p>
+		 * Renewing the last-update requires the write lock of the cache.
+		 * Therefore it's only done in fractions of the refill time.
+		 *
+		 * @param now realtime in nanoseconds
+		 * @return {@code true}, if the last-update must be renewed
+		 */
+		private boolean isUpdateRequired(long now) {
+			if (now - updateNanos > RateLimiter.this.updateNanos) {
+				updateNanos = now;
+				return true;
+			}
+			return false;
+		}
+
+		/**
+		 * Try to acquire a token.
+		 *
+		 * @param now realtime in nanoseconds
+		 * @return {@code true}, if acquired, {@code false}, if the bucket is
+		 *         empty.
+		 */
+		private synchronized boolean tryAcquire(long now) {
+			if (tokens < burst) {
+				long refill = (now - refillNanos) / nanosPerToken;
+				if (refill > 0) {
+					if (refill >= burst - tokens) {
+						tokens = burst;
+						refillNanos = now;
+					} else {
+						tokens += (int) refill;
+						refillNanos += refill * nanosPerToken;
+					}
+				}
+			} else {
+				refillNanos = now;
+			}
+			if (tokens > 0) {
+				--tokens;
+				return true;
+			}
+			return false;
+		}
+	}
+}
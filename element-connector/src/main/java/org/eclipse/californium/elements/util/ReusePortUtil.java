@@ -0,0 +1,127 @@
+/********************************************************************************
+ * Copyright (c) 2025 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v1.0 which is available at
+ * https://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ ********************************************************************************/
+package org.eclipse.californium.elements.util;
+
+import java.io.IOException;
+import java.net.DatagramSocket;
+import java.net.SocketOption;
+import java.net.StandardSocketOptions;
+import java.nio.channels.DatagramChannel;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Utility for datagram sockets bound to the same port using
+ * {@code SO_REUSEPORT}.
+ * <p>
+ * Multiple sockets bound to the same port with {@code SO_REUSEPORT} share the
+ * received datagrams. The OS (e.g. Linux) hashes the address 4-tuple to select
+ * the socket, so all datagrams of one peer are received by the same socket.
+ * Each socket has its own receive queue and lock, which allows to scale the
+ * receiving on machines with many cores.
+ * <p>
+ * Java 9 introduces {@code StandardSocketOptions.SO_REUSEPORT}. Though
+ * Californium supports java 8 as minimum requirement, the option is accessed
+ * via reflection.
+ * 
+ * @since 4.0
+ */
+public class ReusePortUtil {
+
+	/** The logger. */
+	private static final Logger LOGGER = LoggerFactory.getLogger(ReusePortUtil.class);
+
+	/**
+	 * Socket option {@code SO_REUSEPORT}. {@code null}, if not supported.
+	 */
+	private static final SocketOption<Boolean> SO_REUSEPORT;
+
+	static {
+		SocketOption<Boolean> option = null;
+		try {
+			@SuppressWarnings("unchecked")
+			SocketOption<Boolean> reusePort = (SocketOption<Boolean>) StandardSocketOptions.class
+					.getField("SO_REUSEPORT").get(null);
+			try (DatagramChannel channel = DatagramChannel.open()) {
+				if (channel.supportedOptions().contains(reusePort)) {
+					option = reusePort;
+					LOGGER.info("SO_REUSEPORT available.");
+				} else {
+					LOGGER.info("SO_REUSEPORT not supported by OS.");
+				}
+			}
+		} catch (NoSuchFieldException e) {
+			LOGGER.info("Missing field {}, SO_REUSEPORT is not available.", e.getMessage());
+		} catch (IllegalAccessException | SecurityException | IOException e) {
+			LOGGER.info("{}, SO_REUSEPORT is not available.", e.getMessage());
+		}
+		SO_REUSEPORT = option;
+	}
+
+	/**
+	 * Checks, if {@code SO_REUSEPORT} is available.
+	 * <p>
+	 * Requires JVM 9 or newer and support of the OS.
+	 * 
+	 * @return {@code true}, if {@code SO_REUSEPORT} is available.
+	 */
+	public static boolean isAvailable() {
+		return SO_REUSEPORT != null;
+	}
+
+	/**
+	 * Create unbound datagram socket with {@code SO_REUSEPORT} enabled.
+	 * 
+	 * @return unbound datagram socket.
+	 * @throws IOException if an i/o error occurred
+	 * @throws IllegalStateException if {@code SO_REUSEPORT} is not available
+	 * @see #isAvailable()
+	 */
+	public static DatagramSocket createSocket() throws IOException {
+		if (SO_REUSEPORT == null) {
+			throw new IllegalStateException("SO_REUSEPORT not available!");
+		}
+		DatagramChannel channel = DatagramChannel.open();
+		try {
+			channel.setOption(SO_REUSEPORT, true);
+		} catch (IOException ex) {
+			channel.close();
+			throw ex;
+		}
+		return channel.socket();
+	}
+
+	/**
+	 * Checks, if {@code SO_REUSEPORT} is enabled for the provided socket.
+	 * 
+	 * @param socket datagram socket
+	 * @return {@code true}, if {@code SO_REUSEPORT} is enabled,
+	 *         {@code false}, otherwise.
+	 */
+	public static boolean isReusePort(DatagramSocket socket) {
+		if (SO_REUSEPORT != null) {
+			DatagramChannel channel = socket.getChannel();
+			if (channel != null) {
+				try {
+					return channel.getOption(SO_REUSEPORT);
+				} catch (IOException e) {
+					LOGGER.debug("{}", e.getMessage());
+				}
+			}
+		}
+		return false;
+	}
+}
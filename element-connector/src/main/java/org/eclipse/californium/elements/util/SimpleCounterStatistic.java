@@ -16,11 +16,21 @@
 package org.eclipse.californium.elements.util;
 
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Simple count statistic.
  * 
  * Count current occurrences and transfers them to an overall counter.
+ * <p>
+ * Since 4.0 the occurrences are counted by a {@link LongAdder}. The adder
+ * uses striped cells, which are summed on read. That avoids the contention of
+ * the threads, which are counting concurrently, on a single {@link AtomicLong}.
+ * The {@link #transferCounter()} only records the value of the last transfer,
+ * but the counter is not monotonic. {@link #decrement()}, {@link #set(long)},
+ * {@link #setStart(long)} and {@link #reset()} add negative deltas. Use
+ * {@link #add(long)} on hot paths, the methods returning the resulting value
+ * require to sum up the cells.
  */
 public class SimpleCounterStatistic {
 
@@ -39,18 +49,19 @@ public class SimpleCounterStatistic {
 	 */
 	private final AlignGroup group;
 	/**
-	 * Current counter.
+	 * Counter.
 	 * 
-	 * Transferred to {@link #overallCounter} on {@link #dump(int)} and indirect
-	 * on {@link #toString()}.
+	 * The current counter is the difference to the {@link #overallCounter}.
+	 * 
+	 * @since 4.0 (replaces the current counter)
 	 */
-	private final AtomicLong currentCounter = new AtomicLong();
+	private final LongAdder counter = new LongAdder();
 	/**
 	 * Overall counter.
 	 * 
-	 * Accumulates the transferred current counters.
+	 * Value of the {@link #counter} at the last transfer.
 	 * 
-	 * <b>Note:</b> accessing both counter requires additional synchronization
+	 * <b>Note:</b> modifying this counter requires additional synchronization
 	 * using this counter!
 	 */
 	private final AtomicLong overallCounter = new AtomicLong();
@@ -107,8 +118,7 @@ public class SimpleCounterStatistic {
 	 */
 	public void transferCounter() {
 		synchronized (overallCounter) {
-			long current = currentCounter.getAndSet(0);
-			overallCounter.addAndGet(current);
+			overallCounter.set(counter.sum());
 		}
 	}
 
@@ -120,13 +130,8 @@ public class SimpleCounterStatistic {
 	 * @since 3.1 ({@link #transferCounter()} must be called explicitly.)
 	 */
 	public String dump(int align) {
-		long current;
-		long overall;
-		synchronized (overallCounter) {
-			current = currentCounter.get();
-			overall = overallCounter.get();
-		}
-		return format(align, name, current) + String.format(" (%8d overall).", overall);
+		long[] pair = getCountersPair();
+		return format(align, name, pair[0]) + String.format(" (%8d overall).", pair[1]);
 	}
 
 	/**
@@ -155,7 +160,7 @@ public class SimpleCounterStatistic {
 	/**
 	 * Set start value.
 	 * <p>
-	 * Resets {@link #currentCounter} and {@link #overallCounter}.
+	 * Resets {@link #counter} and {@link #overallCounter}.
 	 * 
 	 * @param value start value
 	 * @see #set(long)
@@ -169,7 +174,7 @@ public class SimpleCounterStatistic {
 		synchronized (overallCounter) {
 			startCounter.set(value);
 			overallCounter.set(0);
-			currentCounter.set(0);
+			counter.add(-counter.sum());
 		}
 	}
 
@@ -190,37 +195,60 @@ public class SimpleCounterStatistic {
 				// disabled
 				start = 0;
 			}
-			currentCounter.set(value - overallCounter.get() - start);
+			counter.add(value - start - counter.sum());
 		}
 	}
 
+	/**
+	 * Add delta to current counter.
+	 * <p>
+	 * Contention-free variant of {@link #increment(long)}, intended to be used
+	 * on hot paths.
+	 * 
+	 * @param delta delta to be applied to current counter
+	 * @since 4.0
+	 */
+	public void add(long delta) {
+		counter.add(delta);
+	}
+
 	/**
 	 * Increment current counter.
+	 * <p>
+	 * Since 4.0 the resulting value requires to sum up the striped cells. Use
+	 * {@link #add(long)}, if the resulting value is not required.
 	 * 
 	 * @return resulting value of the current counter
 	 */
 	public long increment() {
-		return currentCounter.incrementAndGet();
+		return increment(1);
 	}
 
 	/**
 	 * Increment current counter by value.
+	 * <p>
+	 * Since 4.0 the resulting value requires to sum up the striped cells. Use
+	 * {@link #add(long)}, if the resulting value is not required.
 	 * 
 	 * @param delta delta to be applied to current counter
 	 * @return resulting value of the current counter
 	 */
 	public long increment(long delta) {
-		return currentCounter.addAndGet(delta);
+		counter.add(delta);
+		return counter.sum() - overallCounter.get();
 	}
 
 	/**
 	 * Decrement current counter.
+	 * <p>
+	 * The resulting value requires to sum up the striped cells. Use
+	 * {@link #add(long)}, if the resulting value is not required.
 	 * 
 	 * @return resulting value of the current counter
 	 * @since 4.0
 	 */
 	public long decrement() {
-		return currentCounter.decrementAndGet();
+		return increment(-1);
 	}
 
 	/**
@@ -230,9 +258,24 @@ public class SimpleCounterStatistic {
 	 * @since 2.1
 	 */
 	public long getCounter() {
-		synchronized (overallCounter) {
-			return overallCounter.get() + currentCounter.get();
-		}
+		return counter.sum();
+	}
+
+	/**
+	 * Get counter value without locking.
+	 * <p>
+	 * Intended to scrape the counter without blocking the
+	 * {@link #transferCounter()} and {@link #reset()}. The value is an
+	 * unsynchronized sum of the cells and may therefore be inconsistent, if
+	 * {@link #transferCounter()} or {@link #reset()} are executed
+	 * concurrently.
+	 * 
+	 * @return counter value
+	 * @see #getCounter()
+	 * @since 4.0
+	 */
+	public long peekCounter() {
+		return counter.sum();
 	}
 
 	/**
@@ -244,7 +287,8 @@ public class SimpleCounterStatistic {
 	 */
 	public long[] getCountersPair() {
 		synchronized (overallCounter) {
-			return new long[] { currentCounter.get(), overallCounter.get() };
+			long overall = overallCounter.get();
+			return new long[] { counter.sum() - overall, overall };
 		}
 	}
 
@@ -252,15 +296,15 @@ public class SimpleCounterStatistic {
 	 * Resets counters to {@code 0}.
 	 * 
 	 * Adjust {@link #startCounter} using the sum of the current and overall
-	 * counter.
+	 * counter. Increments, which are executed concurrently, are kept.
 	 * 
 	 * @return values of current and overall counter before reseted.
 	 */
 	public long reset() {
 		synchronized (overallCounter) {
-			long current = currentCounter.getAndSet(0);
-			overallCounter.addAndGet(current);
-			current = overallCounter.getAndSet(0);
+			long current = counter.sum();
+			counter.add(-current);
+			overallCounter.set(0);
 			long start = startCounter.get();
 			if (start >= 0) {
 				startCounter.set(current + start);
@@ -272,13 +316,12 @@ public class SimpleCounterStatistic {
 	/**
 	 * Check, if statistic is used.
 	 * 
-	 * @return {@code true}, if {@link #currentCounter} or
-	 *         {@link #overallCounter} is larger than {@code 0}.
+	 * @return {@code true}, if the current or the overall counter is larger
+	 *         than {@code 0}.
 	 */
 	public boolean isUsed() {
-		synchronized (overallCounter) {
-			return currentCounter.get() > 0 || overallCounter.get() > 0;
-		}
+		long[] pair = getCountersPair();
+		return pair[0] > 0 || pair[1] > 0;
 	}
 
 	/**
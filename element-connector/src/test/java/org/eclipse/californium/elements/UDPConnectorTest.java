@@ -26,18 +26,28 @@ import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.sameInstance;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assume.assumeTrue;
 
 import java.io.IOException;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import org.eclipse.californium.elements.config.Configuration;
+import org.eclipse.californium.elements.config.UdpConfig;
 import org.eclipse.californium.elements.rule.LoggingRule;
 import org.eclipse.californium.elements.rule.NetworkRule;
 import org.eclipse.californium.elements.rule.ThreadsRule;
+import org.eclipse.californium.elements.util.ReusePortUtil;
 import org.eclipse.californium.elements.util.SimpleMessageCallback;
 import org.eclipse.californium.elements.util.SimpleRawDataChannel;
 import org.junit.After;
@@ -206,6 +216,48 @@ public class UDPConnectorTest {
 		assertThat(callback.toString(), callback.getError(), is(notNullValue()));
 	}
 
+	@Test
+	public void testReceiveWithMultipleSockets() throws Exception {
+		assumeTrue("SO_REUSEPORT not available", ReusePortUtil.isAvailable());
+		int senders = 32;
+		Configuration config = network.createStandardTestConfig();
+		config.set(UdpConfig.UDP_RECEIVER_SOCKETS, 2);
+		// one receiver thread per socket
+		config.set(UdpConfig.UDP_RECEIVER_THREAD_COUNT, 2);
+		final Set<Thread> receivers = ConcurrentHashMap.newKeySet();
+		SimpleRawDataChannel reusePortChannel = new SimpleRawDataChannel(senders) {
+
+			@Override
+			public void receiveData(RawData raw) {
+				receivers.add(Thread.currentThread());
+				super.receiveData(raw);
+			}
+		};
+		UDPConnector reusePort = new UDPConnector(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), config);
+		reusePort.setRawDataReceiver(reusePortChannel);
+		List<DatagramChannel> channels = new ArrayList<>();
+		try {
+			reusePort.start();
+			assertThat(reusePort.getReceiveSocketCount(), is(2));
+			// SO_REUSEPORT sockets are native sockets,
+			// therefore send with native channels
+			for (int index = 0; index < senders; ++index) {
+				DatagramChannel sender = DatagramChannel.open();
+				channels.add(sender);
+				sender.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+				sender.send(ByteBuffer.wrap(new byte[] { (byte) index }), reusePort.getAddress());
+			}
+			assertThat(reusePortChannel.await(TIMEOUT_MILLIS), is(true));
+			// the OS distributes the senders over both sockets
+			assertThat(receivers.size(), is(2));
+		} finally {
+			for (DatagramChannel sender : channels) {
+				sender.close();
+			}
+			reusePort.destroy();
+		}
+	}
+
 	@Test
 	public void testStopCallsMessageCallbackOnError() throws InterruptedException {
 		testStopCallsMessageCallbackOnError(100, 20);
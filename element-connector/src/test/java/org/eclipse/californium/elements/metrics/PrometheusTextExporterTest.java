@@ -0,0 +1,110 @@
+/********************************************************************************
+ * Copyright (c) 2025 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v1.0 which is available at
+ * https://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ ********************************************************************************/
+package org.eclipse.californium.elements.metrics;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.eclipse.californium.elements.category.Small;
+import org.eclipse.californium.elements.util.CounterStatisticManager;
+import org.eclipse.californium.elements.util.SimpleCounterStatistic;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Verifies behavior of {@link PrometheusTextExporter} and
+ * {@link MetricsRegistry}.
+ */
+@Category(Small.class)
+public class PrometheusTextExporterTest {
+
+	@Test
+	public void testSanitize() {
+		assertThat(PrometheusTextExporter.sanitize("recv-requests"), is("recv_requests"));
+		assertThat(PrometheusTextExporter.sanitize("dropped received  records"), is("dropped_received_records"));
+		assertThat(PrometheusTextExporter.sanitize("1st"), is("_st"));
+		assertThat(PrometheusTextExporter.sanitize("Node:ID"), is("node:id"));
+	}
+
+	@Test
+	public void testExportStatistics() {
+		TestStatistic statistic1 = new TestStatistic("node\"1\"");
+		TestStatistic statistic2 = new TestStatistic("node2");
+		statistic1.requests.increment(5);
+		statistic1.transferCounter();
+		statistic1.requests.increment(2);
+		statistic2.requests.increment();
+
+		MetricsRegistry registry = new MetricsRegistry();
+		registry.register(statistic1);
+		registry.register(statistic2);
+		assertThat(registry.size(), is(2));
+
+		String text = new PrometheusTextExporter("californium_").export(registry);
+		assertThat(text, containsString("# TYPE californium_test_recv_requests untyped\n"
+				+ "californium_test_recv_requests{source=\"node\\\"1\\\"\"} 7\n"
+				+ "californium_test_recv_requests{source=\"node2\"} 1\n"));
+		assertThat(text, containsString("californium_test_recv_errors{source=\"node2\"} 0\n"));
+
+		// not coupled to the logger level
+		statistic2.enabled = false;
+		registry.unregister(statistic1);
+		text = new PrometheusTextExporter().export(registry);
+		assertThat(text, containsString("test_recv_requests{source=\"node2\"} 1\n"));
+
+		statistic2.setMetricsEnabled(false);
+		text = new PrometheusTextExporter().export(registry);
+		assertThat(text, is(""));
+	}
+
+	@Test
+	public void testPeekCounter() {
+		SimpleCounterStatistic statistic = new SimpleCounterStatistic("test");
+		statistic.increment(3);
+		assertThat(statistic.peekCounter(), is(3L));
+		statistic.transferCounter();
+		statistic.increment();
+		assertThat(statistic.peekCounter(), is(4L));
+		assertThat(statistic.peekCounter(), is(statistic.getCounter()));
+	}
+
+	private static class TestStatistic extends CounterStatisticManager {
+
+		private final SimpleCounterStatistic requests = new SimpleCounterStatistic("requests", align);
+		private final SimpleCounterStatistic errors = new SimpleCounterStatistic("errors", align);
+		private boolean enabled = true;
+
+		private TestStatistic(String tag) {
+			super(tag);
+			add("recv-", requests);
+			add("recv-", errors);
+		}
+
+		@Override
+		public String getMetricsNamespace() {
+			return "test";
+		}
+
+		@Override
+		public boolean isEnabled() {
+			return enabled;
+		}
+
+		@Override
+		public void dump() {
+		}
+	}
+}
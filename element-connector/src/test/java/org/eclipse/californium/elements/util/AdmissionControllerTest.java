@@ -0,0 +1,103 @@
+/********************************************************************************
+ * Copyright (c) 2025 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v1.0 which is available at
+ * https://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ ********************************************************************************/
+package org.eclipse.californium.elements.util;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.californium.elements.category.Small;
+import org.eclipse.californium.elements.rule.TestTimeRule;
+import org.eclipse.californium.elements.util.AdmissionController.Priority;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Verifies behavior of {@link AdmissionController}.
+ */
+@Category(Small.class)
+public class AdmissionControllerTest {
+
+	@Rule
+	public TestTimeRule time = new TestTimeRule();
+
+	private AdmissionController controller;
+
+	@Before
+	public void setup() {
+		time.setFixedTestTime(true);
+		controller = new AdmissionController(10, 100, TimeUnit.MILLISECONDS);
+	}
+
+	@Test
+	public void testNoOverload() {
+		recordInterval(5);
+		assertThat(controller.getLevel(), is(0));
+		assertAdmitted(true, true, true);
+	}
+
+	@Test
+	public void testShedding() {
+		recordInterval(15);
+		assertThat(controller.getLevel(), is(1));
+		assertAdmitted(false, true, true);
+		recordInterval(25);
+		assertThat(controller.getLevel(), is(2));
+		assertAdmitted(false, false, true);
+		assertThat(controller.getRejected(Priority.LOW), is(2L));
+		assertThat(controller.getRejected(Priority.MEDIUM), is(1L));
+		assertThat(controller.getRejected(Priority.HIGH), is(0L));
+	}
+
+	@Test
+	public void testMinimumDelay() {
+		controller.recordDelay(TimeUnit.MILLISECONDS.toNanos(50));
+		recordInterval(5);
+		assertThat(controller.getLevel(), is(0));
+	}
+
+	@Test
+	public void testRecovery() {
+		recordInterval(25);
+		assertThat(controller.getLevel(), is(2));
+		recordInterval(1);
+		assertThat(controller.getLevel(), is(1));
+		recordInterval(1);
+		assertThat(controller.getLevel(), is(0));
+	}
+
+	@Test
+	public void testRecoveryWithoutDelays() {
+		recordInterval(25);
+		assertThat(controller.getLevel(), is(2));
+		time.addTestTimeShift(250, TimeUnit.MILLISECONDS);
+		assertThat(controller.admit(Priority.MEDIUM), is(true));
+		assertThat(controller.getLevel(), is(1));
+	}
+
+	private void recordInterval(long delayMillis) {
+		time.addTestTimeShift(100, TimeUnit.MILLISECONDS);
+		controller.recordDelay(TimeUnit.MILLISECONDS.toNanos(delayMillis));
+	}
+
+	private void assertAdmitted(boolean low, boolean medium, boolean high) {
+		assertThat(controller.admit(Priority.LOW), is(low));
+		assertThat(controller.admit(Priority.MEDIUM), is(medium));
+		assertThat(controller.admit(Priority.HIGH), is(high));
+	}
+}
@@ -0,0 +1,69 @@
+/********************************************************************************
+ * Copyright (c) 2025 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v1.0 which is available at
+ * https://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ ********************************************************************************/
+package org.eclipse.californium.elements.util;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+
+import org.eclipse.californium.elements.category.Small;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Verifies behavior of {@link CountMinSketch}.
+ */
+@Category(Small.class)
+public class CountMinSketchTest {
+
+	@Test
+	public void testCount() {
+		CountMinSketch sketch = new CountMinSketch(4, 1024);
+		byte[] key1 = { 10, 0, 1, 5 };
+		byte[] key2 = { 10, 0, 2, 5 };
+		for (int index = 1; index <= 10; ++index) {
+			assertThat(sketch.add(key1, 0, 3), is(index));
+		}
+		assertThat(sketch.estimate(key1, 0, 3), is(10));
+		assertThat(sketch.add(key2, 0, 3), is(1));
+		// same prefix
+		assertThat(sketch.estimate(new byte[] { 10, 0, 1, 6 }, 0, 3), is(10));
+		sketch.clear();
+		assertThat(sketch.estimate(key1, 0, 3), is(0));
+	}
+
+	@Test
+	public void testEstimateNeverTooSmall() {
+		CountMinSketch sketch = new CountMinSketch(4, 1024);
+		byte[] key = new byte[2];
+		for (int index = 0; index < 200; ++index) {
+			key[0] = (byte) index;
+			key[1] = (byte) (index >> 8);
+			sketch.add(key, 0, 2);
+		}
+		int exact = 0;
+		for (int index = 0; index < 200; ++index) {
+			key[0] = (byte) index;
+			key[1] = (byte) (index >> 8);
+			int estimate = sketch.estimate(key, 0, 2);
+			assertThat(estimate, is(greaterThanOrEqualTo(1)));
+			if (estimate == 1) {
+				++exact;
+			}
+		}
+		// 200 keys in 1024 counters per row, collisions in all rows are rare
+		assertThat(exact, is(greaterThanOrEqualTo(190)));
+	}
+}
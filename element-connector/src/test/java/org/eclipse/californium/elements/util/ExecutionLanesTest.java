@@ -0,0 +1,144 @@
+/********************************************************************************
+ * Copyright (c) 2025 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v1.0 which is available at
+ * https://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ ********************************************************************************/
+package org.eclipse.californium.elements.util;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.ConcurrentModificationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.eclipse.californium.elements.category.Small;
+import org.eclipse.californium.elements.util.ExecutionLanes.Lane;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Verifies behavior of {@link ExecutionLanes}.
+ */
+@Category(Small.class)
+public class ExecutionLanesTest {
+
+	private ExecutionLanes lanes;
+
+	@Before
+	public void setUp() {
+		lanes = new ExecutionLanes(4, new DaemonThreadFactory("test-lane#"));
+	}
+
+	@After
+	public void tearDown() {
+		lanes.shutdownGracefully(1000);
+	}
+
+	@Test
+	public void testSameKeySameLane() {
+		String key = "peer";
+		assertThat(lanes.getLane(key), is(sameInstance(lanes.getLane(new String("peer")))));
+		assertThat(lanes.getLane(null), is(sameInstance(lanes.getLane(0))));
+	}
+
+	@Test
+	public void testOwner() throws InterruptedException {
+		final Lane lane = lanes.getLane("peer");
+		final AtomicBoolean owner = new AtomicBoolean();
+		final AtomicReference<Lane> current = new AtomicReference<>();
+		final CountDownLatch ready = new CountDownLatch(1);
+		lane.execute(new Runnable() {
+
+			@Override
+			public void run() {
+				owner.set(lane.checkOwner());
+				current.set(lanes.getCurrentLane());
+				ready.countDown();
+			}
+		});
+		assertThat(ready.await(1000, TimeUnit.MILLISECONDS), is(true));
+		assertThat(owner.get(), is(true));
+		assertThat(current.get(), is(sameInstance(lane)));
+		assertThat(lane.checkOwner(), is(false));
+		assertThat(lanes.getCurrentLane(), is(nullValue()));
+	}
+
+	@Test(expected = ConcurrentModificationException.class)
+	public void testAssertOwner() {
+		lanes.getLane(0).assertOwner();
+	}
+
+	@Test
+	public void testQueueMetrics() throws InterruptedException {
+		final Lane lane = lanes.getLane(1);
+		final CountDownLatch block = new CountDownLatch(1);
+		final CountDownLatch ready = new CountDownLatch(3);
+		lane.execute(new Runnable() {
+
+			@Override
+			public void run() {
+				try {
+					block.await();
+				} catch (InterruptedException e) {
+				}
+				ready.countDown();
+			}
+		});
+		Runnable job = new Runnable() {
+
+			@Override
+			public void run() {
+				ready.countDown();
+			}
+		};
+		lane.execute(job);
+		lane.execute(job);
+		assertThat(lane.getQueueSize(), is(2));
+		assertThat(lanes.getQueueSize(), is(2));
+		assertThat(lanes.getMaxQueueSize(), is(2));
+		block.countDown();
+		assertThat(ready.await(1000, TimeUnit.MILLISECONDS), is(true));
+		assertThat(lanes.getMaxQueueSize(), is(2));
+		lanes.resetMaxQueueSize();
+		assertThat(lanes.getMaxQueueSize(), is(0));
+	}
+
+	@Test
+	public void testFailingJobDoesNotBreakLane() throws InterruptedException {
+		final Lane lane = lanes.getLane(2);
+		final CountDownLatch ready = new CountDownLatch(1);
+		lane.execute(new Runnable() {
+
+			@Override
+			public void run() {
+				throw new IntendedTestException("lane");
+			}
+		});
+		lane.execute(new Runnable() {
+
+			@Override
+			public void run() {
+				if (lane.checkOwner()) {
+					ready.countDown();
+				}
+			}
+		});
+		assertThat(ready.await(1000, TimeUnit.MILLISECONDS), is(true));
+	}
+}
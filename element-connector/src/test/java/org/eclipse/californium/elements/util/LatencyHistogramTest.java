@@ -0,0 +1,90 @@
+/********************************************************************************
+ * Copyright (c) 2025 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v1.0 which is available at
+ * https://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ ********************************************************************************/
+package org.eclipse.californium.elements.util;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.number.OrderingComparison.greaterThanOrEqualTo;
+import static org.hamcrest.number.OrderingComparison.lessThanOrEqualTo;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.californium.elements.category.Small;
+import org.eclipse.californium.elements.util.LatencyStatistic.Stage;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Verifies behavior of {@link LatencyHistogram}.
+ */
+@Category(Small.class)
+public class LatencyHistogramTest {
+
+	@Test
+	public void testBuckets() {
+		long last = -1;
+		for (int index = 0; index < 1023; ++index) {
+			long lower = LatencyHistogram.lowerBound(index);
+			assertThat(lower, is(last + 1));
+			assertThat(LatencyHistogram.index(lower), is(index));
+			last = LatencyHistogram.upperBound(index);
+			assertThat(LatencyHistogram.index(last), is(index));
+		}
+		assertThat(LatencyHistogram.index(Long.MAX_VALUE), is(1023));
+		// last bucket starts at 63 * 2^30us, about 18.8h
+		assertThat(LatencyHistogram.lowerBound(1023), is(63L << 30));
+		assertThat(LatencyHistogram.index(1L << 35), is(1023 - 31));
+	}
+
+	@Test
+	public void testPercentiles() {
+		LatencyHistogram histogram = new LatencyHistogram("test");
+		for (int value = 1; value <= 1000; ++value) {
+			histogram.record(TimeUnit.MICROSECONDS.toNanos(value));
+		}
+		assertThat(histogram.getCount(), is(1000L));
+		assertThat(histogram.getMax(TimeUnit.MICROSECONDS), is(1000L));
+		assertThat(histogram.getAverage(TimeUnit.MICROSECONDS), is(500L));
+		assertPercentile(histogram, 50.0, 500);
+		assertPercentile(histogram, 99.0, 990);
+		assertThat(histogram.getValueAtPercentile(100.0, TimeUnit.MICROSECONDS), is(1000L));
+		assertThat(histogram.getSummaryAsText(TimeUnit.MICROSECONDS), containsString("99.0%"));
+
+		histogram.reset();
+		assertThat(histogram.getCount(), is(0L));
+		assertThat(histogram.getValueAtPercentile(99.0, TimeUnit.MICROSECONDS), is(0L));
+	}
+
+	@Test
+	public void testLatencyStatistic() {
+		LatencyStatistic statistic = new LatencyStatistic("test ");
+		statistic.record(Stage.HANDLER, TimeUnit.MILLISECONDS.toNanos(2));
+		statistic.recordSince(Stage.SEND, 0);
+		assertThat(statistic.get(Stage.HANDLER).getCount(), is(1L));
+		assertThat(statistic.get(Stage.SEND).getCount(), is(0L));
+		assertThat(statistic.get(Stage.HANDLER).getMax(TimeUnit.MILLISECONDS), is(2L));
+		assertThat(statistic.toString(), containsString("handler"));
+		statistic.reset();
+		assertThat(statistic.get(Stage.HANDLER).getCount(), is(0L));
+	}
+
+	private static void assertPercentile(LatencyHistogram histogram, double percentile, long expected) {
+		long value = histogram.getValueAtPercentile(percentile, TimeUnit.MICROSECONDS);
+		// relative precision of about 3%
+		assertThat(value, is(greaterThanOrEqualTo(expected)));
+		assertThat(value, is(lessThanOrEqualTo(expected + expected / 32 + 1)));
+	}
+}
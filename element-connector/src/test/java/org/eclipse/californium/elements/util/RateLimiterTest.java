@@ -0,0 +1,117 @@
+/********************************************************************************
+ * Copyright (c) 2025 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v1.0 which is available at
+ * https://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ ********************************************************************************/
+package org.eclipse.californium.elements.util;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.net.InetSocketAddress;
+import java.security.Principal;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.californium.elements.auth.ApplicationPrincipal;
+import org.eclipse.californium.elements.auth.PreSharedKeyIdentity;
+import org.eclipse.californium.elements.category.Small;
+import org.eclipse.californium.elements.rule.TestTimeRule;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Verifies behavior of {@link RateLimiter}.
+ */
+@Category(Small.class)
+public class RateLimiterTest {
+
+	private static final InetSocketAddress PEER_1 = new InetSocketAddress("192.168.0.1", 5684);
+	private static final InetSocketAddress PEER_2 = new InetSocketAddress("192.168.0.2", 5684);
+	private static final InetSocketAddress PEER_3 = new InetSocketAddress("192.168.0.3", 5684);
+
+	@Rule
+	public TestTimeRule time = new TestTimeRule();
+
+	private RateLimiter<Object> limiter;
+
+	@Before
+	public void setup() {
+		time.setFixedTestTime(true);
+		limiter = new RateLimiter<>("test", "test", 10, 3, 2);
+	}
+
+	@Test
+	public void testBurst() {
+		assertAcquired(PEER_1, 3);
+		assertThat(limiter.tryAcquire(PEER_1), is(false));
+		assertAcquired(PEER_2, 3);
+		assertThat(limiter.getDropped(), is(1L));
+	}
+
+	@Test
+	public void testRefill() {
+		assertAcquired(PEER_1, 3);
+		assertThat(limiter.tryAcquire(PEER_1), is(false));
+		time.addTestTimeShift(100, TimeUnit.MILLISECONDS);
+		assertAcquired(PEER_1, 1);
+		assertThat(limiter.tryAcquire(PEER_1), is(false));
+		time.addTestTimeShift(1, TimeUnit.SECONDS);
+		assertAcquired(PEER_1, 3);
+		assertThat(limiter.tryAcquire(PEER_1), is(false));
+	}
+
+	@Test
+	public void testRateIsClamped() {
+		RateLimiter<Object> limiter = new RateLimiter<>("test", "test", Integer.MAX_VALUE, 2, 2);
+		assertAcquired(limiter, PEER_1, 2);
+		assertThat(limiter.tryAcquire(PEER_1), is(false));
+		time.addTestTimeShift(1, TimeUnit.MILLISECONDS);
+		assertAcquired(limiter, PEER_1, 2);
+		assertThat(limiter.toString(), containsString("1000000000/s"));
+	}
+
+	@Test
+	public void testMaxPeers() {
+		assertAcquired(PEER_1, 1);
+		assertAcquired(PEER_2, 1);
+		assertThat(limiter.tryAcquire(PEER_3), is(false));
+		assertThat(limiter.size(), is(2));
+		assertThat(limiter.getDropped(), is(1L));
+		// buckets get stale after refill
+		time.addTestTimeShift(1, TimeUnit.SECONDS);
+		assertAcquired(PEER_3, 3);
+		assertThat(limiter.size(), is(2));
+	}
+
+	@Test
+	public void testPeerKey() {
+		Principal principal = new PreSharedKeyIdentity("me");
+		assertThat(RateLimiter.getPeerKey(principal, PEER_1), is(sameInstance((Object) principal)));
+		assertThat(RateLimiter.getPeerKey(ApplicationPrincipal.ANONYMOUS, PEER_1),
+				is(sameInstance((Object) PEER_1)));
+		assertThat(RateLimiter.getPeerKey(null, PEER_1), is(sameInstance((Object) PEER_1)));
+	}
+
+	private void assertAcquired(Object key, int tokens) {
+		assertAcquired(limiter, key, tokens);
+	}
+
+	private static void assertAcquired(RateLimiter<Object> limiter, Object key, int tokens) {
+		for (int index = 0; index < tokens; ++index) {
+			assertThat("token " + index, limiter.tryAcquire(key), is(true));
+		}
+	}
+}
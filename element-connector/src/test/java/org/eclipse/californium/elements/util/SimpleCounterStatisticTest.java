@@ -0,0 +1,103 @@
+/********************************************************************************
+ * Copyright (c) 2025 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v1.0 which is available at
+ * https://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ ********************************************************************************/
+package org.eclipse.californium.elements.util;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.eclipse.californium.elements.category.Small;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Verifies behavior of {@link SimpleCounterStatistic}.
+ */
+@Category(Small.class)
+public class SimpleCounterStatisticTest {
+
+	@Test
+	public void testTransferCounter() {
+		SimpleCounterStatistic statistic = new SimpleCounterStatistic("test");
+		assertThat(statistic.isUsed(), is(false));
+		assertThat(statistic.increment(), is(1L));
+		statistic.add(4);
+		assertThat(statistic.getCountersPair(), is(new long[] { 5, 0 }));
+		statistic.transferCounter();
+		assertThat(statistic.getCountersPair(), is(new long[] { 0, 5 }));
+		assertThat(statistic.isUsed(), is(true));
+		statistic.add(2);
+		assertThat(statistic.decrement(), is(1L));
+		assertThat(statistic.getCountersPair(), is(new long[] { 1, 5 }));
+		assertThat(statistic.getCounter(), is(6L));
+	}
+
+	@Test
+	public void testReset() {
+		SimpleCounterStatistic statistic = new SimpleCounterStatistic("test");
+		statistic.add(3);
+		statistic.transferCounter();
+		statistic.add(2);
+		assertThat(statistic.reset(), is(5L));
+		assertThat(statistic.getCountersPair(), is(new long[] { 0, 0 }));
+		assertThat(statistic.isUsed(), is(false));
+		statistic.add(1);
+		assertThat(statistic.getCounter(), is(1L));
+	}
+
+	@Test
+	public void testSetStart() {
+		SimpleCounterStatistic statistic = new SimpleCounterStatistic("test");
+		assertThat(statistic.isStarted(), is(false));
+		statistic.add(7);
+		statistic.setStart(100);
+		assertThat(statistic.isStarted(), is(true));
+		assertThat(statistic.getCounter(), is(0L));
+		statistic.set(110);
+		assertThat(statistic.getCounter(), is(10L));
+		statistic.transferCounter();
+		statistic.set(115);
+		assertThat(statistic.getCountersPair(), is(new long[] { 5, 10 }));
+		assertThat(statistic.reset(), is(15L));
+		statistic.set(120);
+		assertThat(statistic.getCounter(), is(5L));
+	}
+
+	@Test
+	public void testConcurrentAdd() throws InterruptedException {
+		final SimpleCounterStatistic statistic = new SimpleCounterStatistic("test");
+		final int loops = 100000;
+		Thread[] threads = new Thread[4];
+		for (int index = 0; index < threads.length; ++index) {
+			threads[index] = new Thread(new Runnable() {
+
+				@Override
+				public void run() {
+					for (int loop = 0; loop < loops; ++loop) {
+						statistic.add(1);
+					}
+				}
+			});
+			threads[index].start();
+		}
+		long transferred = 0;
+		for (Thread thread : threads) {
+			statistic.transferCounter();
+			transferred += statistic.reset();
+			thread.join();
+		}
+		transferred += statistic.reset();
+		assertThat(transferred, is((long) loops * threads.length));
+	}
+}
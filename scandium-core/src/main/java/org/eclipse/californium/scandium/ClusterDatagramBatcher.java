@@ -0,0 +1,249 @@
+/********************************************************************************
+ * Copyright (c) 2025 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v1.0 which is available at
+ * https://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ ********************************************************************************/
+package org.eclipse.californium.scandium;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.eclipse.californium.elements.util.FilteredLogger;
+import org.eclipse.californium.elements.util.NetworkStageRunnable;
+import org.eclipse.californium.elements.util.StringUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Aggregates cluster internal messages for the same node into one datagram.
+ * <p>
+ * Each node uses two reused direct buffers, one to add messages, one to send
+ * them by a single sender thread. Messages are only aggregated, if they are
+ * added while the sender thread is busy, therefore no additional latency is
+ * introduced. If only one message is pending, that is sent without the batch
+ * header.
+ * <p>
+ * Format: {@link DtlsClusterConnector#RECORD_TYPE_BATCH}, followed by messages,
+ * each prefixed by its length in 2 bytes (network byte order).
+ *
+ * @since 4.0
+ */
+class ClusterDatagramBatcher {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(ClusterDatagramBatcher.class);
+
+	private static final FilteredLogger FILTER = new FilteredLogger(LOGGER.getName(), 3,
+			TimeUnit.SECONDS.toNanos(10));
+
+	/**
+	 * Size of batch header.
+	 */
+	static final int BATCH_HEADER_LENGTH = 1;
+	/**
+	 * Size of length prefix of messages.
+	 */
+	static final int MESSAGE_LENGTH_PREFIX = 2;
+
+	/**
+	 * Channel to send datagrams.
+	 */
+	private final DatagramChannel channel;
+	/**
+	 * Maximum size of datagrams.
+	 */
+	private final int maxBatchSize;
+	/**
+	 * Forward statistic.
+	 */
+	private final DtlsClusterForwardStatistic statistic;
+	/**
+	 * Batches per destination node.
+	 */
+	private final ConcurrentMap<InetSocketAddress, Batch> batches = new ConcurrentHashMap<>();
+	/**
+	 * Queue of batches ready to be sent.
+	 */
+	private final BlockingQueue<Batch> pending = new LinkedBlockingQueue<>();
+	/**
+	 * Sender thread.
+	 */
+	private Thread sender;
+
+	/**
+	 * Create batcher.
+	 *
+	 * @param channel channel to send datagrams
+	 * @param maxBatchSize maximum size of datagrams
+	 * @param statistic forward statistic
+	 */
+	ClusterDatagramBatcher(DatagramChannel channel, int maxBatchSize, DtlsClusterForwardStatistic statistic) {
+		this.channel = channel;
+		this.maxBatchSize = maxBatchSize;
+		this.statistic = statistic;
+	}
+
+	/**
+	 * Start sender thread.
+	 *
+	 * @param running running state of connector
+	 * @param factory thread factory
+	 */
+	synchronized void start(BooleanSupplier running, ThreadFactory factory) {
+		sender = new NetworkStageRunnable(running, ClusterDatagramBatcher.class) {
+
+			@Override
+			protected void work() throws Exception {
+				send(pending.take());
+			}
+		}.attach(factory, true);
+	}
+
+	/**
+	 * Stop sender thread and drop pending messages.
+	 */
+	synchronized void stop() {
+		if (sender != null) {
+			sender.interrupt();
+			try {
+				sender.join(500);
+			} catch (InterruptedException e) {
+			}
+			sender = null;
+		}
+		pending.clear();
+		batches.clear();
+	}
+
+	/**
+	 * Add message to the batch of the destination.
+	 *
+	 * @param clusterPacket cluster internal message
+	 * @return {@code true}, if added, {@code false}, if the message doesn't
+	 *         fit and must be sent directly.
+	 */
+	boolean add(DatagramPacket clusterPacket) {
+		int length = clusterPacket.getLength();
+		if (length + MESSAGE_LENGTH_PREFIX + BATCH_HEADER_LENGTH > maxBatchSize) {
+			return false;
+		}
+		InetSocketAddress destination = (InetSocketAddress) clusterPacket.getSocketAddress();
+		Batch batch = batches.get(destination);
+		if (batch == null) {
+			batch = new Batch(destination, maxBatchSize);
+			Batch previous = batches.putIfAbsent(destination, batch);
+			if (previous != null) {
+				batch = previous;
+			}
+		}
+		synchronized (batch) {
+			ByteBuffer buffer = batch.filling;
+			if (buffer.remaining() < length + MESSAGE_LENGTH_PREFIX) {
+				return false;
+			}
+			buffer.putShort((short) length);
+			buffer.put(clusterPacket.getData(), clusterPacket.getOffset(), length);
+			if (batch.messages++ == 0) {
+				pending.add(batch);
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Send pending messages of batch.
+	 * <p>
+	 * Only called by the single sender thread, therefore the sending buffer
+	 * is not used concurrently.
+	 *
+	 * @param batch batch to send
+	 */
+	private void send(Batch batch) {
+		ByteBuffer buffer;
+		int messages;
+		synchronized (batch) {
+			buffer = batch.filling;
+			messages = batch.messages;
+			batch.filling = batch.sending;
+			batch.sending = buffer;
+			batch.messages = 0;
+		}
+		buffer.flip();
+		if (messages == 1) {
+			// single message, skip batch header and length
+			buffer.position(BATCH_HEADER_LENGTH + MESSAGE_LENGTH_PREFIX);
+		}
+		int length = buffer.remaining();
+		try {
+			channel.send(buffer, batch.destination);
+			statistic.sent(batch.destination, messages, length);
+		} catch (IOException ex) {
+			FILTER.info("cluster-node: sending {} messages to {} failed!", messages,
+					StringUtil.toLog(batch.destination), ex);
+			for (int index = 0; index < messages; ++index) {
+				statistic.dropped(batch.destination);
+			}
+		} finally {
+			batch.reset(buffer);
+		}
+	}
+
+	/**
+	 * Batch of a destination node.
+	 */
+	private static class Batch {
+
+		/**
+		 * Destination node.
+		 */
+		private final InetSocketAddress destination;
+		/**
+		 * Buffer to add messages.
+		 */
+		private ByteBuffer filling;
+		/**
+		 * Buffer to send messages.
+		 */
+		private ByteBuffer sending;
+		/**
+		 * Number of messages in {@link #filling}.
+		 */
+		private int messages;
+
+		private Batch(InetSocketAddress destination, int size) {
+			this.destination = destination;
+			this.filling = reset(ByteBuffer.allocateDirect(size));
+			this.sending = reset(ByteBuffer.allocateDirect(size));
+		}
+
+		/**
+		 * Reset buffer to batch header.
+		 *
+		 * @param buffer buffer to reset
+		 * @return the reset buffer
+		 */
+		private ByteBuffer reset(ByteBuffer buffer) {
+			buffer.clear();
+			buffer.put(DtlsClusterConnector.RECORD_TYPE_BATCH);
+			return buffer;
+		}
+	}
+}
@@ -0,0 +1,105 @@
+/********************************************************************************
+ * Copyright (c) 2025 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v1.0 which is available at
+ * https://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ ********************************************************************************/
+package org.eclipse.californium.scandium;
+
+import java.net.DatagramPacket;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.californium.elements.RawData;
+import org.eclipse.californium.scandium.config.DtlsConfig;
+
+/**
+ * Datagram with coalesced application records.
+ * <p>
+ * RFC 6347 permits to send multiple records in one datagram. Collects the
+ * records sent to the same peer within the
+ * {@link DtlsConfig#DTLS_RECORD_COALESCING_WINDOW} up to the maximum datagram
+ * size. Once closed, no records could be added.
+ * 
+ * @since 4.0
+ */
+class CoalescedDatagram {
+
+	/**
+	 * Destination of the datagram.
+	 */
+	private final InetSocketAddress peer;
+	/**
+	 * Buffer for the records.
+	 */
+	private final byte[] buffer;
+	/**
+	 * Messages of the coalesced records.
+	 */
+	private final List<RawData> messages = new ArrayList<>();
+	/**
+	 * Length of the coalesced records.
+	 */
+	private int length;
+	/**
+	 * Indicates, that the datagram is closed.
+	 */
+	private boolean closed;
+
+	/**
+	 * Create datagram.
+	 * 
+	 * @param peer destination of the datagram
+	 * @param maxDatagramSize maximum datagram size
+	 */
+	CoalescedDatagram(InetSocketAddress peer, int maxDatagramSize) {
+		this.peer = peer;
+		this.buffer = new byte[maxDatagramSize];
+	}
+
+	/**
+	 * Add record.
+	 * 
+	 * @param record serialized record
+	 * @param message message of the record
+	 * @return {@code true}, if added, {@code false}, if the datagram is
+	 *         closed or the record doesn't fit.
+	 */
+	synchronized boolean add(byte[] record, RawData message) {
+		if (closed || length + record.length > buffer.length) {
+			return false;
+		}
+		System.arraycopy(record, 0, buffer, length, record.length);
+		length += record.length;
+		messages.add(message);
+		return true;
+	}
+
+	/**
+	 * Close datagram.
+	 * 
+	 * @return messages of the coalesced records
+	 */
+	synchronized List<RawData> close() {
+		closed = true;
+		return messages;
+	}
+
+	/**
+	 * Get datagram packet with the coalesced records.
+	 * 
+	 * @return datagram packet
+	 */
+	synchronized DatagramPacket toDatagramPacket() {
+		return new DatagramPacket(buffer, length, peer);
+	}
+}
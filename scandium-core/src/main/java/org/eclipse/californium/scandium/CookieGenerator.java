@@ -26,14 +26,12 @@ import java.net.InetSocketAddress;
 import java.security.GeneralSecurityException;
 import java.security.SecureRandom;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import javax.crypto.Mac;
 import javax.crypto.SecretKey;
 
 import org.eclipse.californium.elements.util.ClockUtil;
 import org.eclipse.californium.scandium.dtls.ClientHello;
-import org.eclipse.californium.scandium.dtls.cipher.CipherSuite;
 import org.eclipse.californium.scandium.dtls.cipher.ThreadLocalMac;
 import org.eclipse.californium.scandium.util.SecretUtil;
 
@@ -50,6 +48,14 @@ import org.eclipse.californium.scandium.util.SecretUtil;
  *
  * Note: redesigned in 2.3 to use {@link ThreadLocalMac} instead of
  * {@link Mac#clone()}.
+ * <p>
+ * Since 4.0 the secret keys are kept in an immutable snapshot, which is read
+ * without locking, and each thread keeps its own {@link Mac}, which is only
+ * initialized again, if the secret key changes. The first byte of the cookie
+ * contains the generation of the secret key, the remaining bytes the
+ * truncated HMAC. That enables to check with {@link #isPastCookie(byte[])},
+ * if a provided cookie was generated with the past secret key, before the
+ * HMAC of the past period is calculated.
  */
 public class CookieGenerator {
 
@@ -67,80 +73,67 @@ public class CookieGenerator {
 	public static final long COOKIE_LIFETIME_NANOS = TimeUnit.SECONDS.toNanos(60);
 
 	/**
-	 * Nanos of next key generation.
+	 * Length of the cookie in bytes.
+	 * 
+	 * @since 4.0
 	 */
-	private long nextKeyGenerationNanos;
+	public static final int COOKIE_LENGTH = 32;
+
 	/**
-	 * Current secret key.
+	 * MAC algorithm for cookies.
 	 */
-	private SecretKey currentSecretKey;
+	private static final String MAC_ALGORITHM = "HmacSHA256";
+
 	/**
-	 * Past secret key.
+	 * Current secret keys.
+	 * 
+	 * @since 4.0
 	 */
-	private SecretKey pastSecretKey;
+	private volatile SecretKeys keys;
+
 	/**
-	 * Lock to protect access to {@link #currentSecretKey},
-	 * {@link #pastSecretKey}, {@link #randomBytes} and
-	 * {@link #randomGenerator}.
+	 * Thread local MAC with secret key.
+	 * 
+	 * @since 4.0
 	 */
-	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+	private final ThreadLocal<KeyedMac> macs = new ThreadLocal<>();
 
 	// attributes used for random byte generation
 	private final SecureRandom randomGenerator = new SecureRandom();
 	private final byte[] randomBytes = new byte[32];
 
 	/**
-	 * Return the secret key for cookie generation.
+	 * Return the secret keys for cookie generation.
 	 * 
 	 * Secret key is refreshed every {@link #COOKIE_LIFETIME_NANOS} nanoseconds.
 	 * 
-	 * @return secret key
-	 * @since 2.3
+	 * @return secret keys
+	 * @since 4.0
 	 */
-	private SecretKey getSecretKey() {
-
-		lock.readLock().lock();
+	private SecretKeys getSecretKeys() {
 		long now = ClockUtil.nanoRealtime();
-		try {
-			// check, if a secret key is already created and not expired
-			if (currentSecretKey != null && (now - nextKeyGenerationNanos) < 0) {
-				return currentSecretKey;
-			}
-		} finally {
-			lock.readLock().unlock();
+		SecretKeys keys = this.keys;
+		// check, if a secret key is already created and not expired
+		if (keys != null && (now - keys.nextKeyGenerationNanos) < 0) {
+			return keys;
 		}
-
 		// if key expired or secret key not initialized;
-		lock.writeLock().lock();
-		try {
+		synchronized (randomGenerator) {
+			keys = this.keys;
 			// re-check, if a secret key is already created and not expired
-			if (currentSecretKey != null && (now - nextKeyGenerationNanos) < 0) {
-				return currentSecretKey;
+			if (keys != null && (now - keys.nextKeyGenerationNanos) < 0) {
+				return keys;
 			}
 			randomGenerator.nextBytes(randomBytes);
-			nextKeyGenerationNanos = now + COOKIE_LIFETIME_NANOS;
+			SecretKey key = SecretUtil.create(randomBytes, "MAC");
 			// shift secret keys
-			pastSecretKey = currentSecretKey;
-			currentSecretKey = SecretUtil.create(randomBytes, "MAC");
-			return currentSecretKey;
-		} finally {
-			lock.writeLock().unlock();
-		}
-	}
-
-	/**
-	 * Return the secret key of the past period.
-	 * 
-	 * @return past secret key
-	 * @since 2.3
-	 */
-	private SecretKey getPastSecretKey() {
-
-		lock.readLock().lock();
-		try {
-			return pastSecretKey;
-		} finally {
-			lock.readLock().unlock();
+			if (keys == null) {
+				keys = new SecretKeys(0, key, null, now + COOKIE_LIFETIME_NANOS);
+			} else {
+				keys = new SecretKeys(keys.generation + 1, key, keys.current, now + COOKIE_LIFETIME_NANOS);
+			}
+			this.keys = keys;
+			return keys;
 		}
 	}
 
@@ -158,14 +151,15 @@ public class CookieGenerator {
 	 * @param peer address of the peer
 	 * @param clientHello received client hello to generate a cookie for
 	 * @param secretKey to generate a cookie for
+	 * @param generation generation of the secret key
 	 * @return the cookie generated from the client's parameters
 	 * @throws GeneralSecurityException if the cookie cannot be computed
 	 * @since 2.3
 	 */
-	private byte[] generateCookie(InetSocketAddress peer, ClientHello clientHello, SecretKey secretKey) throws GeneralSecurityException {
+	private byte[] generateCookie(InetSocketAddress peer, ClientHello clientHello, SecretKey secretKey,
+			int generation) throws GeneralSecurityException {
 		// Cookie = HMAC(Secret, Client-IP, Client-Parameters)
-		final Mac hmac = CipherSuite.TLS_PSK_WITH_AES_128_CBC_SHA256.getThreadLocalMac();
-		hmac.init(secretKey);
+		final Mac hmac = getMac(secretKey);
 		// Client-IP
 		hmac.update(peer.getAddress().getAddress());
 		int port = peer.getPort();
@@ -173,7 +167,38 @@ public class CookieGenerator {
 		hmac.update((byte) port);
 		// Client-Parameters
 		clientHello.updateForCookie(hmac);
-		return hmac.doFinal();
+		byte[] mac = hmac.doFinal();
+		// generation and truncated HMAC
+		byte[] cookie = new byte[COOKIE_LENGTH];
+		cookie[0] = (byte) generation;
+		System.arraycopy(mac, 0, cookie, 1, COOKIE_LENGTH - 1);
+		return cookie;
+	}
+
+	/**
+	 * Gets thread local MAC initialized with the provided secret key.
+	 * <p>
+	 * A MAC, which is already initialized with that key, is reset, in order
+	 * to discard data left over by a previously failed calculation.
+	 * 
+	 * @param secretKey secret key
+	 * @return initialized MAC
+	 * @throws GeneralSecurityException if the MAC is not available
+	 * @since 4.0
+	 */
+	private Mac getMac(SecretKey secretKey) throws GeneralSecurityException {
+		KeyedMac mac = macs.get();
+		if (mac == null) {
+			mac = new KeyedMac(Mac.getInstance(MAC_ALGORITHM));
+			macs.set(mac);
+		}
+		if (mac.key != secretKey) {
+			mac.mac.init(secretKey);
+			mac.key = secretKey;
+		} else {
+			mac.mac.reset();
+		}
+		return mac.mac;
 	}
 
 	/**
@@ -193,7 +218,8 @@ public class CookieGenerator {
 	 * @throws GeneralSecurityException if the cookie cannot be computed
 	 */
 	public byte[] generateCookie(InetSocketAddress peer, ClientHello clientHello) throws GeneralSecurityException {
-		return generateCookie(peer, clientHello, getSecretKey());
+		SecretKeys keys = getSecretKeys();
+		return generateCookie(peer, clientHello, keys.current, keys.generation);
 	}
 
 	/**
@@ -207,11 +233,82 @@ public class CookieGenerator {
 	 * @since 2.3
 	 */
 	public byte[] generatePastCookie(InetSocketAddress peer, ClientHello clientHello) throws GeneralSecurityException {
-		SecretKey secretKey = getPastSecretKey();
-		if (secretKey != null) {
-			return generateCookie(peer, clientHello, secretKey);
+		SecretKeys keys = this.keys;
+		if (keys != null && keys.past != null) {
+			return generateCookie(peer, clientHello, keys.past, keys.generation - 1);
 		} else {
 			return null;
 		}
 	}
+
+	/**
+	 * Checks, if the provided cookie may be generated with the secret key of
+	 * the past period.
+	 * <p>
+	 * Only checks the generation of the cookie, not the HMAC. Enables to skip
+	 * the calculation of the past cookie for cookies of other generations.
+	 * 
+	 * @param cookie provided cookie
+	 * @return {@code true}, if the cookie may be generated with the past
+	 *         secret key, {@code false}, otherwise.
+	 * @since 4.0
+	 */
+	public boolean isPastCookie(byte[] cookie) {
+		SecretKeys keys = this.keys;
+		return keys != null && keys.past != null && cookie.length == COOKIE_LENGTH
+				&& cookie[0] == (byte) (keys.generation - 1);
+	}
+
+	/**
+	 * Immutable snapshot of the secret keys.
+	 * 
+	 * @since 4.0
+	 */
+	private static class SecretKeys {
+
+		/**
+		 * Generation of the current secret key.
+		 */
+		private final int generation;
+		/**
+		 * Current secret key.
+		 */
+		private final SecretKey current;
+		/**
+		 * Past secret key. {@code null}, if not available.
+		 */
+		private final SecretKey past;
+		/**
+		 * Nanos of next key generation.
+		 */
+		private final long nextKeyGenerationNanos;
+
+		private SecretKeys(int generation, SecretKey current, SecretKey past, long nextKeyGenerationNanos) {
+			this.generation = generation;
+			this.current = current;
+			this.past = past;
+			this.nextKeyGenerationNanos = nextKeyGenerationNanos;
+		}
+	}
+
+	/**
+	 * MAC with the secret key it's initialized with.
+	 * 
+	 * @since 4.0
+	 */
+	private static class KeyedMac {
+
+		/**
+		 * MAC.
+		 */
+		private final Mac mac;
+		/**
+		 * Secret key of MAC.
+		 */
+		private SecretKey key;
+
+		private KeyedMac(Mac mac) {
+			this.mac = mac;
+		}
+	}
 }
@@ -143,7 +143,9 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
@@ -164,6 +166,7 @@ import org.eclipse.californium.elements.Connector;
 import org.eclipse.californium.elements.DtlsEndpointContext;
 import org.eclipse.californium.elements.EndpointContext;
 import org.eclipse.californium.elements.EndpointContextMatcher;
+import org.eclipse.californium.elements.LatencyStatisticSupport;
 import org.eclipse.californium.elements.MapBasedEndpointContext.Attributes;
 import org.eclipse.californium.elements.PersistentComponent;
 import org.eclipse.californium.elements.RawData;
@@ -177,18 +180,25 @@ import org.eclipse.californium.elements.exception.EndpointMismatchException;
 import org.eclipse.californium.elements.exception.EndpointUnconnectedException;
 import org.eclipse.californium.elements.exception.MissingApplicationAuthorizationException;
 import org.eclipse.californium.elements.exception.MulticastNotSupportedException;
+import org.eclipse.californium.elements.metrics.MetricsCollector;
+import org.eclipse.californium.elements.metrics.MetricsSource;
+import org.eclipse.californium.elements.util.AdmissionController;
+import org.eclipse.californium.elements.util.AdmissionController.Priority;
 import org.eclipse.californium.elements.util.Bytes;
 import org.eclipse.californium.elements.util.ClockUtil;
 import org.eclipse.californium.elements.util.DaemonThreadFactory;
 import org.eclipse.californium.elements.util.DatagramReader;
 import org.eclipse.californium.elements.util.ExecutorsUtil;
 import org.eclipse.californium.elements.util.FilteredLogger;
+import org.eclipse.californium.elements.util.LatencyStatistic;
 import org.eclipse.californium.elements.util.LimitedRunnable;
 import org.eclipse.californium.elements.util.NamedThreadFactory;
 import org.eclipse.californium.elements.util.NetworkInterfacesUtil;
 import org.eclipse.californium.elements.util.NetworkStageRunnable;
 import org.eclipse.californium.elements.util.NoPublicAPI;
 import org.eclipse.californium.elements.util.ProtocolScheduledExecutorService;
+import org.eclipse.californium.elements.util.RateLimiter;
+import org.eclipse.californium.elements.util.ReusePortUtil;
 import org.eclipse.californium.elements.util.SerialExecutor;
 import org.eclipse.californium.elements.util.SocketThreadFactory;
 import org.eclipse.californium.elements.util.StringUtil;
@@ -260,7 +270,9 @@ import org.slf4j.MDC;
  * side and a separate Connector is created for each address to receive incoming
  * traffic.
  */
-public class DTLSConnector implements Connector, ApplicationAuthorizer, PersistentComponent, RecordLayer {
+public class DTLSConnector
+		implements Connector, ApplicationAuthorizer, PersistentComponent, RecordLayer, LatencyStatisticSupport,
+		MetricsSource {
 
 	/**
 	 * The {@code EndpointContext} key used to store the host name indicated by
@@ -457,6 +469,37 @@ public class DTLSConnector implements Connector, ApplicationAuthorizer, Persiste
 	 */
 	private final AtomicInteger pendingInboundJobsCountdown = new AtomicInteger();
 
+	/**
+	 * Adaptive admission control for inbound records. {@code null}, if
+	 * disabled.
+	 * 
+	 * @see DtlsConfig#DTLS_ADMISSION_TARGET_DELAY
+	 * @since 4.0
+	 */
+	private final AdmissionController admissionController;
+	/**
+	 * Window to coalesce application records in nanoseconds. {@code 0}, if
+	 * disabled.
+	 * 
+	 * @see DtlsConfig#DTLS_RECORD_COALESCING_WINDOW
+	 * @since 4.0
+	 */
+	private final long recordCoalescingWindowNanos;
+	/**
+	 * Pending coalesced datagrams by peer address.
+	 * 
+	 * @since 4.0
+	 */
+	private final ConcurrentMap<InetSocketAddress, CoalescedDatagram> coalescedDatagrams = new ConcurrentHashMap<>();
+
+	/**
+	 * Rate limit for inbound records. {@code null}, if disabled.
+	 * 
+	 * @see DtlsConfig#DTLS_RATE_LIMIT
+	 * @since 4.0
+	 */
+	private final RateLimiter<Object> rateLimiter;
+
 	/**
 	 * Maximum pending jobs for handshake results.
 	 * 
@@ -516,6 +559,14 @@ public class DTLSConnector implements Connector, ApplicationAuthorizer, Persiste
 	private final CookieGenerator cookieGenerator = new CookieGenerator();
 
 	private volatile DatagramSocket socket;
+	/**
+	 * Sockets for receiving. The first is the {@link #socket}, the others are
+	 * bound to the same port using {@code SO_REUSEPORT}.
+	 * 
+	 * @see DtlsConfig#DTLS_RECEIVER_SOCKETS
+	 * @since 4.0
+	 */
+	private volatile DatagramSocket[] receiveSockets;
 
 	/** Indicates whether the connector has started and not stopped yet */
 	private AtomicBoolean running = new AtomicBoolean(false);
@@ -532,6 +583,13 @@ public class DTLSConnector implements Connector, ApplicationAuthorizer, Persiste
 
 	private volatile RawDataChannel messageHandler;
 	private volatile AlertHandler alertHandler;
+	/**
+	 * Latency statistic.
+	 * 
+	 * @see #setLatencyStatistic(LatencyStatistic)
+	 * @since 4.0
+	 */
+	private volatile LatencyStatistic latencyStatistic;
 	private final List<SessionListener> sessionListeners = new ArrayList<>();
 	private final ConnectionListener connectionListener;
 	private final DatagramFilter datagramFilter;
@@ -596,6 +654,22 @@ public class DTLSConnector implements Connector, ApplicationAuthorizer, Persiste
 			this.pendingOutboundJobsCountdown.set(maxPendingOutboundJobs);
 			this.pendingInboundJobsCountdown.set(maxPendingInboundJobs);
 			this.pendingHandshakeResultJobsCountdown.set(maxPendingHandshakeResultJobs);
+			Long admissionTargetDelay = config.get(DtlsConfig.DTLS_ADMISSION_TARGET_DELAY, TimeUnit.MILLISECONDS);
+			if (admissionTargetDelay != null && admissionTargetDelay > 0) {
+				this.admissionController = new AdmissionController(admissionTargetDelay,
+						config.get(DtlsConfig.DTLS_ADMISSION_INTERVAL, TimeUnit.MILLISECONDS), TimeUnit.MILLISECONDS);
+			} else {
+				this.admissionController = null;
+			}
+			this.recordCoalescingWindowNanos = config.get(DtlsConfig.DTLS_RECORD_COALESCING_WINDOW,
+					TimeUnit.NANOSECONDS);
+			Integer rateLimit = config.get(DtlsConfig.DTLS_RATE_LIMIT);
+			if (rateLimit != null && rateLimit > 0) {
+				this.rateLimiter = new RateLimiter<>(config.getLoggingTag(), "dtls", rateLimit,
+						config.get(DtlsConfig.DTLS_RATE_LIMIT_BURST), config.get(DtlsConfig.DTLS_RATE_LIMIT_MAX_PEERS));
+			} else {
+				this.rateLimiter = null;
+			}
 			this.autoResumptionTimeoutMillis = config.getAutoHandshakeTimeoutMillis();
 			this.dtlsRole = config.get(DtlsConfig.DTLS_ROLE);
 			this.defaultHandshakeMode = config.getDefaultHandshakeMode();
@@ -759,6 +833,32 @@ public class DTLSConnector implements Connector, ApplicationAuthorizer, Persiste
 		return health;
 	}
 
+	/**
+	 * Get rate limit for inbound records.
+	 *
+	 * @return rate limiter, or {@code null}, if disabled.
+	 * @see DtlsConfig#DTLS_RATE_LIMIT
+	 * @since 4.0
+	 */
+	public RateLimiter<Object> getRateLimiter() {
+		return rateLimiter;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * Adds the metrics of the {@link #getRateLimiter()}, if enabled.
+	 * 
+	 * @since 4.0
+	 */
+	@Override
+	public void collectMetrics(MetricsCollector collector) {
+		RateLimiter<Object> limiter = rateLimiter;
+		if (limiter != null) {
+			limiter.collectMetrics(collector);
+		}
+	}
+
 	/**
 	 * Update health statistic.
 	 * 
@@ -1062,7 +1162,17 @@ public class DTLSConnector implements Connector, ApplicationAuthorizer, Persiste
 		if (running.get()) {
 			return;
 		}
-		init(bindAddress, new DatagramSocket(null), null);
+		DatagramSocket socket;
+		int receiverSockets = config.get(DtlsConfig.DTLS_RECEIVER_SOCKETS);
+		if (receiverSockets > 1 && ReusePortUtil.isAvailable()) {
+			socket = ReusePortUtil.createSocket();
+		} else {
+			if (receiverSockets > 1) {
+				LOGGER.warn("DTLSConnector requires SO_REUSEPORT for {} sockets, use 1 socket.", receiverSockets);
+			}
+			socket = new DatagramSocket(null);
+		}
+		init(bindAddress, socket, null);
 	}
 
 	/**
@@ -1123,6 +1233,8 @@ public class DTLSConnector implements Connector, ApplicationAuthorizer, Persiste
 			socket.bind(bindAddress);
 		}
 		InetSocketAddress actualBindAddress = new InetSocketAddress(socket.getLocalAddress(), socket.getLocalPort());
+		DatagramSocket[] sockets = bindReceiveSockets(socket, actualBindAddress, receiverThreadCount);
+		receiveSockets = sockets;
 		if (lastBindAddress != null && !actualBindAddress.equals(lastBindAddress)) {
 			connectionStore.markAllAsResumptionRequired();
 		}
@@ -1248,9 +1360,14 @@ public class DTLSConnector implements Connector, ApplicationAuthorizer, Persiste
 		running.set(true);
 
 		int max = receiverThreadCount < 0 ? 1 : receiverThreadCount;
+		if (max > 0) {
+			// at least one receiver per socket
+			max = Math.max(max, sockets.length);
+		}
 		ThreadFactory factory = SocketThreadFactory.create("DTLS-Receiver-" + addr, receiverThreadCount,
 				NamedThreadFactory.SCANDIUM_THREAD_GROUP);
 		for (int i = 0; i < max; i++) {
+			final int socketIndex = i % sockets.length;
 			Thread thread = new NetworkStageRunnable(() -> isRunning(), DTLSConnector.class) {
 
 				private final byte[] receiverBuffer = new byte[inboundDatagramBufferSize];
@@ -1262,7 +1379,14 @@ public class DTLSConnector implements Connector, ApplicationAuthorizer, Persiste
 						MDC.clear();
 					}
 					packet.setData(receiverBuffer);
-					receiveNextDatagramFromNetwork(packet);
+					if (socketIndex == 0) {
+						receiveNextDatagramFromNetwork(packet);
+					} else {
+						DatagramSocket[] currentSockets = receiveSockets;
+						if (currentSockets != null) {
+							receiveNextDatagramFromNetwork(currentSockets[socketIndex], packet);
+						}
+					}
 				}
 			}.attach(factory, true);
 			receiverThreads.add(thread);
@@ -1372,6 +1496,68 @@ public class DTLSConnector implements Connector, ApplicationAuthorizer, Persiste
 		return socket;
 	}
 
+	/**
+	 * Bind additional sockets to the port of the provided socket.
+	 * <p>
+	 * Only, if {@link DtlsConfig#DTLS_RECEIVER_SOCKETS} is larger than
+	 * {@code 1} and {@code SO_REUSEPORT} is enabled for the provided socket.
+	 * The OS keeps all datagrams of a peer on the same socket. The
+	 * {@link #connectionStore} is shared by all sockets, and all messages are
+	 * sent using the provided socket.
+	 * 
+	 * @param socket bound socket
+	 * @param bindAddress address the socket is bound to
+	 * @param receiverThreadCount number of receiver threads
+	 * @return array of sockets for receiving, starting with the provided
+	 *         socket.
+	 * @throws IOException if an additional socket could not be bound
+	 * @since 4.0
+	 */
+	private DatagramSocket[] bindReceiveSockets(DatagramSocket socket, InetSocketAddress bindAddress,
+			int receiverThreadCount) throws IOException {
+		int receiverSockets = config.get(DtlsConfig.DTLS_RECEIVER_SOCKETS);
+		if (receiverSockets < 2 || !ReusePortUtil.isReusePort(socket)) {
+			return new DatagramSocket[] { socket };
+		}
+		Integer size = config.get(DtlsConfig.DTLS_RECEIVE_BUFFER_SIZE);
+		DatagramSocket[] sockets = new DatagramSocket[receiverSockets];
+		sockets[0] = socket;
+		try {
+			for (int index = 1; index < sockets.length; ++index) {
+				DatagramSocket additional = ReusePortUtil.createSocket();
+				sockets[index] = additional;
+				additional.setReuseAddress(socket.getReuseAddress());
+				if (size != null && size > 0) {
+					additional.setReceiveBufferSize(size);
+				}
+				if (receiverThreadCount < 0 && VirtualThreadFactory.isAvailable()) {
+					additional.setSoTimeout(Integer.MAX_VALUE);
+				}
+				additional.bind(bindAddress);
+			}
+		} catch (IOException ex) {
+			for (int index = 1; index < sockets.length; ++index) {
+				if (sockets[index] != null) {
+					sockets[index].close();
+				}
+			}
+			throw ex;
+		}
+		LOGGER.info("DTLSConnector bound {} sockets to {}", sockets.length, bindAddress);
+		return sockets;
+	}
+
+	/**
+	 * Gets number of bound receive sockets.
+	 * 
+	 * @return number of bound receive sockets, {@code 0}, if not running.
+	 * @since 4.0
+	 */
+	int getReceiveSocketCount() {
+		DatagramSocket[] sockets = receiveSockets;
+		return sockets == null ? 0 : sockets.length;
+	}
+
 	@Override
 	public void stop() {
 		ExecutorService shutdown = null;
@@ -1398,10 +1584,28 @@ public class DTLSConnector implements Connector, ApplicationAuthorizer, Persiste
 					socket.close();
 					socket = null;
 				}
+				DatagramSocket[] sockets = receiveSockets;
+				if (sockets != null) {
+					receiveSockets = null;
+					for (DatagramSocket receiveSocket : sockets) {
+						receiveSocket.close();
+					}
+				}
 				maximumTransmissionUnit = null;
 				ipv4Mtu = DEFAULT_IPV4_MTU;
 				ipv6Mtu = DEFAULT_IPV6_MTU;
 				connectionStore.stop(pending);
+				for (InetSocketAddress peer : coalescedDatagrams.keySet()) {
+					CoalescedDatagram datagram = coalescedDatagrams.remove(peer);
+					if (datagram != null) {
+						final List<RawData> messages = datagram.close();
+						pending.add(() -> {
+							for (RawData message : messages) {
+								message.onError(new InterruptedIOException("Connector is not running."));
+							}
+						});
+					}
+				}
 				if (hasInternalExecutor) {
 					pending.addAll(executorService.shutdownNow());
 					shutdown = executorService;
@@ -1467,23 +1671,37 @@ public class DTLSConnector implements Connector, ApplicationAuthorizer, Persiste
 	@Override
 	public int load(InputStream in, long deltaNanos) throws IOException {
 		int res = connectionStore.loadConnections(in, deltaNanos);
+		if (config.getApplicationLevelInfoSupplier() != null) {
+			for (Connection connection : connectionStore) {
+				restoreApplicationLevelInfo(connection);
+			}
+		}
+		return res;
+	}
+
+	/**
+	 * Restore additional application level information of the peer's
+	 * principal of a loaded connection.
+	 * 
+	 * @param connection loaded connection
+	 * @see DtlsConnectorConfig#getApplicationLevelInfoSupplier()
+	 * @since 4.0
+	 */
+	protected void restoreApplicationLevelInfo(Connection connection) {
 		ApplicationLevelInfoSupplier infoSupplier = config.getApplicationLevelInfoSupplier();
 		if (infoSupplier != null) {
-			for (Connection connection : connectionStore) {
-				Principal principal = connection.getEstablishedPeerIdentity();
-				if (principal instanceof ExtensiblePrincipal) {
-					// amend the client principal with
-					// additional application level information
-					@SuppressWarnings("unchecked")
-					ExtensiblePrincipal<? extends Principal> extensiblePrincipal = (ExtensiblePrincipal<? extends Principal>) principal;
-					AdditionalInfo additionalInfo = infoSupplier.restoreInfo(principal);
-					if (additionalInfo != null) {
-						connection.setEstablishedPeerIdentity(extensiblePrincipal.amend(additionalInfo));
-					}
+			Principal principal = connection.getEstablishedPeerIdentity();
+			if (principal instanceof ExtensiblePrincipal) {
+				// amend the client principal with
+				// additional application level information
+				@SuppressWarnings("unchecked")
+				ExtensiblePrincipal<? extends Principal> extensiblePrincipal = (ExtensiblePrincipal<? extends Principal>) principal;
+				AdditionalInfo additionalInfo = infoSupplier.restoreInfo(principal);
+				if (additionalInfo != null) {
+					connection.setEstablishedPeerIdentity(extensiblePrincipal.amend(additionalInfo));
 				}
 			}
 		}
-		return res;
 	}
 
 	/**
@@ -1682,8 +1900,19 @@ public class DTLSConnector implements Connector, ApplicationAuthorizer, Persiste
 	 * @see #processDatagram(DatagramPacket, InetSocketAddress)
 	 */
 	protected void receiveNextDatagramFromNetwork(DatagramPacket packet) throws IOException {
+		receiveNextDatagramFromNetwork(getSocket(), packet);
+	}
 
-		DatagramSocket currentSocket = getSocket();
+	/**
+	 * Receive the next datagram from the provided socket.
+	 * 
+	 * @param currentSocket socket to receive the datagram from
+	 * @param packet datagram the be read from network
+	 * @throws IOException if an io- error occurred
+	 * @since 4.0
+	 */
+	private void receiveNextDatagramFromNetwork(DatagramSocket currentSocket, DatagramPacket packet)
+			throws IOException {
 		if (currentSocket == null) {
 			// very unlikely race condition.
 			return;
@@ -1810,11 +2039,17 @@ public class DTLSConnector implements Connector, ApplicationAuthorizer, Persiste
 				}
 				return;
 			}
+			if (!acquire(peerAddress, firstRecord) || !admit(Priority.LOW, firstRecord)) {
+				return;
+			}
 			executeInbound(getExecutorService(), peerAddress, new LimitedRunnable(pendingInboundJobsCountdown) {
 
 				@Override
 				public void run() {
 					try {
+						if (admissionController != null) {
+							admissionController.recordSince(firstRecord.getReceiveNanos());
+						}
 						if (running.get()) {
 							if (MDC_SUPPORT) {
 								MDC.put("PEER", StringUtil.toString(firstRecord.getPeerAddress()));
@@ -1857,15 +2092,29 @@ public class DTLSConnector implements Connector, ApplicationAuthorizer, Persiste
 		}
 
 		SerialExecutor serialExecutor = connection.getExecutor();
+		Object rateLimitKey = null;
+		if (rateLimiter != null) {
+			rateLimitKey = RateLimiter.getPeerKey(connection.getEstablishedPeerIdentity(), peerAddress);
+		}
 
 		for (final Record record : records) {
 			record.setAddress(peerAddress, router);
+			if (rateLimitKey != null && !acquire(rateLimitKey, record)) {
+				continue;
+			}
+			if (admissionController != null && !connection.hasEstablishedDtlsContext()
+					&& !admit(Priority.MEDIUM, record)) {
+				continue;
+			}
 			try {
 				if (!executeInbound(serialExecutor, peerAddress, new LimitedRunnable(pendingInboundJobsCountdown) {
 
 					@Override
 					public void run() {
 						try {
+							if (admissionController != null) {
+								admissionController.recordSince(record.getReceiveNanos());
+							}
 							if (running.get() && connection.isExecuting()) {
 								processRecord(record, connection);
 							}
@@ -1890,6 +2139,58 @@ public class DTLSConnector implements Connector, ApplicationAuthorizer, Persiste
 		}
 	}
 
+	/**
+	 * Acquire a token of the rate limit for the record.
+	 * 
+	 * Drops the record, if the rate limit of the peer is exceeded. Executed
+	 * before the record is decrypted.
+	 * 
+	 * @param key key of the peer. Either the principal of the established
+	 *            connection or the peer's address.
+	 * @param record the received record
+	 * @return {@code true}, if the record is within the rate limit,
+	 *         {@code false}, if the record is dropped.
+	 * @see DtlsConfig#DTLS_RATE_LIMIT
+	 * @since 4.0
+	 */
+	private boolean acquire(Object key, Record record) {
+		if (rateLimiter == null || rateLimiter.tryAcquire(key)) {
+			return true;
+		}
+		DROP_LOGGER_IN_FILTERED.debug("Rate limit exceeded, {}! Dropping {} from peer [{}]", rateLimiter,
+				record.getType(), StringUtil.toLog(record.getPeerAddress()));
+		informListenerOfRecordDrop(record);
+		if (health != null) {
+			health.receivingRecord(true);
+		}
+		return false;
+	}
+
+	/**
+	 * Check, if the record is admitted by the adaptive admission control.
+	 * 
+	 * Drops the record, if not admitted.
+	 * 
+	 * @param priority priority of the record
+	 * @param record the received record
+	 * @return {@code true}, if the record is admitted, {@code false}, if the
+	 *         record is dropped.
+	 * @see DtlsConfig#DTLS_ADMISSION_TARGET_DELAY
+	 * @since 4.0
+	 */
+	private boolean admit(Priority priority, Record record) {
+		if (admissionController == null || admissionController.admit(priority)) {
+			return true;
+		}
+		DROP_LOGGER_IN_FILTERED.info("Overload, {}! Dropping {} from peer [{}]", admissionController,
+				record.getType(), StringUtil.toLog(record.getPeerAddress()));
+		informListenerOfRecordDrop(record);
+		if (health != null) {
+			health.receivingRecord(true);
+		}
+		return false;
+	}
+
 	/**
 	 * Execute inbound job.
 	 * 
@@ -2048,7 +2349,14 @@ public class DTLSConnector implements Connector, ApplicationAuthorizer, Persiste
 				}
 				// application data may be deferred again until the session is
 				// really established
-				record.decodeFragment(context.getReadState());
+				LatencyStatistic latencyStatistic = this.latencyStatistic;
+				if (latencyStatistic != null && epoch > 0) {
+					long start = ClockUtil.nanoRealtime();
+					record.decodeFragment(context.getReadState());
+					latencyStatistic.recordSince(LatencyStatistic.Stage.DECRYPT, start);
+				} else {
+					record.decodeFragment(context.getReadState());
+				}
 			}
 
 			switch (record.getType()) {
@@ -2596,7 +2904,7 @@ public class DTLSConnector implements Connector, ApplicationAuthorizer, Persiste
 		if (providedCookie.length > 0) {
 			// check, if cookie of the current period matches
 			boolean cookie = MessageDigest.isEqual(expectedCookie, providedCookie);
-			if (!cookie) {
+			if (!cookie && cookieGenerator.isPastCookie(providedCookie)) {
 				try {
 					// check, if cookie of the past period matches
 					byte[] pastCookie = cookieGenerator.generatePastCookie(peer, clientHello);
@@ -3164,8 +3472,12 @@ public class DTLSConnector implements Connector, ApplicationAuthorizer, Persiste
 			Record record = new Record(ContentType.APPLICATION_DATA, dtlsContext.getWriteEpoch(),
 					new ApplicationMessage(message.getBytes()), dtlsContext, true, TLS12_CID_PADDING);
 			record.setAddress(connection.getPeerAddress(), connection.getRouter());
-			sendRecord(record);
-			message.onSent();
+			if (recordCoalescingWindowNanos > 0 && record.getRouter() == null) {
+				coalesceRecord(record, message);
+			} else {
+				sendRecord(record);
+				message.onSent();
+			}
 			connectionStore.update(connection, null);
 			if (connectionListener != null) {
 				if (connectionListener.onConnectionUpdatesSequenceNumbers(connection, true)) {
@@ -3269,11 +3581,20 @@ public class DTLSConnector implements Connector, ApplicationAuthorizer, Persiste
 	@NoPublicAPI
 	@Override
 	public void sendFlight(List<DatagramPacket> datagrams) throws IOException {
+		InetSocketAddress flushed = null;
 		// send it over the UDP socket
 		for (DatagramPacket datagramPacket : datagrams) {
 			if (health != null) {
 				health.sendingRecord(false);
 			}
+			if (recordCoalescingWindowNanos > 0) {
+				InetSocketAddress peer = (InetSocketAddress) datagramPacket.getSocketAddress();
+				if (!peer.equals(flushed)) {
+					// keep order, send pending application records first
+					flushCoalescedDatagram(peer);
+					flushed = peer;
+				}
+			}
 			sendNextDatagramOverNetwork(datagramPacket);
 		}
 	}
@@ -3283,10 +3604,105 @@ public class DTLSConnector implements Connector, ApplicationAuthorizer, Persiste
 		processExceptionDuringHandshake(null, connection, error);
 	}
 
+	/**
+	 * Coalesce application record.
+	 * <p>
+	 * Adds the record to the pending datagram of the peer. If no datagram is
+	 * pending, a new one is created and sent after the
+	 * {@link DtlsConfig#DTLS_RECORD_COALESCING_WINDOW}. If the record doesn't
+	 * fit into the pending datagram, that is sent immediately.
+	 * 
+	 * @param record application record
+	 * @param message message of the record
+	 * @throws IOException if an i/o error occurred
+	 * @since 4.0
+	 */
+	private void coalesceRecord(Record record, RawData message) throws IOException {
+		final InetSocketAddress peer = record.getPeerAddress();
+		byte[] recordBytes = record.toByteArray();
+		int maxDatagramSize = getMaxDatagramSize(peer.getAddress() instanceof Inet6Address);
+		while (true) {
+			CoalescedDatagram datagram = coalescedDatagrams.get(peer);
+			if (datagram == null) {
+				if (recordBytes.length >= maxDatagramSize) {
+					// no space left for other records
+					sendNextDatagramOverNetwork(new DatagramPacket(recordBytes, recordBytes.length, peer));
+					message.onSent();
+					return;
+				}
+				final CoalescedDatagram newDatagram = new CoalescedDatagram(peer, maxDatagramSize);
+				newDatagram.add(recordBytes, message);
+				if (coalescedDatagrams.putIfAbsent(peer, newDatagram) == null) {
+					ProtocolScheduledExecutorService timer = executorService;
+					if (timer == null) {
+						// stopped
+						flushCoalescedDatagram(peer, newDatagram);
+						return;
+					}
+					try {
+						timer.schedule(() -> flushCoalescedDatagram(peer, newDatagram), recordCoalescingWindowNanos,
+								TimeUnit.NANOSECONDS);
+					} catch (RejectedExecutionException ex) {
+						// stopping
+						flushCoalescedDatagram(peer, newDatagram);
+					}
+					return;
+				}
+			} else if (datagram.add(recordBytes, message)) {
+				return;
+			} else {
+				// full, send pending records first
+				flushCoalescedDatagram(peer, datagram);
+			}
+		}
+	}
+
+	/**
+	 * Send pending coalesced datagram of peer.
+	 * 
+	 * @param peer address of peer
+	 * @since 4.0
+	 */
+	private void flushCoalescedDatagram(InetSocketAddress peer) {
+		CoalescedDatagram datagram = coalescedDatagrams.get(peer);
+		if (datagram != null) {
+			flushCoalescedDatagram(peer, datagram);
+		}
+	}
+
+	/**
+	 * Send coalesced datagram.
+	 * 
+	 * Only sent, if the datagram is still pending for the peer.
+	 * 
+	 * @param peer address of peer
+	 * @param datagram coalesced datagram
+	 * @since 4.0
+	 */
+	private void flushCoalescedDatagram(InetSocketAddress peer, CoalescedDatagram datagram) {
+		if (coalescedDatagrams.remove(peer, datagram)) {
+			List<RawData> messages = datagram.close();
+			try {
+				sendNextDatagramOverNetwork(datagram.toDatagramPacket());
+				for (RawData message : messages) {
+					message.onSent();
+				}
+			} catch (IOException e) {
+				for (RawData message : messages) {
+					message.onError(e);
+				}
+			}
+		}
+	}
+
 	protected void sendRecord(Record record) throws IOException {
 		if (health != null && record.getType() != ContentType.APPLICATION_DATA) {
 			health.sendingRecord(false);
 		}
+		if (recordCoalescingWindowNanos > 0 && record.getType() != ContentType.APPLICATION_DATA) {
+			// keep order, e.g. for close notify
+			flushCoalescedDatagram(record.getPeerAddress());
+		}
 		byte[] recordBytes = record.toByteArray();
 		DatagramPacket datagram = new DatagramPacket(recordBytes, recordBytes.length, record.getPeerAddress());
 		sendNextDatagramOverNetwork(datagram);
@@ -3662,6 +4078,18 @@ public class DTLSConnector implements Connector, ApplicationAuthorizer, Persiste
 		this.alertHandler = handler;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * Records the duration of the decryption of DTLS records.
+	 * 
+	 * @since 4.0
+	 */
+	@Override
+	public void setLatencyStatistic(LatencyStatistic statistic) {
+		this.latencyStatistic = statistic;
+	}
+
 	private void discardRecord(final Record record, final Throwable cause) {
 		informListenerOfRecordDrop(record);
 		if (health != null) {
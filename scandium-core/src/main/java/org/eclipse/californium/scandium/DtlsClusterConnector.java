@@ -21,13 +21,17 @@ import java.net.DatagramSocket;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.UnknownHostException;
+import java.nio.channels.DatagramChannel;
 import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.Future;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 
+import org.eclipse.californium.elements.util.ClockUtil;
 import org.eclipse.californium.elements.util.DatagramReader;
+import org.eclipse.californium.elements.util.DatagramWriter;
 import org.eclipse.californium.elements.util.FilteredLogger;
 import org.eclipse.californium.elements.util.NamedThreadFactory;
 import org.eclipse.californium.elements.util.NetworkStageRunnable;
@@ -36,10 +40,13 @@ import org.eclipse.californium.elements.util.StringUtil;
 import org.eclipse.californium.scandium.config.DtlsClusterConnectorConfig;
 import org.eclipse.californium.scandium.config.DtlsConfig;
 import org.eclipse.californium.scandium.config.DtlsConnectorConfig;
+import org.eclipse.californium.scandium.dtls.Connection;
 import org.eclipse.californium.scandium.dtls.ConnectionId;
+import org.eclipse.californium.scandium.dtls.ConsistentHashShardMap;
 import org.eclipse.californium.scandium.dtls.ContentType;
 import org.eclipse.californium.scandium.dtls.NodeConnectionIdGenerator;
 import org.eclipse.californium.scandium.dtls.Record;
+import org.eclipse.californium.scandium.dtls.ShardConnectionIdGenerator;
 import org.eclipse.californium.scandium.dtls.ConnectionStore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -128,6 +135,19 @@ public class DtlsClusterConnector extends DTLSConnector {
 	 * Message Format</a> (1. byte, version 0b01, others xx xxxx).
 	 */
 	public static final Byte RECORD_TYPE_OUTGOING = (byte) 62;
+	/**
+	 * Type of aggregated forwarded and backwarded messages.
+	 * <p>
+	 * Unassigned according <a href=
+	 * "https://www.iana.org/assignments/tls-parameters/tls-parameters.xhtml#tls-parameters-5">IANA,
+	 * TLS ContentType</a>, and no collision with CoAP messages
+	 * <a href="https://tools.ietf.org/html/rfc7252#section-3" target="_blank">RFC 7252,
+	 * Message Format</a> (1. byte, version 0b01, others xx xxxx). Values 60
+	 * and 61 are used by the cluster management via plain UDP.
+	 * 
+	 * @since 4.0
+	 */
+	public static final byte RECORD_TYPE_BATCH = (byte) 59;
 	/**
 	 * Node CID generator to extract node-id from CID and retrieve own node-id.
 	 */
@@ -157,10 +177,36 @@ public class DtlsClusterConnector extends DTLSConnector {
 	 * Datagram socket for cluster internal communication.
 	 */
 	protected volatile DatagramSocket clusterInternalSocket;
+	/**
+	 * Maximum size of aggregating cluster internal datagrams. {@code 0}, if
+	 * aggregation is disabled.
+	 * 
+	 * @since 4.0
+	 */
+	private final int maxForwardBatchSize;
+	/**
+	 * Statistic of forwarded and backwarded messages per node.
+	 * 
+	 * @since 4.0
+	 */
+	private final DtlsClusterForwardStatistic forwardStatistic = new DtlsClusterForwardStatistic();
+	/**
+	 * Batcher for cluster internal messages. {@code null}, if aggregation is
+	 * disabled.
+	 * 
+	 * @since 4.0
+	 */
+	private volatile ClusterDatagramBatcher batcher;
 	/**
 	 * Nodes provider for cluster.
 	 */
 	private volatile ClusterNodesProvider nodesProvider;
+	/**
+	 * Connection store.
+	 * 
+	 * @since 4.0
+	 */
+	private final ConnectionStore connectionStore;
 
 	/**
 	 * Create dtls connector with cluster support.
@@ -197,13 +243,15 @@ public class DtlsClusterConnector extends DTLSConnector {
 	protected DtlsClusterConnector(DtlsConnectorConfig configuration, DtlsClusterConnectorConfig clusterConfiguration,
 			ConnectionStore connectionStore, boolean startReceiver) {
 		super(configuration, connectionStore);
+		this.connectionStore = connectionStore;
 		this.nodeCidGenerator = getNodeConnectionIdGenerator();
 		this.clusterInternalSocketAddress = clusterConfiguration.getAddress();
 		this.backwardMessages = clusterConfiguration.useBackwardMessages();
+		this.maxForwardBatchSize = clusterConfiguration.getMaxForwardBatchSize();
 		this.clusterHealth = (health instanceof DtlsClusterHealth) ? (DtlsClusterHealth) health : null;
 		this.startReceiver = startReceiver;
-		LOGGER.info("cluster-node {}: on internal {}, backwards {}", getNodeID(),
-				StringUtil.toLog(clusterInternalSocketAddress), backwardMessages);
+		LOGGER.info("cluster-node {}: on internal {}, backwards {}, batch {}", getNodeID(),
+				StringUtil.toLog(clusterInternalSocketAddress), backwardMessages, maxForwardBatchSize);
 	}
 
 	/**
@@ -239,18 +287,35 @@ public class DtlsClusterConnector extends DTLSConnector {
 	 * {@inheritDoc}
 	 * 
 	 * Creates also socket and threads for cluster internal communication. The
-	 * threads are only create, if {@link #startReceiver} is {@code true}.
+	 * threads are only create, if {@link #startReceiver} is {@code true}. The
+	 * socket is backed by a {@link DatagramChannel} in order to send
+	 * aggregated messages from reused direct buffers.
 	 */
 	@Override
 	protected void init(InetSocketAddress bindAddress, DatagramSocket socket, Integer mtu) throws IOException {
 		try {
-			clusterInternalSocket = new DatagramSocket(clusterInternalSocketAddress);
+			DatagramChannel channel = DatagramChannel.open();
+			try {
+				channel.bind(clusterInternalSocketAddress);
+			} catch (IOException ex) {
+				channel.close();
+				throw ex;
+			}
+			clusterInternalSocket = channel.socket();
 		} catch (IOException ex) {
 			LOGGER.error("cluster-node {}: management-interface {} failed!", getNodeID(),
 					StringUtil.toLog(clusterInternalSocketAddress));
 			throw ex;
 		}
 		super.init(bindAddress, socket, mtu);
+		if (maxForwardBatchSize > 0) {
+			ClusterDatagramBatcher batcher = new ClusterDatagramBatcher(clusterInternalSocket.getChannel(),
+					maxForwardBatchSize, forwardStatistic);
+			String addr = SocketThreadFactory.toName(clusterInternalSocketAddress);
+			batcher.start(() -> isRunning(), SocketThreadFactory.create("DTLS-Cluster-" + getNodeID() + "-Sender-" + addr,
+					1, NamedThreadFactory.SCANDIUM_THREAD_GROUP));
+			this.batcher = batcher;
+		}
 		if (startReceiver) {
 			startReceiver();
 		}
@@ -271,15 +336,23 @@ public class DtlsClusterConnector extends DTLSConnector {
 		for (int i = 0; i < max; i++) {
 			Thread thread = new NetworkStageRunnable(()-> isRunning(), DtlsClusterConnector.class) {
 
-				private final byte[] receiverBuffer = new byte[inboundDatagramBufferSize + MAX_DATAGRAM_OFFSET];
+				// other nodes may use larger batches than this node
+				private final byte[] receiverBuffer = new byte[Math.max(inboundDatagramBufferSize + MAX_DATAGRAM_OFFSET,
+						DtlsClusterConnectorConfig.MAX_FORWARD_BATCH_SIZE)];
 				private final DatagramPacket clusterPacket = new DatagramPacket(receiverBuffer, receiverBuffer.length);
 
 				@Override
 				public void work() throws Exception {
 					clusterPacket.setData(receiverBuffer);
 					clusterInternalSocket.receive(clusterPacket);
+					if (receiverBuffer[clusterPacket.getOffset()] == RECORD_TYPE_BATCH) {
+						processBatchFromClusterNetwork(clusterPacket);
+						return;
+					}
 					Byte type = getClusterRecordType(clusterPacket);
 					if (type != null) {
+						forwardStatistic.received((InetSocketAddress) clusterPacket.getSocketAddress(), 1,
+								clusterPacket.getLength());
 						if (ensureLength(type, clusterPacket)) {
 							processDatagramFromClusterNetwork(type, clusterPacket);
 						} else if (clusterHealth != null) {
@@ -304,6 +377,11 @@ public class DtlsClusterConnector extends DTLSConnector {
 	public void stop() {
 		super.stop();
 		synchronized (this) {
+			ClusterDatagramBatcher batcher = this.batcher;
+			if (batcher != null) {
+				batcher.stop();
+				this.batcher = null;
+			}
 			clusterInternalSocket.close();
 			for (Thread t : clusterReceiverThreads) {
 				t.interrupt();
@@ -360,6 +438,228 @@ public class DtlsClusterConnector extends DTLSConnector {
 		}
 	}
 
+	/**
+	 * Start to export connections, which are assigned to other nodes.
+	 * <p>
+	 * Used, if the {@link NodeConnectionIdGenerator} changes the assignment of
+	 * connection ids to nodes, e.g. the {@link ShardConnectionIdGenerator}
+	 * after the cluster nodes have changed. The serialized connections are
+	 * passed to the exporter in order to send them to the new node, which
+	 * imports them using {@link #importConnection(byte[])}.
+	 * <p>
+	 * The exported connections are kept, until the new node acknowledges the
+	 * import and {@link #removeExportedConnection(ConnectionId)} is called.
+	 * In the meantime, the records of these connections are forwarded to the
+	 * new node and the kept connections are exported again on the next call
+	 * of this function, if the export got lost.
+	 * <p>
+	 * <b>Note:</b> the serialized connections contain not encrypted critical
+	 * credentials. It is required to protect this data before sending it.
+	 * 
+	 * @param exporter exporter for the serialized connections.
+	 * @return future to cancel or wait for completion
+	 * @throws NullPointerException if exporter is {@code null}
+	 * @since 4.0
+	 */
+	public Future<Void> startExportForeignConnections(final ConnectionExporter exporter) {
+		if (exporter == null) {
+			throw new NullPointerException("exporter must not be null!");
+		}
+		final int nodeId = getNodeID();
+		return startForEach((connection) -> {
+			ConnectionId cid = connection.getConnectionId();
+			if (cid != null && !cid.isEmpty()) {
+				int connectionNodeId = nodeCidGenerator.getNodeId(cid);
+				if (connectionNodeId != nodeId) {
+					byte[] data = serialize(connection);
+					if (data != null) {
+						exporter.export(connectionNodeId, cid, data);
+						LOGGER.debug("cluster-node {}: exported {} to {}", nodeId, cid, connectionNodeId);
+					}
+				}
+			}
+			return false;
+		});
+	}
+
+	/**
+	 * Remove exported connection.
+	 * <p>
+	 * Called, when the new node acknowledges the import of a connection
+	 * exported by {@link #startExportForeignConnections(ConnectionExporter)}.
+	 * The connection is only removed, if it is still assigned to an other
+	 * node.
+	 * 
+	 * @param cid connection id of the exported connection
+	 * @return {@code true}, if the connection is removed, {@code false},
+	 *         otherwise.
+	 * @since 4.0
+	 */
+	public boolean removeExportedConnection(ConnectionId cid) {
+		if (cid != null && !cid.isEmpty() && nodeCidGenerator.getNodeId(cid) != getNodeID()) {
+			Connection connection = connectionStore.get(cid);
+			if (connection != null) {
+				LOGGER.debug("cluster-node {}: removed exported {}", getNodeID(), cid);
+				return connectionStore.remove(connection, false);
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Check, if a connection is available.
+	 * <p>
+	 * Used to acknowledge repeated imports of the same connection, e.g. if
+	 * the previous acknowledge got lost.
+	 * 
+	 * @param cid connection id
+	 * @return {@code true}, if a connection with that connection id is
+	 *         available, {@code false}, otherwise.
+	 * @since 4.0
+	 */
+	public boolean hasConnection(ConnectionId cid) {
+		return connectionStore.get(cid) != null;
+	}
+
+	/**
+	 * Start to export connections, which are updated since the provided
+	 * time.
+	 * <p>
+	 * Used to replicate the connections to other nodes. The connections are
+	 * kept. Only connections with established DTLS context are exported.
+	 * Established connections, which are not updated since the provided
+	 * time, are reported by {@link ConnectionExporter#unchanged(int,
+	 * ConnectionId)}.
+	 * <p>
+	 * <b>Note:</b> the serialized connections contain not encrypted critical
+	 * credentials. It is required to protect this data before sending it.
+	 * 
+	 * @param sinceNanos realtime in nanoseconds. Connections with a last
+	 *            message before are not exported.
+	 * @param exporter exporter for the serialized connections.
+	 * @return future to cancel or wait for completion
+	 * @throws NullPointerException if exporter is {@code null}
+	 * @see ClockUtil#nanoRealtime()
+	 * @see #importConnection(byte[], long)
+	 * @since 4.0
+	 */
+	public Future<Void> startExportConnections(final long sinceNanos, final ConnectionExporter exporter) {
+		if (exporter == null) {
+			throw new NullPointerException("exporter must not be null!");
+		}
+		return startForEach((connection) -> {
+			ConnectionId cid = connection.getConnectionId();
+			if (cid != null && !cid.isEmpty()) {
+				if (connection.getLastMessageNanos() - sinceNanos >= 0) {
+					byte[] data = serialize(connection);
+					if (data != null) {
+						exporter.export(nodeCidGenerator.getNodeId(cid), cid, data);
+					}
+				} else if (connection.hasEstablishedDtlsContext()) {
+					exporter.unchanged(nodeCidGenerator.getNodeId(cid), cid);
+				}
+			}
+			return false;
+		});
+	}
+
+	/**
+	 * Serialize connection including the current realtime.
+	 * 
+	 * @param connection connection to serialize
+	 * @return serialized connection, or {@code null}, if the connection has no
+	 *         established DTLS context.
+	 * @since 4.0
+	 */
+	private static byte[] serialize(Connection connection) {
+		DatagramWriter writer = new DatagramWriter(512);
+		writer.writeLong(ClockUtil.nanoRealtime(), Long.SIZE);
+		if (connection.writeTo(writer)) {
+			return writer.toByteArray();
+		}
+		return null;
+	}
+
+	/**
+	 * Import connection exported by an other node.
+	 * <p>
+	 * If the assignment of this node differs, the connection is exported again
+	 * on the next {@link #startExportForeignConnections(ConnectionExporter)}.
+	 * 
+	 * @param connection serialized connection
+	 * @return {@code true}, if the connection is imported, {@code false},
+	 *         otherwise.
+	 * @see #startExportForeignConnections(ConnectionExporter)
+	 * @since 4.0
+	 */
+	public boolean importConnection(byte[] connection) {
+		return importConnection(connection, 0);
+	}
+
+	/**
+	 * Import connection exported by an other node.
+	 * <p>
+	 * If the exported connection may be outdated, e.g. a replica of a failed
+	 * node, the write sequence number is increased by the provided gap. That
+	 * prevents reusing sequence numbers, which the other node used after the
+	 * export and which the peer would drop as replayed records.
+	 * 
+	 * @param connection serialized connection
+	 * @param writeSequenceNumberGap gap to increase the write sequence number.
+	 *            {@code 0}, if the connection is not outdated.
+	 * @return {@code true}, if the connection is imported, {@code false},
+	 *         otherwise.
+	 * @see #startExportConnections(long, ConnectionExporter)
+	 * @since 4.0
+	 */
+	public boolean importConnection(byte[] connection, long writeSequenceNumberGap) {
+		try {
+			DatagramReader reader = new DatagramReader(connection, false);
+			long deltaNanos = ClockUtil.nanoRealtime() - reader.readLong(Long.SIZE);
+			Connection imported = Connection.fromReader(reader, deltaNanos);
+			if (imported == null) {
+				return false;
+			}
+			ConnectionId cid = imported.getConnectionId();
+			if (writeSequenceNumberGap > 0) {
+				imported.getEstablishedDtlsContext().increaseWriteSequenceNumber(writeSequenceNumberGap);
+			}
+			if (connectionStore.restore(imported)) {
+				restoreApplicationLevelInfo(imported);
+				LOGGER.debug("cluster-node {}: imported {}", getNodeID(), cid);
+				return true;
+			}
+		} catch (IllegalArgumentException ex) {
+			FILTER.info("cluster-node {}: import failed, {}", getNodeID(), ex.getMessage());
+		} catch (IllegalStateException ex) {
+			FILTER.info("cluster-node {}: import failed, {}", getNodeID(), ex.getMessage());
+		}
+		return false;
+	}
+
+	/**
+	 * Get shard map, if the {@link ShardConnectionIdGenerator} is used.
+	 * 
+	 * @return shard map, or {@code null}, if not used.
+	 * @since 4.0
+	 */
+	public ConsistentHashShardMap getShardMap() {
+		if (nodeCidGenerator instanceof ShardConnectionIdGenerator) {
+			return ((ShardConnectionIdGenerator) nodeCidGenerator).getShardMap();
+		}
+		return null;
+	}
+
+	/**
+	 * Get statistic of forwarded and backwarded messages per node.
+	 * 
+	 * @return forward statistic
+	 * @since 4.0
+	 */
+	public DtlsClusterForwardStatistic getForwardStatistic() {
+		return forwardStatistic;
+	}
+
 	/**
 	 * Check, if internal message is forwarded or backwarded record.
 	 * 
@@ -434,6 +734,49 @@ public class DtlsClusterConnector extends DTLSConnector {
 		}
 	}
 
+	/**
+	 * Process received aggregated cluster internal messages.
+	 * <p>
+	 * Splits the datagram and processes each contained forwarded or
+	 * backwarded message.
+	 * 
+	 * @param clusterPacket aggregated cluster internal messages
+	 * @throws IOException if an io-error occurred.
+	 * @see #RECORD_TYPE_BATCH
+	 * @since 4.0
+	 */
+	protected void processBatchFromClusterNetwork(DatagramPacket clusterPacket) throws IOException {
+		InetSocketAddress router = (InetSocketAddress) clusterPacket.getSocketAddress();
+		byte[] data = clusterPacket.getData();
+		int offset = clusterPacket.getOffset() + ClusterDatagramBatcher.BATCH_HEADER_LENGTH;
+		int size = clusterPacket.getLength();
+		int end = clusterPacket.getOffset() + size;
+		int messages = 0;
+		while (offset < end) {
+			if (offset + ClusterDatagramBatcher.MESSAGE_LENGTH_PREFIX > end) {
+				FILTER.debug("cluster-node {}: received broken batch from {}", getNodeID(), StringUtil.toLog(router));
+				break;
+			}
+			int length = ((data[offset] & 0xff) << 8) | (data[offset + 1] & 0xff);
+			offset += ClusterDatagramBatcher.MESSAGE_LENGTH_PREFIX;
+			if (length == 0 || offset + length > end) {
+				FILTER.debug("cluster-node {}: received broken batch from {}", getNodeID(), StringUtil.toLog(router));
+				break;
+			}
+			clusterPacket.setData(data, offset, length);
+			clusterPacket.setSocketAddress(router);
+			offset += length;
+			++messages;
+			Byte type = getClusterRecordType(clusterPacket);
+			if (type != null && ensureLength(type, clusterPacket)) {
+				processDatagramFromClusterNetwork(type, clusterPacket);
+			} else if (clusterHealth != null) {
+				clusterHealth.dropForwardMessage();
+			}
+		}
+		forwardStatistic.received(router, messages, size);
+	}
+
 	/**
 	 * Process cluster internal management message.
 	 * <p>
@@ -449,13 +792,25 @@ public class DtlsClusterConnector extends DTLSConnector {
 	/**
 	 * Send cluster internal message.
 	 * <p>
-	 * Used for forwarded or backwarded tls_cid records.
+	 * Used for forwarded or backwarded tls_cid records. If aggregation is
+	 * enabled, the message is added to the batch of the destination node and
+	 * sent asynchronously.
 	 * 
 	 * @param clusterPacket cluster internal message
 	 * @throws IOException if an i/o-error occurred.
 	 */
 	protected void sendDatagramToClusterNetwork(DatagramPacket clusterPacket) throws IOException {
-		clusterInternalSocket.send(clusterPacket);
+		ClusterDatagramBatcher batcher = this.batcher;
+		if (batcher == null || !batcher.add(clusterPacket)) {
+			InetSocketAddress destination = (InetSocketAddress) clusterPacket.getSocketAddress();
+			try {
+				clusterInternalSocket.send(clusterPacket);
+				forwardStatistic.sent(destination, 1, clusterPacket.getLength());
+			} catch (IOException ex) {
+				forwardStatistic.dropped(destination);
+				throw ex;
+			}
+		}
 	}
 
 	/**
@@ -641,6 +996,40 @@ public class DtlsClusterConnector extends DTLSConnector {
 		}
 	}
 
+	/**
+	 * Exporter for connections.
+	 * 
+	 * @since 4.0
+	 */
+	public static interface ConnectionExporter {
+
+		/**
+		 * Export connection.
+		 * <p>
+		 * Called within the serial execution of the connection.
+		 * 
+		 * @param nodeId node-id of the node assigned to the connection
+		 * @param cid connection id of the connection
+		 * @param connection serialized connection
+		 */
+		void export(int nodeId, ConnectionId cid, byte[] connection);
+
+		/**
+		 * Report connection, which is not exported, because it is not updated
+		 * since the provided time.
+		 * <p>
+		 * Called within the serial execution of the connection. Enables to
+		 * detect removed connections.
+		 * 
+		 * @param nodeId node-id of the node assigned to the connection
+		 * @param cid connection id of the connection
+		 * @see DtlsClusterConnector#startExportConnections(long,
+		 *      ConnectionExporter)
+		 */
+		default void unchanged(int nodeId, ConnectionId cid) {
+		}
+	}
+
 	/**
 	 * Cluster nodes provider. Maintaining internal addresses of nodes.
 	 * <p>
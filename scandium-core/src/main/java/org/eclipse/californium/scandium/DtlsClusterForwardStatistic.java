@@ -0,0 +1,165 @@
+/********************************************************************************
+ * Copyright (c) 2025 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v1.0 which is available at
+ * https://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ ********************************************************************************/
+package org.eclipse.californium.scandium;
+
+import java.net.InetSocketAddress;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.californium.elements.metrics.MetricsCollector;
+import org.eclipse.californium.elements.metrics.MetricsSource;
+import org.eclipse.californium.elements.util.StringUtil;
+
+/**
+ * Statistic of cluster internal forwarded and backwarded messages per node.
+ * <p>
+ * The nodes are identified by their cluster internal address. Exports the
+ * values as metrics with the node's address as source.
+ *
+ * @since 4.0
+ */
+public class DtlsClusterForwardStatistic implements MetricsSource {
+
+	/**
+	 * Statistic per node.
+	 */
+	private final ConcurrentMap<InetSocketAddress, Node> nodes = new ConcurrentHashMap<>();
+
+	/**
+	 * Report sent cluster datagram.
+	 *
+	 * @param node cluster internal address of destination node
+	 * @param messages number of messages in datagram
+	 * @param bytes number of bytes of datagram
+	 */
+	public void sent(InetSocketAddress node, int messages, int bytes) {
+		Node statistic = get(node);
+		statistic.sentDatagrams.increment();
+		statistic.sentMessages.add(messages);
+		statistic.sentBytes.add(bytes);
+	}
+
+	/**
+	 * Report received cluster datagram.
+	 *
+	 * @param node cluster internal address of source node
+	 * @param messages number of messages in datagram
+	 * @param bytes number of bytes of datagram
+	 */
+	public void received(InetSocketAddress node, int messages, int bytes) {
+		Node statistic = get(node);
+		statistic.receivedDatagrams.increment();
+		statistic.receivedMessages.add(messages);
+		statistic.receivedBytes.add(bytes);
+	}
+
+	/**
+	 * Report dropped message.
+	 *
+	 * @param node cluster internal address of destination node
+	 */
+	public void dropped(InetSocketAddress node) {
+		get(node).dropped.increment();
+	}
+
+	/**
+	 * Gets number of sent messages.
+	 *
+	 * @param node cluster internal address of destination node
+	 * @return number of sent messages
+	 */
+	public long getSentMessages(InetSocketAddress node) {
+		Node statistic = nodes.get(node);
+		return statistic == null ? 0 : statistic.sentMessages.sum();
+	}
+
+	/**
+	 * Gets number of sent datagrams.
+	 *
+	 * @param node cluster internal address of destination node
+	 * @return number of sent datagrams
+	 */
+	public long getSentDatagrams(InetSocketAddress node) {
+		Node statistic = nodes.get(node);
+		return statistic == null ? 0 : statistic.sentDatagrams.sum();
+	}
+
+	/**
+	 * Gets number of received messages.
+	 *
+	 * @param node cluster internal address of source node
+	 * @return number of received messages
+	 */
+	public long getReceivedMessages(InetSocketAddress node) {
+		Node statistic = nodes.get(node);
+		return statistic == null ? 0 : statistic.receivedMessages.sum();
+	}
+
+	@Override
+	public void collectMetrics(MetricsCollector collector) {
+		for (Map.Entry<InetSocketAddress, Node> entry : nodes.entrySet()) {
+			String source = StringUtil.toString(entry.getKey());
+			Node statistic = entry.getValue();
+			collector.addValue("cluster_sent_messages", MetricsCollector.Type.COUNTER, source,
+					statistic.sentMessages.sum());
+			collector.addValue("cluster_sent_datagrams", MetricsCollector.Type.COUNTER, source,
+					statistic.sentDatagrams.sum());
+			collector.addValue("cluster_sent_bytes", MetricsCollector.Type.COUNTER, source,
+					statistic.sentBytes.sum());
+			collector.addValue("cluster_received_messages", MetricsCollector.Type.COUNTER, source,
+					statistic.receivedMessages.sum());
+			collector.addValue("cluster_received_datagrams", MetricsCollector.Type.COUNTER, source,
+					statistic.receivedDatagrams.sum());
+			collector.addValue("cluster_received_bytes", MetricsCollector.Type.COUNTER, source,
+					statistic.receivedBytes.sum());
+			collector.addValue("cluster_dropped_messages", MetricsCollector.Type.COUNTER, source,
+					statistic.dropped.sum());
+		}
+	}
+
+	/**
+	 * Gets statistic of node.
+	 *
+	 * @param node cluster internal address of node
+	 * @return statistic of node
+	 */
+	private Node get(InetSocketAddress node) {
+		Node statistic = nodes.get(node);
+		if (statistic == null) {
+			statistic = new Node();
+			Node previous = nodes.putIfAbsent(node, statistic);
+			if (previous != null) {
+				statistic = previous;
+			}
+		}
+		return statistic;
+	}
+
+	/**
+	 * Statistic of a node.
+	 */
+	private static class Node {
+
+		private final LongAdder sentMessages = new LongAdder();
+		private final LongAdder sentDatagrams = new LongAdder();
+		private final LongAdder sentBytes = new LongAdder();
+		private final LongAdder receivedMessages = new LongAdder();
+		private final LongAdder receivedDatagrams = new LongAdder();
+		private final LongAdder receivedBytes = new LongAdder();
+		private final LongAdder dropped = new LongAdder();
+	}
+}
@@ -104,52 +104,52 @@ public class DtlsClusterHealthLogger extends DtlsHealthLogger implements DtlsClu
 
 	@Override
 	public void forwardMessage() {
-		forwardedMessage.increment();
+		forwardedMessage.add(1);
 	}
 
 	@Override
 	public void backwardMessage() {
-		backwardedMessage.increment();
+		backwardedMessage.add(1);
 	}
 
 	@Override
 	public void processForwardedMessage() {
-		processedForwardedMessage.increment();
+		processedForwardedMessage.add(1);
 	}
 
 	@Override
 	public void sendBackwardedMessage() {
-		sendBackwardedMessage.increment();
+		sendBackwardedMessage.add(1);
 	}
 
 	@Override
 	public void dropForwardMessage() {
-		dropForwardMessage.increment();
+		dropForwardMessage.add(1);
 	}
 
 	@Override
 	public void dropBackwardMessage() {
-		dropBackwardMessage.increment();
+		dropBackwardMessage.add(1);
 	}
 
 	@Override
 	public void badForwardMessage() {
-		badForwardMessage.increment();
+		badForwardMessage.add(1);
 	}
 
 	@Override
 	public void badBackwardMessage() {
-		badBackwardMessage.increment();
+		badBackwardMessage.add(1);
 	}
 
 	@Override
 	public void sendingClusterManagementMessage() {
-		sendingClusterManagementMessage.increment();
+		sendingClusterManagementMessage.add(1);
 	}
 
 	@Override
 	public void receivingClusterManagementMessage() {
-		receivingClusterManagementMessage.increment();
+		receivingClusterManagementMessage.add(1);
 	}
 
 }
@@ -17,12 +17,16 @@ package org.eclipse.californium.scandium;
 
 import java.net.DatagramPacket;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.eclipse.californium.elements.config.Configuration;
 import org.eclipse.californium.elements.util.ClockUtil;
+import org.eclipse.californium.elements.util.CountMinSketch;
 import org.eclipse.californium.scandium.config.DtlsConfig;
 import org.eclipse.californium.scandium.dtls.Connection;
 import org.eclipse.californium.scandium.dtls.ContentType;
+import org.eclipse.californium.scandium.dtls.HandshakeType;
 import org.eclipse.californium.scandium.dtls.ProtocolVersion;
 import org.eclipse.californium.scandium.dtls.Record;
 
@@ -30,11 +34,42 @@ import org.eclipse.californium.scandium.dtls.Record;
  * Filter valid incoming DTLS datagrams.
  * <p>
  * Uses an advanced MAC error filter.
+ * <p>
+ * Since 4.0 the header of records with epoch 0 is validated more strictly and
+ * CLIENT_HELLOs without cookie may be limited per source prefix, see
+ * {@link DtlsConfig#DTLS_CLIENT_HELLO_FILTER_THRESHOLD}. That drops floods of
+ * CLIENT_HELLOs with spoofed source addresses before any cookie is
+ * calculated. CLIENT_HELLOs with cookie are not limited by that filter, so
+ * clients, which already received a HELLO_VERIFY_REQUEST, are still able to
+ * complete their handshake.
  * 
  * @since 3.5
  */
 public class DtlsDatagramFilter implements DatagramFilter {
 
+	/**
+	 * Number of bytes of IPv4 addresses used as source prefix for the
+	 * CLIENT_HELLO filter ({@code /24}).
+	 * 
+	 * @since 4.0
+	 */
+	public static final int IPV4_PREFIX_BYTES = 3;
+	/**
+	 * Number of bytes of IPv6 addresses used as source prefix for the
+	 * CLIENT_HELLO filter ({@code /56}).
+	 * 
+	 * @since 4.0
+	 */
+	public static final int IPV6_PREFIX_BYTES = 7;
+	/**
+	 * Offset of the session id length of a CLIENT_HELLO within the datagram.
+	 * 
+	 * Record header, handshake header, client version and random.
+	 * 
+	 * @since 4.0
+	 */
+	private static final int CLIENT_HELLO_SESSION_ID_OFFSET = Record.RECORD_HEADER_BYTES + 12 + 2 + 32;
+
 	/**
 	 * Quiet time to reset the MAC error filter in nanoseconds.
 	 * 
@@ -47,6 +82,38 @@ public class DtlsDatagramFilter implements DatagramFilter {
 	 * @since 3.6
 	 */
 	private final int macErrorFilterThreshold;
+	/**
+	 * Maximum number of CLIENT_HELLOs without cookie per source prefix and
+	 * interval. {@code 0}, if disabled.
+	 * 
+	 * @since 4.0
+	 */
+	private final int clientHelloFilterThreshold;
+	/**
+	 * Interval of the CLIENT_HELLO filter in nanoseconds.
+	 * 
+	 * @since 4.0
+	 */
+	private final long clientHelloFilterIntervalNanos;
+	/**
+	 * Estimated number of CLIENT_HELLOs without cookie per source prefix.
+	 * {@code null}, if disabled.
+	 * 
+	 * @since 4.0
+	 */
+	private final CountMinSketch clientHellos;
+	/**
+	 * Start of the current interval of the CLIENT_HELLO filter.
+	 * 
+	 * @since 4.0
+	 */
+	private final AtomicLong clientHelloFilterIntervalStart = new AtomicLong(ClockUtil.nanoRealtime());
+	/**
+	 * Number of dropped CLIENT_HELLOs.
+	 * 
+	 * @since 4.0
+	 */
+	private final LongAdder droppedClientHellos = new LongAdder();
 
 	/**
 	 * Creates DTLS datagram filter without MAC error filter.
@@ -54,12 +121,17 @@ public class DtlsDatagramFilter implements DatagramFilter {
 	public DtlsDatagramFilter() {
 		this.macErrorFilterQuietTimeNanos = 0;
 		this.macErrorFilterThreshold = 0;
+		this.clientHelloFilterThreshold = 0;
+		this.clientHelloFilterIntervalNanos = 0;
+		this.clientHellos = null;
 	}
 
 	/**
-	 * Creates DTLS datagram filter with MAC error filter, if configured.
+	 * Creates DTLS datagram filter with MAC error filter and CLIENT_HELLO
+	 * filter, if configured.
 	 * 
-	 * @param config configuration for the MAC error filter.
+	 * @param config configuration for the MAC error filter and the
+	 *            CLIENT_HELLO filter.
 	 * @throws IllegalArgumentException if config contains ambiguous values for
 	 *             {@link DtlsConfig#DTLS_MAC_ERROR_FILTER_QUIET_TIME} and
 	 *             {@link DtlsConfig#DTLS_MAC_ERROR_FILTER_THRESHOLD}
@@ -73,6 +145,25 @@ public class DtlsDatagramFilter implements DatagramFilter {
 			throw new IllegalArgumentException(
 					"DTLS MAC error filter configuration ambig! Use 0 for both, or larger than 0 for both!");
 		}
+		this.clientHelloFilterThreshold = config.get(DtlsConfig.DTLS_CLIENT_HELLO_FILTER_THRESHOLD);
+		this.clientHelloFilterIntervalNanos = config.get(DtlsConfig.DTLS_CLIENT_HELLO_FILTER_INTERVAL,
+				TimeUnit.NANOSECONDS);
+		if (clientHelloFilterThreshold > 0) {
+			this.clientHellos = new CountMinSketch(4, 4096);
+		} else {
+			this.clientHellos = null;
+		}
+	}
+
+	/**
+	 * Gets number of CLIENT_HELLOs dropped by the CLIENT_HELLO filter.
+	 * 
+	 * @return number of dropped CLIENT_HELLOs
+	 * @see DtlsConfig#DTLS_CLIENT_HELLO_FILTER_THRESHOLD
+	 * @since 4.0
+	 */
+	public long getDroppedClientHellos() {
+		return droppedClientHellos.sum();
 	}
 
 	@Override
@@ -92,6 +183,27 @@ public class DtlsDatagramFilter implements DatagramFilter {
 			// drop epoch > 1, seqn >= 0x0100000000
 			return false;
 		}
+		if (data[offset + 3] == 0 && data[offset + 4] == 0) {
+			// epoch 0
+			if (contentType == ContentType.APPLICATION_DATA || contentType == ContentType.TLS12_CID) {
+				// drop, requires encryption
+				return false;
+			}
+			int length = ((data[offset + 11] & 0xff) << 8) | (data[offset + 12] & 0xff);
+			if (length > packet.getLength() - Record.RECORD_HEADER_BYTES) {
+				// drop, record exceeds datagram
+				return false;
+			}
+			if (contentType == ContentType.HANDSHAKE) {
+				if ((data[offset + 1] & 0xff) != ProtocolVersion.MAJOR_1) {
+					// drop, no DTLS
+					return false;
+				}
+				if (clientHellos != null && isClientHelloWithoutCookie(data, offset, packet.getLength())) {
+					return filterClientHello(packet);
+				}
+			}
+		}
 		if (contentType == ContentType.HANDSHAKE || contentType == ContentType.ALERT) {
 			return true;
 		}
@@ -104,6 +216,58 @@ public class DtlsDatagramFilter implements DatagramFilter {
 		return false;
 	}
 
+	/**
+	 * Check, if the datagram starts with a CLIENT_HELLO without cookie.
+	 * 
+	 * @param data data of datagram
+	 * @param offset offset of datagram
+	 * @param length length of datagram
+	 * @return {@code true}, if the datagram starts with a CLIENT_HELLO without
+	 *         cookie, {@code false}, otherwise.
+	 * @since 4.0
+	 */
+	private static boolean isClientHelloWithoutCookie(byte[] data, int offset, int length) {
+		if (length <= CLIENT_HELLO_SESSION_ID_OFFSET) {
+			return false;
+		}
+		int handshake = offset + Record.RECORD_HEADER_BYTES;
+		if (data[handshake] != (byte) HandshakeType.CLIENT_HELLO.getCode()) {
+			return false;
+		}
+		if (data[handshake + 6] != 0 || data[handshake + 7] != 0 || data[handshake + 8] != 0) {
+			// fragment
+			return false;
+		}
+		int cookie = CLIENT_HELLO_SESSION_ID_OFFSET + 1 + (data[offset + CLIENT_HELLO_SESSION_ID_OFFSET] & 0xff);
+		return cookie < length && data[offset + cookie] == 0;
+	}
+
+	/**
+	 * Filter CLIENT_HELLO without cookie.
+	 * 
+	 * Counts the CLIENT_HELLOs of the source prefix of the current interval.
+	 * 
+	 * @param packet datagram with CLIENT_HELLO
+	 * @return {@code true}, if the CLIENT_HELLOs of the source prefix are
+	 *         below the threshold, {@code false}, to drop the CLIENT_HELLO.
+	 * @since 4.0
+	 */
+	private boolean filterClientHello(DatagramPacket packet) {
+		long now = ClockUtil.nanoRealtime();
+		long start = clientHelloFilterIntervalStart.get();
+		if (now - start >= clientHelloFilterIntervalNanos
+				&& clientHelloFilterIntervalStart.compareAndSet(start, now)) {
+			clientHellos.clear();
+		}
+		byte[] address = packet.getAddress().getAddress();
+		int prefix = address.length == 4 ? IPV4_PREFIX_BYTES : IPV6_PREFIX_BYTES;
+		if (clientHellos.add(address, 0, prefix) > clientHelloFilterThreshold) {
+			droppedClientHellos.increment();
+			return false;
+		}
+		return true;
+	}
+
 	@Override
 	public boolean onReceiving(Record record, Connection connection) {
 		if (macErrorFilterThreshold > 0) {
@@ -98,6 +98,16 @@ public class DtlsHealthLogger extends CounterStatisticManager implements DtlsHea
 		add(rejectedAuthorizations);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * @since 4.0
+	 */
+	@Override
+	public String getMetricsNamespace() {
+		return "dtls";
+	}
+
 	@Override
 	public void dump() {
 		try {
@@ -169,40 +179,40 @@ public class DtlsHealthLogger extends CounterStatisticManager implements DtlsHea
 
 	@Override
 	public void startHandshake() {
-		pendingHandshakes.increment();
+		pendingHandshakes.add(1);
 	}
 
 	@Override
 	public void endHandshake(boolean success) {
-		pendingHandshakes.decrement();
+		pendingHandshakes.add(-1);
 		if (success) {
-			succeededHandshakes.increment();
+			succeededHandshakes.add(1);
 		} else {
-			failedHandshakes.increment();
+			failedHandshakes.add(1);
 		}
 	}
 
 	@Override
 	public void receivingRecord(boolean drop) {
 		if (drop) {
-			droppedReceivedRecords.increment();
+			droppedReceivedRecords.add(1);
 		} else {
-			receivedRecords.increment();
+			receivedRecords.add(1);
 		}
 	}
 
 	@Override
 	public void sendingRecord(boolean drop) {
 		if (drop) {
-			droppedSentRecords.increment();
+			droppedSentRecords.add(1);
 		} else {
-			sentRecords.increment();
+			sentRecords.add(1);
 		}
 	}
 
 	@Override
 	public void receivingMacError() {
-		droppedReceivedMacErrors.increment();
+		droppedReceivedMacErrors.add(1);
 	}
 
 	@Override
@@ -233,9 +243,9 @@ public class DtlsHealthLogger extends CounterStatisticManager implements DtlsHea
 	@Override
 	public void applicationAuthorizationRejected(boolean rejected) {
 		if (rejected) {
-			rejectedAuthorizations.increment();
+			rejectedAuthorizations.add(1);
 		} else {
-			missingAuthorizations.increment();
+			missingAuthorizations.add(1);
 		}
 	}
 }
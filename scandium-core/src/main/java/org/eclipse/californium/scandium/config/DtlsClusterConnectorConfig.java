@@ -28,6 +28,14 @@ import org.eclipse.californium.scandium.util.SecretUtil;
  */
 public final class DtlsClusterConnectorConfig {
 
+	/**
+	 * Maximum size of cluster internal datagrams aggregating forwarded and
+	 * backwarded messages.
+	 * 
+	 * @since 4.0
+	 */
+	public static final int MAX_FORWARD_BATCH_SIZE = 65507;
+
 	/**
 	 * Local socket address for cluster internal connector.
 	 */
@@ -54,6 +62,13 @@ public final class DtlsClusterConnectorConfig {
 	 * Send outgoing messages back via original receiving connector (router).
 	 */
 	private Boolean backwardMessages;
+	/**
+	 * Maximum size of cluster internal datagrams aggregating forwarded and
+	 * backwarded messages. {@code 0} to disable the aggregation.
+	 * 
+	 * @since 4.0
+	 */
+	private Integer maxForwardBatchSize;
 
 	/**
 	 * Get local socket address for internal cluster connector.
@@ -105,6 +120,21 @@ public final class DtlsClusterConnectorConfig {
 		return backwardMessages;
 	}
 
+	/**
+	 * Gets maximum size of cluster internal datagrams aggregating forwarded
+	 * and backwarded messages.
+	 * <p>
+	 * All nodes of a cluster are intended to use the same value, the receiver
+	 * must be able to receive such datagrams.
+	 * 
+	 * @return maximum size of aggregating datagrams. {@code 0}, if
+	 *         aggregation is disabled.
+	 * @since 4.0
+	 */
+	public int getMaxForwardBatchSize() {
+		return maxForwardBatchSize;
+	}
+
 	/**
 	 * @return a copy of this configuration
 	 */
@@ -116,6 +146,7 @@ public final class DtlsClusterConnectorConfig {
 		cloned.secret = SecretUtil.create(secret);
 		cloned.clusterMac = clusterMac;
 		cloned.backwardMessages = backwardMessages;
+		cloned.maxForwardBatchSize = maxForwardBatchSize;
 		return cloned;
 	}
 
@@ -234,6 +265,31 @@ public final class DtlsClusterConnectorConfig {
 			return this;
 		}
 
+		/**
+		 * Sets maximum size of cluster internal datagrams aggregating
+		 * forwarded and backwarded messages.
+		 * <p>
+		 * Messages are only aggregated, if more than one message is pending
+		 * for the same node while the previous datagram is sent. Nodes, which
+		 * receives such datagrams, must support that aggregation. Therefore
+		 * enable it only, if all nodes of the cluster are updated.
+		 * 
+		 * @param size maximum size of aggregating datagrams. {@code 0} to
+		 *            disable aggregation.
+		 * @return this builder for command chaining
+		 * @throws IllegalArgumentException if size is negative or larger than
+		 *             {@link DtlsClusterConnectorConfig#MAX_FORWARD_BATCH_SIZE}.
+		 * @since 4.0
+		 */
+		public Builder setMaxForwardBatchSize(int size) {
+			if (size < 0 || size > MAX_FORWARD_BATCH_SIZE) {
+				throw new IllegalArgumentException(
+						"Batch size " + size + " must be in range [0.." + MAX_FORWARD_BATCH_SIZE + "]!");
+			}
+			config.maxForwardBatchSize = size;
+			return this;
+		}
+
 		/**
 		 * Returns a potentially incomplete configuration. Only fields set by
 		 * users are affected, there is no default value, no consistency check.
@@ -270,6 +326,9 @@ public final class DtlsClusterConnectorConfig {
 			if (config.clusterMac == null) {
 				config.clusterMac = config.identity != null;
 			}
+			if (config.maxForwardBatchSize == null) {
+				config.maxForwardBatchSize = 0;
+			}
 			return config;
 		}
 
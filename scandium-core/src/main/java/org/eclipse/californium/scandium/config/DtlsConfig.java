@@ -38,6 +38,7 @@ import org.eclipse.californium.elements.config.StringSetDefinition;
 import org.eclipse.californium.elements.config.SystemConfig;
 import org.eclipse.californium.elements.config.TimeDefinition;
 import org.eclipse.californium.elements.config.ValueException;
+import org.eclipse.californium.elements.util.ReusePortUtil;
 import org.eclipse.californium.scandium.DTLSConnector;
 import org.eclipse.californium.scandium.DtlsDatagramFilter;
 import org.eclipse.californium.scandium.dtls.CertificateMessage;
@@ -316,6 +317,30 @@ public final class DtlsConfig {
 			MODULE + "CONNECTION_ID_NODE_ID", "DTLS cluster-node ID used for connection ID. <blank> not used.", null,
 			0);
 
+	/**
+	 * If {@link #DTLS_CONNECTION_ID_NODE_ID} is used, the number of virtual
+	 * shards encoded in connection ids instead of the node id. The shards are
+	 * assigned to the nodes using consistent hashing, which enables to move
+	 * shards and their connections on changes of the cluster nodes.
+	 * {@code 0} to encode the node id.
+	 * 
+	 * @see org.eclipse.californium.scandium.dtls.ShardConnectionIdGenerator
+	 * @since 4.0
+	 */
+	public static final IntegerDefinition DTLS_CONNECTION_ID_SHARDS = new IntegerDefinition(
+			MODULE + "CONNECTION_ID_SHARDS",
+			"DTLS number of virtual shards used for connection ID. Maximum 256. 0 to use the node ID.", 0, 0);
+
+	/**
+	 * Number of virtual nodes per cluster-node on the consistent hash ring of
+	 * the {@link #DTLS_CONNECTION_ID_SHARDS}.
+	 * 
+	 * @since 4.0
+	 */
+	public static final IntegerDefinition DTLS_CONNECTION_ID_SHARD_VIRTUAL_NODES = new IntegerDefinition(
+			MODULE + "CONNECTION_ID_SHARD_VIRTUAL_NODES",
+			"DTLS number of virtual nodes per cluster-node for connection ID shards.", 64, 1);
+
 	/**
 	 * Specify the initial DTLS retransmission timeout.
 	 */
@@ -589,6 +614,68 @@ public final class DtlsConfig {
 			MODULE + "MAX_PENDING_HANDSHAKE_RESULT_JOBS", "Maximum number of jobs for DTLS handshake results.",
 			DEFAULT_MAX_PENDING_HANDSHAKE_RESULT_JOBS, 64);
 
+	/**
+	 * Target queue delay for the adaptive admission control of received
+	 * records.
+	 * <p>
+	 * If the minimum queue delay of the records within an
+	 * {@link #DTLS_ADMISSION_INTERVAL} exceeds this target, new handshakes
+	 * are dropped. If it exceeds the double target, also records of ongoing
+	 * handshakes are dropped. Records of established connections are not
+	 * affected. {@code 0} to disable the admission control.
+	 * 
+	 * @since 4.0
+	 */
+	public static final TimeDefinition DTLS_ADMISSION_TARGET_DELAY = new TimeDefinition(
+			MODULE + "ADMISSION_TARGET_DELAY",
+			"Target queue delay for the adaptive admission control of received records. 0 to disable.", 0,
+			TimeUnit.MILLISECONDS);
+
+	/**
+	 * Interval for the adaptive admission control of received records.
+	 * 
+	 * @see #DTLS_ADMISSION_TARGET_DELAY
+	 * @since 4.0
+	 */
+	public static final TimeDefinition DTLS_ADMISSION_INTERVAL = new TimeDefinition(MODULE + "ADMISSION_INTERVAL",
+			"Interval for the adaptive admission control of received records.", 100, TimeUnit.MILLISECONDS);
+
+	/**
+	 * Maximum number of received records per second and peer.
+	 * <p>
+	 * Peers are identified by the principal of the established connection,
+	 * or by their address before the handshake is completed. Records
+	 * exceeding the limit are dropped before they are decrypted. {@code 0} to
+	 * disable the rate limit.
+	 * 
+	 * @see #DTLS_RATE_LIMIT_BURST
+	 * @see #DTLS_RATE_LIMIT_MAX_PEERS
+	 * @since 4.0
+	 */
+	public static final IntegerDefinition DTLS_RATE_LIMIT = new IntegerDefinition(MODULE + "RATE_LIMIT",
+			"Maximum number of received records per second and peer. 0 to disable.", 0, 0);
+
+	/**
+	 * Maximum number of records received in a burst from a peer.
+	 * <p>
+	 * Must cover at least the records of a handshake flight.
+	 * 
+	 * @see #DTLS_RATE_LIMIT
+	 * @since 4.0
+	 */
+	public static final IntegerDefinition DTLS_RATE_LIMIT_BURST = new IntegerDefinition(
+			MODULE + "RATE_LIMIT_BURST", "Maximum number of records received in a burst from a peer.", 20, 1);
+
+	/**
+	 * Maximum number of peers tracked by the rate limit.
+	 * 
+	 * @see #DTLS_RATE_LIMIT
+	 * @since 4.0
+	 */
+	public static final IntegerDefinition DTLS_RATE_LIMIT_MAX_PEERS = new IntegerDefinition(
+			MODULE + "RATE_LIMIT_MAX_PEERS", "Maximum number of peers tracked by the rate limit.",
+			DEFAULT_MAX_CONNECTIONS, 1);
+
 	/**
 	 * Specify maximum number of deferred processed outgoing application data
 	 * messages.
@@ -629,6 +716,35 @@ public final class DtlsConfig {
 	public static final IntegerDefinition DTLS_RECEIVER_THREAD_COUNT = new IntegerDefinition(
 			MODULE + "RECEIVER_THREAD_COUNT",
 			"Number of DTLS receiver threads. -1 for 1 virtual thread, if supported by the JVM.", 1);
+	/**
+	 * Specify the number of sockets bound to the same port used by a
+	 * {@link DTLSConnector}.
+	 * <p>
+	 * Values {@code > 1} bind additional sockets using {@code SO_REUSEPORT},
+	 * each with its own receiver threads. The OS keeps all datagrams of a peer
+	 * on the same socket, and the connections are shared by all sockets.
+	 * Requires java 9 and OS support, otherwise only one socket is used.
+	 * 
+	 * @see ReusePortUtil
+	 * @since 4.0
+	 */
+	public static final IntegerDefinition DTLS_RECEIVER_SOCKETS = new IntegerDefinition(
+			MODULE + "RECEIVER_SOCKETS", "Number of DTLS sockets bound to the same port using SO_REUSEPORT.", 1, 1);
+	/**
+	 * Window to coalesce outgoing application records into one datagram.
+	 * <p>
+	 * Application records sent to the same peer within that window are sent
+	 * together in one datagram, as long as they fit into the maximum datagram
+	 * size. That reduces the number of datagrams, e.g. for bursts of
+	 * notifications, but delays the application records up to that window.
+	 * {@code 0} to send each application record in its own datagram.
+	 * 
+	 * @since 4.0
+	 */
+	public static final TimeDefinition DTLS_RECORD_COALESCING_WINDOW = new TimeDefinition(
+			MODULE + "RECORD_COALESCING_WINDOW",
+			"Window to coalesce outgoing application records into one datagram. 0 to disable.", 0,
+			TimeUnit.MILLISECONDS);
 	/**
 	 * Specify the number of connector threads used by a {@link DTLSConnector}.
 	 * The connector threads are responsible for the most cryptographic
@@ -913,6 +1029,32 @@ public final class DtlsConfig {
 			"Threshold of current MAC errors to block all traffic for an endpoint. 0 to disable the MAC error filter.",
 			0, 0);
 
+	/**
+	 * Threshold for the CLIENT_HELLO filter.
+	 * <p>
+	 * Maximum number of CLIENT_HELLOs without cookie per source prefix
+	 * ({@code /24} for IPv4, {@code /56} for IPv6) and
+	 * {@link #DTLS_CLIENT_HELLO_FILTER_INTERVAL}. Exceeding CLIENT_HELLOs are
+	 * dropped by the {@link DtlsDatagramFilter} before a cookie is
+	 * calculated. The CLIENT_HELLOs are counted using a count-min sketch with
+	 * fixed memory. A value of {@code 0} disables the CLIENT_HELLO filter.
+	 * 
+	 * @since 4.0
+	 */
+	public static final IntegerDefinition DTLS_CLIENT_HELLO_FILTER_THRESHOLD = new IntegerDefinition(
+			MODULE + "CLIENT_HELLO_FILTER_THRESHOLD",
+			"Maximum number of CLIENT_HELLOs without cookie per source prefix and interval. 0 to disable the CLIENT_HELLO filter.",
+			0, 0);
+
+	/**
+	 * Interval for the CLIENT_HELLO filter.
+	 * 
+	 * @see #DTLS_CLIENT_HELLO_FILTER_THRESHOLD
+	 * @since 4.0
+	 */
+	public static final TimeDefinition DTLS_CLIENT_HELLO_FILTER_INTERVAL = new TimeDefinition(
+			MODULE + "CLIENT_HELLO_FILTER_INTERVAL", "Interval for the CLIENT_HELLO filter.", 10, TimeUnit.SECONDS);
+
 	/**
 	 * Specify the secure renegotiation mode.
 	 * <p>
@@ -995,6 +1137,8 @@ public final class DtlsConfig {
 			config.set(DTLS_RETRANSMISSION_BACKOFF, null);
 			config.set(DTLS_CONNECTION_ID_LENGTH, null);
 			config.set(DTLS_CONNECTION_ID_NODE_ID, null);
+			config.set(DTLS_CONNECTION_ID_SHARDS, 0);
+			config.set(DTLS_CONNECTION_ID_SHARD_VIRTUAL_NODES, 64);
 			config.set(DTLS_SERVER_USE_SESSION_ID, true);
 			config.set(DTLS_USE_EARLY_STOP_RETRANSMISSION, true);
 			config.set(DTLS_RECORD_SIZE_LIMIT, null);
@@ -1014,11 +1158,18 @@ public final class DtlsConfig {
 			config.set(DTLS_MAX_PENDING_OUTBOUND_JOBS, DEFAULT_MAX_PENDING_OUTBOUND_JOBS);
 			config.set(DTLS_MAX_PENDING_INBOUND_JOBS, DEFAULT_MAX_PENDING_INBOUND_JOBS);
 			config.set(DTLS_MAX_PENDING_HANDSHAKE_RESULT_JOBS, DEFAULT_MAX_PENDING_HANDSHAKE_RESULT_JOBS);
+			config.set(DTLS_ADMISSION_TARGET_DELAY, 0, TimeUnit.MILLISECONDS);
+			config.set(DTLS_ADMISSION_INTERVAL, 100, TimeUnit.MILLISECONDS);
+			config.set(DTLS_RATE_LIMIT, 0);
+			config.set(DTLS_RATE_LIMIT_BURST, 20);
+			config.set(DTLS_RATE_LIMIT_MAX_PEERS, DEFAULT_MAX_CONNECTIONS);
 			config.set(DTLS_MAX_DEFERRED_OUTBOUND_APPLICATION_MESSAGES,
 					DEFAULT_MAX_DEFERRED_OUTBOUND_APPLICATION_MESSAGES);
 			config.set(DTLS_MAX_DEFERRED_INBOUND_RECORDS_SIZE, DEFAULT_MAX_DEFERRED_PROCESSED_INCOMING_RECORDS_SIZE);
 
 			config.set(DTLS_RECEIVER_THREAD_COUNT, CORES > 3 ? 2 : 1);
+			config.set(DTLS_RECEIVER_SOCKETS, 1);
+			config.set(DTLS_RECORD_COALESCING_WINDOW, 0, TimeUnit.MILLISECONDS);
 			config.set(DTLS_CONNECTOR_THREAD_COUNT, CORES);
 			config.set(DTLS_RECEIVE_BUFFER_SIZE, null);
 			config.set(DTLS_SEND_BUFFER_SIZE, null);
@@ -1043,6 +1194,8 @@ public final class DtlsConfig {
 			config.set(DTLS_REMOVE_STALE_DOUBLE_PRINCIPALS, false);
 			config.set(DTLS_MAC_ERROR_FILTER_QUIET_TIME, 0, TimeUnit.SECONDS);
 			config.set(DTLS_MAC_ERROR_FILTER_THRESHOLD, 0);
+			config.set(DTLS_CLIENT_HELLO_FILTER_THRESHOLD, 0);
+			config.set(DTLS_CLIENT_HELLO_FILTER_INTERVAL, 10, TimeUnit.SECONDS);
 			config.set(DTLS_SECURE_RENEGOTIATION, DEFAULT_SECURE_RENEGOTIATION);
 			config.set(DTLS_SUPPORT_KEY_MATERIAL_EXPORT, false);
 			config.set(DTLS_APPLICATION_AUTHORIZATION_TIMEOUT, 0, TimeUnit.SECONDS);
@@ -62,6 +62,7 @@ import org.eclipse.californium.scandium.dtls.CertificateRequest;
 import org.eclipse.californium.scandium.dtls.CertificateType;
 import org.eclipse.californium.scandium.dtls.ConnectionIdGenerator;
 import org.eclipse.californium.scandium.dtls.ConnectionStore;
+import org.eclipse.californium.scandium.dtls.ConsistentHashShardMap;
 import org.eclipse.californium.scandium.dtls.HelloVerifyRequest;
 import org.eclipse.californium.scandium.dtls.InMemoryConnectionStore;
 import org.eclipse.californium.scandium.dtls.MultiNodeConnectionIdGenerator;
@@ -69,6 +70,7 @@ import org.eclipse.californium.scandium.dtls.ProtocolVersion;
 import org.eclipse.californium.scandium.dtls.Record;
 import org.eclipse.californium.scandium.dtls.SessionListener;
 import org.eclipse.californium.scandium.dtls.SessionStore;
+import org.eclipse.californium.scandium.dtls.ShardConnectionIdGenerator;
 import org.eclipse.californium.scandium.dtls.SignatureAndHashAlgorithm;
 import org.eclipse.californium.scandium.dtls.SingleNodeConnectionIdGenerator;
 import org.eclipse.californium.scandium.dtls.cipher.CipherSuite;
@@ -460,7 +462,8 @@ public final class DtlsConnectorConfig {
 	 * {@link DtlsConfig#DTLS_CONNECTION_ID_NODE_ID} is available, a
 	 * {@link MultiNodeConnectionIdGenerator} is created, but requires a CID
 	 * length of at least 5 bytes throwing {@link IllegalStateException} on
-	 * less.
+	 * less. If {@link DtlsConfig#DTLS_CONNECTION_ID_SHARDS} is also set, a
+	 * {@link ShardConnectionIdGenerator} is created instead.
 	 * 
 	 * @return connection id generator. {@code null} for not supported. The
 	 *         returned generator may only support the use of a connection id
@@ -1257,7 +1260,8 @@ public final class DtlsConnectorConfig {
 		 * {@link DtlsConfig#DTLS_CONNECTION_ID_NODE_ID} is available, a
 		 * {@link MultiNodeConnectionIdGenerator} is created, but requires a CID
 		 * length of at least 5 bytes throwing {@link IllegalStateException} on
-		 * less.
+		 * less. If {@link DtlsConfig#DTLS_CONNECTION_ID_SHARDS} is also set, a
+		 * {@link ShardConnectionIdGenerator} is created instead.
 		 * 
 		 * @param connectionIdGenerator connection id generator. {@code null}
 		 *            for not supported. The generator may only support the use
@@ -1675,7 +1679,14 @@ public final class DtlsConnectorConfig {
 							throw new IllegalStateException(cidLength
 									+ " bytes are too small for multiple nodes CID! At least, 5 bytes are required.");
 						}
-						setConnectionIdGenerator(new MultiNodeConnectionIdGenerator(cidNode, cidLength));
+						int shards = config.get(DtlsConfig.DTLS_CONNECTION_ID_SHARDS);
+						if (shards > 0) {
+							int virtualNodes = config.get(DtlsConfig.DTLS_CONNECTION_ID_SHARD_VIRTUAL_NODES);
+							setConnectionIdGenerator(new ShardConnectionIdGenerator(cidNode, cidLength,
+									new ConsistentHashShardMap(shards, virtualNodes)));
+						} else {
+							setConnectionIdGenerator(new MultiNodeConnectionIdGenerator(cidNode, cidLength));
+						}
 					} else {
 						setConnectionIdGenerator(new SingleNodeConnectionIdGenerator(cidLength));
 					}
@@ -0,0 +1,237 @@
+/********************************************************************************
+ * Copyright (c) 2025 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v1.0 which is available at
+ * https://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ ********************************************************************************/
+package org.eclipse.californium.scandium.dtls;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Maps virtual shards to nodes using consistent hashing.
+ * <p>
+ * Each node is placed with a number of virtual points on a hash ring, each
+ * shard is owned by the node of the next point on that ring. Adding or
+ * removing a node therefore only moves the shards of the affected ring
+ * segments, all other shards keep their owner. The hash function is
+ * deterministic, all nodes of a cluster calculate the same assignment for the
+ * same set of node-ids.
+ * <p>
+ * The assignment is replaced atomically by {@link #setNodes(Collection)}.
+ * Thread-safe.
+ *
+ * @since 4.0
+ */
+public class ConsistentHashShardMap {
+
+	/**
+	 * Maximum number of shards. Shards are encoded in one byte.
+	 */
+	public static final int MAX_SHARDS = 256;
+
+	/**
+	 * Number of shards.
+	 */
+	private final int shards;
+	/**
+	 * Number of virtual points per node on the hash ring.
+	 */
+	private final int virtualNodes;
+	/**
+	 * Current assignment.
+	 */
+	private volatile Assignment assignment;
+
+	/**
+	 * Create shard map.
+	 *
+	 * @param shards number of shards. Intended to be much larger than the
+	 *            number of nodes.
+	 * @param virtualNodes number of virtual points per node on the hash ring
+	 * @throws IllegalArgumentException if shards is not in range
+	 *             {@code [1...256]} or virtual nodes is less than 1.
+	 */
+	public ConsistentHashShardMap(int shards, int virtualNodes) {
+		if (shards < 1 || shards > MAX_SHARDS) {
+			throw new IllegalArgumentException("Shards " + shards + " must be in range [1..." + MAX_SHARDS + "]!");
+		}
+		if (virtualNodes < 1) {
+			throw new IllegalArgumentException("Virtual nodes " + virtualNodes + " must be at least 1!");
+		}
+		this.shards = shards;
+		this.virtualNodes = virtualNodes;
+		this.assignment = new Assignment(new int[0], new int[shards]);
+	}
+
+	/**
+	 * Gets number of shards.
+	 *
+	 * @return number of shards
+	 */
+	public int getShards() {
+		return shards;
+	}
+
+	/**
+	 * Sets the nodes of the cluster and calculates the new assignment.
+	 *
+	 * @param nodeIds node-ids of the cluster
+	 * @return {@code true}, if the assignment has changed, {@code false},
+	 *         otherwise.
+	 * @throws IllegalArgumentException if no node-id is provided
+	 */
+	public boolean setNodes(Collection<Integer> nodeIds) {
+		if (nodeIds.isEmpty()) {
+			throw new IllegalArgumentException("Nodes must not be empty!");
+		}
+		Set<Integer> sorted = new TreeSet<>(nodeIds);
+		int[] nodes = new int[sorted.size()];
+		int index = 0;
+		for (Integer node : sorted) {
+			nodes[index++] = node;
+		}
+		synchronized (this) {
+			if (Arrays.equals(nodes, assignment.nodes)) {
+				return false;
+			}
+			int points = nodes.length * virtualNodes;
+			long[] ring = new long[points];
+			index = 0;
+			for (int node : nodes) {
+				for (int replica = 0; replica < virtualNodes; ++replica) {
+					// upper 32 bits hash, lower 32 bits node-id
+					ring[index++] = (hash(((long) node << 32) | replica) & 0xffffffff00000000L)
+							| (node & 0xffffffffL);
+				}
+			}
+			Arrays.sort(ring);
+			int[] owners = new int[shards];
+			for (int shard = 0; shard < shards; ++shard) {
+				long point = hash(shard | 0x5348415244000000L) & 0xffffffff00000000L;
+				int pos = Arrays.binarySearch(ring, point);
+				if (pos < 0) {
+					pos = -pos - 1;
+				}
+				if (pos == ring.length) {
+					pos = 0;
+				}
+				owners[shard] = (int) ring[pos];
+			}
+			assignment = new Assignment(nodes, owners);
+			return true;
+		}
+	}
+
+	/**
+	 * Gets node-id of the owner of the shard.
+	 *
+	 * @param shard shard
+	 * @return node-id of owner
+	 * @throws IndexOutOfBoundsException if shard is not in range
+	 */
+	public int getNode(int shard) {
+		return assignment.owners[shard];
+	}
+
+	/**
+	 * Gets shards owned by node.
+	 *
+	 * @param nodeId node-id
+	 * @return array with owned shards. Empty, if node has no shards.
+	 */
+	public int[] getShards(int nodeId) {
+		return assignment.getShards(nodeId).clone();
+	}
+
+	/**
+	 * Get a random shard owned by node.
+	 *
+	 * @param nodeId node-id
+	 * @param random random value
+	 * @return shard, or {@code -1}, if the node has no shards.
+	 */
+	public int getShard(int nodeId, int random) {
+		int[] owned = assignment.getShards(nodeId);
+		if (owned.length == 0) {
+			return -1;
+		}
+		return owned[(random & 0x7fffffff) % owned.length];
+	}
+
+	/**
+	 * Gets node-ids of the current assignment.
+	 *
+	 * @return node-ids, sorted ascending
+	 */
+	public int[] getNodes() {
+		return assignment.nodes.clone();
+	}
+
+	/**
+	 * 64 bit mixer (splitmix64).
+	 *
+	 * @param value value to hash
+	 * @return hash
+	 */
+	private static long hash(long value) {
+		long hash = value + 0x9e3779b97f4a7c15L;
+		hash = (hash ^ (hash >>> 30)) * 0xbf58476d1ce4e5b9L;
+		hash = (hash ^ (hash >>> 27)) * 0x94d049bb133111ebL;
+		return hash ^ (hash >>> 31);
+	}
+
+	/**
+	 * Immutable assignment of shards to nodes.
+	 */
+	private static class Assignment {
+
+		/**
+		 * Node-ids, sorted ascending.
+		 */
+		private final int[] nodes;
+		/**
+		 * Owner node-id per shard.
+		 */
+		private final int[] owners;
+		/**
+		 * Owned shards per node. Same order as {@link #nodes}.
+		 */
+		private final int[][] shardsByNode;
+
+		private Assignment(int[] nodes, int[] owners) {
+			this.nodes = nodes;
+			this.owners = owners;
+			this.shardsByNode = new int[nodes.length][];
+			for (int index = 0; index < nodes.length; ++index) {
+				int count = 0;
+				int[] owned = new int[owners.length];
+				for (int shard = 0; shard < owners.length; ++shard) {
+					if (owners[shard] == nodes[index]) {
+						owned[count++] = shard;
+					}
+				}
+				shardsByNode[index] = Arrays.copyOf(owned, count);
+			}
+		}
+
+		private int[] getShards(int nodeId) {
+			int index = Arrays.binarySearch(nodes, nodeId);
+			if (index < 0) {
+				return new int[0];
+			}
+			return shardsByNode[index];
+		}
+	}
+}
@@ -479,6 +479,29 @@ public final class DTLSContext implements Destroyable {
 		}
 	}
 
+	/**
+	 * Increases the write sequence number of the current epoch.
+	 * <p>
+	 * Used for restored outdated contexts, e.g. replicas, to not reuse
+	 * sequence numbers, which may have been already used in the meantime.
+	 * 
+	 * @param gap gap to increase the sequence number
+	 * @throws IllegalArgumentException if gap is negative
+	 * @throws IllegalStateException if the maximum sequence number for the
+	 *             epoch would be exceeded (2^48 - 1)
+	 * @since 4.0
+	 */
+	public void increaseWriteSequenceNumber(long gap) {
+		if (gap < 0) {
+			throw new IllegalArgumentException("Gap " + gap + " must not be negative!");
+		}
+		long sequenceNumber = this.sequenceNumbers[writeEpoch] + gap;
+		if (sequenceNumber > Record.MAX_SEQUENCE_NO) {
+			throw new IllegalStateException("Maximum sequence number for epoch would be exceeded");
+		}
+		this.sequenceNumbers[writeEpoch] = sequenceNumber;
+	}
+
 	/**
 	 * Gets the current read state of the connection.
 	 * <p>
@@ -97,6 +97,8 @@ import org.eclipse.californium.elements.auth.PreSharedKeyIdentity;
 import org.eclipse.californium.elements.auth.RawPublicKeyIdentity;
 import org.eclipse.californium.elements.auth.X509CertPath;
 import org.eclipse.californium.elements.exception.MissingApplicationAuthorizationException;
+import org.eclipse.californium.elements.metrics.EventRecorder;
+import org.eclipse.californium.elements.metrics.EventRecorders;
 import org.eclipse.californium.elements.util.Bytes;
 import org.eclipse.californium.elements.util.ClockUtil;
 import org.eclipse.californium.elements.util.NoPublicAPI;
@@ -480,6 +482,14 @@ public abstract class Handshaker implements Destroyable {
 	private boolean handshakeCompleted;
 	private boolean handshakeFailed;
 	private boolean removeConnection;
+	/**
+	 * Realtime in nanoseconds, when the handshake was started. {@code 0}, if
+	 * not recorded.
+	 * 
+	 * @see EventRecorder.Type#HANDSHAKE
+	 * @since 4.0
+	 */
+	private long startNanos;
 	private boolean pskRequestPending;
 	private boolean certificateVerificationPending;
 	private boolean certificateIdentityPending;
@@ -2160,6 +2170,13 @@ public abstract class Handshaker implements Destroyable {
 	 */
 	protected final void handshakeStarted() throws HandshakeException {
 		LOGGER.debug("handshake started {}", connection);
+		EventRecorder recorder = EventRecorders.get();
+		if (recorder.isEnabled(EventRecorder.Type.HANDSHAKE)) {
+			startNanos = ClockUtil.nanoRealtime();
+		}
+		if (recorder.isEnabled(EventRecorder.Type.HANDSHAKE_START)) {
+			recorder.recordHandshakeStart(StringUtil.toDisplayString(peer), getClass().getSimpleName());
+		}
 		for (SessionListener sessionListener : sessionListeners) {
 			sessionListener.handshakeStarted(this);
 		}
@@ -2229,6 +2246,7 @@ public abstract class Handshaker implements Destroyable {
 			}
 			handshakeCompleted = true;
 			completePendingFlight();
+			recordHandshake(null);
 			for (SessionListener sessionListener : sessionListeners) {
 				sessionListener.handshakeCompleted(this);
 			}
@@ -2322,6 +2340,7 @@ public abstract class Handshaker implements Destroyable {
 			LOGGER.debug("handshake failed {}", connection, cause);
 			handshakeFailed = true;
 			completePendingFlight();
+			recordHandshake(cause);
 			for (SessionListener sessionListener : sessionListeners) {
 				sessionListener.handshakeFailed(this, cause);
 			}
@@ -2330,6 +2349,32 @@ public abstract class Handshaker implements Destroyable {
 		}
 	}
 
+	/**
+	 * Record finished handshake.
+	 * 
+	 * @param cause cause of failure. {@code null}, if the handshake succeeded.
+	 * @since 4.0
+	 */
+	private void recordHandshake(Throwable cause) {
+		if (startNanos != 0) {
+			EventRecorder recorder = EventRecorders.get();
+			if (recorder.isEnabled(EventRecorder.Type.HANDSHAKE)) {
+				DTLSSession session = context.getSession();
+				CipherSuite cipherSuite = session == null ? null : session.getCipherSuite();
+				String failure = null;
+				if (cause != null) {
+					failure = cause.getMessage();
+					if (failure == null) {
+						failure = cause.getClass().getSimpleName();
+					}
+				}
+				recorder.recordHandshake(StringUtil.toDisplayString(peer), getClass().getSimpleName(),
+						cipherSuite == null ? null : cipherSuite.name(), failure,
+						ClockUtil.nanoRealtime() - startNanos);
+			}
+		}
+	}
+
 	/**
 	 * Checks, if the dtls context is established.
 	 * 
@@ -32,6 +32,8 @@ import java.util.concurrent.locks.ReentrantReadWriteLock.ReadLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock.WriteLock;
 
 import org.eclipse.californium.elements.auth.ExtensiblePrincipal;
+import org.eclipse.californium.elements.metrics.EventRecorder;
+import org.eclipse.californium.elements.metrics.EventRecorders;
 import org.eclipse.californium.elements.util.Bytes;
 import org.eclipse.californium.elements.util.ClockUtil;
 import org.eclipse.californium.elements.util.DataStreamReader;
@@ -144,6 +146,13 @@ public class InMemoryConnectionStore implements ConnectionStore {
 
 			@Override
 			public void onEviction(final Connection staleConnection) {
+				EventRecorder recorder = EventRecorders.get();
+				if (recorder.isEnabled(EventRecorder.Type.CONNECTION_EVICTION)) {
+					ConnectionId cid = staleConnection.getConnectionId();
+					recorder.recordConnectionEviction(StringUtil.toDisplayString(staleConnection.getPeerAddress()),
+							cid == null ? null : cid.getAsString(), staleConnection.hasEstablishedDtlsContext(),
+							ClockUtil.nanoRealtime() - staleConnection.getLastMessageNanos());
+				}
 				staleConnection.execute(() -> {
 					Handshaker handshaker = staleConnection.getOngoingHandshake();
 					if (handshaker != null) {
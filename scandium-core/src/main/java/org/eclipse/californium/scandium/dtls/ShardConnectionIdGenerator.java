@@ -0,0 +1,145 @@
+/********************************************************************************
+ * Copyright (c) 2025 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v1.0 which is available at
+ * https://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ ********************************************************************************/
+package org.eclipse.californium.scandium.dtls;
+
+import java.util.Collections;
+
+import org.eclipse.californium.elements.util.DatagramReader;
+import org.eclipse.californium.scandium.dtls.cipher.RandomManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Connection id generator for clusters with virtual shards.
+ * <p>
+ * Encodes a shard into the first byte of generated connection id instead of
+ * the node id. The node of a connection id is the current owner of that shard
+ * according the {@link ConsistentHashShardMap}. If nodes are added or
+ * removed, only some shards are moved to other nodes. Moving the connections
+ * of these shards together with the shards keeps the connections valid
+ * without new handshakes.
+ * <p>
+ * All nodes of the cluster must use the same number of shards and virtual
+ * nodes, and update the {@link ConsistentHashShardMap} with the same node-ids.
+ *
+ * @since 4.0
+ */
+public class ShardConnectionIdGenerator implements NodeConnectionIdGenerator {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(ShardConnectionIdGenerator.class);
+
+	/**
+	 * Node id. Must be unique in cluster.
+	 */
+	private final int nodeId;
+	/**
+	 * Length of connection id.
+	 */
+	private final int connectionIdLength;
+	/**
+	 * Assignment of shards to nodes.
+	 */
+	private final ConsistentHashShardMap shardMap;
+
+	/**
+	 * Create new connection id generator for shards.
+	 * <p>
+	 * If the shard map has no nodes, this node is set as single node.
+	 *
+	 * @param nodeId node id of this node. Must be unique in the cluster.
+	 * @param connectionIdLength length of connection id
+	 * @param shardMap assignment of shards to nodes
+	 * @throws NullPointerException if shard map is {@code null}
+	 * @throws IllegalArgumentException if length is less than 2 bytes
+	 */
+	public ShardConnectionIdGenerator(int nodeId, int connectionIdLength, ConsistentHashShardMap shardMap) {
+		if (shardMap == null) {
+			throw new NullPointerException("shard map must not be null!");
+		}
+		if (connectionIdLength < 2) {
+			throw new IllegalArgumentException("cid length must be at least 2 bytes!");
+		}
+		this.nodeId = nodeId;
+		this.connectionIdLength = connectionIdLength;
+		this.shardMap = shardMap;
+		synchronized (shardMap) {
+			if (shardMap.getNodes().length == 0) {
+				shardMap.setNodes(Collections.singleton(nodeId));
+			}
+		}
+	}
+
+	/**
+	 * Gets assignment of shards to nodes.
+	 *
+	 * @return shard map
+	 */
+	public ConsistentHashShardMap getShardMap() {
+		return shardMap;
+	}
+
+	@Override
+	public boolean useConnectionId() {
+		return true;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * Places a random shard owned by this node into the first byte of the
+	 * connection id. If this node doesn't own a shard, a random shard is used
+	 * and the connection will be moved to the owner.
+	 */
+	@Override
+	public ConnectionId createConnectionId() {
+		byte[] cidBytes = new byte[connectionIdLength];
+		RandomManager.currentRandom().nextBytes(cidBytes);
+		int random = (cidBytes[0] & 0xff) | ((cidBytes[1] & 0xff) << 8);
+		int shard = shardMap.getShard(nodeId, random);
+		if (shard < 0) {
+			shard = random % shardMap.getShards();
+			LOGGER.warn("node {} owns no shard, use shard {} of node {}!", nodeId, shard, shardMap.getNode(shard));
+		}
+		cidBytes[0] = (byte) shard;
+		return new ConnectionId(cidBytes);
+	}
+
+	@Override
+	public ConnectionId read(DatagramReader reader) {
+		byte[] cidBytes = reader.readBytes(connectionIdLength);
+		return new ConnectionId(cidBytes);
+	}
+
+	@Override
+	public int getNodeId() {
+		return nodeId;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * Returns the current owner of the shard encoded in the first byte of the
+	 * connection id.
+	 */
+	@Override
+	public int getNodeId(ConnectionId cid) {
+		int shard = cid.getBytes()[0] & 0xff;
+		if (shard >= shardMap.getShards()) {
+			// invalid shard, no node
+			return -1;
+		}
+		return shardMap.getNode(shard);
+	}
+}
@@ -0,0 +1,70 @@
+/********************************************************************************
+ * Copyright (c) 2025 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v1.0 which is available at
+ * https://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ ********************************************************************************/
+package org.eclipse.californium.scandium;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.net.DatagramPacket;
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.californium.elements.AddressEndpointContext;
+import org.eclipse.californium.elements.RawData;
+import org.eclipse.californium.elements.category.Small;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Verifies behavior of {@link CoalescedDatagram}.
+ */
+@Category(Small.class)
+public class CoalescedDatagramTest {
+
+	private static final InetSocketAddress PEER = new InetSocketAddress("127.0.0.1", 5684);
+
+	@Test
+	public void testCoalesceRecords() {
+		CoalescedDatagram datagram = new CoalescedDatagram(PEER, 10);
+		RawData message1 = newMessage();
+		RawData message2 = newMessage();
+		assertThat(datagram.add(new byte[] { 1, 2, 3, 4 }, message1), is(true));
+		assertThat(datagram.add(new byte[] { 5, 6, 7, 8, 9, 10 }, message2), is(true));
+		// full
+		assertThat(datagram.add(new byte[] { 11 }, newMessage()), is(false));
+
+		List<RawData> messages = datagram.close();
+		assertThat(messages, is(Arrays.asList(message1, message2)));
+		DatagramPacket packet = datagram.toDatagramPacket();
+		assertThat(packet.getSocketAddress(), is((Object) PEER));
+		assertThat(packet.getLength(), is(10));
+		assertThat(Arrays.copyOf(packet.getData(), packet.getLength()),
+				is(new byte[] { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10 }));
+	}
+
+	@Test
+	public void testClosedDatagram() {
+		CoalescedDatagram datagram = new CoalescedDatagram(PEER, 10);
+		assertThat(datagram.add(new byte[] { 1, 2 }, newMessage()), is(true));
+		datagram.close();
+		assertThat(datagram.add(new byte[] { 3 }, newMessage()), is(false));
+		assertThat(datagram.toDatagramPacket().getLength(), is(2));
+	}
+
+	private static RawData newMessage() {
+		return RawData.outbound(new byte[1], new AddressEndpointContext(PEER), null, false);
+	}
+}
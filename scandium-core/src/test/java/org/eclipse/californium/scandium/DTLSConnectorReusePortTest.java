@@ -0,0 +1,111 @@
+/********************************************************************************
+ * Copyright (c) 2025 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v1.0 which is available at
+ * https://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ ********************************************************************************/
+package org.eclipse.californium.scandium;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assume.assumeTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.californium.elements.category.NativeDatagramSocketImplRequired;
+import org.eclipse.californium.elements.rule.TestNameLoggerRule;
+import org.eclipse.californium.elements.rule.ThreadsRule;
+import org.eclipse.californium.elements.util.ReusePortUtil;
+import org.eclipse.californium.scandium.config.DtlsConfig;
+import org.eclipse.californium.scandium.config.DtlsConnectorConfig;
+import org.eclipse.californium.scandium.rule.DtlsNetworkRule;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Verifies the {@link DTLSConnector} receiving with multiple sockets bound to
+ * the same port using {@code SO_REUSEPORT}.
+ * <p>
+ * The additional sockets are native sockets, therefore the clients must use
+ * native sockets as well.
+ */
+@Category(NativeDatagramSocketImplRequired.class)
+public class DTLSConnectorReusePortTest {
+
+	@ClassRule
+	public static DtlsNetworkRule network = new DtlsNetworkRule(DtlsNetworkRule.Mode.NATIVE);
+
+	@ClassRule
+	public static ThreadsRule cleanup = new ThreadsRule();
+
+	@Rule
+	public TestNameLoggerRule names = new TestNameLoggerRule();
+
+	private static final int RECEIVER_SOCKETS = 2;
+	private static final int CLIENTS = 16;
+
+	/**
+	 * Threads, which received records on the server side.
+	 */
+	private final Set<Thread> receivers = ConcurrentHashMap.newKeySet();
+	private final List<DTLSConnector> clients = new ArrayList<>();
+
+	private ConnectorHelper serverHelper;
+
+	@Before
+	public void startServer() throws Exception {
+		assumeTrue("SO_REUSEPORT not available", ReusePortUtil.isAvailable());
+		serverHelper = new ConnectorHelper(network);
+		serverHelper.serverBuilder.set(DtlsConfig.DTLS_RECEIVER_SOCKETS, RECEIVER_SOCKETS)
+				// one receiver thread per socket
+				.set(DtlsConfig.DTLS_RECEIVER_THREAD_COUNT, RECEIVER_SOCKETS)
+				.set(DtlsConfig.DTLS_MAX_CONNECTIONS, CLIENTS * 2)
+				.setHealthHandler(new DtlsHealthLogger("server") {
+
+					@Override
+					public void receivingRecord(boolean drop) {
+						receivers.add(Thread.currentThread());
+						super.receivingRecord(drop);
+					}
+				});
+		serverHelper.startServer();
+	}
+
+	@After
+	public void stop() {
+		for (DTLSConnector client : clients) {
+			client.destroy();
+		}
+		if (serverHelper != null) {
+			serverHelper.destroyServer();
+		}
+	}
+
+	@Test
+	public void testHandshakesWithMultipleSockets() throws Exception {
+		assertThat(serverHelper.server.getReceiveSocketCount(), is(RECEIVER_SOCKETS));
+		DtlsConnectorConfig clientConfig = ConnectorHelper.newClientConfigBuilder(network).build();
+		for (int index = 0; index < CLIENTS; ++index) {
+			DTLSConnector client = serverHelper.createClient(clientConfig);
+			clients.add(client);
+			serverHelper.givenAnEstablishedSession(client, false);
+		}
+		// the OS distributes the clients over all sockets
+		assertThat(receivers.size(), is(RECEIVER_SOCKETS));
+	}
+}
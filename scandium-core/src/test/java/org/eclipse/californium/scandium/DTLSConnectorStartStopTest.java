@@ -131,10 +131,23 @@ public class DTLSConnectorStartStopTest {
 
 	@Before
 	public void setUp() throws IOException, GeneralSecurityException {
+		setUpClient(0);
+	}
+
+	/**
+	 * Creates the client.
+	 * 
+	 * @param recordCoalescingWindowMillis window to coalesce application
+	 *            records in milliseconds. {@code 0} to disable coalescing.
+	 * @throws IOException if the client's keys cannot be read.
+	 * @throws GeneralSecurityException if the client's keys cannot be read.
+	 */
+	private void setUpClient(int recordCoalescingWindowMillis) throws IOException, GeneralSecurityException {
 		testLogTag = testLogTagHead + testLogTagCounter++;
 		DtlsConnectorConfig clientConfig = ConnectorHelper.newClientConfigBuilder(network)
 				.set(DtlsConfig.DTLS_MAX_CONNECTIONS, CLIENT_CONNECTION_STORE_CAPACITY)
 				.set(DtlsConfig.DTLS_STALE_CONNECTION_THRESHOLD, 60, TimeUnit.SECONDS)
+				.set(DtlsConfig.DTLS_RECORD_COALESCING_WINDOW, recordCoalescingWindowMillis, TimeUnit.MILLISECONDS)
 				.setLoggingTag(testLogTag + "-client").build();
 		clientConnectionStore = ConnectorHelper.createDebugConnectionStore(clientConfig);
 		client = new DTLSConnector(clientConfig, clientConnectionStore);
@@ -176,6 +189,14 @@ public class DTLSConnectorStartStopTest {
 		}
 	}
 
+	@Test
+	public void testStopCallsMessageCallbackOnErrorWithRecordCoalescing()
+			throws InterruptedException, IOException, GeneralSecurityException {
+		client.destroy();
+		setUpClient(50);
+		testStopCallsMessageCallbackOnError(20, 5, false);
+	}
+
 	@Test
 	public void testRestartFromClientSessionCache() throws InterruptedException, IOException, GeneralSecurityException {
 		if (TestScope.enableIntensiveTests()) {
@@ -65,12 +65,14 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
+import java.net.DatagramPacket;
 import java.net.InetSocketAddress;
 import java.nio.charset.StandardCharsets;
 import java.security.GeneralSecurityException;
 import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.californium.elements.AddressEndpointContext;
 import org.eclipse.californium.elements.RawData;
@@ -89,6 +91,7 @@ import org.eclipse.californium.elements.util.ProtocolScheduledExecutorService;
 import org.eclipse.californium.elements.util.SimpleMessageCallback;
 import org.eclipse.californium.elements.util.TestThreadFactory;
 import org.eclipse.californium.scandium.ConnectorHelper.AlertCatcher;
+import org.eclipse.californium.scandium.ConnectorHelper.DropCatcher;
 import org.eclipse.californium.scandium.ConnectorHelper.LatchDecrementingRawDataChannel;
 import org.eclipse.californium.scandium.ConnectorHelper.LatchSessionListener;
 import org.eclipse.californium.scandium.ConnectorHelper.RecordCollectorDataHandler;
@@ -1155,6 +1158,51 @@ public class DTLSConnectorTest {
 		}
 	}
 
+	@Test
+	public void testApplicationRecordsAreCoalesced() throws Exception {
+		final AtomicInteger datagrams = new AtomicInteger();
+		ConnectorHelper serverHelper = new ConnectorHelper(network);
+		DTLSConnector coalescingClient = null;
+		try {
+			// given a server counting the received datagrams
+			serverHelper.serverBuilder.setDatagramFilter(new DropCatcher() {
+
+				@Override
+				public boolean onReceiving(DatagramPacket packet) {
+					datagrams.incrementAndGet();
+					return true;
+				}
+			});
+			serverHelper.startServer();
+			// and an established session with a client coalescing records
+			DtlsConnectorConfig config = newClientConfigBuilder().setAddress(LOCAL)
+					.set(DtlsConfig.DTLS_RECORD_COALESCING_WINDOW, 500, TimeUnit.MILLISECONDS).build();
+			coalescingClient = serverHelper.createClient(config);
+			coalescingClient.setExecutor(executor);
+			TestContext context = serverHelper.givenAnEstablishedSession(coalescingClient, false);
+			datagrams.set(0);
+
+			// when sending two messages within the coalescing window
+			context.setLatchCount(2);
+			AddressEndpointContext destination = new AddressEndpointContext(serverHelper.serverEndpoint);
+			coalescingClient.send(RawData.outbound(new byte[] { 0x01 }, destination, null, false));
+			coalescingClient.send(RawData.outbound(new byte[] { 0x02 }, destination, null, false));
+
+			// then both messages are processed by the server
+			assertTrue("DTLS client timed out after " + MAX_TIME_TO_WAIT_SECS + " seconds waiting for responses!",
+					context.await(MAX_TIME_TO_WAIT_SECS, TimeUnit.SECONDS));
+			assertThat(serverHelper.serverRawDataProcessor.getLatestInboundMessage().getBytes(),
+					is(new byte[] { 0x02 }));
+			// and are received within one datagram
+			assertThat(datagrams.get(), is(1));
+		} finally {
+			if (coalescingClient != null) {
+				coalescingClient.destroy();
+			}
+			serverHelper.destroyServer();
+		}
+	}
+
 	private void assertClientIdentity(final Class<?> principalType) {
 
 		// assert that client identity is of given type
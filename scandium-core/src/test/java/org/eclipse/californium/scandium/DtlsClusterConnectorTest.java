@@ -110,6 +110,7 @@ public class DtlsClusterConnectorTest {
 
 		DtlsClusterConnectorConfig clusterConfig1 = DtlsClusterConnectorConfig.builder()
 				.setAddress(mgmtAddress1)
+				.setMaxForwardBatchSize(4096)
 				.build();
 		SinglePskStore testPskStore2 = new SinglePskStore(ConnectorHelper.CLIENT_IDENTITY,
 				ConnectorHelper.CLIENT_IDENTITY_SECRET.getBytes());
@@ -119,6 +120,7 @@ public class DtlsClusterConnectorTest {
 				.setConnectionIdGenerator(new MultiNodeConnectionIdGenerator(NODE_ID_2, CID_LENGTH)).build();
 		DtlsClusterConnectorConfig clusterConfig2 = DtlsClusterConnectorConfig.builder()
 				.setAddress(mgmtAddress2)
+				.setMaxForwardBatchSize(4096)
 				.build();
 		DtlsClusterConnector.ClusterNodesProvider nodesProvider = new DtlsClusterConnector.ClusterNodesProvider() {
 
@@ -255,5 +257,58 @@ public class DtlsClusterConnectorTest {
 		// check number of connections
 
 		assertEquals(9, clientConnections.remainingCapacity());
+
+		// forwarded to connector 1 and backwarded to connector 2
+		assertTrue(connector2.getForwardStatistic().getSentMessages(mgmtAddress1) > 0);
+		assertTrue(connector1.getForwardStatistic().getSentMessages(mgmtAddress2) > 0);
+	}
+
+	/**
+	 * Send a burst of messages to connector 2, which are forwarded to
+	 * connector 1, and check the forward statistic.
+	 * 
+	 * @throws Exception if an error occurred
+	 */
+	@Test
+	public void testForwardBurst() throws Exception {
+		final int BURST = 20;
+		// establish connection with connector 1
+		clientChannel.setLatchCount(1);
+		SimpleMessageCallback callback = new SimpleMessageCallback();
+		clientConnector.send(RawData.outbound("hello!".getBytes(), new AddressEndpointContext(dtlsAddress1),
+				callback, false));
+		assertTrue(callback.isSent(DEFAULT_TIMEOUT_MILLIS));
+		assertTrue(clientChannel.await(DEFAULT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+
+		Future<Void> result = clientConnector.startForEach(new Predicate<Connection>() {
+
+			@Override
+			public boolean test(Connection value) {
+				if (value.equalsPeerAddress(dtlsAddress1)) {
+					clientConnections.update(value, dtlsAddress2);
+					return true;
+				} else {
+					return false;
+				}
+			}
+		});
+		result.get(DEFAULT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+
+		DtlsClusterForwardStatistic statistic = connector2.getForwardStatistic();
+		long sentMessages = statistic.getSentMessages(mgmtAddress1);
+		long sentDatagrams = statistic.getSentDatagrams(mgmtAddress1);
+
+		clientChannel.setLatchCount(BURST);
+		for (int index = 0; index < BURST; ++index) {
+			clientConnector.send(RawData.outbound(("hello " + index).getBytes(),
+					new AddressEndpointContext(dtlsAddress2), null, false));
+		}
+		assertTrue(clientChannel.await(DEFAULT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+
+		sentMessages = statistic.getSentMessages(mgmtAddress1) - sentMessages;
+		sentDatagrams = statistic.getSentDatagrams(mgmtAddress1) - sentDatagrams;
+		assertEquals(BURST, sentMessages);
+		assertTrue(sentDatagrams > 0);
+		assertTrue(sentDatagrams <= sentMessages);
 	}
 }
@@ -0,0 +1,126 @@
+/********************************************************************************
+ * Copyright (c) 2025 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v1.0 which is available at
+ * https://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ ********************************************************************************/
+package org.eclipse.californium.scandium;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.net.DatagramPacket;
+import java.net.InetSocketAddress;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.californium.elements.category.Small;
+import org.eclipse.californium.elements.config.Configuration;
+import org.eclipse.californium.elements.rule.TestTimeRule;
+import org.eclipse.californium.scandium.config.DtlsConfig;
+import org.eclipse.californium.scandium.dtls.CertificateType;
+import org.eclipse.californium.scandium.dtls.ClientHello;
+import org.eclipse.californium.scandium.dtls.ClientHelloTest;
+import org.eclipse.californium.scandium.dtls.ContentType;
+import org.eclipse.californium.scandium.dtls.ProtocolVersion;
+import org.eclipse.californium.scandium.dtls.Record;
+import org.eclipse.californium.scandium.dtls.SignatureAndHashAlgorithm;
+import org.eclipse.californium.scandium.dtls.cipher.CipherSuite;
+import org.eclipse.californium.scandium.dtls.cipher.XECDHECryptography.SupportedGroup;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Verifies behavior of {@link DtlsDatagramFilter}.
+ */
+@Category(Small.class)
+public class DtlsDatagramFilterTest {
+
+	private static final InetSocketAddress PEER_1 = new InetSocketAddress("192.168.1.1", 5684);
+	private static final InetSocketAddress PEER_2 = new InetSocketAddress("192.168.1.2", 5684);
+	private static final InetSocketAddress PEER_3 = new InetSocketAddress("192.168.2.1", 5684);
+
+	@Rule
+	public TestTimeRule time = new TestTimeRule();
+
+	private DtlsDatagramFilter filter;
+
+	@Before
+	public void setup() {
+		time.setFixedTestTime(true);
+		Configuration config = new Configuration(DtlsConfig.DEFINITIONS);
+		config.set(DtlsConfig.DTLS_CLIENT_HELLO_FILTER_THRESHOLD, 2);
+		config.set(DtlsConfig.DTLS_CLIENT_HELLO_FILTER_INTERVAL, 10, TimeUnit.SECONDS);
+		filter = new DtlsDatagramFilter(config);
+	}
+
+	@Test
+	public void testClientHelloFilter() {
+		byte[] clientHello = createClientHello(null);
+		assertThat(filter.onReceiving(packet(clientHello, PEER_1)), is(true));
+		assertThat(filter.onReceiving(packet(clientHello, PEER_2)), is(true));
+		// same /24 prefix
+		assertThat(filter.onReceiving(packet(clientHello, PEER_1)), is(false));
+		// other prefix
+		assertThat(filter.onReceiving(packet(clientHello, PEER_3)), is(true));
+		assertThat(filter.getDroppedClientHellos(), is(1L));
+		// next interval
+		time.addTestTimeShift(10, TimeUnit.SECONDS);
+		assertThat(filter.onReceiving(packet(clientHello, PEER_1)), is(true));
+	}
+
+	@Test
+	public void testClientHelloWithCookieIsNotFiltered() {
+		byte[] clientHello = createClientHello(null);
+		byte[] clientHelloWithCookie = createClientHello(new byte[32]);
+		for (int index = 0; index < 5; ++index) {
+			filter.onReceiving(packet(clientHello, PEER_1));
+		}
+		assertThat(filter.onReceiving(packet(clientHello, PEER_1)), is(false));
+		assertThat(filter.onReceiving(packet(clientHelloWithCookie, PEER_1)), is(true));
+	}
+
+	@Test
+	public void testInvalidHeader() {
+		byte[] clientHello = createClientHello(null);
+		// no DTLS
+		byte[] data = clientHello.clone();
+		data[1] = 3;
+		assertThat(filter.onReceiving(packet(data, PEER_1)), is(false));
+		// application data in epoch 0
+		data = clientHello.clone();
+		data[0] = (byte) ContentType.APPLICATION_DATA.getCode();
+		assertThat(filter.onReceiving(packet(data, PEER_1)), is(false));
+		// record exceeds datagram
+		DatagramPacket packet = packet(clientHello, PEER_1);
+		packet.setLength(clientHello.length - 1);
+		assertThat(filter.onReceiving(packet), is(false));
+		assertThat(filter.getDroppedClientHellos(), is(0L));
+	}
+
+	private static DatagramPacket packet(byte[] data, InetSocketAddress peer) {
+		return new DatagramPacket(data, data.length, peer);
+	}
+
+	private static byte[] createClientHello(byte[] cookie) {
+		ClientHello clientHello = ClientHelloTest.createClientHello(
+				Collections.singletonList(CipherSuite.TLS_PSK_WITH_AES_128_CCM_8),
+				SignatureAndHashAlgorithm.DEFAULT, Collections.<CertificateType> emptyList(),
+				Collections.<CertificateType> emptyList(), Collections.singletonList(SupportedGroup.secp256r1));
+		if (cookie != null) {
+			clientHello.setCookie(cookie);
+		}
+		Record record = new Record(ContentType.HANDSHAKE, ProtocolVersion.VERSION_DTLS_1_2, 0, clientHello);
+		return record.toByteArray();
+	}
+}
@@ -0,0 +1,313 @@
+/********************************************************************************
+ * Copyright (c) 2025 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v1.0 which is available at
+ * https://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ ********************************************************************************/
+package org.eclipse.californium.scandium;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.eclipse.californium.elements.AddressEndpointContext;
+import org.eclipse.californium.elements.DtlsEndpointContext;
+import org.eclipse.californium.elements.RawData;
+import org.eclipse.californium.elements.category.Small;
+import org.eclipse.californium.elements.config.Configuration;
+import org.eclipse.californium.elements.rule.TestNameLoggerRule;
+import org.eclipse.californium.elements.rule.ThreadsRule;
+import org.eclipse.californium.elements.util.ClockUtil;
+import org.eclipse.californium.elements.util.SimpleMessageCallback;
+import org.eclipse.californium.scandium.ConnectorHelper.LatchDecrementingRawDataChannel;
+import org.eclipse.californium.scandium.ConnectorHelper.MessageCapturingProcessor;
+import org.eclipse.californium.scandium.ConnectorHelper.SimpleRawDataChannel;
+import org.eclipse.californium.scandium.config.DtlsClusterConnectorConfig;
+import org.eclipse.californium.scandium.config.DtlsConfig;
+import org.eclipse.californium.scandium.config.DtlsConnectorConfig;
+import org.eclipse.californium.scandium.dtls.ConnectionId;
+import org.eclipse.californium.scandium.dtls.ConsistentHashShardMap;
+import org.eclipse.californium.scandium.dtls.ShardConnectionIdGenerator;
+import org.eclipse.californium.scandium.dtls.SingleNodeConnectionIdGenerator;
+import org.eclipse.californium.scandium.dtls.pskstore.SinglePskStore;
+import org.eclipse.californium.scandium.rule.DtlsNetworkRule;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Test for migrating connections of shards between cluster nodes.
+ */
+@Category(Small.class)
+public class DtlsShardClusterConnectorTest {
+
+	@ClassRule
+	public static DtlsNetworkRule network = new DtlsNetworkRule(DtlsNetworkRule.Mode.DIRECT,
+			DtlsNetworkRule.Mode.NATIVE);
+
+	@ClassRule
+	public static ThreadsRule cleanup = new ThreadsRule();
+
+	@Rule
+	public TestNameLoggerRule names = new TestNameLoggerRule();
+
+	private static final long DEFAULT_TIMEOUT_MILLIS = 2000;
+	private static final int CID_LENGTH = 6;
+	private static final int NODE_ID_1 = 1;
+	private static final int NODE_ID_2 = 2;
+
+	private static InetAddress loopback = InetAddress.getLoopbackAddress();
+	private static InetSocketAddress dtlsAddress1 = new InetSocketAddress(loopback, 15694);
+	private static InetSocketAddress dtlsAddress2 = new InetSocketAddress(loopback, 25694);
+	private static InetSocketAddress mgmtAddress1 = new InetSocketAddress(loopback, 15794);
+	private static InetSocketAddress mgmtAddress2 = new InetSocketAddress(loopback, 25794);
+
+	private ConsistentHashShardMap shards1;
+	private ConsistentHashShardMap shards2;
+	private DtlsClusterConnector connector1;
+	private DtlsClusterConnector connector2;
+	private DTLSConnector clientConnector;
+	private LatchDecrementingRawDataChannel clientChannel;
+
+	@Before
+	public void init() throws IOException {
+		Configuration configuration = network.createTestConfig()
+				.set(DtlsConfig.DTLS_MAX_CONNECTIONS, 10)
+				.set(DtlsConfig.DTLS_RECEIVER_THREAD_COUNT, 2)
+				.set(DtlsConfig.DTLS_CONNECTOR_THREAD_COUNT, 2);
+
+		shards1 = new ConsistentHashShardMap(32, 16);
+		shards1.setNodes(Arrays.asList(NODE_ID_1, NODE_ID_2));
+		shards2 = new ConsistentHashShardMap(32, 16);
+		shards2.setNodes(Arrays.asList(NODE_ID_1, NODE_ID_2));
+
+		DtlsClusterConnector.ClusterNodesProvider nodesProvider = new DtlsClusterConnector.ClusterNodesProvider() {
+
+			@Override
+			public InetSocketAddress getClusterNode(int nodeId) {
+				switch (nodeId) {
+				case NODE_ID_1:
+					return mgmtAddress1;
+				case NODE_ID_2:
+					return mgmtAddress2;
+				}
+				return null;
+			}
+
+			@Override
+			public boolean available(InetSocketAddress destinationConnector) {
+				return true;
+			}
+		};
+
+		connector1 = createConnector(configuration, dtlsAddress1, mgmtAddress1,
+				new ShardConnectionIdGenerator(NODE_ID_1, CID_LENGTH, shards1), nodesProvider);
+		connector2 = createConnector(configuration, dtlsAddress2, mgmtAddress2,
+				new ShardConnectionIdGenerator(NODE_ID_2, CID_LENGTH, shards2), nodesProvider);
+
+		DtlsConnectorConfig config = DtlsConnectorConfig.builder(configuration)
+				.set(DtlsConfig.DTLS_STALE_CONNECTION_THRESHOLD, 6000, TimeUnit.SECONDS)
+				.setLoggingTag("client")
+				.setPskStore(new SinglePskStore(ConnectorHelper.CLIENT_IDENTITY,
+						ConnectorHelper.CLIENT_IDENTITY_SECRET.getBytes()))
+				.setConnectionIdGenerator(new SingleNodeConnectionIdGenerator(4)).build();
+		clientConnector = new DTLSConnector(config);
+		clientChannel = new LatchDecrementingRawDataChannel();
+		clientConnector.setRawDataReceiver(clientChannel);
+		clientConnector.start();
+	}
+
+	@After
+	public void shutdown() {
+		if (clientConnector != null) {
+			clientConnector.destroy();
+			clientConnector = null;
+		}
+		if (connector1 != null) {
+			connector1.destroy();
+			connector1 = null;
+		}
+		if (connector2 != null) {
+			connector2.destroy();
+			connector2 = null;
+		}
+	}
+
+	/**
+	 * Establish a connection with node 1, remove node 1 from the shard maps,
+	 * migrate the connection to node 2 and check, that the connection is used
+	 * by node 2 without new handshake.
+	 *
+	 * @throws Exception if an error occurred
+	 */
+	@Test
+	public void testMigrateConnection() throws Exception {
+		clientChannel.setLatchCount(1);
+		SimpleMessageCallback callback = new SimpleMessageCallback();
+		clientConnector.send(RawData.outbound("hello!".getBytes(), new AddressEndpointContext(dtlsAddress1),
+				callback, false));
+		assertTrue(callback.isSent(DEFAULT_TIMEOUT_MILLIS));
+		assertTrue(clientChannel.await(DEFAULT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+		String cid = callback.getEndpointContext().getString(DtlsEndpointContext.KEY_WRITE_CONNECTION_ID);
+		assertNotNull(cid);
+
+		// scale in, node 2 takes over all shards
+		shards1.setNodes(Collections.singleton(NODE_ID_2));
+		shards2.setNodes(Collections.singleton(NODE_ID_2));
+		final AtomicInteger migrated = new AtomicInteger();
+		final AtomicReference<ConnectionId> migratedCid = new AtomicReference<>();
+		connector1.startExportForeignConnections((nodeId, exportedCid, connection) -> {
+			assertEquals(NODE_ID_2, nodeId);
+			if (connector2.importConnection(connection)) {
+				migrated.incrementAndGet();
+				migratedCid.set(exportedCid);
+			}
+		}).get(DEFAULT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+		assertEquals(1, migrated.get());
+		// kept until the import is acknowledged
+		assertTrue(connector1.hasConnection(migratedCid.get()));
+		assertTrue(connector1.removeExportedConnection(migratedCid.get()));
+		assertFalse(connector1.hasConnection(migratedCid.get()));
+
+		// send again to node 1, which forwards to node 2
+		clientChannel.setLatchCount(1);
+		SimpleMessageCallback callback2 = new SimpleMessageCallback();
+		clientConnector.send(RawData.outbound("hello 2!".getBytes(), new AddressEndpointContext(dtlsAddress1),
+				callback2, false));
+		assertTrue(callback2.isSent(DEFAULT_TIMEOUT_MILLIS));
+		assertTrue(clientChannel.await(DEFAULT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+		assertEquals(cid, callback2.getEndpointContext().getString(DtlsEndpointContext.KEY_WRITE_CONNECTION_ID));
+		assertTrue(connector1.getForwardStatistic().getSentMessages(mgmtAddress2) > 0);
+	}
+
+	/**
+	 * Establish a connection with node 1, remove node 1 from the shard maps
+	 * and lose the first export. Check, that the connection is kept and
+	 * exported again.
+	 *
+	 * @throws Exception if an error occurred
+	 */
+	@Test
+	public void testExportConnectionAgainUntilAcknowledged() throws Exception {
+		clientChannel.setLatchCount(1);
+		SimpleMessageCallback callback = new SimpleMessageCallback();
+		clientConnector.send(RawData.outbound("hello!".getBytes(), new AddressEndpointContext(dtlsAddress1),
+				callback, false));
+		assertTrue(callback.isSent(DEFAULT_TIMEOUT_MILLIS));
+		assertTrue(clientChannel.await(DEFAULT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+
+		shards1.setNodes(Collections.singleton(NODE_ID_2));
+		shards2.setNodes(Collections.singleton(NODE_ID_2));
+		final AtomicReference<ConnectionId> lostCid = new AtomicReference<>();
+		// lost export
+		connector1.startExportForeignConnections((nodeId, exportedCid, connection) -> {
+			lostCid.set(exportedCid);
+		}).get(DEFAULT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+		assertNotNull(lostCid.get());
+		assertTrue(connector1.hasConnection(lostCid.get()));
+
+		// repeated export
+		final AtomicInteger migrated = new AtomicInteger();
+		connector1.startExportForeignConnections((nodeId, exportedCid, connection) -> {
+			assertEquals(lostCid.get(), exportedCid);
+			if (connector2.importConnection(connection)) {
+				migrated.incrementAndGet();
+			}
+		}).get(DEFAULT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+		assertEquals(1, migrated.get());
+		assertTrue(connector2.hasConnection(lostCid.get()));
+		assertTrue(connector1.removeExportedConnection(lostCid.get()));
+		assertFalse(connector2.removeExportedConnection(lostCid.get()));
+		assertTrue(connector2.hasConnection(lostCid.get()));
+	}
+
+	/**
+	 * Establish a connection with node 1, replicate it, use it again with node
+	 * 1, lose node 1 and take over the outdated replica with node 2. Check,
+	 * that the connection is used by node 2 without new handshake and the
+	 * sequence numbers of node 1 are not reused.
+	 *
+	 * @throws Exception if an error occurred
+	 */
+	@Test
+	public void testTakeOverReplica() throws Exception {
+		clientChannel.setLatchCount(1);
+		SimpleMessageCallback callback = new SimpleMessageCallback();
+		clientConnector.send(RawData.outbound("hello!".getBytes(), new AddressEndpointContext(dtlsAddress1),
+				callback, false));
+		assertTrue(callback.isSent(DEFAULT_TIMEOUT_MILLIS));
+		assertTrue(clientChannel.await(DEFAULT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+		String cid = callback.getEndpointContext().getString(DtlsEndpointContext.KEY_WRITE_CONNECTION_ID);
+		assertNotNull(cid);
+
+		final AtomicReference<byte[]> replica = new AtomicReference<>();
+		connector1.startExportConnections(ClockUtil.nanoRealtime() - TimeUnit.MINUTES.toNanos(1),
+				(nodeId, exportedCid, connection) -> {
+					assertEquals(NODE_ID_1, nodeId);
+					replica.set(connection);
+				}).get(DEFAULT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+		assertNotNull(replica.get());
+
+		// node 1 continues to use the connection after the replication
+		clientChannel.setLatchCount(1);
+		callback = new SimpleMessageCallback();
+		clientConnector.send(RawData.outbound("hello 2!".getBytes(), new AddressEndpointContext(dtlsAddress1),
+				callback, false));
+		assertTrue(callback.isSent(DEFAULT_TIMEOUT_MILLIS));
+		assertTrue(clientChannel.await(DEFAULT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+
+		// lose node 1, node 2 takes over all shards and the replica
+		shards1.setNodes(Collections.singleton(NODE_ID_2));
+		shards2.setNodes(Collections.singleton(NODE_ID_2));
+		connector1.startExportForeignConnections((nodeId, exportedCid, connection) -> {
+		}).get(DEFAULT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+		assertTrue(connector2.importConnection(replica.get(), 1000));
+
+		clientChannel.setLatchCount(1);
+		callback = new SimpleMessageCallback();
+		clientConnector.send(RawData.outbound("hello 3!".getBytes(), new AddressEndpointContext(dtlsAddress1),
+				callback, false));
+		assertTrue(callback.isSent(DEFAULT_TIMEOUT_MILLIS));
+		assertTrue(clientChannel.await(DEFAULT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+		assertEquals(cid, callback.getEndpointContext().getString(DtlsEndpointContext.KEY_WRITE_CONNECTION_ID));
+		assertTrue(connector1.getForwardStatistic().getSentMessages(mgmtAddress2) > 0);
+	}
+
+	private static DtlsClusterConnector createConnector(Configuration configuration, InetSocketAddress address,
+			InetSocketAddress mgmtAddress, ShardConnectionIdGenerator generator,
+			DtlsClusterConnector.ClusterNodesProvider nodesProvider) throws IOException {
+		DtlsConnectorConfig config = DtlsConnectorConfig.builder(configuration)
+				.setAddress(address)
+				.setPskStore(new SinglePskStore(ConnectorHelper.CLIENT_IDENTITY,
+						ConnectorHelper.CLIENT_IDENTITY_SECRET.getBytes()))
+				.setConnectionIdGenerator(generator).build();
+		DtlsClusterConnectorConfig clusterConfig = DtlsClusterConnectorConfig.builder()
+				.setAddress(mgmtAddress)
+				.build();
+		DtlsClusterConnector connector = new DtlsClusterConnector(config, clusterConfig, nodesProvider);
+		connector.setRawDataReceiver(new SimpleRawDataChannel(connector, new MessageCapturingProcessor()));
+		connector.start();
+		return connector;
+	}
+}
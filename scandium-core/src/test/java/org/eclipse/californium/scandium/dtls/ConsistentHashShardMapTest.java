@@ -0,0 +1,92 @@
+/********************************************************************************
+ * Copyright (c) 2025 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0, or the Eclipse Distribution License
+ * v1.0 which is available at
+ * https://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR BSD-3-Clause
+ ********************************************************************************/
+package org.eclipse.californium.scandium.dtls;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.isOneOf;
+
+import java.util.Arrays;
+
+import org.eclipse.californium.elements.category.Small;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Verifies behavior of {@link ConsistentHashShardMap}.
+ */
+@Category(Small.class)
+public class ConsistentHashShardMapTest {
+
+	@Test
+	public void testDeterministicAssignment() {
+		ConsistentHashShardMap map1 = new ConsistentHashShardMap(256, 64);
+		ConsistentHashShardMap map2 = new ConsistentHashShardMap(256, 64);
+		assertThat(map1.setNodes(Arrays.asList(1, 2, 3, 4)), is(true));
+		assertThat(map2.setNodes(Arrays.asList(4, 3, 2, 1)), is(true));
+		assertThat(map1.setNodes(Arrays.asList(2, 1, 4, 3)), is(false));
+		for (int shard = 0; shard < 256; ++shard) {
+			assertThat(map1.getNode(shard), is(map2.getNode(shard)));
+			assertThat(map1.getNode(shard), isOneOf(1, 2, 3, 4));
+		}
+		for (int node = 1; node <= 4; ++node) {
+			assertThat(map1.getShards(node).length, is(greaterThan(16)));
+		}
+	}
+
+	@Test
+	public void testScaleOutMovesOnlyToNewNodes() {
+		ConsistentHashShardMap map = new ConsistentHashShardMap(256, 64);
+		map.setNodes(Arrays.asList(1, 2, 3, 4));
+		int[] before = owners(map);
+		map.setNodes(Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8));
+		int[] after = owners(map);
+		int moved = 0;
+		for (int shard = 0; shard < 256; ++shard) {
+			if (before[shard] != after[shard]) {
+				assertThat(after[shard], isOneOf(5, 6, 7, 8));
+				++moved;
+			}
+		}
+		assertThat(moved, is(greaterThan(64)));
+	}
+
+	@Test
+	public void testNodeLossMovesOnlyShardsOfLostNode() {
+		ConsistentHashShardMap map = new ConsistentHashShardMap(256, 64);
+		map.setNodes(Arrays.asList(1, 2, 3, 4));
+		int[] before = owners(map);
+		map.setNodes(Arrays.asList(1, 2, 4));
+		int[] after = owners(map);
+		for (int shard = 0; shard < 256; ++shard) {
+			if (before[shard] != 3) {
+				assertThat(after[shard], is(before[shard]));
+			} else {
+				assertThat(after[shard], isOneOf(1, 2, 4));
+			}
+		}
+		assertThat(map.getShards(3).length, is(0));
+		assertThat(map.getShard(3, 10), is(-1));
+	}
+
+	private static int[] owners(ConsistentHashShardMap map) {
+		int[] owners = new int[map.getShards()];
+		for (int shard = 0; shard < owners.length; ++shard) {
+			owners[shard] = map.getNode(shard);
+		}
+		return owners;
+	}
+}
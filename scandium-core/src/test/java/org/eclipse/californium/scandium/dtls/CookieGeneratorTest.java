@@ -21,6 +21,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
 
 import java.net.InetSocketAddress;
 import java.security.GeneralSecurityException;
@@ -90,6 +91,24 @@ public class CookieGeneratorTest {
 		assertArrayEquals(cookie1, cookie2);
 	}
 
+	@Test
+	public void testCookieGeneratorAfterFailure() throws GeneralSecurityException {
+		ClientHello clientHello = ClientHelloTest.createClientHello(
+				Collections.singletonList(CipherSuite.TLS_PSK_WITH_AES_128_CBC_SHA256),
+				SignatureAndHashAlgorithm.DEFAULT, Collections.<CertificateType> emptyList(),
+				Collections.<CertificateType> emptyList(), Collections.singletonList(SupportedGroup.secp256r1));
+		byte[] cookie1 = generator.generateCookie(peerAddress, clientHello);
+		try {
+			// fails after the peer's address is added to the MAC
+			generator.generateCookie(peerAddress2, null);
+			fail("NullPointerException expected!");
+		} catch (NullPointerException ex) {
+			// expected
+		}
+		byte[] cookie2 = generator.generateCookie(peerAddress, clientHello);
+		assertArrayEquals(cookie1, cookie2);
+	}
+
 	@Test
 	public void testCookieGeneratorGeneratesDifferentCookie() throws GeneralSecurityException, HandshakeException {
 		ClientHello clientHello1 = ClientHelloTest.createClientHello(
@@ -125,6 +144,8 @@ public class CookieGeneratorTest {
 
 		assertFalse("byte arrays are equal!", Arrays.equals(cookie1, cookie2));
 		assertArrayEquals(cookie1, cookie3);
+		assertThat(generator.isPastCookie(cookie1), is(true));
+		assertThat(generator.isPastCookie(cookie2), is(false));
 	}
 
 	@Test